@@ -37,7 +37,11 @@ public class WebsiteAnalyzer {
                     appConfig.getWebsiteAnalyzerService(),
                     appConfig.getWebsiteRepository(),
                     appConfig.getAnalysisResultRepository(),
-                    appConfig.getScheduleRepository()
+                    appConfig.getScheduleRepository(),
+                    appConfig.getScheduleRunRepository(),
+                    appConfig.getReportCache(),
+                    appConfig.getSchedulerConfig(),
+                    appConfig.getDigestService()
             );
 
             // Prüfe, ob Zeitpläne automatisch ausgeführt werden sollen
@@ -60,6 +64,9 @@ public class WebsiteAnalyzer {
             Runtime.getRuntime().addShutdownHook(new Thread(() -> {
                 logger.info("Anwendung wird heruntergefahren...");
                 schedulerService.shutdown();
+                appConfig.getDigestService().shutdown();
+                appConfig.getEmailOutbox().shutdown();
+                appConfig.getEmailSender().shutdown();
                 DatabaseConfig.closeConnection();
                 Spark.stop();
             }));
@@ -5,14 +5,33 @@ import com.saraci.websiteanalyzer.repository.impl.*;
 import com.saraci.websiteanalyzer.service.WebsiteAnalyzerService;
 import com.saraci.websiteanalyzer.service.WebsiteAnalyzerServiceImpl;
 import com.saraci.websiteanalyzer.service.analyzer.*;
+import com.saraci.websiteanalyzer.service.report.DigestService;
+import com.saraci.websiteanalyzer.service.report.DigestServiceImpl;
+import com.saraci.websiteanalyzer.service.report.EmailOutbox;
+import com.saraci.websiteanalyzer.service.report.EmailOutboxImpl;
 import com.saraci.websiteanalyzer.service.report.EmailSender;
 import com.saraci.websiteanalyzer.service.report.EmailSenderImpl;
+import com.saraci.websiteanalyzer.service.report.HtmlReportGenerator;
+import com.saraci.websiteanalyzer.service.report.HtmlReportGeneratorImpl;
+import com.saraci.websiteanalyzer.service.report.PdfAssetCache;
+import com.saraci.websiteanalyzer.service.report.PdfFallbackFonts;
 import com.saraci.websiteanalyzer.service.report.PdfReportGenerator;
 import com.saraci.websiteanalyzer.service.report.PdfReportGeneratorImpl;
+import com.saraci.websiteanalyzer.service.report.ReportCache;
+import com.saraci.websiteanalyzer.service.report.ReportCacheImpl;
+import com.saraci.websiteanalyzer.service.report.ReportLinkSigner;
+import com.saraci.websiteanalyzer.service.report.ReportStore;
+import com.saraci.websiteanalyzer.service.report.ReportStoreImpl;
+import com.saraci.websiteanalyzer.service.report.ReportThumbnails;
+import com.saraci.websiteanalyzer.service.report.ReportThumbnailsImpl;
 import io.github.cdimascio.dotenv.Dotenv;
 
 import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.security.SecureRandom;
 import java.sql.SQLException;
+import java.util.Arrays;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -29,6 +48,9 @@ public class AppConfig {
     private final WebsiteRepository websiteRepository;
     private final AnalysisResultRepository analysisResultRepository;
     private final ScheduleRepository scheduleRepository;
+    private final ScheduleRunRepository scheduleRunRepository;
+    private final EmailOutboxRepository emailOutboxRepository;
+    private final DigestRepository digestRepository;
 
     // Services
     private final SeoAnalyzer seoAnalyzer;
@@ -36,7 +58,15 @@ public class AppConfig {
     private final SecurityAnalyzer securityAnalyzer;
     private final ContentAnalyzer contentAnalyzer;
     private final PdfReportGenerator reportGenerator;
+    private final HtmlReportGenerator htmlReportGenerator;
+    private final ReportStore reportStore;
+    private final ReportThumbnails reportThumbnails;
+    private final ReportCache reportCache;
     private final EmailSender emailSender;
+    private final EmailOutbox emailOutbox;
+    private final DigestService digestService;
+    private final ReportLinkSigner reportLinkSigner;
+    private final SchedulerConfig schedulerConfig;
     private final WebsiteAnalyzerService websiteAnalyzerService;
 
     // Umgebungsvariablen initialisieren
@@ -83,6 +113,9 @@ public class AppConfig {
             this.websiteRepository = new WebsiteRepositoryImpl();
             this.analysisResultRepository = new AnalysisResultRepositoryImpl();
             this.scheduleRepository = new ScheduleRepositoryImpl();
+            this.scheduleRunRepository = new ScheduleRunRepositoryImpl();
+            this.emailOutboxRepository = new EmailOutboxRepositoryImpl();
+            this.digestRepository = new DigestRepositoryImpl();
 
             // E-Mail-Konfiguration aus Umgebungsvariablen laden
             String emailHost = getEnv("EMAIL_HOST", "smtp.gmail.com");
@@ -102,14 +135,87 @@ public class AppConfig {
                     "Password=" + maskedPassword);
 
             EmailConfig emailConfig = new EmailConfig(emailHost, emailPort, emailUsername, emailPassword);
+            emailConfig.setDebug(Boolean.parseBoolean(getEnv("EMAIL_DEBUG", "false")));
+            emailConfig.setPoolSize(Integer.parseInt(getEnv("EMAIL_POOL_SIZE", "2")));
+            emailConfig.setMaxRecipientsPerMessage(Integer.parseInt(getEnv("EMAIL_MAX_RECIPIENTS_PER_MESSAGE", "50")));
+            emailConfig.setMaxIdleSeconds(Integer.parseInt(getEnv("EMAIL_MAX_IDLE_SECONDS", "60")));
+            emailConfig.setOutboxBatchSize(Integer.parseInt(getEnv("EMAIL_OUTBOX_BATCH_SIZE", "20")));
+            emailConfig.setOutboxMaxAttempts(Integer.parseInt(getEnv("EMAIL_OUTBOX_MAX_ATTEMPTS", "8")));
+            emailConfig.setOutboxInitialBackoffSeconds(Integer.parseInt(getEnv("EMAIL_OUTBOX_INITIAL_BACKOFF_SECONDS", "30")));
+            emailConfig.setOutboxMaxBackoffSeconds(Integer.parseInt(getEnv("EMAIL_OUTBOX_MAX_BACKOFF_SECONDS", "3600")));
+            emailConfig.setOutboxRetentionDays(Integer.parseInt(getEnv("EMAIL_OUTBOX_RETENTION_DAYS", "7")));
+            emailConfig.setAttachmentMaxBytes(Long.parseLong(getEnv("EMAIL_ATTACHMENT_MAX_KB", "10240")) * 1024);
+
+            // Konfiguration des adaptiven Ausführungspools des Schedulers
+            this.schedulerConfig = new SchedulerConfig(
+                    Integer.parseInt(getEnv("SCHEDULER_MIN_THREADS", "1")),
+                    Integer.parseInt(getEnv("SCHEDULER_MAX_THREADS", "8")),
+                    Integer.parseInt(getEnv("SCHEDULER_INITIAL_THREADS", "2")),
+                    Long.parseLong(getEnv("SCHEDULER_LATENCY_TARGET_MS", "5000")),
+                    Double.parseDouble(getEnv("SCHEDULER_CPU_LOAD_LIMIT", "0.85")),
+                    Double.parseDouble(getEnv("SCHEDULER_DECREASE_FACTOR", "0.5")),
+                    Integer.parseInt(getEnv("SCHEDULER_ADJUST_INTERVAL_SECONDS", "10"))
+            );
+            logger.info("Scheduler-Konfiguration: " + schedulerConfig);
 
             // Komponenten initialisieren
             this.seoAnalyzer = new SeoAnalyzerImpl();
-            this.performanceAnalyzer = new PerformanceAnalyzerImpl();
+            this.performanceAnalyzer = new PerformanceAnalyzerImpl(
+                    Integer.parseInt(getEnv("PERFORMANCE_SAMPLES", "5")),
+                    Integer.parseInt(getEnv("PERFORMANCE_RESOURCE_THREADS", "16")),
+                    Integer.parseInt(getEnv("PERFORMANCE_MAX_REQUESTS_PER_HOST", "6")),
+                    Integer.parseInt(getEnv("PERFORMANCE_MAX_RESOURCES", "150")),
+                    Long.parseLong(getEnv("PERFORMANCE_RESOURCE_TIMEOUT_SECONDS", "30")) * 1000);
             this.securityAnalyzer = new SecurityAnalyzerImpl();
             this.contentAnalyzer = new ContentAnalyzerImpl();
-            this.reportGenerator = new PdfReportGeneratorImpl();
+            this.reportGenerator = new PdfReportGeneratorImpl(
+                    Integer.parseInt(getEnv("PDF_RENDER_THREADS",
+                            String.valueOf(Runtime.getRuntime().availableProcessors()))),
+                    new PdfAssetCache(true, Integer.parseInt(getEnv("PDF_IMAGE_DPI",
+                            String.valueOf(PdfAssetCache.DEFAULT_IMAGE_DPI))),
+                            new PdfFallbackFonts(Arrays.asList(getEnv("PDF_FALLBACK_FONTS",
+                                    String.join(",", PdfFallbackFonts.DEFAULT_FONT_FILES)).split(",")))),
+                    Long.parseLong(getEnv("PDF_MAX_MEMORY_MB", "16")) * 1024 * 1024,
+                    analysisResultRepository
+            );
+            this.htmlReportGenerator = new HtmlReportGeneratorImpl(
+                    Integer.parseInt(getEnv("HTML_REPORT_CACHE_SIZE", "200")));
             this.emailSender = new EmailSenderImpl(emailConfig);
+            this.emailOutbox = new EmailOutboxImpl(emailOutboxRepository, emailSender, emailConfig);
+
+            // Signierte Berichtslinks in E-Mails; ohne festen Schlüssel werden sie beim Neustart ungültig
+            String linkSecret = getEnv("REPORT_LINK_SECRET", "");
+            byte[] linkKey;
+            if (linkSecret.isEmpty()) {
+                logger.warning("REPORT_LINK_SECRET ist nicht gesetzt; Berichtslinks in E-Mails gelten nur bis zum nächsten Neustart");
+                linkKey = new byte[32];
+                new SecureRandom().nextBytes(linkKey);
+            } else {
+                linkKey = linkSecret.getBytes(StandardCharsets.UTF_8);
+            }
+            this.reportLinkSigner = new ReportLinkSigner(
+                    getEnv("APP_BASE_URL", "http://localhost:8080"),
+                    linkKey,
+                    Long.parseLong(getEnv("REPORT_LINK_TTL_DAYS", "7")) * 86400
+            );
+            this.digestService = new DigestServiceImpl(digestRepository, emailOutbox, reportLinkSigner);
+
+            // Berichte werden erst beim ersten Abruf erstellt und im Berichtsspeicher abgelegt
+            this.reportStore = new ReportStoreImpl(
+                    analysisResultRepository,
+                    emailOutboxRepository,
+                    Paths.get("reports"),
+                    Long.parseLong(getEnv("REPORT_CACHE_MAX_MB", "500")) * 1024 * 1024,
+                    Integer.parseInt(getEnv("REPORT_CACHE_MAX_FILES", "1000")),
+                    Integer.parseInt(getEnv("REPORT_MAX_AGE_DAYS", "90")),
+                    Integer.parseInt(getEnv("REPORT_GC_INTERVAL_MINUTES", "60"))
+            );
+            this.reportThumbnails = new ReportThumbnailsImpl(
+                    reportStore,
+                    Integer.parseInt(getEnv("REPORT_THUMBNAIL_WIDTH", "300")),
+                    Long.parseLong(getEnv("REPORT_THUMBNAIL_CACHE_MB", "32")) * 1024 * 1024
+            );
+            this.reportCache = new ReportCacheImpl(reportGenerator, analysisResultRepository, reportStore, reportThumbnails);
 
             // Hauptservice erstellen
             this.websiteAnalyzerService = new WebsiteAnalyzerServiceImpl(
@@ -118,7 +224,9 @@ public class AppConfig {
                     securityAnalyzer,
                     contentAnalyzer,
                     reportGenerator,
-                    emailSender
+                    emailOutbox,
+                    reportLinkSigner,
+                    emailConfig
             );
 
             logger.info("AppConfig wurde erfolgreich initialisiert");
@@ -148,6 +256,18 @@ public class AppConfig {
         return scheduleRepository;
     }
 
+    public ScheduleRunRepository getScheduleRunRepository() {
+        return scheduleRunRepository;
+    }
+
+    public EmailOutboxRepository getEmailOutboxRepository() {
+        return emailOutboxRepository;
+    }
+
+    public DigestRepository getDigestRepository() {
+        return digestRepository;
+    }
+
     // Getters für Services
     public WebsiteAnalyzerService getWebsiteAnalyzerService() {
         return websiteAnalyzerService;
@@ -173,10 +293,42 @@ public class AppConfig {
         return reportGenerator;
     }
 
+    public HtmlReportGenerator getHtmlReportGenerator() {
+        return htmlReportGenerator;
+    }
+
+    public ReportStore getReportStore() {
+        return reportStore;
+    }
+
+    public ReportThumbnails getReportThumbnails() {
+        return reportThumbnails;
+    }
+
+    public ReportCache getReportCache() {
+        return reportCache;
+    }
+
     public EmailSender getEmailSender() {
         return emailSender;
     }
 
+    public EmailOutbox getEmailOutbox() {
+        return emailOutbox;
+    }
+
+    public DigestService getDigestService() {
+        return digestService;
+    }
+
+    public ReportLinkSigner getReportLinkSigner() {
+        return reportLinkSigner;
+    }
+
+    public SchedulerConfig getSchedulerConfig() {
+        return schedulerConfig;
+    }
+
     /**
      * Gibt den Wert einer Umgebungsvariable zurück oder den Standardwert, wenn die Variable nicht definiert ist.
      *
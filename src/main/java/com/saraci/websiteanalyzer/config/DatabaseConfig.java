@@ -1,9 +1,13 @@
 package com.saraci.websiteanalyzer.config;
 
+import org.sqlite.SQLiteConfig;
+
 import java.sql.Connection;
 import java.sql.DriverManager;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.logging.Logger;
 
@@ -13,23 +17,40 @@ import java.util.logging.Logger;
 public class DatabaseConfig {
     private static final Logger logger = Logger.getLogger(DatabaseConfig.class.getName());
     private static final String DB_FILE = "data/website_analyzer.db";
-    private static final String DB_URL = "jdbc:sqlite:" + DB_FILE;
+    private static String dbUrl = "jdbc:sqlite:" + DB_FILE;
+    private static final int BUSY_TIMEOUT_MS = 5000;
     private static Connection connection;
+    private static boolean readOnly;
 
     /**
      * Initialisiert die Datenbankverbindung und erstellt die Tabellen.
      */
     public static void initialize() throws SQLException {
+        initialize(DB_FILE);
+    }
+
+    /**
+     * Initialisiert die Datenbankverbindung zu einer bestimmten SQLite-Datei,
+     * z. B. für Offline-Werkzeuge, die mit einer Kopie der Produktionsdatenbank arbeiten.
+     *
+     * @param dbFile Pfad zur SQLite-Datei
+     */
+    public static void initialize(String dbFile) throws SQLException {
         try {
             // Stelle sicher, dass das Datenverzeichnis existiert
-            Files.createDirectories(Paths.get("data"));
+            Path parent = Paths.get(dbFile).toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            dbUrl = "jdbc:sqlite:" + dbFile;
+            readOnly = false;
 
             // Lade den SQLite-JDBC-Treiber
             Class.forName("org.sqlite.JDBC");
 
             // Erstelle die Verbindung
-            connection = DriverManager.getConnection(DB_URL);
-            logger.info("Datenbankverbindung hergestellt: " + DB_URL);
+            connection = DriverManager.getConnection(dbUrl);
+            logger.info("Datenbankverbindung hergestellt: " + dbUrl);
 
             // Erstelle die Tabellen
             createTables();
@@ -44,6 +65,22 @@ public class DatabaseConfig {
         }
     }
 
+    /**
+     * Öffnet eine bestehende SQLite-Datei nur lesend, ohne Tabellen anzulegen oder zu migrieren,
+     * z. B. für Auswertungen gegen die laufende Produktionsdatenbank. Alle Verbindungen aus
+     * {@link #getConnection()} sind danach schreibgeschützt; die Datei muss das aktuelle Schema haben.
+     *
+     * @param dbFile Pfad zur SQLite-Datei
+     */
+    public static void openReadOnly(String dbFile) throws SQLException {
+        if (!Files.isRegularFile(Paths.get(dbFile))) {
+            throw new SQLException("Datenbankdatei nicht gefunden: " + dbFile);
+        }
+        dbUrl = "jdbc:sqlite:" + dbFile;
+        readOnly = true;
+        logger.info("Datenbank schreibgeschützt geöffnet: " + dbUrl);
+    }
+
     /**
      * Erstellt die Datenbanktabellen, falls sie noch nicht existieren.
      */
@@ -107,6 +144,21 @@ public class DatabaseConfig {
                         "FOREIGN KEY (analysis_id) REFERENCES analysis_results(id)" +
                         ")"
         );
+        // Phasen der Ladezeit in Millisekunden (leer bei Analysen älterer Versionen)
+        for (String column : new String[] { "dns_time", "connect_time", "tls_time", "ttfb", "download_time", "parse_time", "redirect_count" }) {
+            addColumnIfMissing("performance_results", column, "INTEGER");
+        }
+        // Eingebundene Ressourcen: Summen und Einzelwerte als JSON (leer bei Analysen älterer Versionen)
+        for (String column : new String[] { "page_weight", "request_count", "render_blocking_bytes" }) {
+            addColumnIfMissing("performance_results", column, "INTEGER");
+        }
+        addColumnIfMissing("performance_results", "resources", "TEXT");
+        // Wiederholte Abrufe der Seite in Millisekunden (leer bei nur einem Abruf)
+        for (String prefix : new String[] { "cold", "warm" }) {
+            for (String column : new String[] { "samples", "min", "p50", "p95", "max" }) {
+                addColumnIfMissing("performance_results", prefix + "_" + column, "INTEGER");
+            }
+        }
 
         // Sicherheits-Ergebnisse-Tabelle
         connection.createStatement().execute(
@@ -151,17 +203,123 @@ public class DatabaseConfig {
                         ")"
         );
 
+        // Ausführungshistorie der Zeitpläne
+        connection.createStatement().execute(
+                "CREATE TABLE IF NOT EXISTS schedule_runs (" +
+                        "id INTEGER PRIMARY KEY AUTOINCREMENT, " +
+                        "schedule_id INTEGER NOT NULL, " +
+                        "website_id INTEGER, " +
+                        "analysis_id INTEGER, " +
+                        "queued_at TIMESTAMP, " +
+                        "started_at TIMESTAMP, " +
+                        "finished_at TIMESTAMP, " +
+                        "fetch_ms INTEGER DEFAULT 0, " +
+                        "analyze_ms INTEGER DEFAULT 0, " +
+                        "persist_ms INTEGER DEFAULT 0, " +
+                        "pdf_ms INTEGER DEFAULT 0, " +
+                        "email_ms INTEGER DEFAULT 0, " +
+                        "total_ms INTEGER DEFAULT 0, " +
+                        "outcome TEXT NOT NULL, " +
+                        "error_class TEXT, " +
+                        "FOREIGN KEY (schedule_id) REFERENCES schedules(id)" +
+                        ")"
+        );
+        connection.createStatement().execute(
+                "CREATE INDEX IF NOT EXISTS idx_schedule_runs_schedule ON schedule_runs (schedule_id, started_at)"
+        );
+
+        // Ausgangswarteschlange für E-Mails
+        connection.createStatement().execute(
+                "CREATE TABLE IF NOT EXISTS email_outbox (" +
+                        "id INTEGER PRIMARY KEY AUTOINCREMENT, " +
+                        "recipients TEXT NOT NULL, " +
+                        "subject TEXT NOT NULL, " +
+                        "body TEXT, " +
+                        "attachment_path TEXT, " +
+                        "status TEXT NOT NULL, " +
+                        "attempts INTEGER DEFAULT 0, " +
+                        "created_at TIMESTAMP, " +
+                        "next_attempt_at TIMESTAMP, " +
+                        "sent_at TIMESTAMP, " +
+                        "last_error TEXT" +
+                        ")"
+        );
+        connection.createStatement().execute(
+                "CREATE INDEX IF NOT EXISTS idx_email_outbox_due ON email_outbox (status, next_attempt_at)"
+        );
+        addColumnIfMissing("email_outbox", "html_body", "TEXT");
+        addColumnIfMissing("email_outbox", "attachment_name", "TEXT");
+
+        // Sammel-E-Mail-Einstellungen je Empfänger
+        connection.createStatement().execute(
+                "CREATE TABLE IF NOT EXISTS digest_settings (" +
+                        "email TEXT PRIMARY KEY, " +
+                        "enabled BOOLEAN DEFAULT 1, " +
+                        "send_hour INTEGER DEFAULT 7, " +
+                        "last_sent_at TIMESTAMP" +
+                        ")"
+        );
+
+        // Berichte, die auf die nächste Sammel-E-Mail ihres Empfängers warten
+        connection.createStatement().execute(
+                "CREATE TABLE IF NOT EXISTS digest_items (" +
+                        "id INTEGER PRIMARY KEY AUTOINCREMENT, " +
+                        "recipient TEXT NOT NULL, " +
+                        "analysis_id INTEGER NOT NULL, " +
+                        "schedule_id INTEGER, " +
+                        "website_url TEXT NOT NULL, " +
+                        "seo_score INTEGER, " +
+                        "performance_score INTEGER, " +
+                        "security_score INTEGER, " +
+                        "created_at TIMESTAMP, " +
+                        "sent_at TIMESTAMP, " +
+                        "FOREIGN KEY (analysis_id) REFERENCES analysis_results(id)" +
+                        ")"
+        );
+        connection.createStatement().execute(
+                "CREATE INDEX IF NOT EXISTS idx_digest_items_pending ON digest_items (recipient, sent_at)"
+        );
+
+        // Indizes für das Nachladen der Teilergebnisse und die neueste Analyse je Website
+        connection.createStatement().execute(
+                "CREATE INDEX IF NOT EXISTS idx_analysis_results_website ON analysis_results (website_id, id)"
+        );
+        for (String table : new String[] { "seo_results", "performance_results", "security_results", "content_results" }) {
+            connection.createStatement().execute(
+                    "CREATE INDEX IF NOT EXISTS idx_" + table + "_analysis ON " + table + " (analysis_id)"
+            );
+        }
+
         logger.info("Tabellen erfolgreich erstellt/überprüft");
     }
 
     /**
-     * Gibt die Datenbankverbindung zurück.
+     * Fügt einer bestehenden Tabelle eine Spalte hinzu, falls sie noch fehlt
+     * (Datenbanken älterer Versionen).
      */
-    public static Connection getConnection() throws SQLException {
-        if (connection == null || connection.isClosed()) {
-            connection = DriverManager.getConnection(DB_URL);
+    private static void addColumnIfMissing(String table, String column, String definition) throws SQLException {
+        try (ResultSet rs = connection.createStatement().executeQuery("PRAGMA table_info(" + table + ")")) {
+            while (rs.next()) {
+                if (column.equalsIgnoreCase(rs.getString("name"))) {
+                    return;
+                }
+            }
         }
-        return connection;
+        connection.createStatement().execute("ALTER TABLE " + table + " ADD COLUMN " + column + " " + definition);
+        logger.info("Spalte " + table + "." + column + " hinzugefügt");
+    }
+
+    /**
+     * Gibt eine neue Datenbankverbindung zurück, die der Aufrufer schließt.
+     * Jeder Aufruf erhält eine eigene Verbindung, damit parallel laufende Threads (Scheduler,
+     * Berichtserstellung, Aufräumläufe) sich nicht gegenseitig die Verbindung schließen.
+     * Gleichzeitige Schreibzugriffe warten bis zu {@value #BUSY_TIMEOUT_MS} ms auf die Sperre.
+     */
+    public static Connection getConnection() throws SQLException {
+        SQLiteConfig config = new SQLiteConfig();
+        config.setBusyTimeout(BUSY_TIMEOUT_MS);
+        config.setReadOnly(readOnly);
+        return DriverManager.getConnection(dbUrl, config.toProperties());
     }
 
     /**
@@ -8,6 +8,20 @@ public class EmailConfig {
     private int port;
     private String username;
     private String password;
+    private boolean debug = false;
+    private int poolSize = 2;
+    private int maxRecipientsPerMessage = 50;
+    private int maxIdleSeconds = 60;
+
+    // Ausgangswarteschlange
+    private int outboxBatchSize = 20;
+    private int outboxMaxAttempts = 8;
+    private int outboxInitialBackoffSeconds = 30;
+    private int outboxMaxBackoffSeconds = 3600;
+    private int outboxRetentionDays = 7;
+
+    // Größere Berichte werden als signierter Link statt als Anhang versendet
+    private long attachmentMaxBytes = 10L * 1024 * 1024;
 
     /**
      * Standard-Konstruktor mit den Gmail-SMTP-Einstellungen.
@@ -61,4 +75,111 @@ public class EmailConfig {
     public void setPassword(String password) {
         this.password = password;
     }
-}
\ No newline at end of file
+
+    /**
+     * Protokolliert den SMTP-Dialog (JavaMail-Debug-Ausgabe).
+     */
+    public boolean isDebug() {
+        return debug;
+    }
+
+    public void setDebug(boolean debug) {
+        this.debug = debug;
+    }
+
+    /**
+     * Anzahl der SMTP-Verbindungen, die offen gehalten und wiederverwendet werden.
+     */
+    public int getPoolSize() {
+        return poolSize;
+    }
+
+    public void setPoolSize(int poolSize) {
+        this.poolSize = poolSize;
+    }
+
+    /**
+     * Höchstzahl an Empfängern pro Nachricht (als Bcc); 1 = eine Nachricht pro Empfänger.
+     */
+    public int getMaxRecipientsPerMessage() {
+        return maxRecipientsPerMessage;
+    }
+
+    public void setMaxRecipientsPerMessage(int maxRecipientsPerMessage) {
+        this.maxRecipientsPerMessage = maxRecipientsPerMessage;
+    }
+
+    /**
+     * Sekunden, nach denen eine unbenutzte Verbindung vor der nächsten Nachricht neu aufgebaut wird.
+     */
+    public int getMaxIdleSeconds() {
+        return maxIdleSeconds;
+    }
+
+    public void setMaxIdleSeconds(int maxIdleSeconds) {
+        this.maxIdleSeconds = maxIdleSeconds;
+    }
+
+    /**
+     * Anzahl fälliger E-Mails, die pro Abfrage aus der Warteschlange übernommen werden.
+     */
+    public int getOutboxBatchSize() {
+        return outboxBatchSize;
+    }
+
+    public void setOutboxBatchSize(int outboxBatchSize) {
+        this.outboxBatchSize = outboxBatchSize;
+    }
+
+    /**
+     * Zustellversuche, nach denen eine E-Mail als endgültig gescheitert gilt.
+     */
+    public int getOutboxMaxAttempts() {
+        return outboxMaxAttempts;
+    }
+
+    public void setOutboxMaxAttempts(int outboxMaxAttempts) {
+        this.outboxMaxAttempts = outboxMaxAttempts;
+    }
+
+    /**
+     * Wartezeit vor dem zweiten Versuch; sie verdoppelt sich mit jedem weiteren Versuch.
+     */
+    public int getOutboxInitialBackoffSeconds() {
+        return outboxInitialBackoffSeconds;
+    }
+
+    public void setOutboxInitialBackoffSeconds(int outboxInitialBackoffSeconds) {
+        this.outboxInitialBackoffSeconds = outboxInitialBackoffSeconds;
+    }
+
+    /**
+     * Obergrenze der Wartezeit zwischen zwei Versuchen.
+     */
+    public int getOutboxMaxBackoffSeconds() {
+        return outboxMaxBackoffSeconds;
+    }
+
+    public void setOutboxMaxBackoffSeconds(int outboxMaxBackoffSeconds) {
+        this.outboxMaxBackoffSeconds = outboxMaxBackoffSeconds;
+    }
+
+    /**
+     * Tage, die gesendete E-Mails in der Warteschlange verbleiben (für Kennzahlen), bevor sie gelöscht werden.
+     */
+    public int getOutboxRetentionDays() {
+        return outboxRetentionDays;
+    }
+
+    public void setOutboxRetentionDays(int outboxRetentionDays) {
+        this.outboxRetentionDays = outboxRetentionDays;
+    }
+
+    public long getAttachmentMaxBytes() {
+        return attachmentMaxBytes;
+    }
+
+    public void setAttachmentMaxBytes(long attachmentMaxBytes) {
+        this.attachmentMaxBytes = attachmentMaxBytes;
+    }
+}
@@ -0,0 +1,111 @@
+package com.saraci.websiteanalyzer.config;
+
+/**
+ * Konfigurationsklasse für den Ausführungspool des Schedulers.
+ */
+public class SchedulerConfig {
+    private int minThreads;
+    private int maxThreads;
+    private int initialThreads;
+    private long latencyTargetMs;
+    private double cpuLoadLimit;
+    private double decreaseFactor;
+    private int adjustIntervalSeconds;
+
+    /**
+     * Standard-Konstruktor mit den Standardwerten.
+     */
+    public SchedulerConfig() {
+        this.minThreads = 1;
+        this.maxThreads = 8;
+        this.initialThreads = 2;
+        this.latencyTargetMs = 5000;
+        this.cpuLoadLimit = 0.85;
+        this.decreaseFactor = 0.5;
+        this.adjustIntervalSeconds = 10;
+    }
+
+    /**
+     * Konstruktor mit benutzerdefinierten Einstellungen.
+     */
+    public SchedulerConfig(int minThreads, int maxThreads, int initialThreads, long latencyTargetMs,
+                           double cpuLoadLimit, double decreaseFactor, int adjustIntervalSeconds) {
+        this.minThreads = Math.max(1, minThreads);
+        this.maxThreads = Math.max(this.minThreads, maxThreads);
+        this.initialThreads = Math.min(Math.max(initialThreads, this.minThreads), this.maxThreads);
+        this.latencyTargetMs = latencyTargetMs;
+        this.cpuLoadLimit = cpuLoadLimit;
+        this.decreaseFactor = decreaseFactor;
+        this.adjustIntervalSeconds = Math.max(1, adjustIntervalSeconds);
+    }
+
+    // Getter und Setter
+    public int getMinThreads() {
+        return minThreads;
+    }
+
+    public void setMinThreads(int minThreads) {
+        this.minThreads = minThreads;
+    }
+
+    public int getMaxThreads() {
+        return maxThreads;
+    }
+
+    public void setMaxThreads(int maxThreads) {
+        this.maxThreads = maxThreads;
+    }
+
+    public int getInitialThreads() {
+        return initialThreads;
+    }
+
+    public void setInitialThreads(int initialThreads) {
+        this.initialThreads = initialThreads;
+    }
+
+    public long getLatencyTargetMs() {
+        return latencyTargetMs;
+    }
+
+    public void setLatencyTargetMs(long latencyTargetMs) {
+        this.latencyTargetMs = latencyTargetMs;
+    }
+
+    public double getCpuLoadLimit() {
+        return cpuLoadLimit;
+    }
+
+    public void setCpuLoadLimit(double cpuLoadLimit) {
+        this.cpuLoadLimit = cpuLoadLimit;
+    }
+
+    public double getDecreaseFactor() {
+        return decreaseFactor;
+    }
+
+    public void setDecreaseFactor(double decreaseFactor) {
+        this.decreaseFactor = decreaseFactor;
+    }
+
+    public int getAdjustIntervalSeconds() {
+        return adjustIntervalSeconds;
+    }
+
+    public void setAdjustIntervalSeconds(int adjustIntervalSeconds) {
+        this.adjustIntervalSeconds = adjustIntervalSeconds;
+    }
+
+    @Override
+    public String toString() {
+        return "SchedulerConfig{" +
+                "minThreads=" + minThreads +
+                ", maxThreads=" + maxThreads +
+                ", initialThreads=" + initialThreads +
+                ", latencyTargetMs=" + latencyTargetMs +
+                ", cpuLoadLimit=" + cpuLoadLimit +
+                ", decreaseFactor=" + decreaseFactor +
+                ", adjustIntervalSeconds=" + adjustIntervalSeconds +
+                '}';
+    }
+}
@@ -5,14 +5,32 @@ import com.saraci.websiteanalyzer.model.Website;
 import com.saraci.websiteanalyzer.repository.AnalysisResultRepository;
 import com.saraci.websiteanalyzer.repository.WebsiteRepository;
 import com.saraci.websiteanalyzer.service.WebsiteAnalyzerService;
+import com.saraci.websiteanalyzer.service.report.HtmlReport;
+import com.saraci.websiteanalyzer.service.report.HtmlReportGenerator;
+import com.saraci.websiteanalyzer.service.report.PdfReportGenerator;
+import com.saraci.websiteanalyzer.service.report.ReportCache;
+import com.saraci.websiteanalyzer.service.report.ReportLinkSigner;
+import com.saraci.websiteanalyzer.service.report.ReportStore;
+import com.saraci.websiteanalyzer.service.report.ReportStoreImpl;
+import com.saraci.websiteanalyzer.service.report.ReportThumbnails;
+import com.saraci.websiteanalyzer.util.FileResponseUtil;
 import com.saraci.websiteanalyzer.util.JsonUtil;
 
-import java.io.File;
+import java.io.BufferedOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.logging.Logger;
 
+import spark.Request;
+import spark.Response;
+
 import static spark.Spark.*;
 
 /**
@@ -21,19 +39,43 @@ import static spark.Spark.*;
 public class AnalysisController implements Controller {
     private static final Logger logger = Logger.getLogger(AnalysisController.class.getName());
 
+    // Gestreamte Berichte werden bis zu dieser Größe gepuffert, bevor die Antwort festgelegt wird
+    private static final int STREAM_BUFFER_BYTES = 256 * 1024;
+
     private final WebsiteAnalyzerService analyzerService;
     private final WebsiteRepository websiteRepository;
     private final AnalysisResultRepository analysisResultRepository;
+    private final ReportCache reportCache;
+    private final ReportStore reportStore;
+    private final PdfReportGenerator reportGenerator;
+    private final HtmlReportGenerator htmlReportGenerator;
+    private final ReportThumbnails reportThumbnails;
+    private final ReportLinkSigner reportLinks;
+    private final boolean streamReports;
 
     /**
      * Konstruktor mit Dependency Injection.
      */
     public AnalysisController(WebsiteAnalyzerService analyzerService,
                               WebsiteRepository websiteRepository,
-                              AnalysisResultRepository analysisResultRepository) {
+                              AnalysisResultRepository analysisResultRepository,
+                              ReportCache reportCache,
+                              ReportStore reportStore,
+                              PdfReportGenerator reportGenerator,
+                              HtmlReportGenerator htmlReportGenerator,
+                              ReportThumbnails reportThumbnails,
+                              ReportLinkSigner reportLinks,
+                              boolean streamReports) {
         this.analyzerService = analyzerService;
         this.websiteRepository = websiteRepository;
         this.analysisResultRepository = analysisResultRepository;
+        this.reportCache = reportCache;
+        this.reportStore = reportStore;
+        this.reportGenerator = reportGenerator;
+        this.htmlReportGenerator = htmlReportGenerator;
+        this.reportThumbnails = reportThumbnails;
+        this.reportLinks = reportLinks;
+        this.streamReports = streamReports;
     }
 
     @Override
@@ -92,14 +134,11 @@ public class AnalysisController implements Controller {
                 // Aktualisiere das letzte Analysedatum der Website
                 websiteRepository.updateLastAnalysisDate(website.getId());
 
-                // PDF-Bericht generieren
-                String pdfPath = analyzerService.generatePdfReport(result);
-                analysisResultRepository.updatePdfReportPath(result.getId(), pdfPath);
-
-                // E-Mail senden, falls eine E-Mail-Adresse angegeben wurde
+                // Der PDF-Bericht wird erst erstellt, wenn er abgerufen oder per E-Mail versendet wird
                 if (email != null && !email.isEmpty()) {
-                    analyzerService.sendReportByEmail(pdfPath, email, url);
-                    logger.info("Bericht per E-Mail an " + email + " gesendet");
+                    String pdfPath = reportCache.getReport(result);
+                    analyzerService.sendReportByEmail(result.getId(), pdfPath, email, url);
+                    logger.info("Bericht zum E-Mail-Versand an " + email + " eingereiht");
                 }
 
                 // Erstelle eine direkte Antwort mit allen Ergebnissen
@@ -108,7 +147,8 @@ public class AnalysisController implements Controller {
                 response.put("message", "Analyse erfolgreich abgeschlossen");
                 response.put("analysisId", result.getId());
                 response.put("url", url);
-                response.put("pdfPath", pdfPath);
+                response.put("reportUrl", reportUrl(result.getId()));
+                response.put("htmlReportUrl", reportUrl(result.getId()) + ".html");
                 response.put("seoResult", result.getSeoResult());
                 response.put("performanceResult", result.getPerformanceResult());
                 response.put("securityResult", result.getSecurityResult());
@@ -143,6 +183,9 @@ public class AnalysisController implements Controller {
                 responseData.put("url", result.getUrl());
                 responseData.put("analysisDate", result.getAnalysisDate().toString());
                 responseData.put("pdfReportPath", result.getPdfReportPath());
+                responseData.put("reportUrl", reportUrl(result.getId()));
+                responseData.put("htmlReportUrl", reportUrl(result.getId()) + ".html");
+                responseData.put("thumbnailUrl", thumbnailUrl(result.getPdfReportPath()));
 
                 // Manuell auch Unterobjekte konvertieren
                 if (result.getSeoResult() != null) {
@@ -176,6 +219,19 @@ public class AnalysisController implements Controller {
                     perfMap.put("totalBlockingTime", result.getPerformanceResult().getTotalBlockingTime());
                     perfMap.put("cumulativeLayoutShift", result.getPerformanceResult().getCumulativeLayoutShift());
                     perfMap.put("loadTime", result.getPerformanceResult().getLoadTime());
+                    perfMap.put("dnsTime", result.getPerformanceResult().getDnsTime());
+                    perfMap.put("connectTime", result.getPerformanceResult().getConnectTime());
+                    perfMap.put("tlsTime", result.getPerformanceResult().getTlsTime());
+                    perfMap.put("timeToFirstByte", result.getPerformanceResult().getTimeToFirstByte());
+                    perfMap.put("downloadTime", result.getPerformanceResult().getDownloadTime());
+                    perfMap.put("parseTime", result.getPerformanceResult().getParseTime());
+                    perfMap.put("redirectCount", result.getPerformanceResult().getRedirectCount());
+                    perfMap.put("pageWeight", result.getPerformanceResult().getPageWeight());
+                    perfMap.put("requestCount", result.getPerformanceResult().getRequestCount());
+                    perfMap.put("renderBlockingBytes", result.getPerformanceResult().getRenderBlockingBytes());
+                    perfMap.put("resources", result.getPerformanceResult().getResources());
+                    perfMap.put("coldLatency", result.getPerformanceResult().getColdLatency());
+                    perfMap.put("warmLatency", result.getPerformanceResult().getWarmLatency());
                     responseData.put("performanceResult", perfMap);
                 }
 
@@ -218,57 +274,164 @@ public class AnalysisController implements Controller {
         // Route zum Herunterladen eines PDF-Berichts
         get("/api/analysis/:id/report", (req, res) -> {
             try {
+                String linkError = checkSignedLink(req, res);
+                if (linkError != null) {
+                    return linkError;
+                }
+
                 Long id = Long.parseLong(req.params(":id"));
                 AnalysisResult result = analysisResultRepository.findById(id);
 
-                if (result == null || result.getPdfReportPath() == null) {
+                if (result == null) {
                     res.status(404);
                     return "Bericht nicht gefunden";
                 }
 
-                // Datei als Download anbieten
-                String filePath = result.getPdfReportPath();
+                // Streaming-Modus: Bericht direkt in die Antwort rendern, sofern noch keine Datei existiert
+                String streamParam = req.queryParams("stream");
+                boolean stream = streamParam != null ? Boolean.parseBoolean(streamParam) : streamReports;
+                String filename = PdfReportGenerator.fileName(result.getUrl(), result.getId());
+                if (stream && reportCache.findReport(result) == null) {
+                    // Bis zum ersten Senden gepuffert, damit ein früher Fehler noch als 500 gemeldet werden kann
+                    return FileResponseUtil.serveGenerated(res, "application/pdf", filename, STREAM_BUFFER_BYTES,
+                            out -> reportGenerator.writeReport(result, out));
+                }
+
+                // Bericht aus dem Cache holen bzw. beim ersten Abruf erstellen
+                String filePath = reportCache.getReport(result);
                 java.io.File file = new java.io.File(filePath);
 
-                if (!file.exists()) {
+                if (!file.isFile()) {
                     res.status(404);
                     return "Berichtsdatei nicht gefunden";
                 }
 
-                res.type("application/pdf");
-                res.header("Content-Disposition", "attachment; filename=\"" + file.getName() + "\"");
-
-                // Datei streamen
-                return new java.io.FileInputStream(file);
+                // Datei senden (mit ETag, bedingten Anfragen und Range-Unterstützung)
+                return FileResponseUtil.serveFile(req, res, file.toPath(), "application/pdf", filename);
             } catch (NumberFormatException e) {
                 res.status(400);
                 return "Ungültige ID";
             } catch (Exception e) {
                 logger.severe("Fehler beim Herunterladen des Berichts: " + e.getMessage());
+                if (res.raw().isCommitted()) {
+                    // Die Verbindung wurde abgebrochen; eine Fehlermeldung würde an den abgeschnittenen Bericht angehängt
+                    return "";
+                }
                 res.status(500);
                 return "Fehler beim Herunterladen des Berichts: " + e.getMessage();
             }
         });
 
+        // Route für den HTML-Bericht (Ansicht im Browser, ohne PDF-Erstellung)
+        get("/api/analysis/:id/report.html", (req, res) -> {
+            try {
+                String linkError = checkSignedLink(req, res);
+                if (linkError != null) {
+                    return linkError;
+                }
+
+                Long id = Long.parseLong(req.params(":id"));
+                AnalysisResult result = analysisResultRepository.findById(id);
+
+                if (result == null) {
+                    res.status(404);
+                    return "Bericht nicht gefunden";
+                }
+
+                // Bericht aus dem Speicher bzw. beim ersten Abruf erstellen; gzip-Fassung liegt bereits vor
+                HtmlReport report = htmlReportGenerator.generateReport(result);
+                return FileResponseUtil.serveCompressed(req, res, report.getHtml(), report.getGzipped(),
+                        report.getEtag(), report.getCreatedAt(), "text/html; charset=utf-8");
+            } catch (NumberFormatException e) {
+                res.status(400);
+                return "Ungültige ID";
+            } catch (Exception e) {
+                logger.severe("Fehler beim Erstellen des HTML-Berichts: " + e.getMessage());
+                res.status(500);
+                return "Fehler beim Erstellen des HTML-Berichts: " + e.getMessage();
+            }
+        });
+
+        // Route für den Portfolio-Bericht über alle Websites (jeweils neueste Analyse)
+        get("/api/portfolio/report", (req, res) -> {
+            try {
+                String sinceParam = req.queryParams("since");
+                LocalDateTime since = sinceParam != null && !sinceParam.isEmpty()
+                        ? LocalDate.parse(sinceParam).atStartOfDay()
+                        : null;
+
+                String filename = "portfolio_report_" + LocalDate.now().format(DateTimeFormatter.BASIC_ISO_DATE) + ".pdf";
+                res.type("application/pdf");
+                res.header("Content-Disposition", "attachment; filename=\"" + filename + "\"");
+
+                // Der Bericht wird direkt in die Antwort geschrieben, ohne ihn vollständig im Speicher zu halten
+                reportGenerator.writePortfolioReport(analysisResultRepository, since,
+                        new BufferedOutputStream(res.raw().getOutputStream()));
+                return "";
+            } catch (DateTimeParseException e) {
+                res.status(400);
+                return "Ungültiges Datum (erwartet: JJJJ-MM-TT)";
+            } catch (Exception e) {
+                logger.severe("Fehler beim Erstellen des Portfolio-Berichts: " + e.getMessage());
+                res.status(500);
+                return "Fehler beim Erstellen des Portfolio-Berichts: " + e.getMessage();
+            }
+        });
+
+        // Route für den Bestand des Berichtsspeichers und den letzten Aufräumlauf
+        get("/api/admin/report-store", (req, res) -> {
+            res.type("application/json");
+
+            try {
+                return JsonUtil.toJson(reportStore.getStats());
+            } catch (Exception e) {
+                logger.severe("Fehler beim Abrufen der Kennzahlen des Berichtsspeichers: " + e.getMessage());
+                res.status(500);
+                return JsonUtil.toJson(JsonUtil.error("Fehler beim Abrufen der Kennzahlen des Berichtsspeichers: " + e.getMessage()));
+            }
+        });
+
+        // Route für das Vorschaubild der ersten Berichtsseite (über den Hash adressiert, daher unveränderlich)
+        get("/api/reports/thumbnails/:file", (req, res) -> {
+            try {
+                String file = req.params(":file");
+                String hash = file.endsWith(".png") ? file.substring(0, file.length() - ".png".length()) : file;
+                if (!hash.matches("[0-9a-f]{64}")) {
+                    res.status(404);
+                    return "Vorschaubild nicht gefunden";
+                }
+
+                // Der Hash ist zugleich ETag; hat der Browser das Bild bereits, wird nichts gerendert
+                String body = FileResponseUtil.serveImmutable(req, res, "\"" + hash + "\"", "image/png",
+                        () -> reportThumbnails.getThumbnail(ReportStoreImpl.KEY_PREFIX + hash));
+                if (body == null) {
+                    res.status(404);
+                    return "Vorschaubild nicht gefunden";
+                }
+                return body;
+            } catch (Exception e) {
+                logger.severe("Fehler beim Erstellen des Vorschaubilds: " + e.getMessage());
+                res.status(500);
+                return "Fehler beim Erstellen des Vorschaubilds: " + e.getMessage();
+            }
+        });
+
         // Route für direkten Zugriff auf PDF-Berichte im Reports-Verzeichnis
         get("/api/reports/:filename", (req, res) -> {
             try {
                 String filename = req.params(":filename");
-                String filePath = Paths.get("reports", filename).toString();
-                File file = new File(filePath);
+                Path reportsDir = Paths.get("reports").toAbsolutePath().normalize();
+                Path filePath = reportsDir.resolve(filename).normalize();
 
-                if (!file.exists()) {
+                // Nur Dateien direkt im Reports-Verzeichnis ausliefern
+                if (!filePath.getParent().equals(reportsDir) || !Files.isRegularFile(filePath)) {
                     logger.warning("Datei nicht gefunden: " + filePath);
                     res.status(404);
                     return "Berichtsdatei nicht gefunden";
                 }
 
-                logger.info("PDF-Datei gefunden: " + filePath);
-                res.type("application/pdf");
-                res.header("Content-Disposition", "attachment; filename=\"" + filename + "\"");
-
-                // Datei streamen
-                return new java.io.FileInputStream(file);
+                // Datei senden (mit ETag, bedingten Anfragen und Range-Unterstützung)
+                return FileResponseUtil.serveFile(req, res, filePath, "application/pdf", filePath.getFileName().toString());
             } catch (Exception e) {
                 logger.severe("Fehler beim Herunterladen des Berichts: " + e.getMessage());
                 res.status(500);
@@ -276,4 +439,47 @@ public class AnalysisController implements Controller {
             }
         });
     }
-}
\ No newline at end of file
+
+    /**
+     * Prüft signierte Links aus E-Mails (Parameter expires und sig). Aufrufe ohne diese Parameter
+     * werden wie bisher beantwortet, da das Dashboard die Berichte ohne Signatur abruft; die Signatur
+     * schützt also vor veränderten Links, beschränkt aber nicht den Zugriff auf die Berichte.
+     *
+     * @return Die Fehlermeldung für die Antwort oder null, wenn der Bericht ausgeliefert werden darf
+     */
+    private String checkSignedLink(Request req, Response res) {
+        String expires = req.queryParams("expires");
+        String sig = req.queryParams("sig");
+        if (expires == null && sig == null) {
+            return null;
+        }
+
+        switch (reportLinks.verify(req.pathInfo(), expires, sig)) {
+            case VALID:
+                return null;
+            case EXPIRED:
+                res.status(410);
+                return "Der Link ist abgelaufen";
+            default:
+                res.status(403);
+                return "Ungültiger Link";
+        }
+    }
+
+    /**
+     * Gibt die Download-URL des PDF-Berichts einer Analyse zurück.
+     */
+    private static String reportUrl(Long analysisId) {
+        return "/api/analysis/" + analysisId + "/report";
+    }
+
+    /**
+     * Gibt die URL des Vorschaubilds zurück, sofern der Bericht bereits im Berichtsspeicher liegt.
+     */
+    private static String thumbnailUrl(String reportKey) {
+        if (reportKey == null || !reportKey.startsWith(ReportStoreImpl.KEY_PREFIX)) {
+            return null;
+        }
+        return "/api/reports/thumbnails/" + reportKey.substring(ReportStoreImpl.KEY_PREFIX.length()) + ".png";
+    }
+}
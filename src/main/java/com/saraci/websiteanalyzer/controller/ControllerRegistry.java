@@ -3,6 +3,7 @@ package com.saraci.websiteanalyzer.controller;
 import com.saraci.websiteanalyzer.config.AppConfig;
 import com.saraci.websiteanalyzer.repository.AnalysisResultRepository;
 import com.saraci.websiteanalyzer.repository.ScheduleRepository;
+import com.saraci.websiteanalyzer.repository.ScheduleRunRepository;
 import com.saraci.websiteanalyzer.repository.WebsiteRepository;
 import com.saraci.websiteanalyzer.service.WebsiteAnalyzerService;
 import com.saraci.websiteanalyzer.service.scheduler.SchedulerService;
@@ -27,14 +28,21 @@ public class ControllerRegistry {
         WebsiteRepository websiteRepository = appConfig.getWebsiteRepository();
         AnalysisResultRepository analysisResultRepository = appConfig.getAnalysisResultRepository();
         ScheduleRepository scheduleRepository = appConfig.getScheduleRepository();
+        ScheduleRunRepository scheduleRunRepository = appConfig.getScheduleRunRepository();
 
         // Service aus der App-Konfiguration holen
         WebsiteAnalyzerService analyzerService = appConfig.getWebsiteAnalyzerService();
 
         // Controller erstellen und registrieren
-        controllers.add(new AnalysisController(analyzerService, websiteRepository, analysisResultRepository));
+        boolean streamReports = Boolean.parseBoolean(AppConfig.getEnv("REPORT_STREAMING", "false"));
+        controllers.add(new AnalysisController(analyzerService, websiteRepository, analysisResultRepository,
+                appConfig.getReportCache(), appConfig.getReportStore(), appConfig.getReportGenerator(),
+                appConfig.getHtmlReportGenerator(), appConfig.getReportThumbnails(), appConfig.getReportLinkSigner(),
+                streamReports));
         controllers.add(new WebsiteController(websiteRepository, analysisResultRepository));
-        controllers.add(new ScheduleController(scheduleRepository, websiteRepository, schedulerService));
+        controllers.add(new ScheduleController(scheduleRepository, scheduleRunRepository, websiteRepository, schedulerService));
+        controllers.add(new EmailOutboxController(appConfig.getEmailOutbox()));
+        controllers.add(new DigestController(appConfig.getDigestService()));
 
         logger.info("Controller-Registry initialisiert mit " + controllers.size() + " Controllern");
     }
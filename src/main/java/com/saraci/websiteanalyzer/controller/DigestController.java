@@ -0,0 +1,124 @@
+package com.saraci.websiteanalyzer.controller;
+
+import com.saraci.websiteanalyzer.model.DigestSettings;
+import com.saraci.websiteanalyzer.service.report.DigestService;
+import com.saraci.websiteanalyzer.util.JsonUtil;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.logging.Logger;
+
+import static spark.Spark.*;
+
+/**
+ * Controller für die Einstellungen der Sammel-E-Mails.
+ */
+public class DigestController implements Controller {
+    private static final Logger logger = Logger.getLogger(DigestController.class.getName());
+
+    private final DigestService digestService;
+
+    /**
+     * Konstruktor mit Dependency Injection.
+     */
+    public DigestController(DigestService digestService) {
+        this.digestService = digestService;
+    }
+
+    @Override
+    public void registerRoutes() {
+        // Route für alle Sammel-E-Mail-Einstellungen
+        get("/api/digest-settings", (req, res) -> {
+            res.type("application/json");
+
+            try {
+                return JsonUtil.toJson(digestService.getAllSettings());
+            } catch (Exception e) {
+                logger.severe("Fehler beim Abrufen der Sammel-E-Mail-Einstellungen: " + e.getMessage());
+                res.status(500);
+                return JsonUtil.toJson(JsonUtil.error("Fehler beim Abrufen der Sammel-E-Mail-Einstellungen: " + e.getMessage()));
+            }
+        });
+
+        // Route zum Speichern der Einstellung eines Empfängers
+        put("/api/digest-settings", (req, res) -> {
+            res.type("application/json");
+
+            try {
+                String requestBody = req.body();
+                String email = JsonUtil.getStringValue(requestBody, "email");
+                Boolean enabled = JsonUtil.getBooleanValue(requestBody, "enabled");
+                Long sendHour = JsonUtil.getLongValue(requestBody, "sendHour");
+
+                if (email == null || email.trim().isEmpty() || !email.contains("@")) {
+                    res.status(400);
+                    return JsonUtil.toJson(JsonUtil.error("Eine gültige E-Mail-Adresse ist erforderlich"));
+                }
+                if (sendHour != null && (sendHour < 0 || sendHour > 23)) {
+                    res.status(400);
+                    return JsonUtil.toJson(JsonUtil.error("Die Versandstunde muss zwischen 0 und 23 liegen"));
+                }
+
+                DigestSettings settings = new DigestSettings();
+                settings.setEmail(email.trim());
+                settings.setEnabled(enabled == null || enabled);
+                settings.setSendHour(sendHour != null ? sendHour.intValue() : DigestSettings.DEFAULT_SEND_HOUR);
+                digestService.saveSettings(settings);
+
+                Map<String, Object> response = new HashMap<>();
+                response.put("success", true);
+                response.put("message", "Sammel-E-Mail-Einstellung gespeichert");
+                response.put("settings", settings);
+                return JsonUtil.toJson(response);
+            } catch (Exception e) {
+                logger.severe("Fehler beim Speichern der Sammel-E-Mail-Einstellung: " + e.getMessage());
+                res.status(500);
+                return JsonUtil.toJson(JsonUtil.error("Fehler beim Speichern der Sammel-E-Mail-Einstellung: " + e.getMessage()));
+            }
+        });
+
+        // Route zum Löschen der Einstellung eines Empfängers
+        delete("/api/digest-settings/:email", (req, res) -> {
+            res.type("application/json");
+
+            try {
+                if (!digestService.deleteSettings(req.params(":email"))) {
+                    res.status(404);
+                    return JsonUtil.toJson(JsonUtil.error("Keine Sammel-E-Mail-Einstellung für diese Adresse gefunden"));
+                }
+
+                Map<String, Object> response = new HashMap<>();
+                response.put("success", true);
+                response.put("message", "Sammel-E-Mail-Einstellung gelöscht");
+                return JsonUtil.toJson(response);
+            } catch (Exception e) {
+                logger.severe("Fehler beim Löschen der Sammel-E-Mail-Einstellung: " + e.getMessage());
+                res.status(500);
+                return JsonUtil.toJson(JsonUtil.error("Fehler beim Löschen der Sammel-E-Mail-Einstellung: " + e.getMessage()));
+            }
+        });
+
+        // Route zum sofortigen Versand der Sammel-E-Mails (alle fälligen oder die eines Empfängers)
+        post("/api/admin/digests/send", (req, res) -> {
+            res.type("application/json");
+
+            try {
+                String email = req.queryParams("email");
+                Map<String, Object> response = new HashMap<>();
+                response.put("success", true);
+                if (email != null && !email.trim().isEmpty()) {
+                    response.put("reports", digestService.sendDigest(email.trim()));
+                    response.put("message", "Sammel-E-Mail eingereiht");
+                } else {
+                    response.put("digests", digestService.sendDueDigests());
+                    response.put("message", "Fällige Sammel-E-Mails eingereiht");
+                }
+                return JsonUtil.toJson(response);
+            } catch (Exception e) {
+                logger.severe("Fehler beim Versand der Sammel-E-Mails: " + e.getMessage());
+                res.status(500);
+                return JsonUtil.toJson(JsonUtil.error("Fehler beim Versand der Sammel-E-Mails: " + e.getMessage()));
+            }
+        });
+    }
+}
@@ -0,0 +1,95 @@
+package com.saraci.websiteanalyzer.controller;
+
+import com.saraci.websiteanalyzer.model.EmailOutboxEntry;
+import com.saraci.websiteanalyzer.service.report.EmailOutbox;
+import com.saraci.websiteanalyzer.util.JsonUtil;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Logger;
+
+import static spark.Spark.*;
+
+/**
+ * Controller für die Überwachung der E-Mail-Ausgangswarteschlange.
+ */
+public class EmailOutboxController implements Controller {
+    private static final Logger logger = Logger.getLogger(EmailOutboxController.class.getName());
+
+    private final EmailOutbox emailOutbox;
+
+    /**
+     * Konstruktor mit Dependency Injection.
+     */
+    public EmailOutboxController(EmailOutbox emailOutbox) {
+        this.emailOutbox = emailOutbox;
+    }
+
+    @Override
+    public void registerRoutes() {
+        // Route für Größe der Warteschlange und Zustelldauern
+        get("/api/admin/email-outbox", (req, res) -> {
+            res.type("application/json");
+
+            try {
+                return JsonUtil.toJson(emailOutbox.getMetrics());
+            } catch (Exception e) {
+                logger.severe("Fehler beim Abrufen der Kennzahlen der E-Mail-Warteschlange: " + e.getMessage());
+                res.status(500);
+                return JsonUtil.toJson(JsonUtil.error("Fehler beim Abrufen der Kennzahlen der E-Mail-Warteschlange: " + e.getMessage()));
+            }
+        });
+
+        // Route für die endgültig gescheiterten E-Mails
+        get("/api/admin/email-outbox/dead", (req, res) -> {
+            res.type("application/json");
+
+            try {
+                int limit = parseIntParam(req.queryParams("limit"), 50);
+                List<EmailOutboxEntry> entries = emailOutbox.getDeadLetters(Math.min(Math.max(limit, 1), 1000));
+                return JsonUtil.toJson(entries);
+            } catch (Exception e) {
+                logger.severe("Fehler beim Abrufen der gescheiterten E-Mails: " + e.getMessage());
+                res.status(500);
+                return JsonUtil.toJson(JsonUtil.error("Fehler beim Abrufen der gescheiterten E-Mails: " + e.getMessage()));
+            }
+        });
+
+        // Route zum erneuten Einreihen einer gescheiterten E-Mail
+        post("/api/admin/email-outbox/:id/retry", (req, res) -> {
+            res.type("application/json");
+
+            try {
+                Long id = Long.parseLong(req.params(":id"));
+                if (!emailOutbox.retry(id)) {
+                    res.status(404);
+                    return JsonUtil.toJson(JsonUtil.error("Keine gescheiterte E-Mail mit dieser ID gefunden"));
+                }
+
+                Map<String, Object> response = new HashMap<>();
+                response.put("success", true);
+                response.put("message", "E-Mail erneut eingereiht");
+                return JsonUtil.toJson(response);
+            } catch (NumberFormatException e) {
+                res.status(400);
+                return JsonUtil.toJson(JsonUtil.error("Ungültige ID"));
+            } catch (Exception e) {
+                logger.severe("Fehler beim erneuten Einreihen der E-Mail: " + e.getMessage());
+                res.status(500);
+                return JsonUtil.toJson(JsonUtil.error("Fehler beim erneuten Einreihen der E-Mail: " + e.getMessage()));
+            }
+        });
+    }
+
+    private int parseIntParam(String value, int defaultValue) {
+        if (value == null || value.isEmpty()) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+}
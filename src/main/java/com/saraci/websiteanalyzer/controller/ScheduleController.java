@@ -1,13 +1,22 @@
 package com.saraci.websiteanalyzer.controller;
 
+import com.google.gson.JsonParseException;
 import com.saraci.websiteanalyzer.model.AnalysisSchedule;
+import com.saraci.websiteanalyzer.model.BulkScheduleRequest;
+import com.saraci.websiteanalyzer.model.ScheduleLoadForecast;
+import com.saraci.websiteanalyzer.model.ScheduleRun;
+import com.saraci.websiteanalyzer.model.ScheduleRunStats;
+import com.saraci.websiteanalyzer.model.SchedulerPoolMetrics;
 import com.saraci.websiteanalyzer.model.Website;
 import com.saraci.websiteanalyzer.repository.ScheduleRepository;
+import com.saraci.websiteanalyzer.repository.ScheduleRunRepository;
 import com.saraci.websiteanalyzer.repository.WebsiteRepository;
+import com.saraci.websiteanalyzer.service.scheduler.ScheduleLoadSimulator;
 import com.saraci.websiteanalyzer.service.scheduler.SchedulerService;
 import com.saraci.websiteanalyzer.util.JsonUtil;
 
-import java.util.List;
+import java.time.LocalDateTime;
+import java.util.*;
 import java.util.logging.Logger;
 
 import static spark.Spark.*;
@@ -18,23 +27,34 @@ import static spark.Spark.*;
 public class ScheduleController implements Controller {
     private static final Logger logger = Logger.getLogger(ScheduleController.class.getName());
 
+    // Maximale Anzahl an Einträgen pro Sammelanfrage
+    private static final int MAX_BULK_ENTRIES = 10000;
+
     private final ScheduleRepository scheduleRepository;
+    private final ScheduleRunRepository scheduleRunRepository;
     private final WebsiteRepository websiteRepository;
     private final SchedulerService schedulerService;
+    private final ScheduleLoadSimulator loadSimulator;
 
     /**
      * Konstruktor mit Dependency Injection.
      */
     public ScheduleController(ScheduleRepository scheduleRepository,
+                              ScheduleRunRepository scheduleRunRepository,
                               WebsiteRepository websiteRepository,
                               SchedulerService schedulerService) {
         this.scheduleRepository = scheduleRepository;
+        this.scheduleRunRepository = scheduleRunRepository;
         this.websiteRepository = websiteRepository;
         this.schedulerService = schedulerService;
+        this.loadSimulator = new ScheduleLoadSimulator(scheduleRepository, websiteRepository, scheduleRunRepository);
     }
 
     @Override
     public void registerRoutes() {
+        // Sammel-Routen zuerst registrieren, damit "/api/schedules/:id" sie nicht überdeckt
+        registerBulkRoutes();
+
         // Route zum Erstellen eines neuen Zeitplans
         post("/api/schedules", (req, res) -> {
             res.type("application/json");
@@ -252,5 +272,378 @@ public class ScheduleController implements Controller {
                 return JsonUtil.toJson(JsonUtil.error("Fehler beim Ausführen des Zeitplans: " + e.getMessage()));
             }
         });
+
+        // Route zum Abrufen der letzten Ausführungen eines Zeitplans
+        get("/api/schedules/:id/runs", (req, res) -> {
+            res.type("application/json");
+
+            try {
+                Long id = Long.parseLong(req.params(":id"));
+                int limit = parseIntParam(req.queryParams("limit"), 50);
+
+                List<ScheduleRun> runs = scheduleRunRepository.findByScheduleId(id, Math.min(Math.max(limit, 1), 1000));
+                return JsonUtil.toJson(runs);
+            } catch (NumberFormatException e) {
+                res.status(400);
+                return JsonUtil.toJson(JsonUtil.error("Ungültige ID"));
+            } catch (Exception e) {
+                logger.severe("Fehler beim Abrufen der Zeitplan-Ausführungen: " + e.getMessage());
+                res.status(500);
+                return JsonUtil.toJson(JsonUtil.error("Fehler beim Abrufen der Zeitplan-Ausführungen: " + e.getMessage()));
+            }
+        });
+
+        // Route zum Abrufen der p50/p95-Laufzeiten eines Zeitplans
+        get("/api/schedules/:id/runs/stats", (req, res) -> {
+            res.type("application/json");
+
+            try {
+                Long id = Long.parseLong(req.params(":id"));
+                int days = parseIntParam(req.queryParams("days"), 0);
+
+                ScheduleRunStats stats = scheduleRunRepository.getStatsForSchedule(id, days);
+                return JsonUtil.toJson(stats);
+            } catch (NumberFormatException e) {
+                res.status(400);
+                return JsonUtil.toJson(JsonUtil.error("Ungültige ID"));
+            } catch (Exception e) {
+                logger.severe("Fehler beim Berechnen der Laufzeitstatistik: " + e.getMessage());
+                res.status(500);
+                return JsonUtil.toJson(JsonUtil.error("Fehler beim Berechnen der Laufzeitstatistik: " + e.getMessage()));
+            }
+        });
+
+        // Route zum Abrufen der p50/p95-Laufzeiten über alle Zeitpläne
+        get("/api/schedule-runs/stats", (req, res) -> {
+            res.type("application/json");
+
+            try {
+                int days = parseIntParam(req.queryParams("days"), 0);
+
+                ScheduleRunStats stats = scheduleRunRepository.getFleetStats(days);
+                return JsonUtil.toJson(stats);
+            } catch (Exception e) {
+                logger.severe("Fehler beim Berechnen der Laufzeitstatistik: " + e.getMessage());
+                res.status(500);
+                return JsonUtil.toJson(JsonUtil.error("Fehler beim Berechnen der Laufzeitstatistik: " + e.getMessage()));
+            }
+        });
+
+        // Route für die Kennzahlen des adaptiven Ausführungspools
+        get("/api/admin/scheduler/metrics", (req, res) -> {
+            res.type("application/json");
+
+            try {
+                SchedulerPoolMetrics metrics = schedulerService.getPoolMetrics();
+                return JsonUtil.toJson(metrics);
+            } catch (Exception e) {
+                logger.severe("Fehler beim Abrufen der Scheduler-Kennzahlen: " + e.getMessage());
+                res.status(500);
+                return JsonUtil.toJson(JsonUtil.error("Fehler beim Abrufen der Scheduler-Kennzahlen: " + e.getMessage()));
+            }
+        });
+
+        // Route für die Lastprognose der aktiven Zeitpläne (Dry-Run, es wird nichts ausgeführt)
+        get("/api/admin/schedule-forecast", (req, res) -> {
+            res.type("application/json");
+
+            try {
+                int hours = parseIntParam(req.queryParams("hours"), 168);
+                String firstRun = req.queryParams("firstRun");
+
+                ScheduleLoadForecast forecast = loadSimulator.simulate(LocalDateTime.now(), hours,
+                        firstRun != null ? firstRun : ScheduleLoadSimulator.FIRST_RUN_STORED);
+                return JsonUtil.toJson(forecast);
+            } catch (IllegalArgumentException e) {
+                res.status(400);
+                return JsonUtil.toJson(JsonUtil.error(e.getMessage()));
+            } catch (Exception e) {
+                logger.severe("Fehler bei der Lastprognose: " + e.getMessage());
+                res.status(500);
+                return JsonUtil.toJson(JsonUtil.error("Fehler bei der Lastprognose: " + e.getMessage()));
+            }
+        });
+    }
+
+    /**
+     * Registriert die Routen zum Anlegen, Aktualisieren und Deaktivieren vieler Zeitpläne.
+     * Alle Einträge werden zuerst geprüft und dann in einer einzigen Transaktion geschrieben;
+     * ist ein Eintrag ungültig, wird nichts gespeichert. Eine sofortige Ausführung erfolgt nur
+     * mit "executeImmediately": true.
+     */
+    private void registerBulkRoutes() {
+        // Route zum Anlegen vieler Zeitpläne
+        post("/api/schedules/bulk", (req, res) -> {
+            res.type("application/json");
+
+            try {
+                BulkScheduleRequest request = parseBulkRequest(req.body());
+                List<BulkScheduleRequest.Item> items = request.getSchedules();
+
+                String sizeError = checkBulkSize(items.size());
+                if (sizeError != null) {
+                    res.status(400);
+                    return JsonUtil.toJson(JsonUtil.error(sizeError));
+                }
+
+                // Alle Website-IDs mit einer Abfrage prüfen
+                Set<Long> websiteIds = new HashSet<>();
+                for (Website website : websiteRepository.findAll()) {
+                    websiteIds.add(website.getId());
+                }
+
+                List<String> errors = new ArrayList<>();
+                List<AnalysisSchedule> schedules = new ArrayList<>(items.size());
+                for (int i = 0; i < items.size(); i++) {
+                    BulkScheduleRequest.Item item = items.get(i);
+
+                    if (item.getWebsiteId() == null || item.getCronExpression() == null ||
+                            item.getRecipients() == null || item.getReportType() == null) {
+                        errors.add("Eintrag " + i + ": Alle Pflichtfelder müssen ausgefüllt sein");
+                        continue;
+                    }
+                    if (!websiteIds.contains(item.getWebsiteId())) {
+                        errors.add("Eintrag " + i + ": Website " + item.getWebsiteId() + " nicht gefunden");
+                        continue;
+                    }
+
+                    AnalysisSchedule schedule = new AnalysisSchedule();
+                    schedule.setWebsiteId(item.getWebsiteId());
+                    schedule.setCronExpression(item.getCronExpression());
+                    schedule.setRecipients(item.getRecipients());
+                    schedule.setReportType(item.getReportType());
+                    schedule.setActive(item.getIsActive() == null || item.getIsActive());
+                    schedules.add(schedule);
+                }
+
+                if (!errors.isEmpty()) {
+                    res.status(400);
+                    return JsonUtil.toJson(bulkValidationError(errors));
+                }
+
+                // Zeitpläne samt nächster Ausführung in einer Transaktion speichern und in einem Durchgang registrieren
+                List<AnalysisSchedule> active = activeOnly(schedules);
+                setNextRuns(active);
+                scheduleRepository.saveAll(schedules);
+                schedulerService.scheduleAll(active, request.isExecuteImmediately(), false);
+
+                List<Long> ids = new ArrayList<>(schedules.size());
+                for (AnalysisSchedule schedule : schedules) {
+                    ids.add(schedule.getId());
+                }
+
+                return JsonUtil.toJson(
+                        JsonUtil.success(
+                                schedules.size() + " Zeitpläne erfolgreich erstellt",
+                                "count", schedules.size(),
+                                "ids", ids
+                        )
+                );
+            } catch (JsonParseException e) {
+                res.status(400);
+                return JsonUtil.toJson(JsonUtil.error("Ungültiger JSON-Inhalt: " + e.getMessage()));
+            } catch (Exception e) {
+                logger.severe("Fehler beim Erstellen der Zeitpläne: " + e.getMessage());
+                res.status(500);
+                return JsonUtil.toJson(JsonUtil.error("Fehler beim Erstellen der Zeitpläne: " + e.getMessage()));
+            }
+        });
+
+        // Route zum Aktualisieren vieler Zeitpläne
+        put("/api/schedules/bulk", (req, res) -> {
+            res.type("application/json");
+
+            try {
+                BulkScheduleRequest request = parseBulkRequest(req.body());
+                List<BulkScheduleRequest.Item> items = request.getSchedules();
+
+                String sizeError = checkBulkSize(items.size());
+                if (sizeError != null) {
+                    res.status(400);
+                    return JsonUtil.toJson(JsonUtil.error(sizeError));
+                }
+
+                // Alle betroffenen Zeitpläne mit einer Abfrage laden
+                Set<Long> requestedIds = new LinkedHashSet<>();
+                for (BulkScheduleRequest.Item item : items) {
+                    if (item.getId() != null) {
+                        requestedIds.add(item.getId());
+                    }
+                }
+                Map<Long, AnalysisSchedule> existing = new HashMap<>();
+                for (AnalysisSchedule schedule : scheduleRepository.findByIds(requestedIds)) {
+                    existing.put(schedule.getId(), schedule);
+                }
+
+                List<String> errors = new ArrayList<>();
+                for (int i = 0; i < items.size(); i++) {
+                    BulkScheduleRequest.Item item = items.get(i);
+
+                    if (item.getId() == null) {
+                        errors.add("Eintrag " + i + ": ID ist erforderlich");
+                        continue;
+                    }
+                    AnalysisSchedule schedule = existing.get(item.getId());
+                    if (schedule == null) {
+                        errors.add("Eintrag " + i + ": Zeitplan " + item.getId() + " nicht gefunden");
+                        continue;
+                    }
+
+                    // Optionale Felder aktualisieren
+                    if (item.getCronExpression() != null) {
+                        schedule.setCronExpression(item.getCronExpression());
+                    }
+                    if (item.getRecipients() != null) {
+                        schedule.setRecipients(item.getRecipients());
+                    }
+                    if (item.getReportType() != null) {
+                        schedule.setReportType(item.getReportType());
+                    }
+                    if (item.getIsActive() != null) {
+                        schedule.setActive(item.getIsActive());
+                    }
+                    if (!schedule.isActive()) {
+                        schedule.setNextRun(null);
+                    }
+                }
+
+                if (!errors.isEmpty()) {
+                    res.status(400);
+                    return JsonUtil.toJson(bulkValidationError(errors));
+                }
+
+                // Einstellungen und nächste Ausführung in einer Transaktion speichern
+                List<AnalysisSchedule> schedules = new ArrayList<>(existing.values());
+                List<AnalysisSchedule> active = activeOnly(schedules);
+                setNextRuns(active);
+                scheduleRepository.updateAll(schedules);
+
+                // Scheduler in einem Durchgang aktualisieren
+                List<Long> inactiveIds = new ArrayList<>();
+                for (AnalysisSchedule schedule : schedules) {
+                    if (!schedule.isActive()) {
+                        inactiveIds.add(schedule.getId());
+                    }
+                }
+                schedulerService.unscheduleAll(inactiveIds);
+                schedulerService.scheduleAll(active, request.isExecuteImmediately(), false);
+
+                return JsonUtil.toJson(
+                        JsonUtil.success(
+                                schedules.size() + " Zeitpläne erfolgreich aktualisiert",
+                                "count", schedules.size(),
+                                "active", active.size(),
+                                "inactive", inactiveIds.size()
+                        )
+                );
+            } catch (JsonParseException e) {
+                res.status(400);
+                return JsonUtil.toJson(JsonUtil.error("Ungültiger JSON-Inhalt: " + e.getMessage()));
+            } catch (Exception e) {
+                logger.severe("Fehler beim Aktualisieren der Zeitpläne: " + e.getMessage());
+                res.status(500);
+                return JsonUtil.toJson(JsonUtil.error("Fehler beim Aktualisieren der Zeitpläne: " + e.getMessage()));
+            }
+        });
+
+        // Route zum Deaktivieren vieler Zeitpläne
+        post("/api/schedules/bulk/deactivate", (req, res) -> {
+            res.type("application/json");
+
+            try {
+                BulkScheduleRequest request = parseBulkRequest(req.body());
+                Set<Long> ids = new LinkedHashSet<>(request.getIds());
+                ids.remove(null);
+
+                String sizeError = checkBulkSize(ids.size());
+                if (sizeError != null) {
+                    res.status(400);
+                    return JsonUtil.toJson(JsonUtil.error(sizeError));
+                }
+
+                int deactivated = scheduleRepository.deactivateAll(ids);
+                schedulerService.unscheduleAll(ids);
+
+                return JsonUtil.toJson(
+                        JsonUtil.success(
+                                deactivated + " Zeitpläne erfolgreich deaktiviert",
+                                "count", deactivated
+                        )
+                );
+            } catch (JsonParseException e) {
+                res.status(400);
+                return JsonUtil.toJson(JsonUtil.error("Ungültiger JSON-Inhalt: " + e.getMessage()));
+            } catch (Exception e) {
+                logger.severe("Fehler beim Deaktivieren der Zeitpläne: " + e.getMessage());
+                res.status(500);
+                return JsonUtil.toJson(JsonUtil.error("Fehler beim Deaktivieren der Zeitpläne: " + e.getMessage()));
+            }
+        });
+    }
+
+    /**
+     * Parst den Inhalt einer Sammelanfrage.
+     */
+    private BulkScheduleRequest parseBulkRequest(String body) {
+        BulkScheduleRequest request = JsonUtil.fromJson(body, BulkScheduleRequest.class);
+        return request != null ? request : new BulkScheduleRequest();
+    }
+
+    /**
+     * Prüft die Anzahl der Einträge einer Sammelanfrage.
+     *
+     * @return Fehlermeldung oder null, wenn die Anzahl zulässig ist
+     */
+    private String checkBulkSize(int size) {
+        if (size == 0) {
+            return "Die Anfrage enthält keine Einträge";
+        }
+        if (size > MAX_BULK_ENTRIES) {
+            return "Maximal " + MAX_BULK_ENTRIES + " Einträge pro Anfrage erlaubt";
+        }
+        return null;
+    }
+
+    /**
+     * Erzeugt eine Fehlermeldung mit den (höchstens 100) ersten Validierungsfehlern.
+     */
+    private Map<String, Object> bulkValidationError(List<String> errors) {
+        Map<String, Object> result = JsonUtil.error(errors.size() + " ungültige Einträge, es wurde nichts gespeichert");
+        result.put("errors", errors.subList(0, Math.min(errors.size(), 100)));
+        return result;
+    }
+
+    /**
+     * Setzt den nächsten Ausführungszeitpunkt, bevor die Zeitpläne gespeichert werden.
+     */
+    private void setNextRuns(List<AnalysisSchedule> schedules) {
+        LocalDateTime now = LocalDateTime.now();
+        for (AnalysisSchedule schedule : schedules) {
+            schedule.setNextRun(schedulerService.nextRunAfter(schedule, now));
+        }
+    }
+
+    private List<AnalysisSchedule> activeOnly(List<AnalysisSchedule> schedules) {
+        List<AnalysisSchedule> active = new ArrayList<>();
+        for (AnalysisSchedule schedule : schedules) {
+            if (schedule.isActive()) {
+                active.add(schedule);
+            }
+        }
+        return active;
+    }
+
+    /**
+     * Liest einen optionalen ganzzahligen Query-Parameter.
+     */
+    private int parseIntParam(String value, int defaultValue) {
+        if (value == null || value.isEmpty()) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
     }
-}
\ No newline at end of file
+}
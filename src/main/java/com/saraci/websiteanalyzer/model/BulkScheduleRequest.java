@@ -0,0 +1,99 @@
+package com.saraci.websiteanalyzer.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Anfrage zum Anlegen, Aktualisieren oder Deaktivieren vieler Zeitpläne auf einmal.
+ */
+public class BulkScheduleRequest {
+    private List<Item> schedules = new ArrayList<>();
+    private List<Long> ids = new ArrayList<>();
+    private boolean executeImmediately;
+
+    /**
+     * Ein einzelner Eintrag der Anfrage. Beim Anlegen ist die ID leer, beim Aktualisieren Pflicht.
+     */
+    public static class Item {
+        private Long id;
+        private Long websiteId;
+        private String cronExpression;
+        private String recipients;
+        private String reportType;
+        private Boolean isActive;
+
+        // Getter und Setter
+        public Long getId() {
+            return id;
+        }
+
+        public void setId(Long id) {
+            this.id = id;
+        }
+
+        public Long getWebsiteId() {
+            return websiteId;
+        }
+
+        public void setWebsiteId(Long websiteId) {
+            this.websiteId = websiteId;
+        }
+
+        public String getCronExpression() {
+            return cronExpression;
+        }
+
+        public void setCronExpression(String cronExpression) {
+            this.cronExpression = cronExpression;
+        }
+
+        public String getRecipients() {
+            return recipients;
+        }
+
+        public void setRecipients(String recipients) {
+            this.recipients = recipients;
+        }
+
+        public String getReportType() {
+            return reportType;
+        }
+
+        public void setReportType(String reportType) {
+            this.reportType = reportType;
+        }
+
+        public Boolean getIsActive() {
+            return isActive;
+        }
+
+        public void setIsActive(Boolean isActive) {
+            this.isActive = isActive;
+        }
+    }
+
+    // Getter und Setter
+    public List<Item> getSchedules() {
+        return schedules != null ? schedules : new ArrayList<>();
+    }
+
+    public void setSchedules(List<Item> schedules) {
+        this.schedules = schedules;
+    }
+
+    public List<Long> getIds() {
+        return ids != null ? ids : new ArrayList<>();
+    }
+
+    public void setIds(List<Long> ids) {
+        this.ids = ids;
+    }
+
+    public boolean isExecuteImmediately() {
+        return executeImmediately;
+    }
+
+    public void setExecuteImmediately(boolean executeImmediately) {
+        this.executeImmediately = executeImmediately;
+    }
+}
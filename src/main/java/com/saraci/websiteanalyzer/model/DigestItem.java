@@ -0,0 +1,106 @@
+package com.saraci.websiteanalyzer.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Ein fertiggestellter Bericht, der in die nächste Sammel-E-Mail eines Empfängers aufgenommen wird.
+ * Die Bewertungen werden beim Einreihen übernommen, damit die Übersicht ohne Nachladen der
+ * Analyseergebnisse erstellt werden kann.
+ */
+public class DigestItem {
+    private Long id;
+    private String recipient;
+    private Long analysisId;
+    private Long scheduleId;
+    private String websiteUrl;
+    private int seoScore;
+    private int performanceScore;
+    private int securityScore;
+    private LocalDateTime createdAt;
+    private LocalDateTime sentAt;
+
+    // Konstruktoren
+    public DigestItem() {
+    }
+
+    // Getter und Setter
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getRecipient() {
+        return recipient;
+    }
+
+    public void setRecipient(String recipient) {
+        this.recipient = recipient;
+    }
+
+    public Long getAnalysisId() {
+        return analysisId;
+    }
+
+    public void setAnalysisId(Long analysisId) {
+        this.analysisId = analysisId;
+    }
+
+    public Long getScheduleId() {
+        return scheduleId;
+    }
+
+    public void setScheduleId(Long scheduleId) {
+        this.scheduleId = scheduleId;
+    }
+
+    public String getWebsiteUrl() {
+        return websiteUrl;
+    }
+
+    public void setWebsiteUrl(String websiteUrl) {
+        this.websiteUrl = websiteUrl;
+    }
+
+    public int getSeoScore() {
+        return seoScore;
+    }
+
+    public void setSeoScore(int seoScore) {
+        this.seoScore = seoScore;
+    }
+
+    public int getPerformanceScore() {
+        return performanceScore;
+    }
+
+    public void setPerformanceScore(int performanceScore) {
+        this.performanceScore = performanceScore;
+    }
+
+    public int getSecurityScore() {
+        return securityScore;
+    }
+
+    public void setSecurityScore(int securityScore) {
+        this.securityScore = securityScore;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getSentAt() {
+        return sentAt;
+    }
+
+    public void setSentAt(LocalDateTime sentAt) {
+        this.sentAt = sentAt;
+    }
+}
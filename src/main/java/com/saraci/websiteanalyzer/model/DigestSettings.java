@@ -0,0 +1,59 @@
+package com.saraci.websiteanalyzer.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Sammel-E-Mail-Einstellung eines Empfängers: Statt einer E-Mail pro Zeitplan erhält er einmal
+ * täglich eine Übersicht aller seit der letzten Übersicht fertiggestellten Berichte.
+ */
+public class DigestSettings {
+    public static final int DEFAULT_SEND_HOUR = 7;
+
+    private String email;
+    private boolean enabled = true;
+    private int sendHour = DEFAULT_SEND_HOUR; // Stunde (0-23, Ortszeit des Servers), ab der versendet wird
+    private LocalDateTime lastSentAt;
+
+    // Konstruktoren
+    public DigestSettings() {
+    }
+
+    public DigestSettings(String email, boolean enabled, int sendHour) {
+        this.email = email;
+        this.enabled = enabled;
+        this.sendHour = sendHour;
+    }
+
+    // Getter und Setter
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getSendHour() {
+        return sendHour;
+    }
+
+    public void setSendHour(int sendHour) {
+        this.sendHour = sendHour;
+    }
+
+    public LocalDateTime getLastSentAt() {
+        return lastSentAt;
+    }
+
+    public void setLastSentAt(LocalDateTime lastSentAt) {
+        this.lastSentAt = lastSentAt;
+    }
+}
@@ -0,0 +1,144 @@
+package com.saraci.websiteanalyzer.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Eine E-Mail in der Ausgangswarteschlange (Tabelle email_outbox).
+ */
+public class EmailOutboxEntry {
+    public static final String STATUS_PENDING = "PENDING"; // wartet auf (erneute) Zustellung
+    public static final String STATUS_SENDING = "SENDING"; // vom Zustell-Thread übernommen
+    public static final String STATUS_SENT = "SENT";
+    public static final String STATUS_DEAD = "DEAD";       // endgültig gescheitert, nur manuelle Wiederholung
+
+    private Long id;
+    private String recipients; // kommagetrennt
+    private String subject;
+    private String body;
+    private String htmlBody; // optionaler HTML-Inhalt, sonst wird der Text verwendet
+    private String attachmentPath;
+    private String attachmentName; // Dateiname des Anhangs in der E-Mail, sonst der Name der Datei
+    private String status;
+    private int attempts;
+    private LocalDateTime createdAt;
+    private LocalDateTime nextAttemptAt;
+    private LocalDateTime sentAt;
+    private String lastError;
+
+    // Konstruktoren
+    public EmailOutboxEntry() {
+    }
+
+    public EmailOutboxEntry(String recipients, String subject, String body, String attachmentPath) {
+        this.recipients = recipients;
+        this.subject = subject;
+        this.body = body;
+        this.attachmentPath = attachmentPath;
+        this.status = STATUS_PENDING;
+    }
+
+    // Getter und Setter
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getRecipients() {
+        return recipients;
+    }
+
+    public void setRecipients(String recipients) {
+        this.recipients = recipients;
+    }
+
+    public String getSubject() {
+        return subject;
+    }
+
+    public void setSubject(String subject) {
+        this.subject = subject;
+    }
+
+    public String getBody() {
+        return body;
+    }
+
+    public void setBody(String body) {
+        this.body = body;
+    }
+
+    public String getHtmlBody() {
+        return htmlBody;
+    }
+
+    public void setHtmlBody(String htmlBody) {
+        this.htmlBody = htmlBody;
+    }
+
+    public String getAttachmentPath() {
+        return attachmentPath;
+    }
+
+    public void setAttachmentPath(String attachmentPath) {
+        this.attachmentPath = attachmentPath;
+    }
+
+    public String getAttachmentName() {
+        return attachmentName;
+    }
+
+    public void setAttachmentName(String attachmentName) {
+        this.attachmentName = attachmentName;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(int attempts) {
+        this.attempts = attempts;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getNextAttemptAt() {
+        return nextAttemptAt;
+    }
+
+    public void setNextAttemptAt(LocalDateTime nextAttemptAt) {
+        this.nextAttemptAt = nextAttemptAt;
+    }
+
+    public LocalDateTime getSentAt() {
+        return sentAt;
+    }
+
+    public void setSentAt(LocalDateTime sentAt) {
+        this.sentAt = sentAt;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+}
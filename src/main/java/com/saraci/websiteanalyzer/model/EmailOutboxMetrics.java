@@ -0,0 +1,154 @@
+package com.saraci.websiteanalyzer.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Momentaufnahme der E-Mail-Ausgangswarteschlange und der Zustellung.
+ */
+public class EmailOutboxMetrics {
+    // Bestand der Warteschlange
+    private long pendingCount;
+    private long sendingCount;
+    private long sentCount;
+    private long deadCount;
+    private long oldestPendingAgeMs;
+
+    // Zustellung (Einreihen bis Versand) der zuletzt gesendeten Nachrichten
+    private int latencySamples;
+    private long deliveryLatencyP50Ms;
+    private long deliveryLatencyP95Ms;
+
+    // Zustell-Threads und Verlauf seit dem Start
+    private int maxInFlight;
+    private int inFlight;
+    private long deliveredSinceStart;
+    private long retriedSinceStart;
+    private long deadSinceStart;
+    private LocalDateTime lastFailureAt;
+    private String lastError;
+
+    // Konstruktoren
+    public EmailOutboxMetrics() {
+    }
+
+    // Getter und Setter
+    public long getPendingCount() {
+        return pendingCount;
+    }
+
+    public void setPendingCount(long pendingCount) {
+        this.pendingCount = pendingCount;
+    }
+
+    public long getSendingCount() {
+        return sendingCount;
+    }
+
+    public void setSendingCount(long sendingCount) {
+        this.sendingCount = sendingCount;
+    }
+
+    public long getSentCount() {
+        return sentCount;
+    }
+
+    public void setSentCount(long sentCount) {
+        this.sentCount = sentCount;
+    }
+
+    public long getDeadCount() {
+        return deadCount;
+    }
+
+    public void setDeadCount(long deadCount) {
+        this.deadCount = deadCount;
+    }
+
+    public long getOldestPendingAgeMs() {
+        return oldestPendingAgeMs;
+    }
+
+    public void setOldestPendingAgeMs(long oldestPendingAgeMs) {
+        this.oldestPendingAgeMs = oldestPendingAgeMs;
+    }
+
+    public int getLatencySamples() {
+        return latencySamples;
+    }
+
+    public void setLatencySamples(int latencySamples) {
+        this.latencySamples = latencySamples;
+    }
+
+    public long getDeliveryLatencyP50Ms() {
+        return deliveryLatencyP50Ms;
+    }
+
+    public void setDeliveryLatencyP50Ms(long deliveryLatencyP50Ms) {
+        this.deliveryLatencyP50Ms = deliveryLatencyP50Ms;
+    }
+
+    public long getDeliveryLatencyP95Ms() {
+        return deliveryLatencyP95Ms;
+    }
+
+    public void setDeliveryLatencyP95Ms(long deliveryLatencyP95Ms) {
+        this.deliveryLatencyP95Ms = deliveryLatencyP95Ms;
+    }
+
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    public void setMaxInFlight(int maxInFlight) {
+        this.maxInFlight = maxInFlight;
+    }
+
+    public int getInFlight() {
+        return inFlight;
+    }
+
+    public void setInFlight(int inFlight) {
+        this.inFlight = inFlight;
+    }
+
+    public long getDeliveredSinceStart() {
+        return deliveredSinceStart;
+    }
+
+    public void setDeliveredSinceStart(long deliveredSinceStart) {
+        this.deliveredSinceStart = deliveredSinceStart;
+    }
+
+    public long getRetriedSinceStart() {
+        return retriedSinceStart;
+    }
+
+    public void setRetriedSinceStart(long retriedSinceStart) {
+        this.retriedSinceStart = retriedSinceStart;
+    }
+
+    public long getDeadSinceStart() {
+        return deadSinceStart;
+    }
+
+    public void setDeadSinceStart(long deadSinceStart) {
+        this.deadSinceStart = deadSinceStart;
+    }
+
+    public LocalDateTime getLastFailureAt() {
+        return lastFailureAt;
+    }
+
+    public void setLastFailureAt(LocalDateTime lastFailureAt) {
+        this.lastFailureAt = lastFailureAt;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+}
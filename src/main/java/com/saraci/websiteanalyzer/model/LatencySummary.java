@@ -0,0 +1,70 @@
+package com.saraci.websiteanalyzer.model;
+
+/**
+ * Kennzahlen wiederholter Abrufe einer Seite in Millisekunden.
+ */
+public class LatencySummary {
+    private int samples;
+    private int min;
+    private int p50;
+    private int p95;
+    private int max;
+
+    // Konstruktoren
+    public LatencySummary() {
+    }
+
+    public LatencySummary(int samples, int min, int p50, int p95, int max) {
+        this.samples = samples;
+        this.min = min;
+        this.p50 = p50;
+        this.p95 = p95;
+        this.max = max;
+    }
+
+    // Getter und Setter
+    public int getSamples() {
+        return samples;
+    }
+
+    public void setSamples(int samples) {
+        this.samples = samples;
+    }
+
+    public int getMin() {
+        return min;
+    }
+
+    public void setMin(int min) {
+        this.min = min;
+    }
+
+    public int getP50() {
+        return p50;
+    }
+
+    public void setP50(int p50) {
+        this.p50 = p50;
+    }
+
+    public int getP95() {
+        return p95;
+    }
+
+    public void setP95(int p95) {
+        this.p95 = p95;
+    }
+
+    public int getMax() {
+        return max;
+    }
+
+    public void setMax(int max) {
+        this.max = max;
+    }
+
+    @Override
+    public String toString() {
+        return samples + " Abrufe: min " + min + ", p50 " + p50 + ", p95 " + p95 + ", max " + max + " ms";
+    }
+}
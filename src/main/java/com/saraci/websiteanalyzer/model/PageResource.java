@@ -0,0 +1,205 @@
+package com.saraci.websiteanalyzer.model;
+
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Eine von der analysierten Seite eingebundene Ressource (Stylesheet, Skript, Bild oder Schrift)
+ * mit Größe, Zeitpunkt im Ladeverlauf und Cache-Headern.
+ */
+public class PageResource {
+    public static final String TYPE_CSS = "css";
+    public static final String TYPE_SCRIPT = "script";
+    public static final String TYPE_IMAGE = "image";
+    public static final String TYPE_FONT = "font";
+
+    private static final Pattern MAX_AGE = Pattern.compile("max-age=(\\d{1,12})");
+
+    private String url;
+    private String type;
+    private int statusCode;
+    private long transferSize; // übertragene Bytes des Inhalts (ggf. komprimiert)
+    private long size; // entpackte Größe des Inhalts
+    private boolean truncated; // Inhalt über der Höchstgröße, nur teilweise gelesen
+    private int startTime; // in Millisekunden ab Beginn der Analyse
+    private int duration; // in Millisekunden
+    private int timeToFirstByte; // in Millisekunden ab Beginn der Anfrage
+    private boolean renderBlocking;
+    private String cacheControl;
+    private String expires;
+    private String etag;
+    private String lastModified;
+    private String error;
+
+    // Konstruktoren
+    public PageResource() {
+    }
+
+    public PageResource(String url, String type, boolean renderBlocking) {
+        this.url = url;
+        this.type = type;
+        this.renderBlocking = renderBlocking;
+    }
+
+    // Getter und Setter
+    public String getUrl() {
+        return url;
+    }
+
+    public void setUrl(String url) {
+        this.url = url;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    public void setStatusCode(int statusCode) {
+        this.statusCode = statusCode;
+    }
+
+    public long getTransferSize() {
+        return transferSize;
+    }
+
+    public void setTransferSize(long transferSize) {
+        this.transferSize = transferSize;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public void setSize(long size) {
+        this.size = size;
+    }
+
+    /**
+     * Gibt an, ob der Inhalt die Höchstgröße überschritten hat. Die Größen sind dann Untergrenzen,
+     * außer die Übertragungsgröße stammt aus dem Content-Length-Header.
+     */
+    public boolean isTruncated() {
+        return truncated;
+    }
+
+    public void setTruncated(boolean truncated) {
+        this.truncated = truncated;
+    }
+
+    public int getStartTime() {
+        return startTime;
+    }
+
+    public void setStartTime(int startTime) {
+        this.startTime = startTime;
+    }
+
+    public int getDuration() {
+        return duration;
+    }
+
+    public void setDuration(int duration) {
+        this.duration = duration;
+    }
+
+    public int getTimeToFirstByte() {
+        return timeToFirstByte;
+    }
+
+    public void setTimeToFirstByte(int timeToFirstByte) {
+        this.timeToFirstByte = timeToFirstByte;
+    }
+
+    public boolean isRenderBlocking() {
+        return renderBlocking;
+    }
+
+    public void setRenderBlocking(boolean renderBlocking) {
+        this.renderBlocking = renderBlocking;
+    }
+
+    public String getCacheControl() {
+        return cacheControl;
+    }
+
+    public void setCacheControl(String cacheControl) {
+        this.cacheControl = cacheControl;
+    }
+
+    public String getExpires() {
+        return expires;
+    }
+
+    public void setExpires(String expires) {
+        this.expires = expires;
+    }
+
+    public String getEtag() {
+        return etag;
+    }
+
+    public void setEtag(String etag) {
+        this.etag = etag;
+    }
+
+    public String getLastModified() {
+        return lastModified;
+    }
+
+    public void setLastModified(String lastModified) {
+        this.lastModified = lastModified;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    /**
+     * Gibt an, ob die Ressource erfolgreich geladen wurde.
+     */
+    public boolean isLoaded() {
+        return error == null && statusCode >= 200 && statusCode < 400;
+    }
+
+    /**
+     * Gibt an, ob der Browser die Ressource zwischenspeichern darf: max-age bzw. s-maxage größer 0
+     * oder ein Expires-Header, und weder no-store noch no-cache.
+     */
+    public boolean isCacheable() {
+        if (cacheControl != null) {
+            String value = cacheControl.toLowerCase(Locale.ROOT);
+            if (value.contains("no-store") || value.contains("no-cache")) {
+                return false;
+            }
+            Matcher maxAge = MAX_AGE.matcher(value);
+            if (maxAge.find()) {
+                return Long.parseLong(maxAge.group(1)) > 0;
+            }
+        }
+        return expires != null;
+    }
+
+    @Override
+    public String toString() {
+        return "PageResource{" +
+                "type='" + type + '\'' +
+                ", url='" + url + '\'' +
+                ", status=" + statusCode +
+                ", transferSize=" + transferSize +
+                ", duration=" + duration +
+                "ms}";
+    }
+}
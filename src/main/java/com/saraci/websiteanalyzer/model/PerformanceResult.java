@@ -1,5 +1,7 @@
 package com.saraci.websiteanalyzer.model;
 
+import java.util.List;
+
 /**
  * Speichert die Ergebnisse einer Performance-Analyse.
  */
@@ -13,6 +15,25 @@ public class PerformanceResult {
     private String cumulativeLayoutShift;
     private int loadTime; // in Millisekunden
 
+    // Phasen der Ladezeit in Millisekunden (null bei Analysen älterer Versionen)
+    private Integer dnsTime;
+    private Integer connectTime;
+    private Integer tlsTime;
+    private Integer timeToFirstByte;
+    private Integer downloadTime;
+    private Integer parseTime;
+    private Integer redirectCount;
+
+    // Eingebundene Ressourcen (null bei Analysen älterer Versionen)
+    private Long pageWeight; // übertragene Bytes aller Anfragen
+    private Integer requestCount;
+    private Long renderBlockingBytes;
+    private List<PageResource> resources;
+
+    // Wiederholte Abrufe mit neuer bzw. bestehender Verbindung (null bei nur einem Abruf)
+    private LatencySummary coldLatency;
+    private LatencySummary warmLatency;
+
     // Konstruktoren
     public PerformanceResult() {
     }
@@ -82,12 +103,174 @@ public class PerformanceResult {
         this.loadTime = loadTime;
     }
 
+    public Integer getDnsTime() {
+        return dnsTime;
+    }
+
+    public void setDnsTime(Integer dnsTime) {
+        this.dnsTime = dnsTime;
+    }
+
+    public Integer getConnectTime() {
+        return connectTime;
+    }
+
+    public void setConnectTime(Integer connectTime) {
+        this.connectTime = connectTime;
+    }
+
+    public Integer getTlsTime() {
+        return tlsTime;
+    }
+
+    public void setTlsTime(Integer tlsTime) {
+        this.tlsTime = tlsTime;
+    }
+
+    public Integer getTimeToFirstByte() {
+        return timeToFirstByte;
+    }
+
+    public void setTimeToFirstByte(Integer timeToFirstByte) {
+        this.timeToFirstByte = timeToFirstByte;
+    }
+
+    public Integer getDownloadTime() {
+        return downloadTime;
+    }
+
+    public void setDownloadTime(Integer downloadTime) {
+        this.downloadTime = downloadTime;
+    }
+
+    public Integer getParseTime() {
+        return parseTime;
+    }
+
+    public void setParseTime(Integer parseTime) {
+        this.parseTime = parseTime;
+    }
+
+    public Integer getRedirectCount() {
+        return redirectCount;
+    }
+
+    public void setRedirectCount(Integer redirectCount) {
+        this.redirectCount = redirectCount;
+    }
+
+    public Long getPageWeight() {
+        return pageWeight;
+    }
+
+    public void setPageWeight(Long pageWeight) {
+        this.pageWeight = pageWeight;
+    }
+
+    public Integer getRequestCount() {
+        return requestCount;
+    }
+
+    public void setRequestCount(Integer requestCount) {
+        this.requestCount = requestCount;
+    }
+
+    public Long getRenderBlockingBytes() {
+        return renderBlockingBytes;
+    }
+
+    public void setRenderBlockingBytes(Long renderBlockingBytes) {
+        this.renderBlockingBytes = renderBlockingBytes;
+    }
+
+    public List<PageResource> getResources() {
+        return resources;
+    }
+
+    public void setResources(List<PageResource> resources) {
+        this.resources = resources;
+    }
+
+    public LatencySummary getColdLatency() {
+        return coldLatency;
+    }
+
+    public void setColdLatency(LatencySummary coldLatency) {
+        this.coldLatency = coldLatency;
+    }
+
+    public LatencySummary getWarmLatency() {
+        return warmLatency;
+    }
+
+    public void setWarmLatency(LatencySummary warmLatency) {
+        this.warmLatency = warmLatency;
+    }
+
+    /**
+     * Gibt an, ob die eingebundenen Ressourcen geladen wurden.
+     */
+    public boolean hasResources() {
+        return pageWeight != null && resources != null;
+    }
+
+    /**
+     * Übertragene Bytes aller Ressourcen eines Typs (siehe {@link PageResource}).
+     */
+    public long getTransferSizeByType(String type) {
+        long bytes = 0;
+        if (resources != null) {
+            for (PageResource resource : resources) {
+                if (type.equals(resource.getType())) {
+                    bytes += resource.getTransferSize();
+                }
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * Anzahl der geladenen Ressourcen, die der Browser nicht zwischenspeichern darf.
+     */
+    public int getUncachedCount() {
+        int count = 0;
+        if (resources != null) {
+            for (PageResource resource : resources) {
+                if (resource.isLoaded() && !resource.isCacheable()) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Gibt an, ob die Phasen der Ladezeit gemessen wurden.
+     */
+    public boolean hasTimingPhases() {
+        return timeToFirstByte != null;
+    }
+
+    /**
+     * Netzwerkzeit bis zur Verbindung (DNS, TCP und TLS), 0 wenn nicht gemessen.
+     */
+    public int getNetworkTime() {
+        return valueOrZero(dnsTime) + valueOrZero(connectTime) + valueOrZero(tlsTime);
+    }
+
+    private static int valueOrZero(Integer value) {
+        return value != null ? value : 0;
+    }
+
     @Override
     public String toString() {
         return "PerformanceResult{" +
                 "analysisId=" + analysisId +
                 ", lighthouseScore=" + lighthouseScore +
                 ", loadTime=" + loadTime +
-                "ms}";
+                "ms, ttfb=" + timeToFirstByte +
+                "ms, requestCount=" + requestCount +
+                ", pageWeight=" + pageWeight +
+                "}";
     }
 }
\ No newline at end of file
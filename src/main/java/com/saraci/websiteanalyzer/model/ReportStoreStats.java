@@ -0,0 +1,127 @@
+package com.saraci.websiteanalyzer.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Momentaufnahme des Berichtsspeichers und des letzten Aufräumlaufs.
+ */
+public class ReportStoreStats {
+    // Aktueller Bestand und Grenzen
+    private long blobCount;
+    private long totalBytes;
+    private long maxBytes;
+    private int maxFiles;
+    private int maxAgeDays;
+
+    // Letzter Aufräumlauf
+    private LocalDateTime lastGcAt;
+    private long lastGcDurationMs;
+    private int lastGcDeleted;
+    private long lastGcFreedBytes;
+    private int lastGcMigrated;
+    private int lastGcClearedReferences;
+
+    // Konstruktoren
+    public ReportStoreStats() {
+    }
+
+    // Getter und Setter
+    public long getBlobCount() {
+        return blobCount;
+    }
+
+    public void setBlobCount(long blobCount) {
+        this.blobCount = blobCount;
+    }
+
+    public long getTotalBytes() {
+        return totalBytes;
+    }
+
+    public void setTotalBytes(long totalBytes) {
+        this.totalBytes = totalBytes;
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    public void setMaxBytes(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    public int getMaxFiles() {
+        return maxFiles;
+    }
+
+    public void setMaxFiles(int maxFiles) {
+        this.maxFiles = maxFiles;
+    }
+
+    public int getMaxAgeDays() {
+        return maxAgeDays;
+    }
+
+    public void setMaxAgeDays(int maxAgeDays) {
+        this.maxAgeDays = maxAgeDays;
+    }
+
+    public LocalDateTime getLastGcAt() {
+        return lastGcAt;
+    }
+
+    public void setLastGcAt(LocalDateTime lastGcAt) {
+        this.lastGcAt = lastGcAt;
+    }
+
+    public long getLastGcDurationMs() {
+        return lastGcDurationMs;
+    }
+
+    public void setLastGcDurationMs(long lastGcDurationMs) {
+        this.lastGcDurationMs = lastGcDurationMs;
+    }
+
+    public int getLastGcDeleted() {
+        return lastGcDeleted;
+    }
+
+    public void setLastGcDeleted(int lastGcDeleted) {
+        this.lastGcDeleted = lastGcDeleted;
+    }
+
+    public long getLastGcFreedBytes() {
+        return lastGcFreedBytes;
+    }
+
+    public void setLastGcFreedBytes(long lastGcFreedBytes) {
+        this.lastGcFreedBytes = lastGcFreedBytes;
+    }
+
+    public int getLastGcMigrated() {
+        return lastGcMigrated;
+    }
+
+    public void setLastGcMigrated(int lastGcMigrated) {
+        this.lastGcMigrated = lastGcMigrated;
+    }
+
+    public int getLastGcClearedReferences() {
+        return lastGcClearedReferences;
+    }
+
+    public void setLastGcClearedReferences(int lastGcClearedReferences) {
+        this.lastGcClearedReferences = lastGcClearedReferences;
+    }
+
+    @Override
+    public String toString() {
+        return "ReportStoreStats{" +
+                "blobCount=" + blobCount +
+                ", totalBytes=" + totalBytes +
+                ", lastGcDeleted=" + lastGcDeleted +
+                ", lastGcFreedBytes=" + lastGcFreedBytes +
+                ", lastGcMigrated=" + lastGcMigrated +
+                '}';
+    }
+}
@@ -0,0 +1,224 @@
+package com.saraci.websiteanalyzer.model;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Ergebnis einer Lastprognose für die aktiven Zeitpläne über einen Zeithorizont.
+ */
+public class ScheduleLoadForecast {
+    private LocalDateTime horizonStart;
+    private int horizonHours;
+    private int activeSchedules;
+
+    // Ausführungen
+    private int totalRuns;
+    private double averageRunsPerHour;
+    private int peakRunsPerHour;
+    private LocalDateTime peakHourStart;
+
+    // Gleichzeitigkeit (auf Minutenbasis)
+    private int peakConcurrency;
+    private LocalDateTime peakConcurrencyMinute;
+
+    // Volumen
+    private int estimatedPdfCount;
+    private int estimatedEmailCount;
+    private long estimatedPdfRenderSeconds;
+    private long estimatedEmailSeconds;
+    private long estimatedBusySeconds;
+
+    // Annahmen und Verteilungen
+    private long assumedRunMs;
+    private boolean measuredDurations;
+    private String firstRunAssumption; // siehe ScheduleLoadSimulator.FIRST_RUN_*
+    private Map<String, Long> assumedStageMs = new LinkedHashMap<>();
+    private Map<String, Integer> runsPerHour = new LinkedHashMap<>();
+    private Map<String, Integer> runsPerHost = new LinkedHashMap<>();
+    private Map<String, Integer> peakConcurrencyPerHost = new LinkedHashMap<>();
+
+    // Konstruktoren
+    public ScheduleLoadForecast() {
+    }
+
+    // Getter und Setter
+    public LocalDateTime getHorizonStart() {
+        return horizonStart;
+    }
+
+    public void setHorizonStart(LocalDateTime horizonStart) {
+        this.horizonStart = horizonStart;
+    }
+
+    public int getHorizonHours() {
+        return horizonHours;
+    }
+
+    public void setHorizonHours(int horizonHours) {
+        this.horizonHours = horizonHours;
+    }
+
+    public int getActiveSchedules() {
+        return activeSchedules;
+    }
+
+    public void setActiveSchedules(int activeSchedules) {
+        this.activeSchedules = activeSchedules;
+    }
+
+    public int getTotalRuns() {
+        return totalRuns;
+    }
+
+    public void setTotalRuns(int totalRuns) {
+        this.totalRuns = totalRuns;
+    }
+
+    public double getAverageRunsPerHour() {
+        return averageRunsPerHour;
+    }
+
+    public void setAverageRunsPerHour(double averageRunsPerHour) {
+        this.averageRunsPerHour = averageRunsPerHour;
+    }
+
+    public int getPeakRunsPerHour() {
+        return peakRunsPerHour;
+    }
+
+    public void setPeakRunsPerHour(int peakRunsPerHour) {
+        this.peakRunsPerHour = peakRunsPerHour;
+    }
+
+    public LocalDateTime getPeakHourStart() {
+        return peakHourStart;
+    }
+
+    public void setPeakHourStart(LocalDateTime peakHourStart) {
+        this.peakHourStart = peakHourStart;
+    }
+
+    public int getPeakConcurrency() {
+        return peakConcurrency;
+    }
+
+    public void setPeakConcurrency(int peakConcurrency) {
+        this.peakConcurrency = peakConcurrency;
+    }
+
+    public LocalDateTime getPeakConcurrencyMinute() {
+        return peakConcurrencyMinute;
+    }
+
+    public void setPeakConcurrencyMinute(LocalDateTime peakConcurrencyMinute) {
+        this.peakConcurrencyMinute = peakConcurrencyMinute;
+    }
+
+    public int getEstimatedPdfCount() {
+        return estimatedPdfCount;
+    }
+
+    public void setEstimatedPdfCount(int estimatedPdfCount) {
+        this.estimatedPdfCount = estimatedPdfCount;
+    }
+
+    public int getEstimatedEmailCount() {
+        return estimatedEmailCount;
+    }
+
+    public void setEstimatedEmailCount(int estimatedEmailCount) {
+        this.estimatedEmailCount = estimatedEmailCount;
+    }
+
+    public long getEstimatedPdfRenderSeconds() {
+        return estimatedPdfRenderSeconds;
+    }
+
+    public void setEstimatedPdfRenderSeconds(long estimatedPdfRenderSeconds) {
+        this.estimatedPdfRenderSeconds = estimatedPdfRenderSeconds;
+    }
+
+    public long getEstimatedEmailSeconds() {
+        return estimatedEmailSeconds;
+    }
+
+    public void setEstimatedEmailSeconds(long estimatedEmailSeconds) {
+        this.estimatedEmailSeconds = estimatedEmailSeconds;
+    }
+
+    public long getEstimatedBusySeconds() {
+        return estimatedBusySeconds;
+    }
+
+    public void setEstimatedBusySeconds(long estimatedBusySeconds) {
+        this.estimatedBusySeconds = estimatedBusySeconds;
+    }
+
+    public long getAssumedRunMs() {
+        return assumedRunMs;
+    }
+
+    public void setAssumedRunMs(long assumedRunMs) {
+        this.assumedRunMs = assumedRunMs;
+    }
+
+    public boolean isMeasuredDurations() {
+        return measuredDurations;
+    }
+
+    public void setMeasuredDurations(boolean measuredDurations) {
+        this.measuredDurations = measuredDurations;
+    }
+
+    public String getFirstRunAssumption() {
+        return firstRunAssumption;
+    }
+
+    public void setFirstRunAssumption(String firstRunAssumption) {
+        this.firstRunAssumption = firstRunAssumption;
+    }
+
+    public Map<String, Long> getAssumedStageMs() {
+        return assumedStageMs;
+    }
+
+    public void setAssumedStageMs(Map<String, Long> assumedStageMs) {
+        this.assumedStageMs = assumedStageMs;
+    }
+
+    public Map<String, Integer> getRunsPerHour() {
+        return runsPerHour;
+    }
+
+    public void setRunsPerHour(Map<String, Integer> runsPerHour) {
+        this.runsPerHour = runsPerHour;
+    }
+
+    public Map<String, Integer> getRunsPerHost() {
+        return runsPerHost;
+    }
+
+    public void setRunsPerHost(Map<String, Integer> runsPerHost) {
+        this.runsPerHost = runsPerHost;
+    }
+
+    public Map<String, Integer> getPeakConcurrencyPerHost() {
+        return peakConcurrencyPerHost;
+    }
+
+    public void setPeakConcurrencyPerHost(Map<String, Integer> peakConcurrencyPerHost) {
+        this.peakConcurrencyPerHost = peakConcurrencyPerHost;
+    }
+
+    @Override
+    public String toString() {
+        return "ScheduleLoadForecast{" +
+                "horizonHours=" + horizonHours +
+                ", activeSchedules=" + activeSchedules +
+                ", totalRuns=" + totalRuns +
+                ", peakRunsPerHour=" + peakRunsPerHour +
+                ", peakConcurrency=" + peakConcurrency +
+                '}';
+    }
+}
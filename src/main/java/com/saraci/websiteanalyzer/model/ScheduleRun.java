@@ -0,0 +1,179 @@
+package com.saraci.websiteanalyzer.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Repräsentiert eine einzelne Ausführung eines Zeitplans mit den Dauern der einzelnen Phasen.
+ */
+public class ScheduleRun {
+    public static final String OUTCOME_SUCCESS = "SUCCESS";
+    public static final String OUTCOME_FAILED = "FAILED";
+
+    private Long id;
+    private Long scheduleId;
+    private Long websiteId;
+    private Long analysisId;
+    private LocalDateTime queuedAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private long fetchMs;   // Abruf der Seite (gemessene Ladezeit)
+    private long analyzeMs; // Gesamte Analyse inkl. der Abrufe der einzelnen Analyzer
+    private long persistMs; // Speichern der Ergebnisse und des Zeitplans
+    private long pdfMs;     // PDF-Erstellung
+    private long emailMs;   // Einreihen der E-Mail an alle Empfänger
+    private String outcome; // "SUCCESS" oder "FAILED"
+    private String errorClass;
+
+    // Konstruktoren
+    public ScheduleRun() {
+    }
+
+    public ScheduleRun(Long scheduleId, Long websiteId, LocalDateTime queuedAt) {
+        this.scheduleId = scheduleId;
+        this.websiteId = websiteId;
+        this.queuedAt = queuedAt;
+    }
+
+    /**
+     * Gibt die Gesamtdauer der Ausführung (Start bis Ende) in Millisekunden zurück.
+     */
+    public long getTotalMs() {
+        if (startedAt == null || finishedAt == null) {
+            return 0;
+        }
+        return java.time.Duration.between(startedAt, finishedAt).toMillis();
+    }
+
+    /**
+     * Gibt die Wartezeit zwischen Einreihung und Start in Millisekunden zurück.
+     */
+    public long getQueueDelayMs() {
+        if (queuedAt == null || startedAt == null) {
+            return 0;
+        }
+        return Math.max(0, java.time.Duration.between(queuedAt, startedAt).toMillis());
+    }
+
+    // Getter und Setter
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getScheduleId() {
+        return scheduleId;
+    }
+
+    public void setScheduleId(Long scheduleId) {
+        this.scheduleId = scheduleId;
+    }
+
+    public Long getWebsiteId() {
+        return websiteId;
+    }
+
+    public void setWebsiteId(Long websiteId) {
+        this.websiteId = websiteId;
+    }
+
+    public Long getAnalysisId() {
+        return analysisId;
+    }
+
+    public void setAnalysisId(Long analysisId) {
+        this.analysisId = analysisId;
+    }
+
+    public LocalDateTime getQueuedAt() {
+        return queuedAt;
+    }
+
+    public void setQueuedAt(LocalDateTime queuedAt) {
+        this.queuedAt = queuedAt;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(LocalDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(LocalDateTime finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+
+    public long getFetchMs() {
+        return fetchMs;
+    }
+
+    public void setFetchMs(long fetchMs) {
+        this.fetchMs = fetchMs;
+    }
+
+    public long getAnalyzeMs() {
+        return analyzeMs;
+    }
+
+    public void setAnalyzeMs(long analyzeMs) {
+        this.analyzeMs = analyzeMs;
+    }
+
+    public long getPersistMs() {
+        return persistMs;
+    }
+
+    public void setPersistMs(long persistMs) {
+        this.persistMs = persistMs;
+    }
+
+    public long getPdfMs() {
+        return pdfMs;
+    }
+
+    public void setPdfMs(long pdfMs) {
+        this.pdfMs = pdfMs;
+    }
+
+    public long getEmailMs() {
+        return emailMs;
+    }
+
+    public void setEmailMs(long emailMs) {
+        this.emailMs = emailMs;
+    }
+
+    public String getOutcome() {
+        return outcome;
+    }
+
+    public void setOutcome(String outcome) {
+        this.outcome = outcome;
+    }
+
+    public String getErrorClass() {
+        return errorClass;
+    }
+
+    public void setErrorClass(String errorClass) {
+        this.errorClass = errorClass;
+    }
+
+    @Override
+    public String toString() {
+        return "ScheduleRun{" +
+                "id=" + id +
+                ", scheduleId=" + scheduleId +
+                ", outcome='" + outcome + '\'' +
+                ", totalMs=" + getTotalMs() +
+                '}';
+    }
+}
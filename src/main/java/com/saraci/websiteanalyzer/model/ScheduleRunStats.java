@@ -0,0 +1,120 @@
+package com.saraci.websiteanalyzer.model;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Aggregierte Laufzeitstatistik (p50/p95) über Zeitplan-Ausführungen.
+ * Ist keine Zeitplan-ID gesetzt, beziehen sich die Werte auf alle Zeitpläne.
+ */
+public class ScheduleRunStats {
+    private Long scheduleId;
+    private int runCount;
+    private int failedCount;
+    private long p50TotalMs;
+    private long p95TotalMs;
+    private long p50QueueDelayMs;
+    private long p95QueueDelayMs;
+    private Map<String, Long> stageP50Ms = new LinkedHashMap<>();
+    private Map<String, Long> stageP95Ms = new LinkedHashMap<>();
+    private Map<String, Long> stageAverageMs = new LinkedHashMap<>();
+
+    // Konstruktoren
+    public ScheduleRunStats() {
+    }
+
+    public ScheduleRunStats(Long scheduleId) {
+        this.scheduleId = scheduleId;
+    }
+
+    // Getter und Setter
+    public Long getScheduleId() {
+        return scheduleId;
+    }
+
+    public void setScheduleId(Long scheduleId) {
+        this.scheduleId = scheduleId;
+    }
+
+    public int getRunCount() {
+        return runCount;
+    }
+
+    public void setRunCount(int runCount) {
+        this.runCount = runCount;
+    }
+
+    public int getFailedCount() {
+        return failedCount;
+    }
+
+    public void setFailedCount(int failedCount) {
+        this.failedCount = failedCount;
+    }
+
+    public long getP50TotalMs() {
+        return p50TotalMs;
+    }
+
+    public void setP50TotalMs(long p50TotalMs) {
+        this.p50TotalMs = p50TotalMs;
+    }
+
+    public long getP95TotalMs() {
+        return p95TotalMs;
+    }
+
+    public void setP95TotalMs(long p95TotalMs) {
+        this.p95TotalMs = p95TotalMs;
+    }
+
+    public long getP50QueueDelayMs() {
+        return p50QueueDelayMs;
+    }
+
+    public void setP50QueueDelayMs(long p50QueueDelayMs) {
+        this.p50QueueDelayMs = p50QueueDelayMs;
+    }
+
+    public long getP95QueueDelayMs() {
+        return p95QueueDelayMs;
+    }
+
+    public void setP95QueueDelayMs(long p95QueueDelayMs) {
+        this.p95QueueDelayMs = p95QueueDelayMs;
+    }
+
+    public Map<String, Long> getStageP50Ms() {
+        return stageP50Ms;
+    }
+
+    public void setStageP50Ms(Map<String, Long> stageP50Ms) {
+        this.stageP50Ms = stageP50Ms;
+    }
+
+    public Map<String, Long> getStageP95Ms() {
+        return stageP95Ms;
+    }
+
+    public void setStageP95Ms(Map<String, Long> stageP95Ms) {
+        this.stageP95Ms = stageP95Ms;
+    }
+
+    public Map<String, Long> getStageAverageMs() {
+        return stageAverageMs;
+    }
+
+    public void setStageAverageMs(Map<String, Long> stageAverageMs) {
+        this.stageAverageMs = stageAverageMs;
+    }
+
+    @Override
+    public String toString() {
+        return "ScheduleRunStats{" +
+                "scheduleId=" + scheduleId +
+                ", runCount=" + runCount +
+                ", p50TotalMs=" + p50TotalMs +
+                ", p95TotalMs=" + p95TotalMs +
+                '}';
+    }
+}
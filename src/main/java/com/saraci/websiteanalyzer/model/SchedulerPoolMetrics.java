@@ -0,0 +1,190 @@
+package com.saraci.websiteanalyzer.model;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Momentaufnahme des adaptiven Ausführungspools des Schedulers.
+ */
+public class SchedulerPoolMetrics {
+    public static final String DECISION_INCREASE = "INCREASE";
+    public static final String DECISION_DECREASE = "DECREASE";
+    public static final String DECISION_HOLD = "HOLD";
+
+    // Grenzen und aktueller Zustand
+    private int minThreads;
+    private int maxThreads;
+    private int currentLimit;
+    private int activeThreads;
+    private int poolSize;
+    private int queueDepth;
+    private long submittedTasks;
+    private long completedTasks;
+
+    // Messwerte des letzten Regelintervalls
+    private long latencyP95Ms;
+    private int latencySamples;
+    private double cpuLoad;
+
+    // Regelentscheidungen
+    private String lastDecision;
+    private String lastDecisionReason;
+    private LocalDateTime lastAdjustedAt;
+    private long increaseCount;
+    private long decreaseCount;
+    private List<String> recentDecisions = new ArrayList<>();
+
+    // Konstruktoren
+    public SchedulerPoolMetrics() {
+    }
+
+    // Getter und Setter
+    public int getMinThreads() {
+        return minThreads;
+    }
+
+    public void setMinThreads(int minThreads) {
+        this.minThreads = minThreads;
+    }
+
+    public int getMaxThreads() {
+        return maxThreads;
+    }
+
+    public void setMaxThreads(int maxThreads) {
+        this.maxThreads = maxThreads;
+    }
+
+    public int getCurrentLimit() {
+        return currentLimit;
+    }
+
+    public void setCurrentLimit(int currentLimit) {
+        this.currentLimit = currentLimit;
+    }
+
+    public int getActiveThreads() {
+        return activeThreads;
+    }
+
+    public void setActiveThreads(int activeThreads) {
+        this.activeThreads = activeThreads;
+    }
+
+    public int getPoolSize() {
+        return poolSize;
+    }
+
+    public void setPoolSize(int poolSize) {
+        this.poolSize = poolSize;
+    }
+
+    public int getQueueDepth() {
+        return queueDepth;
+    }
+
+    public void setQueueDepth(int queueDepth) {
+        this.queueDepth = queueDepth;
+    }
+
+    public long getSubmittedTasks() {
+        return submittedTasks;
+    }
+
+    public void setSubmittedTasks(long submittedTasks) {
+        this.submittedTasks = submittedTasks;
+    }
+
+    public long getCompletedTasks() {
+        return completedTasks;
+    }
+
+    public void setCompletedTasks(long completedTasks) {
+        this.completedTasks = completedTasks;
+    }
+
+    public long getLatencyP95Ms() {
+        return latencyP95Ms;
+    }
+
+    public void setLatencyP95Ms(long latencyP95Ms) {
+        this.latencyP95Ms = latencyP95Ms;
+    }
+
+    public int getLatencySamples() {
+        return latencySamples;
+    }
+
+    public void setLatencySamples(int latencySamples) {
+        this.latencySamples = latencySamples;
+    }
+
+    public double getCpuLoad() {
+        return cpuLoad;
+    }
+
+    public void setCpuLoad(double cpuLoad) {
+        this.cpuLoad = cpuLoad;
+    }
+
+    public String getLastDecision() {
+        return lastDecision;
+    }
+
+    public void setLastDecision(String lastDecision) {
+        this.lastDecision = lastDecision;
+    }
+
+    public String getLastDecisionReason() {
+        return lastDecisionReason;
+    }
+
+    public void setLastDecisionReason(String lastDecisionReason) {
+        this.lastDecisionReason = lastDecisionReason;
+    }
+
+    public LocalDateTime getLastAdjustedAt() {
+        return lastAdjustedAt;
+    }
+
+    public void setLastAdjustedAt(LocalDateTime lastAdjustedAt) {
+        this.lastAdjustedAt = lastAdjustedAt;
+    }
+
+    public long getIncreaseCount() {
+        return increaseCount;
+    }
+
+    public void setIncreaseCount(long increaseCount) {
+        this.increaseCount = increaseCount;
+    }
+
+    public long getDecreaseCount() {
+        return decreaseCount;
+    }
+
+    public void setDecreaseCount(long decreaseCount) {
+        this.decreaseCount = decreaseCount;
+    }
+
+    public List<String> getRecentDecisions() {
+        return recentDecisions;
+    }
+
+    public void setRecentDecisions(List<String> recentDecisions) {
+        this.recentDecisions = recentDecisions;
+    }
+
+    @Override
+    public String toString() {
+        return "SchedulerPoolMetrics{" +
+                "currentLimit=" + currentLimit +
+                ", activeThreads=" + activeThreads +
+                ", queueDepth=" + queueDepth +
+                ", latencyP95Ms=" + latencyP95Ms +
+                ", cpuLoad=" + cpuLoad +
+                ", lastDecision='" + lastDecision + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,93 @@
+package com.saraci.websiteanalyzer.model;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Ein Punkt im Verlauf der Scores einer Website. Fasst mehrere aufeinanderfolgende Analysen
+ * zusammen (Mittelwerte), damit der Verlauf unabhängig von der Länge der Historie eine feste
+ * Anzahl an Punkten hat.
+ */
+public class ScoreTrendPoint {
+    private LocalDateTime periodStart;
+    private LocalDateTime periodEnd;
+    private int analysisCount;
+    private Double seoScore;
+    private Double performanceScore;
+    private Double securityScore;
+    private Double loadTime;
+
+    // Konstruktoren
+    public ScoreTrendPoint() {
+    }
+
+    // Getter und Setter
+    public LocalDateTime getPeriodStart() {
+        return periodStart;
+    }
+
+    public void setPeriodStart(LocalDateTime periodStart) {
+        this.periodStart = periodStart;
+    }
+
+    public LocalDateTime getPeriodEnd() {
+        return periodEnd;
+    }
+
+    public void setPeriodEnd(LocalDateTime periodEnd) {
+        this.periodEnd = periodEnd;
+    }
+
+    public int getAnalysisCount() {
+        return analysisCount;
+    }
+
+    public void setAnalysisCount(int analysisCount) {
+        this.analysisCount = analysisCount;
+    }
+
+    public Double getSeoScore() {
+        return seoScore;
+    }
+
+    public void setSeoScore(Double seoScore) {
+        this.seoScore = seoScore;
+    }
+
+    public Double getPerformanceScore() {
+        return performanceScore;
+    }
+
+    public void setPerformanceScore(Double performanceScore) {
+        this.performanceScore = performanceScore;
+    }
+
+    public Double getSecurityScore() {
+        return securityScore;
+    }
+
+    public void setSecurityScore(Double securityScore) {
+        this.securityScore = securityScore;
+    }
+
+    /**
+     * Durchschnittliche Ladezeit in Millisekunden.
+     */
+    public Double getLoadTime() {
+        return loadTime;
+    }
+
+    public void setLoadTime(Double loadTime) {
+        this.loadTime = loadTime;
+    }
+
+    /**
+     * Zeitpunkt in der Mitte des zusammengefassten Zeitraums.
+     */
+    public LocalDateTime getMidpoint() {
+        if (periodStart == null || periodEnd == null) {
+            return periodStart != null ? periodStart : periodEnd;
+        }
+        return periodStart.plus(Duration.between(periodStart, periodEnd).dividedBy(2));
+    }
+}
@@ -1,14 +1,25 @@
 package com.saraci.websiteanalyzer.repository;
 
 import com.saraci.websiteanalyzer.model.AnalysisResult;
+import com.saraci.websiteanalyzer.model.ScoreTrendPoint;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Repository-Schnittstelle für die AnalysisResult-Entität.
  */
 public interface AnalysisResultRepository {
 
+    /**
+     * Verarbeitet ein einzelnes Analyseergebnis beim zeilenweisen Lesen.
+     */
+    @FunctionalInterface
+    interface AnalysisResultHandler {
+        void handle(AnalysisResult result) throws Exception;
+    }
+
     /**
      * Speichert ein Analyseergebnis in der Datenbank.
      *
@@ -36,6 +47,31 @@ public interface AnalysisResultRepository {
      */
     List<AnalysisResult> findByWebsiteId(Long websiteId) throws Exception;
 
+    /**
+     * Liest die jeweils neueste Analyse jeder Website (sortiert nach URL) und übergibt die Ergebnisse
+     * einzeln an den Handler. Es wird immer nur ein Ergebnis gleichzeitig im Speicher gehalten.
+     *
+     * @param since Nur Analysen ab diesem Zeitpunkt berücksichtigen (null = alle)
+     * @param withDetails true lädt alle Teilergebnisse, false nur die Scores
+     * @param handler Wird für jedes Ergebnis aufgerufen
+     * @return Die Anzahl der verarbeiteten Ergebnisse
+     * @throws Exception Bei Datenbankfehlern oder wenn der Handler eine Ausnahme wirft
+     */
+    int forEachLatestResult(LocalDateTime since, boolean withDetails, AnalysisResultHandler handler) throws Exception;
+
+    /**
+     * Berechnet den Verlauf der Scores und der Ladezeit einer Website bis einschließlich einer Analyse.
+     * Die Historie wird in der Datenbank in höchstens {@code maxPoints} gleich große, zeitlich
+     * aufeinanderfolgende Gruppen geteilt und je Gruppe gemittelt.
+     *
+     * @param websiteId Die ID der Website
+     * @param upToAnalysisId Die jüngste zu berücksichtigende Analyse
+     * @param maxPoints Maximale Anzahl an Punkten
+     * @return Die Punkte in zeitlicher Reihenfolge
+     * @throws Exception Bei Datenbankfehlern
+     */
+    List<ScoreTrendPoint> findScoreTrend(Long websiteId, Long upToAnalysisId, int maxPoints) throws Exception;
+
     /**
      * Aktualisiert den PDF-Berichtspfad eines Analyseergebnisses.
      *
@@ -44,4 +80,22 @@ public interface AnalysisResultRepository {
      * @throws Exception Bei Datenbankfehlern
      */
     void updatePdfReportPath(Long id, String pdfPath) throws Exception;
+
+    /**
+     * Gibt alle Berichtsreferenzen zurück, die noch von Analyseergebnissen verwendet werden.
+     *
+     * @return Die Menge der gespeicherten PDF-Berichtspfade bzw. -Schlüssel
+     * @throws Exception Bei Datenbankfehlern
+     */
+    Set<String> findReferencedPdfReportPaths() throws Exception;
+
+    /**
+     * Ersetzt eine Berichtsreferenz in allen Analyseergebnissen.
+     *
+     * @param oldPath Die bisherige Referenz
+     * @param newPath Die neue Referenz oder null, um die Referenz zu entfernen
+     * @return Die Anzahl der geänderten Analyseergebnisse
+     * @throws Exception Bei Datenbankfehlern
+     */
+    int replacePdfReportPath(String oldPath, String newPath) throws Exception;
 }
\ No newline at end of file
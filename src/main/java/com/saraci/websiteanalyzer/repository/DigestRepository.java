@@ -0,0 +1,68 @@
+package com.saraci.websiteanalyzer.repository;
+
+import com.saraci.websiteanalyzer.model.DigestItem;
+import com.saraci.websiteanalyzer.model.DigestSettings;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Repository-Schnittstelle für Sammel-E-Mail-Einstellungen und die darauf wartenden Berichte.
+ */
+public interface DigestRepository {
+
+    /**
+     * Findet alle Sammel-E-Mail-Einstellungen.
+     */
+    List<DigestSettings> findAllSettings() throws Exception;
+
+    /**
+     * Findet die Einstellungen der angegebenen Empfänger, sofern vorhanden.
+     *
+     * @param emails Die E-Mail-Adressen (Groß-/Kleinschreibung wird ignoriert)
+     * @return Die Einstellungen nach E-Mail-Adresse in Kleinschreibung
+     * @throws Exception Bei Datenbankfehlern
+     */
+    Map<String, DigestSettings> findSettings(Collection<String> emails) throws Exception;
+
+    /**
+     * Speichert die Einstellung eines Empfängers (Anlegen oder Aktualisieren).
+     */
+    void saveSettings(DigestSettings settings) throws Exception;
+
+    /**
+     * Löscht die Einstellung eines Empfängers.
+     *
+     * @return true, wenn eine Einstellung gelöscht wurde
+     */
+    boolean deleteSettings(String email) throws Exception;
+
+    /**
+     * Vermerkt den Versand einer Sammel-E-Mail.
+     */
+    void updateLastSentAt(String email, LocalDateTime sentAt) throws Exception;
+
+    /**
+     * Speichert Berichte für die nächsten Sammel-E-Mails.
+     */
+    void saveItems(List<DigestItem> items) throws Exception;
+
+    /**
+     * Findet die noch nicht versendeten Berichte eines Empfängers, älteste zuerst.
+     */
+    List<DigestItem> findPendingItems(String recipient) throws Exception;
+
+    /**
+     * Markiert Berichte als versendet.
+     */
+    void markItemsSent(List<Long> itemIds, LocalDateTime sentAt) throws Exception;
+
+    /**
+     * Löscht versendete Berichte, die vor dem angegebenen Zeitpunkt versendet wurden.
+     *
+     * @return Die Anzahl der gelöschten Einträge
+     */
+    int deleteSentItemsBefore(LocalDateTime before) throws Exception;
+}
@@ -0,0 +1,104 @@
+package com.saraci.websiteanalyzer.repository;
+
+import com.saraci.websiteanalyzer.model.EmailOutboxEntry;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Repository-Schnittstelle für die E-Mail-Ausgangswarteschlange.
+ */
+public interface EmailOutboxRepository {
+
+    /**
+     * Reiht eine E-Mail ein.
+     *
+     * @param entry Die E-Mail (Status PENDING)
+     * @return Die gespeicherte E-Mail mit aktualisierter ID
+     * @throws Exception Bei Datenbankfehlern
+     */
+    EmailOutboxEntry save(EmailOutboxEntry entry) throws Exception;
+
+    /**
+     * Übernimmt die fälligen E-Mails zur Zustellung: setzt sie auf SENDING und gibt sie zurück,
+     * älteste Fälligkeit zuerst.
+     *
+     * @param now Der aktuelle Zeitpunkt
+     * @param limit Die maximale Anzahl an E-Mails
+     * @return Die übernommenen E-Mails
+     * @throws Exception Bei Datenbankfehlern
+     */
+    List<EmailOutboxEntry> claimDue(LocalDateTime now, int limit) throws Exception;
+
+    /**
+     * Markiert eine E-Mail als gesendet.
+     */
+    void markSent(Long id, int attempts, LocalDateTime sentAt) throws Exception;
+
+    /**
+     * Vermerkt einen gescheiterten Zustellversuch.
+     *
+     * @param id Die ID der E-Mail
+     * @param attempts Die Anzahl der bisherigen Versuche
+     * @param status PENDING für einen weiteren Versuch, DEAD für endgültig gescheitert
+     * @param nextAttemptAt Zeitpunkt des nächsten Versuchs (nur bei PENDING)
+     * @param error Die Fehlermeldung
+     * @throws Exception Bei Datenbankfehlern
+     */
+    void markFailed(Long id, int attempts, String status, LocalDateTime nextAttemptAt, String error) throws Exception;
+
+    /**
+     * Setzt E-Mails, die beim Beenden der Anwendung noch in Zustellung waren, wieder auf PENDING.
+     *
+     * @return Die Anzahl der zurückgesetzten E-Mails
+     * @throws Exception Bei Datenbankfehlern
+     */
+    int releaseSending() throws Exception;
+
+    /**
+     * Setzt eine endgültig gescheiterte E-Mail für einen neuen Zustellversuch zurück.
+     *
+     * @return true, wenn die E-Mail gefunden wurde und den Status DEAD hatte
+     * @throws Exception Bei Datenbankfehlern
+     */
+    boolean requeue(Long id) throws Exception;
+
+    /**
+     * Findet E-Mails mit einem Status, neueste zuerst.
+     */
+    List<EmailOutboxEntry> findByStatus(String status, int limit) throws Exception;
+
+    /**
+     * Zählt die E-Mails je Status.
+     */
+    Map<String, Long> countByStatus() throws Exception;
+
+    /**
+     * Gibt den Einreihungszeitpunkt der ältesten wartenden E-Mail zurück oder null.
+     */
+    LocalDateTime findOldestPendingCreatedAt() throws Exception;
+
+    /**
+     * Gibt die Anhänge der noch nicht zugestellten E-Mails (PENDING und SENDING) zurück.
+     *
+     * @return Die Dateipfade der Anhänge
+     * @throws Exception Bei Datenbankfehlern
+     */
+    Set<String> findPendingAttachmentPaths() throws Exception;
+
+    /**
+     * Gibt die Zustelldauern (Einreihen bis Versand) der zuletzt gesendeten E-Mails in Millisekunden zurück.
+     *
+     * @param limit Die maximale Anzahl an E-Mails
+     */
+    List<Long> findRecentDeliveryLatencies(int limit) throws Exception;
+
+    /**
+     * Löscht gesendete E-Mails, die vor dem angegebenen Zeitpunkt versendet wurden.
+     *
+     * @return Die Anzahl der gelöschten E-Mails
+     */
+    int deleteSentBefore(LocalDateTime before) throws Exception;
+}
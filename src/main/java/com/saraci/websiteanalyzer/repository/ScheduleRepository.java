@@ -2,6 +2,7 @@ package com.saraci.websiteanalyzer.repository;
 
 import com.saraci.websiteanalyzer.model.AnalysisSchedule;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -59,4 +60,40 @@ public interface ScheduleRepository {
      * @throws Exception Bei Datenbankfehlern
      */
     void deleteById(Long id) throws Exception;
+
+    /**
+     * Speichert viele neue Zeitpläne in einer einzigen Transaktion.
+     * Schlägt ein Eintrag fehl, wird keiner gespeichert.
+     *
+     * @param schedules Die zu speichernden Zeitpläne
+     * @return Die gespeicherten Zeitpläne mit IDs
+     * @throws Exception Bei Datenbankfehlern
+     */
+    List<AnalysisSchedule> saveAll(List<AnalysisSchedule> schedules) throws Exception;
+
+    /**
+     * Aktualisiert viele Zeitpläne in einer einzigen Transaktion.
+     *
+     * @param schedules Die zu aktualisierenden Zeitpläne
+     * @throws Exception Bei Datenbankfehlern
+     */
+    void updateAll(List<AnalysisSchedule> schedules) throws Exception;
+
+    /**
+     * Findet die Zeitpläne zu den angegebenen IDs. Nicht vorhandene IDs werden ignoriert.
+     *
+     * @param ids Die IDs der Zeitpläne
+     * @return Die gefundenen Zeitpläne
+     * @throws Exception Bei Datenbankfehlern
+     */
+    List<AnalysisSchedule> findByIds(Collection<Long> ids) throws Exception;
+
+    /**
+     * Deaktiviert viele Zeitpläne in einer einzigen Transaktion.
+     *
+     * @param ids Die IDs der zu deaktivierenden Zeitpläne
+     * @return Die Anzahl der deaktivierten Zeitpläne
+     * @throws Exception Bei Datenbankfehlern
+     */
+    int deactivateAll(Collection<Long> ids) throws Exception;
 }
\ No newline at end of file
@@ -0,0 +1,52 @@
+package com.saraci.websiteanalyzer.repository;
+
+import com.saraci.websiteanalyzer.model.ScheduleRun;
+import com.saraci.websiteanalyzer.model.ScheduleRunStats;
+
+import java.util.List;
+
+/**
+ * Repository-Schnittstelle für die Ausführungshistorie der Zeitpläne.
+ */
+public interface ScheduleRunRepository {
+
+    /**
+     * Speichert eine Zeitplan-Ausführung in der Datenbank.
+     *
+     * @param run Die zu speichernde Ausführung
+     * @return Die gespeicherte Ausführung mit aktualisierter ID
+     * @throws Exception Bei Datenbankfehlern
+     */
+    ScheduleRun save(ScheduleRun run) throws Exception;
+
+    /**
+     * Findet die letzten Ausführungen eines Zeitplans, neueste zuerst.
+     *
+     * @param scheduleId Die ID des Zeitplans
+     * @param limit Die maximale Anzahl an Ausführungen
+     * @return Eine Liste der Ausführungen
+     * @throws Exception Bei Datenbankfehlern
+     */
+    List<ScheduleRun> findByScheduleId(Long scheduleId, int limit) throws Exception;
+
+    /**
+     * Berechnet p50/p95-Laufzeiten für einen Zeitplan.
+     * Es werden höchstens die 10.000 jüngsten Ausführungen berücksichtigt.
+     *
+     * @param scheduleId Die ID des Zeitplans
+     * @param sinceDays Nur Ausführungen der letzten n Tage berücksichtigen (0 = alle)
+     * @return Die Laufzeitstatistik
+     * @throws Exception Bei Datenbankfehlern
+     */
+    ScheduleRunStats getStatsForSchedule(Long scheduleId, int sinceDays) throws Exception;
+
+    /**
+     * Berechnet p50/p95-Laufzeiten über alle Zeitpläne.
+     * Es werden höchstens die 10.000 jüngsten Ausführungen berücksichtigt.
+     *
+     * @param sinceDays Nur Ausführungen der letzten n Tage berücksichtigen (0 = alle)
+     * @return Die Laufzeitstatistik
+     * @throws Exception Bei Datenbankfehlern
+     */
+    ScheduleRunStats getFleetStats(int sinceDays) throws Exception;
+}
@@ -3,11 +3,15 @@ package com.saraci.websiteanalyzer.repository.impl;
 import com.saraci.websiteanalyzer.config.DatabaseConfig;
 import com.saraci.websiteanalyzer.model.*;
 import com.saraci.websiteanalyzer.repository.AnalysisResultRepository;
+import com.saraci.websiteanalyzer.util.JsonUtil;
 
 import java.sql.*;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.logging.Logger;
 
 /**
@@ -134,8 +138,12 @@ public class AnalysisResultRepositoryImpl implements AnalysisResultRepository {
     private void savePerformanceResult(Connection conn, PerformanceResult result, Long analysisId) throws SQLException {
         String sql = "INSERT INTO performance_results " +
                 "(analysis_id, lighthouse_score, first_contentful_paint, largest_contentful_paint, " +
-                "time_to_interactive, total_blocking_time, cumulative_layout_shift, load_time) " +
-                "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+                "time_to_interactive, total_blocking_time, cumulative_layout_shift, load_time, " +
+                "dns_time, connect_time, tls_time, ttfb, download_time, parse_time, redirect_count, " +
+                "page_weight, request_count, render_blocking_bytes, resources, " +
+                "cold_samples, cold_min, cold_p50, cold_p95, cold_max, " +
+                "warm_samples, warm_min, warm_p50, warm_p95, warm_max) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
 
         try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
             pstmt.setLong(1, analysisId);
@@ -146,6 +154,19 @@ public class AnalysisResultRepositoryImpl implements AnalysisResultRepository {
             pstmt.setString(6, result.getTotalBlockingTime());
             pstmt.setString(7, result.getCumulativeLayoutShift());
             pstmt.setInt(8, result.getLoadTime());
+            setNullableInt(pstmt, 9, result.getDnsTime());
+            setNullableInt(pstmt, 10, result.getConnectTime());
+            setNullableInt(pstmt, 11, result.getTlsTime());
+            setNullableInt(pstmt, 12, result.getTimeToFirstByte());
+            setNullableInt(pstmt, 13, result.getDownloadTime());
+            setNullableInt(pstmt, 14, result.getParseTime());
+            setNullableInt(pstmt, 15, result.getRedirectCount());
+            setNullableLong(pstmt, 16, result.getPageWeight());
+            setNullableInt(pstmt, 17, result.getRequestCount());
+            setNullableLong(pstmt, 18, result.getRenderBlockingBytes());
+            pstmt.setString(19, result.getResources() != null ? JsonUtil.toJson(result.getResources()) : null);
+            setLatencySummary(pstmt, 20, result.getColdLatency());
+            setLatencySummary(pstmt, 25, result.getWarmLatency());
 
             pstmt.executeUpdate();
             result.setAnalysisId(analysisId);
@@ -258,6 +279,145 @@ public class AnalysisResultRepositoryImpl implements AnalysisResultRepository {
         }
     }
 
+    @Override
+    public int forEachLatestResult(LocalDateTime since, boolean withDetails, AnalysisResultHandler handler) throws Exception {
+        // Neueste Analyse je Website; SQLite liefert die Zeilen schrittweise, sie werden nicht gesammelt
+        String sql = "SELECT * FROM analysis_results WHERE id IN (" +
+                "SELECT MAX(id) FROM analysis_results" + (since != null ? " WHERE analysis_date >= ?" : "") +
+                " GROUP BY website_id) ORDER BY url, id";
+
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            if (since != null) {
+                pstmt.setTimestamp(1, Timestamp.valueOf(since));
+            }
+
+            int count = 0;
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    AnalysisResult result = new AnalysisResult();
+                    result.setId(rs.getLong("id"));
+                    result.setWebsiteId(rs.getLong("website_id"));
+                    result.setUrl(rs.getString("url"));
+                    result.setAnalysisDate(rs.getTimestamp("analysis_date").toLocalDateTime());
+                    result.setPdfReportPath(rs.getString("pdf_report_path"));
+
+                    if (withDetails) {
+                        result.setSeoResult(findSeoResultByAnalysisId(conn, result.getId()));
+                        result.setPerformanceResult(findPerformanceResultByAnalysisId(conn, result.getId()));
+                        result.setSecurityResult(findSecurityResultByAnalysisId(conn, result.getId()));
+                        result.setContentResult(findContentResultByAnalysisId(conn, result.getId()));
+                    } else {
+                        loadScores(conn, result);
+                    }
+
+                    handler.handle(result);
+                    count++;
+                }
+            }
+            return count;
+        }
+    }
+
+    @Override
+    public List<ScoreTrendPoint> findScoreTrend(Long websiteId, Long upToAnalysisId, int maxPoints) throws Exception {
+        // NTILE teilt die Historie in gleich große Gruppen; die Aggregation läuft vollständig in SQLite
+        String sql = "SELECT bucket, COUNT(*) AS analysis_count, " +
+                "MIN(analysis_date) AS period_start, MAX(analysis_date) AS period_end, " +
+                "AVG(seo_score) AS seo_score, AVG(performance_score) AS performance_score, " +
+                "AVG(security_score) AS security_score, AVG(load_time) AS load_time " +
+                "FROM (SELECT a.analysis_date, s.score AS seo_score, p.lighthouse_score AS performance_score, " +
+                "sec.security_headers_score AS security_score, p.load_time, " +
+                "NTILE(?) OVER (ORDER BY a.analysis_date, a.id) AS bucket " +
+                "FROM analysis_results a " +
+                "LEFT JOIN seo_results s ON s.analysis_id = a.id " +
+                "LEFT JOIN performance_results p ON p.analysis_id = a.id " +
+                "LEFT JOIN security_results sec ON sec.analysis_id = a.id " +
+                "WHERE a.website_id = ? AND a.id <= ?) " +
+                "GROUP BY bucket ORDER BY bucket";
+
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            pstmt.setInt(1, Math.max(1, maxPoints));
+            pstmt.setLong(2, websiteId);
+            pstmt.setLong(3, upToAnalysisId);
+
+            List<ScoreTrendPoint> points = new ArrayList<>();
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    ScoreTrendPoint point = new ScoreTrendPoint();
+                    point.setAnalysisCount(rs.getInt("analysis_count"));
+                    Timestamp periodStart = rs.getTimestamp("period_start");
+                    Timestamp periodEnd = rs.getTimestamp("period_end");
+                    point.setPeriodStart(periodStart != null ? periodStart.toLocalDateTime() : null);
+                    point.setPeriodEnd(periodEnd != null ? periodEnd.toLocalDateTime() : null);
+                    point.setSeoScore(getNullableDouble(rs, "seo_score"));
+                    point.setPerformanceScore(getNullableDouble(rs, "performance_score"));
+                    point.setSecurityScore(getNullableDouble(rs, "security_score"));
+                    point.setLoadTime(getNullableDouble(rs, "load_time"));
+                    points.add(point);
+                }
+            }
+            return points;
+        }
+    }
+
+    private Double getNullableDouble(ResultSet rs, String column) throws SQLException {
+        double value = rs.getDouble(column);
+        return rs.wasNull() ? null : value;
+    }
+
+    private Integer getNullableInt(ResultSet rs, String column) throws SQLException {
+        int value = rs.getInt(column);
+        return rs.wasNull() ? null : value;
+    }
+
+    private void setNullableInt(PreparedStatement pstmt, int index, Integer value) throws SQLException {
+        if (value != null) {
+            pstmt.setInt(index, value);
+        } else {
+            pstmt.setNull(index, Types.INTEGER);
+        }
+    }
+
+    /**
+     * Schreibt Anzahl, Minimum, p50, p95 und Maximum in fünf aufeinanderfolgende Parameter.
+     */
+    private void setLatencySummary(PreparedStatement pstmt, int index, LatencySummary summary) throws SQLException {
+        setNullableInt(pstmt, index, summary != null ? summary.getSamples() : null);
+        setNullableInt(pstmt, index + 1, summary != null ? summary.getMin() : null);
+        setNullableInt(pstmt, index + 2, summary != null ? summary.getP50() : null);
+        setNullableInt(pstmt, index + 3, summary != null ? summary.getP95() : null);
+        setNullableInt(pstmt, index + 4, summary != null ? summary.getMax() : null);
+    }
+
+    /**
+     * Liest die Spalten prefix_samples, prefix_min usw. (null, wenn nicht gemessen).
+     */
+    private LatencySummary getLatencySummary(ResultSet rs, String prefix) throws SQLException {
+        Integer samples = getNullableInt(rs, prefix + "_samples");
+        if (samples == null) {
+            return null;
+        }
+        return new LatencySummary(samples, rs.getInt(prefix + "_min"), rs.getInt(prefix + "_p50"),
+                rs.getInt(prefix + "_p95"), rs.getInt(prefix + "_max"));
+    }
+
+    private Long getNullableLong(ResultSet rs, String column) throws SQLException {
+        long value = rs.getLong(column);
+        return rs.wasNull() ? null : value;
+    }
+
+    private void setNullableLong(PreparedStatement pstmt, int index, Long value) throws SQLException {
+        if (value != null) {
+            pstmt.setLong(index, value);
+        } else {
+            pstmt.setNull(index, Types.BIGINT);
+        }
+    }
+
     /**
      * Lädt nur die Scores für die Übersicht.
      */
@@ -357,6 +517,22 @@ public class AnalysisResultRepositoryImpl implements AnalysisResultRepository {
                 result.setTotalBlockingTime(rs.getString("total_blocking_time"));
                 result.setCumulativeLayoutShift(rs.getString("cumulative_layout_shift"));
                 result.setLoadTime(rs.getInt("load_time"));
+                result.setDnsTime(getNullableInt(rs, "dns_time"));
+                result.setConnectTime(getNullableInt(rs, "connect_time"));
+                result.setTlsTime(getNullableInt(rs, "tls_time"));
+                result.setTimeToFirstByte(getNullableInt(rs, "ttfb"));
+                result.setDownloadTime(getNullableInt(rs, "download_time"));
+                result.setParseTime(getNullableInt(rs, "parse_time"));
+                result.setRedirectCount(getNullableInt(rs, "redirect_count"));
+                result.setPageWeight(getNullableLong(rs, "page_weight"));
+                result.setRequestCount(getNullableInt(rs, "request_count"));
+                result.setRenderBlockingBytes(getNullableLong(rs, "render_blocking_bytes"));
+                String resources = rs.getString("resources");
+                if (resources != null) {
+                    result.setResources(new ArrayList<>(Arrays.asList(JsonUtil.fromJson(resources, PageResource[].class))));
+                }
+                result.setColdLatency(getLatencySummary(rs, "cold"));
+                result.setWarmLatency(getLatencySummary(rs, "warm"));
                 return result;
             } else {
                 return null;
@@ -430,4 +606,37 @@ public class AnalysisResultRepositoryImpl implements AnalysisResultRepository {
             logger.info("PDF-Berichtspfad für Analyse-ID " + id + " aktualisiert: " + pdfPath);
         }
     }
+
+    @Override
+    public Set<String> findReferencedPdfReportPaths() throws Exception {
+        String sql = "SELECT DISTINCT pdf_report_path FROM analysis_results WHERE pdf_report_path IS NOT NULL";
+        Set<String> paths = new HashSet<>();
+
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql);
+             ResultSet rs = pstmt.executeQuery()) {
+
+            while (rs.next()) {
+                paths.add(rs.getString("pdf_report_path"));
+            }
+        }
+
+        return paths;
+    }
+
+    @Override
+    public int replacePdfReportPath(String oldPath, String newPath) throws Exception {
+        String sql = "UPDATE analysis_results SET pdf_report_path = ? WHERE pdf_report_path = ?";
+
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            pstmt.setString(1, newPath);
+            pstmt.setString(2, oldPath);
+
+            int updated = pstmt.executeUpdate();
+            logger.info("Berichtsreferenz " + oldPath + " ersetzt durch " + newPath + " (" + updated + " Analysen)");
+            return updated;
+        }
+    }
 }
\ No newline at end of file
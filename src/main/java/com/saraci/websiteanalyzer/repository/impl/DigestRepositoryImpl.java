@@ -0,0 +1,254 @@
+package com.saraci.websiteanalyzer.repository.impl;
+
+import com.saraci.websiteanalyzer.config.DatabaseConfig;
+import com.saraci.websiteanalyzer.model.DigestItem;
+import com.saraci.websiteanalyzer.model.DigestSettings;
+import com.saraci.websiteanalyzer.repository.DigestRepository;
+
+import java.sql.*;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.logging.Logger;
+
+/**
+ * SQLite-Implementierung des Digest-Repositories.
+ */
+public class DigestRepositoryImpl implements DigestRepository {
+    private static final Logger logger = Logger.getLogger(DigestRepositoryImpl.class.getName());
+
+    @Override
+    public List<DigestSettings> findAllSettings() throws Exception {
+        String sql = "SELECT * FROM digest_settings ORDER BY email";
+
+        try (Connection conn = DatabaseConfig.getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+
+            List<DigestSettings> settings = new ArrayList<>();
+            while (rs.next()) {
+                settings.add(mapResultSetToSettings(rs));
+            }
+            return settings;
+        }
+    }
+
+    @Override
+    public Map<String, DigestSettings> findSettings(Collection<String> emails) throws Exception {
+        Map<String, DigestSettings> settings = new HashMap<>();
+        if (emails.isEmpty()) {
+            return settings;
+        }
+
+        String placeholders = String.join(", ", Collections.nCopies(emails.size(), "?"));
+        String sql = "SELECT * FROM digest_settings WHERE email IN (" + placeholders + ")";
+
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            int index = 1;
+            for (String email : emails) {
+                pstmt.setString(index++, normalize(email));
+            }
+
+            ResultSet rs = pstmt.executeQuery();
+            while (rs.next()) {
+                DigestSettings entry = mapResultSetToSettings(rs);
+                settings.put(entry.getEmail(), entry);
+            }
+            return settings;
+        }
+    }
+
+    @Override
+    public void saveSettings(DigestSettings settings) throws Exception {
+        String sql = "INSERT INTO digest_settings (email, enabled, send_hour) VALUES (?, ?, ?) " +
+                "ON CONFLICT(email) DO UPDATE SET enabled = excluded.enabled, send_hour = excluded.send_hour";
+
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            pstmt.setString(1, normalize(settings.getEmail()));
+            pstmt.setBoolean(2, settings.isEnabled());
+            pstmt.setInt(3, settings.getSendHour());
+            pstmt.executeUpdate();
+
+            logger.info("Sammel-E-Mail-Einstellung gespeichert: " + settings.getEmail() +
+                    (settings.isEnabled() ? " (täglich ab " + settings.getSendHour() + " Uhr)" : " (deaktiviert)"));
+        }
+    }
+
+    @Override
+    public boolean deleteSettings(String email) throws Exception {
+        String sql = "DELETE FROM digest_settings WHERE email = ?";
+
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            pstmt.setString(1, normalize(email));
+            return pstmt.executeUpdate() > 0;
+        }
+    }
+
+    @Override
+    public void updateLastSentAt(String email, LocalDateTime sentAt) throws Exception {
+        String sql = "UPDATE digest_settings SET last_sent_at = ? WHERE email = ?";
+
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            pstmt.setTimestamp(1, Timestamp.valueOf(sentAt));
+            pstmt.setString(2, normalize(email));
+            pstmt.executeUpdate();
+        }
+    }
+
+    @Override
+    public void saveItems(List<DigestItem> items) throws Exception {
+        if (items.isEmpty()) {
+            return;
+        }
+
+        String sql = "INSERT INTO digest_items (recipient, analysis_id, schedule_id, website_url, seo_score, " +
+                "performance_score, security_score, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            conn.setAutoCommit(false);
+            try {
+                for (DigestItem item : items) {
+                    pstmt.setString(1, normalize(item.getRecipient()));
+                    pstmt.setLong(2, item.getAnalysisId());
+                    if (item.getScheduleId() != null) {
+                        pstmt.setLong(3, item.getScheduleId());
+                    } else {
+                        pstmt.setNull(3, Types.INTEGER);
+                    }
+                    pstmt.setString(4, item.getWebsiteUrl());
+                    pstmt.setInt(5, item.getSeoScore());
+                    pstmt.setInt(6, item.getPerformanceScore());
+                    pstmt.setInt(7, item.getSecurityScore());
+                    pstmt.setTimestamp(8, Timestamp.valueOf(item.getCreatedAt() != null
+                            ? item.getCreatedAt() : LocalDateTime.now()));
+                    pstmt.addBatch();
+                }
+                pstmt.executeBatch();
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        }
+    }
+
+    @Override
+    public List<DigestItem> findPendingItems(String recipient) throws Exception {
+        String sql = "SELECT * FROM digest_items WHERE recipient = ? AND sent_at IS NULL ORDER BY id";
+
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            pstmt.setString(1, normalize(recipient));
+            ResultSet rs = pstmt.executeQuery();
+
+            List<DigestItem> items = new ArrayList<>();
+            while (rs.next()) {
+                items.add(mapResultSetToItem(rs));
+            }
+            return items;
+        }
+    }
+
+    @Override
+    public void markItemsSent(List<Long> itemIds, LocalDateTime sentAt) throws Exception {
+        if (itemIds.isEmpty()) {
+            return;
+        }
+
+        String sql = "UPDATE digest_items SET sent_at = ? WHERE id = ?";
+
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            conn.setAutoCommit(false);
+            try {
+                for (Long id : itemIds) {
+                    pstmt.setTimestamp(1, Timestamp.valueOf(sentAt));
+                    pstmt.setLong(2, id);
+                    pstmt.addBatch();
+                }
+                pstmt.executeBatch();
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        }
+    }
+
+    @Override
+    public int deleteSentItemsBefore(LocalDateTime before) throws Exception {
+        String sql = "DELETE FROM digest_items WHERE sent_at IS NOT NULL AND sent_at < ?";
+
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            pstmt.setTimestamp(1, Timestamp.valueOf(before));
+            return pstmt.executeUpdate();
+        }
+    }
+
+    /**
+     * E-Mail-Adressen werden in Kleinschreibung gespeichert, damit Schreibvarianten übereinstimmen.
+     */
+    private static String normalize(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Konvertiert ein ResultSet in ein DigestSettings-Objekt.
+     */
+    private DigestSettings mapResultSetToSettings(ResultSet rs) throws SQLException {
+        DigestSettings settings = new DigestSettings();
+        settings.setEmail(rs.getString("email"));
+        settings.setEnabled(rs.getBoolean("enabled"));
+        settings.setSendHour(rs.getInt("send_hour"));
+
+        Timestamp lastSentAt = rs.getTimestamp("last_sent_at");
+        if (lastSentAt != null) {
+            settings.setLastSentAt(lastSentAt.toLocalDateTime());
+        }
+
+        return settings;
+    }
+
+    /**
+     * Konvertiert ein ResultSet in ein DigestItem-Objekt.
+     */
+    private DigestItem mapResultSetToItem(ResultSet rs) throws SQLException {
+        DigestItem item = new DigestItem();
+        item.setId(rs.getLong("id"));
+        item.setRecipient(rs.getString("recipient"));
+        item.setAnalysisId(rs.getLong("analysis_id"));
+
+        long scheduleId = rs.getLong("schedule_id");
+        item.setScheduleId(rs.wasNull() ? null : scheduleId);
+
+        item.setWebsiteUrl(rs.getString("website_url"));
+        item.setSeoScore(rs.getInt("seo_score"));
+        item.setPerformanceScore(rs.getInt("performance_score"));
+        item.setSecurityScore(rs.getInt("security_score"));
+
+        Timestamp createdAt = rs.getTimestamp("created_at");
+        if (createdAt != null) {
+            item.setCreatedAt(createdAt.toLocalDateTime());
+        }
+
+        Timestamp sentAt = rs.getTimestamp("sent_at");
+        if (sentAt != null) {
+            item.setSentAt(sentAt.toLocalDateTime());
+        }
+
+        return item;
+    }
+}
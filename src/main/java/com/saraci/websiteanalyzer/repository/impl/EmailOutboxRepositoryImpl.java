@@ -0,0 +1,314 @@
+package com.saraci.websiteanalyzer.repository.impl;
+
+import com.saraci.websiteanalyzer.config.DatabaseConfig;
+import com.saraci.websiteanalyzer.model.EmailOutboxEntry;
+import com.saraci.websiteanalyzer.repository.EmailOutboxRepository;
+
+import java.sql.*;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Logger;
+
+/**
+ * SQLite-Implementierung des EmailOutbox-Repositories.
+ */
+public class EmailOutboxRepositoryImpl implements EmailOutboxRepository {
+    private static final Logger logger = Logger.getLogger(EmailOutboxRepositoryImpl.class.getName());
+
+    // Fehlermeldungen können sehr lang sein (z. B. vollständige SMTP-Antworten)
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    @Override
+    public EmailOutboxEntry save(EmailOutboxEntry entry) throws Exception {
+        String sql = "INSERT INTO email_outbox (recipients, subject, body, html_body, attachment_path, attachment_name, status, " +
+                "attempts, created_at, next_attempt_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+        if (entry.getCreatedAt() == null) {
+            entry.setCreatedAt(LocalDateTime.now());
+        }
+        if (entry.getNextAttemptAt() == null) {
+            entry.setNextAttemptAt(entry.getCreatedAt());
+        }
+
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+
+            pstmt.setString(1, entry.getRecipients());
+            pstmt.setString(2, entry.getSubject());
+            pstmt.setString(3, entry.getBody());
+            pstmt.setString(4, entry.getHtmlBody());
+            pstmt.setString(5, entry.getAttachmentPath());
+            pstmt.setString(6, entry.getAttachmentName());
+            pstmt.setString(7, entry.getStatus() != null ? entry.getStatus() : EmailOutboxEntry.STATUS_PENDING);
+            pstmt.setInt(8, entry.getAttempts());
+            pstmt.setTimestamp(9, Timestamp.valueOf(entry.getCreatedAt()));
+            pstmt.setTimestamp(10, Timestamp.valueOf(entry.getNextAttemptAt()));
+
+            pstmt.executeUpdate();
+
+            try (ResultSet generatedKeys = pstmt.getGeneratedKeys()) {
+                if (generatedKeys.next()) {
+                    entry.setId(generatedKeys.getLong(1));
+                } else {
+                    throw new SQLException("Konnte keine ID für die neue E-Mail erzeugen");
+                }
+            }
+
+            logger.fine("E-Mail eingereiht: ID = " + entry.getId());
+            return entry;
+        }
+    }
+
+    @Override
+    public List<EmailOutboxEntry> claimDue(LocalDateTime now, int limit) throws Exception {
+        String selectSql = "SELECT * FROM email_outbox WHERE status = ? AND next_attempt_at <= ? " +
+                "ORDER BY next_attempt_at, id LIMIT ?";
+        String claimSql = "UPDATE email_outbox SET status = ? WHERE id = ? AND status = ?";
+
+        // Ohne Transaktion: Eine lesende Transaktion, die danach schreibt, kann in SQLite nicht auf die
+        // Schreibsperre warten. Jede Übernahme ist einzeln atomar, da sie den Status erneut prüft.
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement select = conn.prepareStatement(selectSql);
+             PreparedStatement claim = conn.prepareStatement(claimSql)) {
+
+            select.setString(1, EmailOutboxEntry.STATUS_PENDING);
+            select.setTimestamp(2, Timestamp.valueOf(now));
+            select.setInt(3, limit);
+
+            List<EmailOutboxEntry> candidates = new ArrayList<>();
+            try (ResultSet rs = select.executeQuery()) {
+                while (rs.next()) {
+                    candidates.add(mapResultSetToEntry(rs));
+                }
+            }
+
+            // Nur E-Mails übernehmen, die noch wartend sind (Schutz gegen parallele Übernahme)
+            List<EmailOutboxEntry> claimed = new ArrayList<>();
+            for (EmailOutboxEntry entry : candidates) {
+                claim.setString(1, EmailOutboxEntry.STATUS_SENDING);
+                claim.setLong(2, entry.getId());
+                claim.setString(3, EmailOutboxEntry.STATUS_PENDING);
+                if (claim.executeUpdate() == 1) {
+                    entry.setStatus(EmailOutboxEntry.STATUS_SENDING);
+                    claimed.add(entry);
+                }
+            }
+
+            return claimed;
+        }
+    }
+
+    @Override
+    public void markSent(Long id, int attempts, LocalDateTime sentAt) throws Exception {
+        String sql = "UPDATE email_outbox SET status = ?, attempts = ?, sent_at = ?, last_error = NULL WHERE id = ?";
+
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            pstmt.setString(1, EmailOutboxEntry.STATUS_SENT);
+            pstmt.setInt(2, attempts);
+            pstmt.setTimestamp(3, Timestamp.valueOf(sentAt));
+            pstmt.setLong(4, id);
+            pstmt.executeUpdate();
+        }
+    }
+
+    @Override
+    public void markFailed(Long id, int attempts, String status, LocalDateTime nextAttemptAt, String error) throws Exception {
+        String sql = "UPDATE email_outbox SET status = ?, attempts = ?, next_attempt_at = ?, last_error = ? WHERE id = ?";
+
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            pstmt.setString(1, status);
+            pstmt.setInt(2, attempts);
+            if (nextAttemptAt != null) {
+                pstmt.setTimestamp(3, Timestamp.valueOf(nextAttemptAt));
+            } else {
+                pstmt.setNull(3, Types.TIMESTAMP);
+            }
+            pstmt.setString(4, error != null && error.length() > MAX_ERROR_LENGTH
+                    ? error.substring(0, MAX_ERROR_LENGTH) : error);
+            pstmt.setLong(5, id);
+            pstmt.executeUpdate();
+        }
+    }
+
+    @Override
+    public int releaseSending() throws Exception {
+        String sql = "UPDATE email_outbox SET status = ? WHERE status = ?";
+
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            pstmt.setString(1, EmailOutboxEntry.STATUS_PENDING);
+            pstmt.setString(2, EmailOutboxEntry.STATUS_SENDING);
+            return pstmt.executeUpdate();
+        }
+    }
+
+    @Override
+    public boolean requeue(Long id) throws Exception {
+        String sql = "UPDATE email_outbox SET status = ?, attempts = 0, next_attempt_at = ? WHERE id = ? AND status = ?";
+
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            pstmt.setString(1, EmailOutboxEntry.STATUS_PENDING);
+            pstmt.setTimestamp(2, Timestamp.valueOf(LocalDateTime.now()));
+            pstmt.setLong(3, id);
+            pstmt.setString(4, EmailOutboxEntry.STATUS_DEAD);
+            return pstmt.executeUpdate() == 1;
+        }
+    }
+
+    @Override
+    public List<EmailOutboxEntry> findByStatus(String status, int limit) throws Exception {
+        String sql = "SELECT * FROM email_outbox WHERE status = ? ORDER BY id DESC LIMIT ?";
+
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            pstmt.setString(1, status);
+            pstmt.setInt(2, limit);
+            ResultSet rs = pstmt.executeQuery();
+
+            List<EmailOutboxEntry> entries = new ArrayList<>();
+
+            while (rs.next()) {
+                entries.add(mapResultSetToEntry(rs));
+            }
+
+            return entries;
+        }
+    }
+
+    @Override
+    public Map<String, Long> countByStatus() throws Exception {
+        String sql = "SELECT status, COUNT(*) FROM email_outbox GROUP BY status";
+
+        try (Connection conn = DatabaseConfig.getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+
+            Map<String, Long> counts = new HashMap<>();
+            while (rs.next()) {
+                counts.put(rs.getString(1), rs.getLong(2));
+            }
+            return counts;
+        }
+    }
+
+    @Override
+    public LocalDateTime findOldestPendingCreatedAt() throws Exception {
+        String sql = "SELECT created_at FROM email_outbox WHERE status IN (?, ?) ORDER BY id LIMIT 1";
+
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            pstmt.setString(1, EmailOutboxEntry.STATUS_PENDING);
+            pstmt.setString(2, EmailOutboxEntry.STATUS_SENDING);
+            ResultSet rs = pstmt.executeQuery();
+
+            if (rs.next()) {
+                Timestamp createdAt = rs.getTimestamp(1);
+                return createdAt != null ? createdAt.toLocalDateTime() : null;
+            }
+            return null;
+        }
+    }
+
+    @Override
+    public Set<String> findPendingAttachmentPaths() throws Exception {
+        String sql = "SELECT DISTINCT attachment_path FROM email_outbox WHERE status IN (?, ?) AND attachment_path IS NOT NULL";
+
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            pstmt.setString(1, EmailOutboxEntry.STATUS_PENDING);
+            pstmt.setString(2, EmailOutboxEntry.STATUS_SENDING);
+            ResultSet rs = pstmt.executeQuery();
+
+            Set<String> paths = new HashSet<>();
+            while (rs.next()) {
+                paths.add(rs.getString(1));
+            }
+            return paths;
+        }
+    }
+
+    @Override
+    public List<Long> findRecentDeliveryLatencies(int limit) throws Exception {
+        String sql = "SELECT created_at, sent_at FROM email_outbox WHERE status = ? ORDER BY sent_at DESC LIMIT ?";
+
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            pstmt.setString(1, EmailOutboxEntry.STATUS_SENT);
+            pstmt.setInt(2, limit);
+            ResultSet rs = pstmt.executeQuery();
+
+            List<Long> latencies = new ArrayList<>();
+            while (rs.next()) {
+                Timestamp createdAt = rs.getTimestamp(1);
+                Timestamp sentAt = rs.getTimestamp(2);
+                if (createdAt != null && sentAt != null) {
+                    latencies.add(Math.max(0, sentAt.getTime() - createdAt.getTime()));
+                }
+            }
+            return latencies;
+        }
+    }
+
+    @Override
+    public int deleteSentBefore(LocalDateTime before) throws Exception {
+        String sql = "DELETE FROM email_outbox WHERE status = ? AND sent_at < ?";
+
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            pstmt.setString(1, EmailOutboxEntry.STATUS_SENT);
+            pstmt.setTimestamp(2, Timestamp.valueOf(before));
+            return pstmt.executeUpdate();
+        }
+    }
+
+    /**
+     * Konvertiert ein ResultSet in ein EmailOutboxEntry-Objekt.
+     */
+    private EmailOutboxEntry mapResultSetToEntry(ResultSet rs) throws SQLException {
+        EmailOutboxEntry entry = new EmailOutboxEntry();
+        entry.setId(rs.getLong("id"));
+        entry.setRecipients(rs.getString("recipients"));
+        entry.setSubject(rs.getString("subject"));
+        entry.setBody(rs.getString("body"));
+        entry.setHtmlBody(rs.getString("html_body"));
+        entry.setAttachmentPath(rs.getString("attachment_path"));
+        entry.setAttachmentName(rs.getString("attachment_name"));
+        entry.setStatus(rs.getString("status"));
+        entry.setAttempts(rs.getInt("attempts"));
+        entry.setLastError(rs.getString("last_error"));
+
+        Timestamp createdAt = rs.getTimestamp("created_at");
+        if (createdAt != null) {
+            entry.setCreatedAt(createdAt.toLocalDateTime());
+        }
+
+        Timestamp nextAttemptAt = rs.getTimestamp("next_attempt_at");
+        if (nextAttemptAt != null) {
+            entry.setNextAttemptAt(nextAttemptAt.toLocalDateTime());
+        }
+
+        Timestamp sentAt = rs.getTimestamp("sent_at");
+        if (sentAt != null) {
+            entry.setSentAt(sentAt.toLocalDateTime());
+        }
+
+        return entry;
+    }
+}
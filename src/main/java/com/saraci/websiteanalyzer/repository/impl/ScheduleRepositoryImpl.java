@@ -7,6 +7,8 @@ import com.saraci.websiteanalyzer.repository.ScheduleRepository;
 import java.sql.*;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.logging.Logger;
 
@@ -16,6 +18,9 @@ import java.util.logging.Logger;
 public class ScheduleRepositoryImpl implements ScheduleRepository {
     private static final Logger logger = Logger.getLogger(ScheduleRepositoryImpl.class.getName());
 
+    // Maximale Anzahl an Parametern pro IN-Abfrage
+    private static final int IN_CLAUSE_CHUNK_SIZE = 500;
+
     @Override
     public AnalysisSchedule save(AnalysisSchedule schedule) throws Exception {
         String sql = "INSERT INTO schedules (website_id, cron_expression, recipients, report_type, " +
@@ -163,6 +168,165 @@ public class ScheduleRepositoryImpl implements ScheduleRepository {
         }
     }
 
+    @Override
+    public List<AnalysisSchedule> saveAll(List<AnalysisSchedule> schedules) throws Exception {
+        String sql = "INSERT INTO schedules (website_id, cron_expression, recipients, report_type, " +
+                "is_active, last_run, next_run) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+        inTransaction(conn -> {
+            try (PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                for (AnalysisSchedule schedule : schedules) {
+                    pstmt.setLong(1, schedule.getWebsiteId());
+                    bindScheduleFields(pstmt, schedule, 2);
+                    pstmt.executeUpdate();
+
+                    try (ResultSet generatedKeys = pstmt.getGeneratedKeys()) {
+                        if (generatedKeys.next()) {
+                            schedule.setId(generatedKeys.getLong(1));
+                        } else {
+                            throw new SQLException("Konnte keine ID für den neuen Zeitplan erzeugen");
+                        }
+                    }
+                }
+            }
+        });
+
+        logger.info(schedules.size() + " Zeitpläne gespeichert");
+        return schedules;
+    }
+
+    @Override
+    public void updateAll(List<AnalysisSchedule> schedules) throws Exception {
+        String sql = "UPDATE schedules SET cron_expression = ?, recipients = ?, report_type = ?, " +
+                "is_active = ?, last_run = ?, next_run = ? WHERE id = ?";
+
+        inTransaction(conn -> {
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                for (AnalysisSchedule schedule : schedules) {
+                    bindScheduleFields(pstmt, schedule, 1);
+                    pstmt.setLong(7, schedule.getId());
+                    pstmt.addBatch();
+                }
+                pstmt.executeBatch();
+            }
+        });
+
+        logger.info(schedules.size() + " Zeitpläne aktualisiert");
+    }
+
+    @Override
+    public List<AnalysisSchedule> findByIds(Collection<Long> ids) throws Exception {
+        List<AnalysisSchedule> schedules = new ArrayList<>();
+        List<Long> idList = new ArrayList<>(ids);
+
+        try (Connection conn = DatabaseConfig.getConnection()) {
+            // In Blöcken abfragen, damit die Anzahl der Parameter begrenzt bleibt
+            for (int from = 0; from < idList.size(); from += IN_CLAUSE_CHUNK_SIZE) {
+                List<Long> chunk = idList.subList(from, Math.min(from + IN_CLAUSE_CHUNK_SIZE, idList.size()));
+                String placeholders = String.join(", ", Collections.nCopies(chunk.size(), "?"));
+                String sql = "SELECT * FROM schedules WHERE id IN (" + placeholders + ")";
+
+                try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                    for (int i = 0; i < chunk.size(); i++) {
+                        pstmt.setLong(i + 1, chunk.get(i));
+                    }
+
+                    ResultSet rs = pstmt.executeQuery();
+                    while (rs.next()) {
+                        schedules.add(mapResultSetToSchedule(rs));
+                    }
+                }
+            }
+        }
+
+        return schedules;
+    }
+
+    @Override
+    public int deactivateAll(Collection<Long> ids) throws Exception {
+        String sql = "UPDATE schedules SET is_active = 0, next_run = NULL WHERE id = ?";
+        int[] affected = new int[1];
+
+        inTransaction(conn -> {
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                for (Long id : ids) {
+                    pstmt.setLong(1, id);
+                    pstmt.addBatch();
+                }
+                for (int count : pstmt.executeBatch()) {
+                    affected[0] += Math.max(count, 0);
+                }
+            }
+        });
+
+        logger.info(affected[0] + " Zeitpläne deaktiviert");
+        return affected[0];
+    }
+
+    /**
+     * Setzt die gemeinsamen Spalten (cron_expression bis next_run) ab dem angegebenen Index.
+     */
+    private void bindScheduleFields(PreparedStatement pstmt, AnalysisSchedule schedule, int index) throws SQLException {
+        pstmt.setString(index, schedule.getCronExpression());
+        pstmt.setString(index + 1, schedule.getRecipients());
+        pstmt.setString(index + 2, schedule.getReportType());
+        pstmt.setBoolean(index + 3, schedule.isActive());
+
+        if (schedule.getLastRun() != null) {
+            pstmt.setTimestamp(index + 4, Timestamp.valueOf(schedule.getLastRun()));
+        } else {
+            pstmt.setNull(index + 4, Types.TIMESTAMP);
+        }
+
+        if (schedule.getNextRun() != null) {
+            pstmt.setTimestamp(index + 5, Timestamp.valueOf(schedule.getNextRun()));
+        } else {
+            pstmt.setNull(index + 5, Types.TIMESTAMP);
+        }
+    }
+
+    /**
+     * Arbeit, die innerhalb einer Transaktion ausgeführt wird.
+     */
+    private interface TransactionWork {
+        void execute(Connection conn) throws SQLException;
+    }
+
+    /**
+     * Führt die Arbeit in einer Transaktion aus und rollt bei einem Fehler alles zurück.
+     */
+    private void inTransaction(TransactionWork work) throws SQLException {
+        Connection conn = null;
+
+        try {
+            conn = DatabaseConfig.getConnection();
+            conn.setAutoCommit(false);
+
+            work.execute(conn);
+
+            conn.commit();
+        } catch (SQLException e) {
+            if (conn != null) {
+                try {
+                    conn.rollback();
+                } catch (SQLException rollbackEx) {
+                    logger.severe("Fehler beim Rollback: " + rollbackEx.getMessage());
+                }
+            }
+            logger.severe("Fehler bei der Sammelverarbeitung der Zeitpläne: " + e.getMessage());
+            throw e;
+        } finally {
+            if (conn != null) {
+                try {
+                    conn.setAutoCommit(true);
+                    conn.close();
+                } catch (SQLException closeEx) {
+                    logger.warning("Fehler beim Schließen der Datenbankverbindung: " + closeEx.getMessage());
+                }
+            }
+        }
+    }
+
     /**
      * Konvertiert ein ResultSet in ein AnalysisSchedule-Objekt.
      */
@@ -0,0 +1,238 @@
+package com.saraci.websiteanalyzer.repository.impl;
+
+import com.saraci.websiteanalyzer.config.DatabaseConfig;
+import com.saraci.websiteanalyzer.model.ScheduleRun;
+import com.saraci.websiteanalyzer.model.ScheduleRunStats;
+import com.saraci.websiteanalyzer.repository.ScheduleRunRepository;
+import com.saraci.websiteanalyzer.util.StatsUtil;
+
+import java.sql.*;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Logger;
+
+/**
+ * SQLite-Implementierung des ScheduleRun-Repositories.
+ */
+public class ScheduleRunRepositoryImpl implements ScheduleRunRepository {
+    private static final Logger logger = Logger.getLogger(ScheduleRunRepositoryImpl.class.getName());
+
+    // Phasen in der Reihenfolge, in der sie ausgeführt werden (Spaltenname -> Anzeigename)
+    private static final String[][] STAGES = {
+            {"fetch_ms", "fetch"},
+            {"analyze_ms", "analyze"},
+            {"persist_ms", "persist"},
+            {"pdf_ms", "pdf"},
+            {"email_ms", "email"}
+    };
+
+    // Höchstzahl der Ausführungen, die für eine Statistik geladen werden (die jüngsten)
+    private static final int MAX_STATS_RUNS = 10000;
+
+    @Override
+    public ScheduleRun save(ScheduleRun run) throws Exception {
+        String sql = "INSERT INTO schedule_runs (schedule_id, website_id, analysis_id, queued_at, started_at, " +
+                "finished_at, fetch_ms, analyze_ms, persist_ms, pdf_ms, email_ms, total_ms, outcome, error_class) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+
+            pstmt.setLong(1, run.getScheduleId());
+            setNullableLong(pstmt, 2, run.getWebsiteId());
+            setNullableLong(pstmt, 3, run.getAnalysisId());
+            setNullableTimestamp(pstmt, 4, run.getQueuedAt());
+            setNullableTimestamp(pstmt, 5, run.getStartedAt());
+            setNullableTimestamp(pstmt, 6, run.getFinishedAt());
+            pstmt.setLong(7, run.getFetchMs());
+            pstmt.setLong(8, run.getAnalyzeMs());
+            pstmt.setLong(9, run.getPersistMs());
+            pstmt.setLong(10, run.getPdfMs());
+            pstmt.setLong(11, run.getEmailMs());
+            pstmt.setLong(12, run.getTotalMs());
+            pstmt.setString(13, run.getOutcome());
+            pstmt.setString(14, run.getErrorClass());
+
+            pstmt.executeUpdate();
+
+            try (ResultSet generatedKeys = pstmt.getGeneratedKeys()) {
+                if (generatedKeys.next()) {
+                    run.setId(generatedKeys.getLong(1));
+                } else {
+                    throw new SQLException("Konnte keine ID für die neue Zeitplan-Ausführung erzeugen");
+                }
+            }
+
+            logger.fine("Zeitplan-Ausführung gespeichert: ID = " + run.getId());
+            return run;
+        }
+    }
+
+    @Override
+    public List<ScheduleRun> findByScheduleId(Long scheduleId, int limit) throws Exception {
+        String sql = "SELECT * FROM schedule_runs WHERE schedule_id = ? ORDER BY id DESC LIMIT ?";
+
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            pstmt.setLong(1, scheduleId);
+            pstmt.setInt(2, limit);
+            ResultSet rs = pstmt.executeQuery();
+
+            List<ScheduleRun> runs = new ArrayList<>();
+
+            while (rs.next()) {
+                runs.add(mapResultSetToRun(rs));
+            }
+
+            return runs;
+        }
+    }
+
+    @Override
+    public ScheduleRunStats getStatsForSchedule(Long scheduleId, int sinceDays) throws Exception {
+        return loadStats(scheduleId, sinceDays);
+    }
+
+    @Override
+    public ScheduleRunStats getFleetStats(int sinceDays) throws Exception {
+        return loadStats(null, sinceDays);
+    }
+
+    /**
+     * Lädt die Dauern der Ausführungen und berechnet daraus die Perzentile.
+     * SQLite kennt keine Perzentil-Funktion, daher werden nur die benötigten Spalten geladen
+     * und die Auswertung in Java durchgeführt. Damit der Speicherbedarf auch ohne Zeitfenster
+     * begrenzt bleibt, gehen höchstens die jüngsten {@value #MAX_STATS_RUNS} Ausführungen ein.
+     */
+    private ScheduleRunStats loadStats(Long scheduleId, int sinceDays) throws SQLException {
+        StringBuilder sql = new StringBuilder("SELECT queued_at, started_at, total_ms, outcome");
+        for (String[] stage : STAGES) {
+            sql.append(", ").append(stage[0]);
+        }
+        sql.append(" FROM schedule_runs WHERE 1 = 1");
+        if (scheduleId != null) {
+            sql.append(" AND schedule_id = ?");
+        }
+        if (sinceDays > 0) {
+            sql.append(" AND started_at >= ?");
+        }
+        sql.append(" ORDER BY id DESC LIMIT ?");
+
+        ScheduleRunStats stats = new ScheduleRunStats(scheduleId);
+
+        List<Long> totals = new ArrayList<>();
+        List<Long> queueDelays = new ArrayList<>();
+        Map<String, List<Long>> stageValues = new LinkedHashMap<>();
+        for (String[] stage : STAGES) {
+            stageValues.put(stage[1], new ArrayList<>());
+        }
+        int failed = 0;
+
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql.toString())) {
+
+            int index = 1;
+            if (scheduleId != null) {
+                pstmt.setLong(index++, scheduleId);
+            }
+            if (sinceDays > 0) {
+                pstmt.setTimestamp(index++, Timestamp.valueOf(LocalDateTime.now().minusDays(sinceDays)));
+            }
+            pstmt.setInt(index, MAX_STATS_RUNS);
+
+            ResultSet rs = pstmt.executeQuery();
+            while (rs.next()) {
+                totals.add(rs.getLong("total_ms"));
+
+                Timestamp queuedAt = rs.getTimestamp("queued_at");
+                Timestamp startedAt = rs.getTimestamp("started_at");
+                if (queuedAt != null && startedAt != null) {
+                    queueDelays.add(Math.max(0, startedAt.getTime() - queuedAt.getTime()));
+                }
+
+                if (ScheduleRun.OUTCOME_FAILED.equals(rs.getString("outcome"))) {
+                    failed++;
+                }
+
+                for (String[] stage : STAGES) {
+                    stageValues.get(stage[1]).add(rs.getLong(stage[0]));
+                }
+            }
+        }
+
+        stats.setRunCount(totals.size());
+        stats.setFailedCount(failed);
+        stats.setP50TotalMs(StatsUtil.percentile(totals, 50));
+        stats.setP95TotalMs(StatsUtil.percentile(totals, 95));
+        stats.setP50QueueDelayMs(StatsUtil.percentile(queueDelays, 50));
+        stats.setP95QueueDelayMs(StatsUtil.percentile(queueDelays, 95));
+
+        for (Map.Entry<String, List<Long>> entry : stageValues.entrySet()) {
+            stats.getStageP50Ms().put(entry.getKey(), StatsUtil.percentile(entry.getValue(), 50));
+            stats.getStageP95Ms().put(entry.getKey(), StatsUtil.percentile(entry.getValue(), 95));
+            stats.getStageAverageMs().put(entry.getKey(), StatsUtil.average(entry.getValue()));
+        }
+
+        return stats;
+    }
+
+    /**
+     * Konvertiert ein ResultSet in ein ScheduleRun-Objekt.
+     */
+    private ScheduleRun mapResultSetToRun(ResultSet rs) throws SQLException {
+        ScheduleRun run = new ScheduleRun();
+        run.setId(rs.getLong("id"));
+        run.setScheduleId(rs.getLong("schedule_id"));
+
+        long websiteId = rs.getLong("website_id");
+        run.setWebsiteId(rs.wasNull() ? null : websiteId);
+
+        long analysisId = rs.getLong("analysis_id");
+        run.setAnalysisId(rs.wasNull() ? null : analysisId);
+
+        Timestamp queuedAt = rs.getTimestamp("queued_at");
+        if (queuedAt != null) {
+            run.setQueuedAt(queuedAt.toLocalDateTime());
+        }
+
+        Timestamp startedAt = rs.getTimestamp("started_at");
+        if (startedAt != null) {
+            run.setStartedAt(startedAt.toLocalDateTime());
+        }
+
+        Timestamp finishedAt = rs.getTimestamp("finished_at");
+        if (finishedAt != null) {
+            run.setFinishedAt(finishedAt.toLocalDateTime());
+        }
+
+        run.setFetchMs(rs.getLong("fetch_ms"));
+        run.setAnalyzeMs(rs.getLong("analyze_ms"));
+        run.setPersistMs(rs.getLong("persist_ms"));
+        run.setPdfMs(rs.getLong("pdf_ms"));
+        run.setEmailMs(rs.getLong("email_ms"));
+        run.setOutcome(rs.getString("outcome"));
+        run.setErrorClass(rs.getString("error_class"));
+
+        return run;
+    }
+
+    private void setNullableLong(PreparedStatement pstmt, int index, Long value) throws SQLException {
+        if (value != null) {
+            pstmt.setLong(index, value);
+        } else {
+            pstmt.setNull(index, Types.INTEGER);
+        }
+    }
+
+    private void setNullableTimestamp(PreparedStatement pstmt, int index, LocalDateTime value) throws SQLException {
+        if (value != null) {
+            pstmt.setTimestamp(index, Timestamp.valueOf(value));
+        } else {
+            pstmt.setNull(index, Types.TIMESTAMP);
+        }
+    }
+}
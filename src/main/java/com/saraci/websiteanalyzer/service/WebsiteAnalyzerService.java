@@ -2,6 +2,8 @@ package com.saraci.websiteanalyzer.service;
 
 import com.saraci.websiteanalyzer.model.AnalysisResult;
 
+import java.util.List;
+
 /**
  * Hauptschnittstelle für den Website-Analyse-Service.
  */
@@ -26,12 +28,26 @@ public interface WebsiteAnalyzerService {
     String generatePdfReport(AnalysisResult result) throws Exception;
 
     /**
-     * Sendet einen Bericht per E-Mail.
+     * Reiht einen Bericht zum Versand per E-Mail ein. Die Zustellung erfolgt im Hintergrund.
      *
+     * @param analysisId Die ID der Analyse, für den signierten Link bei großen Berichten
      * @param pdfPath Der Pfad zur PDF-Datei
      * @param email Die E-Mail-Adresse des Empfängers
      * @param websiteUrl Die URL der analysierten Website
-     * @throws Exception Wenn beim E-Mail-Versand ein Fehler auftritt
+     * @throws Exception Wenn die E-Mail nicht eingereiht werden kann
+     */
+    void sendReportByEmail(Long analysisId, String pdfPath, String email, String websiteUrl) throws Exception;
+
+    /**
+     * Reiht einen Bericht zum Versand per E-Mail an mehrere Empfänger ein. Übersteigt die zu
+     * übertragende Datenmenge (Dateigröße mal Anzahl der Nachrichten) die konfigurierte Grenze, enthält
+     * die E-Mail statt des Anhangs einen signierten, ablaufenden Download-Link.
+     *
+     * @param analysisId Die ID der Analyse, für den signierten Link bei großen Berichten
+     * @param pdfPath Der Pfad zur PDF-Datei
+     * @param emails Die E-Mail-Adressen der Empfänger
+     * @param websiteUrl Die URL der analysierten Website
+     * @throws Exception Wenn die E-Mail nicht eingereiht werden kann
      */
-    void sendReportByEmail(String pdfPath, String email, String websiteUrl) throws Exception;
+    void sendReportByEmail(Long analysisId, String pdfPath, List<String> emails, String websiteUrl) throws Exception;
 }
\ No newline at end of file
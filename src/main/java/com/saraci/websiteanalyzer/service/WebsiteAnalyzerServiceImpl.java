@@ -1,13 +1,19 @@
 package com.saraci.websiteanalyzer.service;
 
+import com.saraci.websiteanalyzer.config.EmailConfig;
 import com.saraci.websiteanalyzer.model.*;
 import com.saraci.websiteanalyzer.service.analyzer.ContentAnalyzer;
 import com.saraci.websiteanalyzer.service.analyzer.PerformanceAnalyzer;
 import com.saraci.websiteanalyzer.service.analyzer.SecurityAnalyzer;
 import com.saraci.websiteanalyzer.service.analyzer.SeoAnalyzer;
+import com.saraci.websiteanalyzer.service.report.HtmlReportGeneratorImpl;
 import com.saraci.websiteanalyzer.service.report.PdfReportGenerator;
-import com.saraci.websiteanalyzer.service.report.EmailSender;
+import com.saraci.websiteanalyzer.service.report.EmailOutbox;
+import com.saraci.websiteanalyzer.service.report.ReportLinkSigner;
 
+import java.io.File;
+import java.util.Collections;
+import java.util.List;
 import java.util.logging.Logger;
 
 /**
@@ -21,7 +27,9 @@ public class WebsiteAnalyzerServiceImpl implements WebsiteAnalyzerService {
     private final SecurityAnalyzer securityAnalyzer;
     private final ContentAnalyzer contentAnalyzer;
     private final PdfReportGenerator reportGenerator;
-    private final EmailSender emailSender;
+    private final EmailOutbox emailOutbox;
+    private final ReportLinkSigner reportLinks;
+    private final EmailConfig emailConfig;
 
     /**
      * Konstruktor mit Dependency Injection.
@@ -32,13 +40,17 @@ public class WebsiteAnalyzerServiceImpl implements WebsiteAnalyzerService {
             SecurityAnalyzer securityAnalyzer,
             ContentAnalyzer contentAnalyzer,
             PdfReportGenerator reportGenerator,
-            EmailSender emailSender) {
+            EmailOutbox emailOutbox,
+            ReportLinkSigner reportLinks,
+            EmailConfig emailConfig) {
         this.seoAnalyzer = seoAnalyzer;
         this.performanceAnalyzer = performanceAnalyzer;
         this.securityAnalyzer = securityAnalyzer;
         this.contentAnalyzer = contentAnalyzer;
         this.reportGenerator = reportGenerator;
-        this.emailSender = emailSender;
+        this.emailOutbox = emailOutbox;
+        this.reportLinks = reportLinks;
+        this.emailConfig = emailConfig;
     }
 
     @Override
@@ -66,12 +78,6 @@ public class WebsiteAnalyzerServiceImpl implements WebsiteAnalyzerService {
             // Performance-Analyse durchführen
             PerformanceResult performanceResult = performanceAnalyzer.analyze(url);
 
-            // Direktes Setzen eines Scores zur Fehlersuche
-            if (performanceResult.getLighthouseScore() == 0) {
-                performanceResult.setLighthouseScore(80); // Hartcodierter Test-Score
-                logger.warning("Performance-Score war 0, setze Test-Score: 80");
-            }
-
             logger.info("Performance-Score nach Analyse: " + performanceResult.getLighthouseScore());
             analysisResult.setPerformanceResult(performanceResult);
 
@@ -119,16 +125,66 @@ public class WebsiteAnalyzerServiceImpl implements WebsiteAnalyzerService {
     }
 
     @Override
-    public void sendReportByEmail(String pdfPath, String email, String websiteUrl) throws Exception {
+    public void sendReportByEmail(Long analysisId, String pdfPath, String email, String websiteUrl) throws Exception {
+        sendReportByEmail(analysisId, pdfPath, Collections.singletonList(email), websiteUrl);
+    }
+
+    @Override
+    public void sendReportByEmail(Long analysisId, String pdfPath, List<String> emails, String websiteUrl) throws Exception {
         try {
-            // E-Mail mit Bericht senden
-            emailSender.sendEmail(email, "Website-Analysebericht für " + websiteUrl,
-                    "Anbei der Analysebericht für " + websiteUrl, pdfPath);
+            String subject = "Website-Analysebericht für " + websiteUrl;
+
+            // Jede Nachricht (höchstens maxRecipientsPerMessage Empfänger) trägt eine Kopie des Anhangs
+            long size = new File(pdfPath).length();
+            int perMessage = Math.max(1, emailConfig.getMaxRecipientsPerMessage());
+            long messages = (emails.size() + perMessage - 1) / perMessage;
+
+            // Die E-Mail wird nur eingereiht; die Zustellung läuft im Hintergrund mit Wiederholungen
+            List<EmailOutboxEntry> entries;
+            if (analysisId != null && size * messages > emailConfig.getAttachmentMaxBytes()) {
+                entries = emailOutbox.enqueue(emails, subject, createLinkText(analysisId, websiteUrl),
+                        createLinkHtml(analysisId, websiteUrl, size), null);
+                logger.info("Bericht für " + websiteUrl + " (" + size / 1024 + " KB, " + messages +
+                        " Nachricht(en)) wird als Link statt als Anhang versendet");
+            } else {
+                String attachmentName = analysisId != null ? PdfReportGenerator.fileName(websiteUrl, analysisId) : null;
+                entries = emailOutbox.enqueue(emails, subject, "Anbei der Analysebericht für " + websiteUrl, null,
+                        pdfPath, attachmentName);
+            }
 
-            logger.info("Bericht per E-Mail an " + email + " gesendet");
+            logger.info("Bericht für " + websiteUrl + " zum E-Mail-Versand eingereiht (" + entries.size() +
+                    " Nachricht(en), erste ID " + entries.get(0).getId() + ")");
+        } catch (IllegalArgumentException e) {
+            throw e;
         } catch (Exception e) {
-            logger.severe("Fehler beim E-Mail-Versand: " + e.getMessage());
-            throw new Exception("Fehler beim E-Mail-Versand: " + e.getMessage(), e);
+            logger.severe("Fehler beim Einreihen der E-Mail: " + e.getMessage());
+            throw new Exception("Fehler beim Einreihen der E-Mail: " + e.getMessage(), e);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Textvariante der E-Mail mit Download-Link statt Anhang.
+     */
+    private String createLinkText(Long analysisId, String websiteUrl) {
+        return "Der Analysebericht für " + websiteUrl + " steht unter folgendem Link zum Download bereit:\n" +
+                reportLinks.signedUrl(reportPath(analysisId));
+    }
+
+    /**
+     * HTML-Variante der E-Mail mit Links auf den PDF- und den HTML-Bericht.
+     */
+    private String createLinkHtml(Long analysisId, String websiteUrl, long size) {
+        String pdfUrl = reportLinks.signedUrl(reportPath(analysisId));
+        String htmlUrl = reportLinks.signedUrl(reportPath(analysisId) + ".html");
+
+        return "<p>Der Analysebericht für " + HtmlReportGeneratorImpl.escape(websiteUrl) +
+                " steht zum Download bereit.</p>" +
+                "<p><a href='" + HtmlReportGeneratorImpl.escape(pdfUrl) + "'>PDF herunterladen</a> (" +
+                String.format("%.1f MB", size / (1024.0 * 1024.0)) + ") | <a href='" +
+                HtmlReportGeneratorImpl.escape(htmlUrl) + "'>Im Browser ansehen</a></p>";
+    }
+
+    private static String reportPath(Long analysisId) {
+        return "/api/analysis/" + analysisId + "/report";
+    }
+}
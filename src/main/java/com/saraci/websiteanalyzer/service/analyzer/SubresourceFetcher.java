@@ -0,0 +1,297 @@
+package com.saraci.websiteanalyzer.service.analyzer;
+
+import com.saraci.websiteanalyzer.model.PageResource;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Lädt die von einer Seite eingebundenen Ressourcen (Stylesheets, Skripte, Bilder und Schriften)
+ * und zeichnet für jede Größe, Zeitpunkt, Dauer und Cache-Header auf. Inhalte über der Höchstgröße
+ * des {@link TimedHttpFetcher} werden nur bis zu dieser gelesen und als abgeschnitten markiert.
+ *
+ * Die Ressourcen werden aus dem geparsten Dokument ermittelt; Schriften zusätzlich aus den
+ * {@code @font-face}-Regeln der geladenen Stylesheets (nur die erste Quelle jeder Regel, wie sie ein
+ * Browser wählen würde). Pro Host laden höchstens {@code maxPerHost} Anfragen gleichzeitig, ähnlich
+ * den Verbindungsgrenzen eines Browsers; dafür erhält jeder Host bis zu {@code maxPerHost}
+ * Arbeitsschritte, die seine Warteschlange abarbeiten. Alle Analysen teilen sich einen Thread-Pool.
+ *
+ * Als render-blockierend gelten wie bei Lighthouse Stylesheets im Head ohne einschränkendes
+ * Media-Attribut und Skripte im Head ohne async, defer oder type="module".
+ */
+public class SubresourceFetcher {
+    private static final Logger logger = Logger.getLogger(SubresourceFetcher.class.getName());
+
+    private static final Pattern FONT_FACE = Pattern.compile("@font-face\\s*\\{([^}]*)}", Pattern.CASE_INSENSITIVE);
+    private static final Pattern FONT_SRC = Pattern.compile("(?<![-\\w])src\\s*:\\s*([^;]*)", Pattern.CASE_INSENSITIVE);
+    private static final Pattern CSS_URL = Pattern.compile("url\\(\\s*['\"]?([^'\")]+?)['\"]?\\s*\\)");
+
+    private final TimedHttpFetcher fetcher;
+    private final ExecutorService executor;
+    private final int maxPerHost;
+    private final int maxResources;
+    private final long timeoutMillis;
+
+    /**
+     * Konstruktor.
+     *
+     * @param fetcher Der Client für die einzelnen Abrufe
+     * @param threads Größe des gemeinsamen Thread-Pools
+     * @param maxPerHost Höchstzahl gleichzeitiger Anfragen pro Host und Analyse
+     * @param maxResources Höchstzahl geladener Ressourcen pro Seite
+     * @param timeoutMillis Zeitlimit für alle Ressourcen einer Seite
+     */
+    public SubresourceFetcher(TimedHttpFetcher fetcher, int threads, int maxPerHost, int maxResources, long timeoutMillis) {
+        this.fetcher = fetcher;
+        this.maxPerHost = Math.max(1, maxPerHost);
+        this.maxResources = maxResources;
+        this.timeoutMillis = timeoutMillis;
+
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(Math.max(1, threads), r -> {
+            Thread thread = new Thread(r, "subresource-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Lädt alle Ressourcen des Dokuments.
+     *
+     * @param document Das geparste Dokument (mit der endgültigen URL als Basis-URI)
+     * @param offsetMillis Zeitpunkt des Beginns, relativ zum Beginn der Analyse
+     * @return Die Ressourcen in der Reihenfolge ihres Auftretens, Schriften aus Stylesheets am Ende
+     */
+    public List<PageResource> fetchAll(Document document, int offsetMillis) {
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+
+        Map<String, PageResource> resources = discover(document);
+        Queue<String> cssFonts = new ConcurrentLinkedQueue<>();
+        run(resources.values(), start, offsetMillis, deadline, cssFonts);
+
+        // Zweite Runde: Schriften, die erst aus den Stylesheets bekannt sind
+        Map<String, PageResource> fonts = new LinkedHashMap<>();
+        for (String url : cssFonts) {
+            if (resources.size() + fonts.size() >= maxResources) {
+                break;
+            }
+            if (!resources.containsKey(url)) {
+                fonts.putIfAbsent(url, new PageResource(url, PageResource.TYPE_FONT, false));
+            }
+        }
+        run(fonts.values(), start, offsetMillis, deadline, null);
+
+        List<PageResource> all = new ArrayList<>(resources.values());
+        all.addAll(fonts.values());
+        logger.info(all.size() + " Ressourcen von " + document.location() + " in " +
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + "ms geladen");
+        return all;
+    }
+
+    /**
+     * Ermittelt die Ressourcen aus dem Dokument, ohne Duplikate und ohne data:-URLs.
+     */
+    Map<String, PageResource> discover(Document document) {
+        Map<String, PageResource> resources = new LinkedHashMap<>();
+
+        for (Element link : document.select("link[href]")) {
+            String rel = link.attr("rel").toLowerCase(Locale.ROOT);
+            String as = link.attr("as").toLowerCase(Locale.ROOT);
+            if (rel.contains("stylesheet")) {
+                add(resources, link.absUrl("href"), PageResource.TYPE_CSS,
+                        inHead(link) && !rel.contains("alternate") && !link.hasAttr("disabled") && matchesScreen(link.attr("media")));
+            } else if (rel.contains("preload")) {
+                String type = "style".equals(as) ? PageResource.TYPE_CSS : "script".equals(as) ? PageResource.TYPE_SCRIPT :
+                        "font".equals(as) ? PageResource.TYPE_FONT : "image".equals(as) ? PageResource.TYPE_IMAGE : null;
+                if (type != null) {
+                    add(resources, link.absUrl("href"), type, false);
+                }
+            } else if (rel.contains("icon")) {
+                add(resources, link.absUrl("href"), PageResource.TYPE_IMAGE, false);
+            }
+        }
+
+        for (Element script : document.select("script[src]")) {
+            boolean blocking = inHead(script) && !script.hasAttr("async") && !script.hasAttr("defer") &&
+                    !"module".equalsIgnoreCase(script.attr("type"));
+            add(resources, script.absUrl("src"), PageResource.TYPE_SCRIPT, blocking);
+        }
+
+        for (Element image : document.select("img[src]")) {
+            add(resources, image.absUrl("src"), PageResource.TYPE_IMAGE, false);
+        }
+
+        return resources;
+    }
+
+    private void add(Map<String, PageResource> resources, String url, String type, boolean renderBlocking) {
+        if (!url.startsWith("http://") && !url.startsWith("https://")) {
+            return;
+        }
+        PageResource existing = resources.get(url);
+        if (existing != null) {
+            // Eine vorgeladene Ressource kann trotzdem render-blockierend eingebunden sein
+            existing.setRenderBlocking(existing.isRenderBlocking() || renderBlocking);
+        } else if (resources.size() < maxResources) {
+            resources.put(url, new PageResource(url, type, renderBlocking));
+        }
+    }
+
+    private static boolean inHead(Element element) {
+        return element.parents().stream().anyMatch(parent -> "head".equals(parent.normalName()));
+    }
+
+    private static boolean matchesScreen(String media) {
+        String value = media.trim().toLowerCase(Locale.ROOT);
+        return value.isEmpty() || "all".equals(value) || "screen".equals(value);
+    }
+
+    /**
+     * Lädt die Ressourcen mit höchstens {@code maxPerHost} gleichzeitigen Anfragen pro Host und wartet
+     * bis zum Zeitlimit. Nicht rechtzeitig geladene Ressourcen erhalten einen Fehlertext.
+     */
+    private void run(Collection<PageResource> resources, long start, int offsetMillis, long deadline, Queue<String> cssFonts) {
+        Map<String, Queue<PageResource>> byHost = new LinkedHashMap<>();
+        for (PageResource resource : resources) {
+            byHost.computeIfAbsent(host(resource.getUrl()), host -> new ConcurrentLinkedQueue<>()).add(resource);
+        }
+
+        List<Future<?>> lanes = new ArrayList<>();
+        for (Queue<PageResource> queue : byHost.values()) {
+            int laneCount = Math.min(maxPerHost, queue.size());
+            for (int i = 0; i < laneCount; i++) {
+                lanes.add(executor.submit(() -> {
+                    PageResource resource;
+                    while (System.nanoTime() - deadline < 0 && !Thread.currentThread().isInterrupted() &&
+                            (resource = queue.poll()) != null) {
+                        load(resource, start, offsetMillis, deadline, cssFonts);
+                    }
+                }));
+            }
+        }
+
+        for (Future<?> lane : lanes) {
+            try {
+                lane.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                lane.cancel(true);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                lane.cancel(true);
+            } catch (ExecutionException e) {
+                logger.warning("Fehler beim Laden der Ressourcen: " + e.getCause());
+            }
+        }
+
+        for (PageResource resource : resources) {
+            synchronized (resource) {
+                if (resource.getStatusCode() == 0 && resource.getError() == null) {
+                    resource.setError("Zeitlimit der Analyse überschritten");
+                }
+            }
+        }
+    }
+
+    /**
+     * Lädt eine Ressource und überträgt Messwerte und Cache-Header. Der Abruf endet spätestens zum
+     * Zeitlimit der Seite, da blockierende Lesevorgänge nicht auf {@link Future#cancel(boolean)} reagieren.
+     */
+    private void load(PageResource resource, long start, int offsetMillis, long deadline, Queue<String> cssFonts) {
+        long requestStart = System.nanoTime();
+        TimedHttpFetcher.Page page = null;
+        String error = null;
+        try {
+            page = fetcher.download(resource.getUrl(), deadline);
+        } catch (IOException e) {
+            error = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+        }
+
+        // Die Felder werden gesperrt gesetzt, da der Aufrufer nach dem Zeitlimit nicht mehr wartet
+        synchronized (resource) {
+            resource.setStartTime(offsetMillis + toMillis(requestStart - start));
+            resource.setDuration(toMillis(System.nanoTime() - requestStart));
+            if (page == null) {
+                resource.setError(error);
+                return;
+            }
+            resource.setStatusCode(page.getStatusCode());
+            resource.setTransferSize(page.getTransferBytes());
+            resource.setSize(page.getBody().length);
+            resource.setTruncated(page.isTruncated());
+            resource.setTimeToFirstByte(toMillis(page.getDnsNanos() + page.getConnectNanos() +
+                    page.getTlsNanos() + page.getTtfbNanos()));
+            resource.setCacheControl(page.getHeader("Cache-Control"));
+            resource.setExpires(page.getHeader("Expires"));
+            resource.setEtag(page.getHeader("ETag"));
+            resource.setLastModified(page.getHeader("Last-Modified"));
+        }
+
+        if (cssFonts != null && PageResource.TYPE_CSS.equals(resource.getType()) && resource.isLoaded()) {
+            cssFonts.addAll(fontUrls(new String(page.getBody(), StandardCharsets.UTF_8), page.getFinalUrl()));
+        }
+    }
+
+    /**
+     * Ermittelt die erste Quelle jeder {@code @font-face}-Regel eines Stylesheets.
+     */
+    static List<String> fontUrls(String css, String baseUrl) {
+        List<String> urls = new ArrayList<>();
+        Matcher fontFace = FONT_FACE.matcher(css);
+        while (fontFace.find()) {
+            Matcher src = FONT_SRC.matcher(fontFace.group(1));
+            String url = null;
+            // Bei mehreren src-Angaben gilt die letzte
+            while (src.find()) {
+                Matcher first = CSS_URL.matcher(src.group(1));
+                url = first.find() ? first.group(1).trim() : url;
+            }
+            if (url == null || url.startsWith("data:")) {
+                continue;
+            }
+            try {
+                String absolute = URI.create(baseUrl).resolve(url.replace(" ", "%20")).toString();
+                if (absolute.startsWith("http://") || absolute.startsWith("https://")) {
+                    urls.add(absolute);
+                }
+            } catch (IllegalArgumentException e) {
+                logger.fine("Ungültige Schrift-URL in " + baseUrl + ": " + url);
+            }
+        }
+        return urls;
+    }
+
+    private static String host(String url) {
+        try {
+            String host = URI.create(url).getHost();
+            return host != null ? host.toLowerCase(Locale.ROOT) : "";
+        } catch (IllegalArgumentException e) {
+            return "";
+        }
+    }
+
+    private static int toMillis(long nanos) {
+        return (int) Math.round(nanos / 1_000_000.0);
+    }
+}
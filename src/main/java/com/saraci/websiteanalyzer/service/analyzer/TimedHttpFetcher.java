@@ -0,0 +1,789 @@
+package com.saraci.websiteanalyzer.service.analyzer;
+
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+
+import javax.net.ssl.SSLParameters;
+import javax.net.ssl.SSLSocket;
+import javax.net.ssl.SSLSocketFactory;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.charset.Charset;
+import java.nio.charset.IllegalCharsetNameException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Ruft eine Seite über einen eigenen HTTP/1.1-Client ab und misst dabei jede Phase einzeln mit
+ * {@link System#nanoTime()}:
+ *
+ * <ul>
+ *     <li>DNS: Auflösung des Hostnamens,</li>
+ *     <li>Verbindung: TCP-Verbindungsaufbau,</li>
+ *     <li>TLS: Handshake (nur HTTPS),</li>
+ *     <li>TTFB: vom Senden der Anfrage bis zum ersten Byte der Antwort (Server-Antwortzeit),</li>
+ *     <li>Download: vom ersten bis zum letzten Byte,</li>
+ *     <li>Verarbeitung: Entpacken und Parsen des HTML-Dokuments.</li>
+ * </ul>
+ *
+ * Mit {@link #download(String)} werden Ressourcen der Seite ohne Parsen geladen.
+ *
+ * Weiterleitungen werden verfolgt; die Netzwerkphasen aller Schritte werden addiert. Standardmäßig
+ * verwendet jeder Abruf eine neue Verbindung ({@code Connection: close}), gemessen wird also ein
+ * kalter Abruf. Mit {@code reuseConnection} werden Verbindungen offen gehalten und von späteren
+ * Abrufen desselben Hosts wiederverwendet (warmer Abruf ohne DNS, TCP und TLS), bis sie
+ * {@value #IDLE_TIMEOUT_SECONDS} Sekunden ungenutzt waren oder mit
+ * {@link #closeIdleConnections(String)} geschlossen werden. Die DNS-Zeit kann auch bei kalten
+ * Abrufen durch den DNS-Cache der JVM bzw. des Betriebssystems gegen 0 gehen.
+ *
+ * Wie zuvor beim Abruf mit Jsoup ist der Antwortinhalt auf {@code maxBodyBytes} begrenzt (vor und
+ * nach dem Entpacken); größere Inhalte werden abgeschnitten ({@link Page#isTruncated()}). Neben dem
+ * Zeitlimit für jeden Lesevorgang gilt ein Gesamtlimit für den Abruf einschließlich Weiterleitungen:
+ * Läuft es ab, wird der Socket geschlossen, sodass auch ein Server, der die Antwort nur tröpfchenweise
+ * sendet, den Abruf nicht aufhalten kann. Nur die DNS-Auflösung lässt sich so nicht abbrechen.
+ */
+public class TimedHttpFetcher {
+    public static final int MAX_REDIRECTS = 5;
+    public static final int IDLE_TIMEOUT_SECONDS = 5;
+    private static final int MAX_IDLE_PER_HOST = 4;
+    private static final int MAX_HEADER_LINE = 16 * 1024;
+
+    // Schließt Sockets, deren Abruf das Gesamtlimit überschritten hat
+    private static final ScheduledThreadPoolExecutor DEADLINES = new ScheduledThreadPoolExecutor(1, r -> {
+        Thread thread = new Thread(r, "http-deadline");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    static {
+        DEADLINES.setRemoveOnCancelPolicy(true);
+    }
+
+    private final String userAgent;
+    private final int timeoutMillis;
+    private final long requestTimeoutMillis;
+    private final int maxBodyBytes;
+
+    // Offene Verbindungen nach Schema, Host und Port; Zugriff nur synchronisiert auf die Map
+    private final Map<String, Deque<Connection>> idleConnections = new HashMap<>();
+
+    /**
+     * Konstruktor.
+     *
+     * @param userAgent User-Agent der Anfragen
+     * @param timeoutMillis Zeitlimit für Verbindungsaufbau und jeden Lesevorgang
+     * @param requestTimeoutMillis Zeitlimit für den gesamten Abruf einschließlich Weiterleitungen
+     * @param maxBodyBytes Höchstgröße des Antwortinhalts in Bytes
+     */
+    public TimedHttpFetcher(String userAgent, int timeoutMillis, long requestTimeoutMillis, int maxBodyBytes) {
+        this.userAgent = userAgent;
+        this.timeoutMillis = timeoutMillis;
+        this.requestTimeoutMillis = requestTimeoutMillis;
+        this.maxBodyBytes = maxBodyBytes;
+    }
+
+    /**
+     * Eine offene Verbindung mit ihren Datenströmen.
+     */
+    private static final class Connection {
+        private final String key;
+        private final Socket socket;
+        private final InputStream in;
+        private final OutputStream out;
+        private long idleSince;
+
+        private Connection(String key, Socket socket) throws IOException {
+            this.key = key;
+            this.socket = socket;
+            this.in = new BufferedInputStream(socket.getInputStream());
+            this.out = socket.getOutputStream();
+        }
+
+        private void close() {
+            try {
+                socket.close();
+            } catch (IOException e) {
+                // Verbindung ist ohnehin nicht mehr nutzbar
+            }
+        }
+    }
+
+    /**
+     * Ergebnis eines Abrufs mit den gemessenen Phasen in Nanosekunden.
+     */
+    public static final class Page {
+        private String finalUrl;
+        private int statusCode;
+        private final Map<String, String> headers = new HashMap<>();
+        private Document document;
+        private byte[] body;
+        private int redirects;
+        private int reusedConnections;
+        private boolean keepAlive;
+        private boolean truncated;
+        private long transferBytes;
+        private long deadlineNanos;
+        private long dnsNanos;
+        private long connectNanos;
+        private long tlsNanos;
+        private long ttfbNanos;
+        private long downloadNanos;
+        private long parseNanos;
+        private long totalNanos;
+
+        public String getFinalUrl() {
+            return finalUrl;
+        }
+
+        public int getStatusCode() {
+            return statusCode;
+        }
+
+        /**
+         * Gibt einen Antwort-Header der letzten Antwort zurück (Name ohne Beachtung der Groß-/Kleinschreibung).
+         */
+        public String getHeader(String name) {
+            return headers.get(name.toLowerCase(Locale.ROOT));
+        }
+
+        /**
+         * Das geparste Dokument (nur bei {@link #fetch(String)}).
+         */
+        public Document getDocument() {
+            return document;
+        }
+
+        /**
+         * Der entpackte Antwortinhalt (nur bei {@link #download(String)}).
+         */
+        public byte[] getBody() {
+            return body;
+        }
+
+        public int getRedirects() {
+            return redirects;
+        }
+
+        /**
+         * Anzahl der Anfragen (inkl. Weiterleitungen), die eine bestehende Verbindung verwendet haben.
+         */
+        public int getReusedConnections() {
+            return reusedConnections;
+        }
+
+        /**
+         * Gibt an, ob der Inhalt die Höchstgröße überschritten hat und nur teilweise gelesen wurde.
+         */
+        public boolean isTruncated() {
+            return truncated;
+        }
+
+        /**
+         * Übertragene Bytes des Antwortinhalts aller Schritte (komprimiert, ohne Header). Bei
+         * abgeschnittenem Inhalt zählt die angekündigte Content-Length, sonst die gelesenen Bytes.
+         */
+        public long getTransferBytes() {
+            return transferBytes;
+        }
+
+        public long getDnsNanos() {
+            return dnsNanos;
+        }
+
+        public long getConnectNanos() {
+            return connectNanos;
+        }
+
+        public long getTlsNanos() {
+            return tlsNanos;
+        }
+
+        public long getTtfbNanos() {
+            return ttfbNanos;
+        }
+
+        public long getDownloadNanos() {
+            return downloadNanos;
+        }
+
+        public long getParseNanos() {
+            return parseNanos;
+        }
+
+        public long getTotalNanos() {
+            return totalNanos;
+        }
+    }
+
+    /**
+     * Ruft die Seite ab, folgt Weiterleitungen und parst das HTML-Dokument.
+     *
+     * @throws IOException Bei Netzwerkfehlern, zu vielen Weiterleitungen oder HTTP-Status ab 400
+     */
+    public Page fetch(String url) throws IOException {
+        return fetch(url, false);
+    }
+
+    /**
+     * Ruft die Seite ab, folgt Weiterleitungen und parst das HTML-Dokument.
+     *
+     * @param reuseConnection true, um eine offene Verbindung zu verwenden und offen zu halten
+     * @throws IOException Bei Netzwerkfehlern, Zeitüberschreitung, zu vielen Weiterleitungen oder HTTP-Status ab 400
+     */
+    public Page fetch(String url, boolean reuseConnection) throws IOException {
+        long start = System.nanoTime();
+        Page page = new Page();
+        page.deadlineNanos = start + TimeUnit.MILLISECONDS.toNanos(requestTimeoutMillis);
+        byte[] body = transfer(url, page, reuseConnection);
+
+        if (page.statusCode >= 400) {
+            throw new IOException("HTTP-Status " + page.statusCode + " für " + page.finalUrl);
+        }
+
+        // Entpacken und Parsen
+        long parseStart = System.nanoTime();
+        body = decode(body, page);
+        page.document = Jsoup.parse(new ByteArrayInputStream(body), charset(page.getHeader("Content-Type")), page.finalUrl);
+        long end = System.nanoTime();
+
+        page.parseNanos = end - parseStart;
+        page.totalNanos = end - start;
+        return page;
+    }
+
+    /**
+     * Lädt eine Ressource (z. B. CSS, Skript, Bild), folgt Weiterleitungen und entpackt den Inhalt,
+     * ohne ihn zu parsen. HTTP-Fehler werden nicht als Ausnahme gemeldet, sondern im Statuscode.
+     *
+     * @throws IOException Bei Netzwerkfehlern, Zeitüberschreitung oder zu vielen Weiterleitungen
+     */
+    public Page download(String url) throws IOException {
+        return download(url, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(requestTimeoutMillis));
+    }
+
+    /**
+     * Lädt eine Ressource wie {@link #download(String)}, bricht aber spätestens zum angegebenen
+     * Zeitpunkt ab.
+     *
+     * @param deadlineNanos Spätestes Ende als Wert von {@link System#nanoTime()}
+     * @throws IOException Bei Netzwerkfehlern, Zeitüberschreitung oder zu vielen Weiterleitungen
+     */
+    public Page download(String url, long deadlineNanos) throws IOException {
+        long start = System.nanoTime();
+        Page page = new Page();
+        page.deadlineNanos = start + TimeUnit.MILLISECONDS.toNanos(requestTimeoutMillis);
+        if (deadlineNanos - page.deadlineNanos < 0) {
+            page.deadlineNanos = deadlineNanos;
+        }
+        byte[] body = transfer(url, page, false);
+
+        long decodeStart = System.nanoTime();
+        page.body = decode(body, page);
+        long end = System.nanoTime();
+
+        page.parseNanos = end - decodeStart;
+        page.totalNanos = end - start;
+        return page;
+    }
+
+    /**
+     * Führt die Anfragen bis zur endgültigen Antwort aus.
+     *
+     * @return Der (ggf. komprimierte) Antwortinhalt der letzten Antwort
+     */
+    private byte[] transfer(String url, Page page, boolean reuseConnection) throws IOException {
+        URI uri = toUri(url);
+        while (true) {
+            byte[] body = fetchOnce(uri, page, reuseConnection);
+
+            String location = page.getHeader("Location");
+            if (isRedirect(page.statusCode) && location != null) {
+                if (++page.redirects > MAX_REDIRECTS) {
+                    throw new IOException("Zu viele Weiterleitungen (mehr als " + MAX_REDIRECTS + ")");
+                }
+                uri = uri.resolve(toUri(location.trim()));
+                continue;
+            }
+
+            page.finalUrl = uri.toString();
+            return body;
+        }
+    }
+
+    /**
+     * Entpackt gzip-Inhalte bis zur Höchstgröße. Ein abgeschnittener Inhalt wird so weit wie möglich entpackt.
+     */
+    private byte[] decode(byte[] body, Page page) throws IOException {
+        if (body.length == 0 || !"gzip".equalsIgnoreCase(page.getHeader("Content-Encoding"))) {
+            return body;
+        }
+        ByteArrayOutputStream decoded = new ByteArrayOutputStream();
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            byte[] buffer = new byte[8192];
+            int read;
+            while (decoded.size() < maxBodyBytes &&
+                    (read = in.read(buffer, 0, Math.min(buffer.length, maxBodyBytes - decoded.size()))) != -1) {
+                decoded.write(buffer, 0, read);
+            }
+            if (decoded.size() >= maxBodyBytes && in.read() != -1) {
+                page.truncated = true;
+            }
+        } catch (EOFException e) {
+            if (!page.truncated) {
+                throw e;
+            }
+        }
+        return decoded.toByteArray();
+    }
+
+    /**
+     * Schließt die offenen Verbindungen zum Host einer URL.
+     */
+    public void closeIdleConnections(String url) {
+        try {
+            URI uri = toUri(url);
+            boolean https = "https".equalsIgnoreCase(uri.getScheme());
+            int port = uri.getPort() != -1 ? uri.getPort() : (https ? 443 : 80);
+            closeAll(takeAllIdle(connectionKey(https, hostName(uri), port)));
+        } catch (IOException e) {
+            // Ungültige URL: keine Verbindungen vorhanden
+        }
+    }
+
+    /**
+     * Führt eine einzelne Anfrage aus und addiert die Phasen zur Seite. Eine wiederverwendete
+     * Verbindung, die der Server inzwischen geschlossen hat, wird einmal durch eine neue ersetzt.
+     *
+     * @return Der (ggf. komprimierte) Antwortinhalt
+     */
+    private byte[] fetchOnce(URI uri, Page page, boolean reuseConnection) throws IOException {
+        boolean https = "https".equalsIgnoreCase(uri.getScheme());
+        if (!https && !"http".equalsIgnoreCase(uri.getScheme())) {
+            throw new IOException("Nicht unterstütztes Protokoll: " + uri.getScheme());
+        }
+        String host = hostName(uri);
+        if (host == null) {
+            throw new IOException("Ungültige URL: " + uri);
+        }
+        int port = uri.getPort() != -1 ? uri.getPort() : (https ? 443 : 80);
+        String key = connectionKey(https, host, port);
+
+        if (reuseConnection) {
+            Connection idle = takeIdle(key);
+            if (idle != null) {
+                try {
+                    long now = System.nanoTime();
+                    byte[] body = exchange(idle, uri, host, port, https, true, page, now, now, now, now);
+                    page.reusedConnections++;
+                    return body;
+                } catch (SocketTimeoutException e) {
+                    throw e;
+                } catch (IOException e) {
+                    // Vom Server geschlossen; mit neuer Verbindung wiederholen
+                }
+            }
+        }
+
+        // DNS
+        checkDeadline(page, uri, null);
+        long t0 = System.nanoTime();
+        InetAddress address = InetAddress.getByName(host);
+        long t1 = System.nanoTime();
+
+        // TCP-Verbindung
+        checkDeadline(page, uri, null);
+        Socket socket = new Socket();
+        ScheduledFuture<?> deadline = closeAtDeadline(socket, page);
+        Connection connection;
+        long t2;
+        long t3;
+        try {
+            int remainingMillis = (int) Math.max(1, TimeUnit.NANOSECONDS.toMillis(page.deadlineNanos - System.nanoTime()));
+            socket.connect(new InetSocketAddress(address, port), Math.min(timeoutMillis, remainingMillis));
+            socket.setSoTimeout(timeoutMillis);
+            t2 = System.nanoTime();
+
+            // TLS-Handshake mit Prüfung des Hostnamens
+            t3 = t2;
+            if (https) {
+                SSLSocket sslSocket = (SSLSocket) ((SSLSocketFactory) SSLSocketFactory.getDefault())
+                        .createSocket(socket, host, port, true);
+                SSLParameters parameters = sslSocket.getSSLParameters();
+                parameters.setEndpointIdentificationAlgorithm("HTTPS");
+                sslSocket.setSSLParameters(parameters);
+                sslSocket.startHandshake();
+                socket = sslSocket;
+                t3 = System.nanoTime();
+            }
+            connection = new Connection(key, socket);
+        } catch (IOException e) {
+            socket.close();
+            checkDeadline(page, uri, e);
+            throw e;
+        } catch (RuntimeException e) {
+            socket.close();
+            throw e;
+        } finally {
+            deadline.cancel(false);
+        }
+
+        return exchange(connection, uri, host, port, https, reuseConnection, page, t0, t1, t2, t3);
+    }
+
+    /**
+     * Sendet die Anfrage über die Verbindung, liest die Antwort und addiert die Phasen. Danach wird die
+     * Verbindung geschlossen oder, wenn gewünscht und möglich, für spätere Abrufe offen gehalten.
+     */
+    private byte[] exchange(Connection connection, URI uri, String host, int port, boolean https, boolean keepAlive,
+                            Page page, long t0, long t1, long t2, long t3) throws IOException {
+        boolean reusable = false;
+        ScheduledFuture<?> deadline = closeAtDeadline(connection.socket, page);
+        try {
+            // Anfrage senden und auf das erste Byte warten
+            connection.out.write(request(uri, host, port, https, keepAlive).getBytes(StandardCharsets.ISO_8859_1));
+            connection.out.flush();
+
+            InputStream in = connection.in;
+            long t4 = awaitFirstByte(in, uri);
+
+            // Statuszeile, Header und Inhalt lesen
+            readStatusAndHeaders(in, page);
+            while (page.statusCode / 100 == 1) {
+                if (page.statusCode == 101) {
+                    throw new IOException("Unerwarteter Protokollwechsel (HTTP-Status 101) für " + uri);
+                }
+                // Zwischenantwort ohne Inhalt (z. B. 103 Early Hints); die Server-Antwortzeit gilt bis
+                // zum ersten Byte der endgültigen Antwort
+                t4 = awaitFirstByte(in, uri);
+                readStatusAndHeaders(in, page);
+            }
+            byte[] body = readBody(in, page);
+            long t5 = System.nanoTime();
+
+            page.dnsNanos += t1 - t0;
+            page.connectNanos += t2 - t1;
+            page.tlsNanos += t3 - t2;
+            page.ttfbNanos += t4 - t3;
+            page.downloadNanos += t5 - t4;
+
+            reusable = keepAlive && page.keepAlive;
+            return body;
+        } catch (IOException e) {
+            checkDeadline(page, uri, e);
+            throw e;
+        } finally {
+            deadline.cancel(false);
+            if (reusable) {
+                returnIdle(connection);
+            } else {
+                connection.close();
+            }
+        }
+    }
+
+    private static long awaitFirstByte(InputStream in, URI uri) throws IOException {
+        in.mark(1);
+        if (in.read() == -1) {
+            throw new EOFException("Verbindung ohne Antwort geschlossen: " + uri);
+        }
+        in.reset();
+        return System.nanoTime();
+    }
+
+    /**
+     * Plant das Schließen des Sockets zum Ende des Gesamtlimits; blockierende Lesevorgänge brechen dann ab.
+     */
+    private static ScheduledFuture<?> closeAtDeadline(Socket socket, Page page) {
+        return DEADLINES.schedule(() -> {
+            try {
+                socket.close();
+            } catch (IOException e) {
+                // Verbindung ist ohnehin nicht mehr nutzbar
+            }
+        }, page.deadlineNanos - System.nanoTime(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Meldet eine Zeitüberschreitung, wenn das Gesamtlimit des Abrufs abgelaufen ist.
+     *
+     * @param cause Der dadurch ausgelöste Fehler oder null
+     */
+    private void checkDeadline(Page page, URI uri, IOException cause) throws SocketTimeoutException {
+        if (System.nanoTime() - page.deadlineNanos >= 0) {
+            SocketTimeoutException e = new SocketTimeoutException("Zeitlimit überschritten: " + uri);
+            e.initCause(cause);
+            throw e;
+        }
+    }
+
+    private Connection takeIdle(String key) {
+        List<Connection> expired = new ArrayList<>();
+        Connection connection = null;
+        synchronized (idleConnections) {
+            Deque<Connection> idle = idleConnections.get(key);
+            long now = System.nanoTime();
+            while (idle != null && !idle.isEmpty() && connection == null) {
+                Connection candidate = idle.pollLast();
+                if (now - candidate.idleSince > TimeUnit.SECONDS.toNanos(IDLE_TIMEOUT_SECONDS) || candidate.socket.isClosed()) {
+                    expired.add(candidate);
+                } else {
+                    connection = candidate;
+                }
+            }
+        }
+        closeAll(expired);
+        return connection;
+    }
+
+    private void returnIdle(Connection connection) {
+        connection.idleSince = System.nanoTime();
+        Connection evicted = null;
+        synchronized (idleConnections) {
+            Deque<Connection> idle = idleConnections.computeIfAbsent(connection.key, key -> new ArrayDeque<>());
+            idle.addLast(connection);
+            if (idle.size() > MAX_IDLE_PER_HOST) {
+                evicted = idle.pollFirst();
+            }
+        }
+        if (evicted != null) {
+            evicted.close();
+        }
+    }
+
+    private List<Connection> takeAllIdle(String key) {
+        synchronized (idleConnections) {
+            Deque<Connection> idle = idleConnections.remove(key);
+            return idle != null ? new ArrayList<>(idle) : new ArrayList<>();
+        }
+    }
+
+    private static void closeAll(List<Connection> connections) {
+        for (Connection connection : connections) {
+            connection.close();
+        }
+    }
+
+    private static String connectionKey(boolean https, String host, int port) {
+        return (https ? "https://" : "http://") + host.toLowerCase(Locale.ROOT) + ":" + port;
+    }
+
+    private static String hostName(URI uri) {
+        String host = uri.getHost();
+        if (host != null && host.startsWith("[") && host.endsWith("]")) {
+            host = host.substring(1, host.length() - 1);
+        }
+        return host;
+    }
+
+    private String request(URI uri, String host, int port, boolean https, boolean keepAlive) {
+        String path = uri.getRawPath() == null || uri.getRawPath().isEmpty() ? "/" : uri.getRawPath();
+        if (uri.getRawQuery() != null) {
+            path += "?" + uri.getRawQuery();
+        }
+        boolean defaultPort = port == (https ? 443 : 80);
+        String hostHeader = (host.contains(":") ? "[" + host + "]" : host) + (defaultPort ? "" : ":" + port);
+
+        return "GET " + path + " HTTP/1.1\r\n" +
+                "Host: " + hostHeader + "\r\n" +
+                "User-Agent: " + userAgent + "\r\n" +
+                "Accept: text/html,application/xhtml+xml,application/xml;q=0.9,*/*;q=0.8\r\n" +
+                "Accept-Encoding: gzip\r\n" +
+                "Connection: " + (keepAlive ? "keep-alive" : "close") + "\r\n" +
+                "\r\n";
+    }
+
+    private void readStatusAndHeaders(InputStream in, Page page) throws IOException {
+        String statusLine = readLine(in);
+        String[] parts = statusLine.split(" ", 3);
+        if (parts.length < 2 || !parts[0].startsWith("HTTP/")) {
+            throw new IOException("Ungültige HTTP-Antwort: " + statusLine);
+        }
+        try {
+            page.statusCode = Integer.parseInt(parts[1]);
+        } catch (NumberFormatException e) {
+            throw new IOException("Ungültiger HTTP-Status: " + statusLine);
+        }
+
+        page.headers.clear();
+        String line;
+        while (!(line = readLine(in)).isEmpty()) {
+            int colon = line.indexOf(':');
+            if (colon > 0) {
+                page.headers.put(line.substring(0, colon).trim().toLowerCase(Locale.ROOT), line.substring(colon + 1).trim());
+            }
+        }
+
+        // Offen halten nur bei HTTP/1.1 ohne "Connection: close" bzw. HTTP/1.0 mit "keep-alive"
+        String connection = page.getHeader("Connection");
+        page.keepAlive = "HTTP/1.1".equals(parts[0])
+                ? connection == null || !connection.toLowerCase(Locale.ROOT).contains("close")
+                : connection != null && connection.toLowerCase(Locale.ROOT).contains("keep-alive");
+    }
+
+    /**
+     * Liest den Antwortinhalt bis zur Höchstgröße und addiert die übertragenen Bytes zur Seite. Wird er
+     * abgeschnitten, bleibt der Rest ungelesen und die Verbindung wird nicht wiederverwendet.
+     */
+    private byte[] readBody(InputStream in, Page page) throws IOException {
+        if (page.statusCode == 204 || page.statusCode == 304) {
+            return new byte[0];
+        }
+
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        String transferEncoding = page.getHeader("Transfer-Encoding");
+        String contentLength = page.getHeader("Content-Length");
+        long declaredLength = -1;
+        boolean complete = true;
+
+        if (transferEncoding != null && transferEncoding.toLowerCase(Locale.ROOT).contains("chunked")) {
+            while (true) {
+                String sizeLine = readLine(in);
+                int semicolon = sizeLine.indexOf(';');
+                long size = parseLength(semicolon >= 0 ? sizeLine.substring(0, semicolon) : sizeLine, 16, "Chunk-Größe");
+                if (size == 0) {
+                    // Trailer bis zur Leerzeile überspringen; manche Server schließen vorher
+                    try {
+                        while (!readLine(in).isEmpty()) {
+                            // nichts zu tun
+                        }
+                    } catch (EOFException e) {
+                        // Inhalt ist vollständig
+                    }
+                    break;
+                }
+                complete = copy(in, body, size);
+                if (!complete) {
+                    break;
+                }
+                readLine(in);
+            }
+        } else if (contentLength != null) {
+            declaredLength = parseLength(contentLength, 10, "Content-Length");
+            complete = copy(in, body, declaredLength);
+        } else {
+            // Ende des Inhalts nur am Verbindungsende erkennbar
+            page.keepAlive = false;
+            complete = copy(in, body, -1);
+        }
+
+        if (!complete) {
+            page.truncated = true;
+            page.keepAlive = false;
+        }
+        page.transferBytes += page.truncated && declaredLength > 0 ? declaredLength : body.size();
+        return body.toByteArray();
+    }
+
+    /**
+     * Kopiert {@code length} Bytes (-1: bis zum Verbindungsende), höchstens bis der Inhalt die
+     * Höchstgröße erreicht.
+     *
+     * @return false, wenn die Höchstgröße vor dem Ende erreicht wurde
+     */
+    private boolean copy(InputStream in, ByteArrayOutputStream out, long length) throws IOException {
+        byte[] buffer = new byte[8192];
+        long remaining = length < 0 ? Long.MAX_VALUE : length;
+        while (remaining > 0) {
+            int allowed = maxBodyBytes - out.size();
+            if (allowed <= 0) {
+                return length < 0 && in.read() == -1;
+            }
+            int read = in.read(buffer, 0, (int) Math.min(Math.min(buffer.length, allowed), remaining));
+            if (read == -1) {
+                if (length < 0) {
+                    return true;
+                }
+                throw new EOFException("Antwort vorzeitig beendet");
+            }
+            out.write(buffer, 0, read);
+            remaining -= read;
+        }
+        return true;
+    }
+
+    private static long parseLength(String value, int radix, String name) throws IOException {
+        try {
+            long length = Long.parseLong(value.trim(), radix);
+            if (length < 0) {
+                throw new NumberFormatException();
+            }
+            return length;
+        } catch (NumberFormatException e) {
+            throw new IOException("Ungültige " + name + ": " + value);
+        }
+    }
+
+    /**
+     * Liest eine Zeile bis CRLF bzw. LF (ohne Zeilenende).
+     */
+    private static String readLine(InputStream in) throws IOException {
+        StringBuilder line = new StringBuilder();
+        int b;
+        while ((b = in.read()) != -1 && b != '\n') {
+            if (b != '\r') {
+                line.append((char) b);
+            }
+            if (line.length() > MAX_HEADER_LINE) {
+                throw new IOException("Header-Zeile zu lang");
+            }
+        }
+        if (b == -1 && line.length() == 0) {
+            throw new EOFException("Antwort vorzeitig beendet");
+        }
+        return line.toString();
+    }
+
+    private static boolean isRedirect(int status) {
+        return status == 301 || status == 302 || status == 303 || status == 307 || status == 308;
+    }
+
+    /**
+     * Zeichensatz aus dem Content-Type oder null (Jsoup erkennt ihn dann aus dem Dokument).
+     */
+    private static String charset(String contentType) {
+        if (contentType == null) {
+            return null;
+        }
+        for (String part : contentType.split(";")) {
+            String trimmed = part.trim();
+            if (trimmed.toLowerCase(Locale.ROOT).startsWith("charset=")) {
+                String name = trimmed.substring(8).replace("\"", "").trim();
+                try {
+                    return Charset.isSupported(name) ? name : null;
+                } catch (IllegalCharsetNameException e) {
+                    return null;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static URI toUri(String url) throws IOException {
+        try {
+            return new URI(url);
+        } catch (URISyntaxException e) {
+            throw new IOException("Ungültige URL: " + url, e);
+        }
+    }
+}
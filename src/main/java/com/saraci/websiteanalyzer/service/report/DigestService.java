@@ -0,0 +1,62 @@
+package com.saraci.websiteanalyzer.service.report;
+
+import com.saraci.websiteanalyzer.model.AnalysisResult;
+import com.saraci.websiteanalyzer.model.DigestSettings;
+
+import java.util.List;
+
+/**
+ * Sammel-E-Mails: Empfänger mit aktivierter Einstellung erhalten statt einer E-Mail pro Zeitplan
+ * einmal täglich eine Übersicht aller seit der letzten Übersicht fertiggestellten Berichte, mit
+ * Links zu den Berichten statt angehängter PDF-Dateien.
+ */
+public interface DigestService {
+
+    /**
+     * Nimmt einen fertiggestellten Bericht für die Empfänger mit Sammel-E-Mail auf.
+     *
+     * @param scheduleId Der Zeitplan, der die Analyse ausgelöst hat
+     * @param result Das gespeicherte Analyseergebnis
+     * @param recipients Alle Empfänger des Zeitplans
+     * @return Die Empfänger ohne Sammel-E-Mail, die den Bericht sofort erhalten
+     * @throws Exception Bei Datenbankfehlern
+     */
+    List<String> collect(Long scheduleId, AnalysisResult result, List<String> recipients) throws Exception;
+
+    /**
+     * Versendet die fälligen Sammel-E-Mails.
+     *
+     * @return Die Anzahl der eingereihten Sammel-E-Mails
+     */
+    int sendDueDigests() throws Exception;
+
+    /**
+     * Versendet die Sammel-E-Mail eines Empfängers sofort, unabhängig von der Uhrzeit.
+     *
+     * @return Die Anzahl der enthaltenen Berichte (0 = nichts versendet)
+     */
+    int sendDigest(String email) throws Exception;
+
+    /**
+     * Gibt alle Sammel-E-Mail-Einstellungen zurück.
+     */
+    List<DigestSettings> getAllSettings() throws Exception;
+
+    /**
+     * Speichert die Einstellung eines Empfängers. Wird die Sammel-E-Mail deaktiviert, werden noch
+     * ausstehende Berichte sofort versendet.
+     */
+    void saveSettings(DigestSettings settings) throws Exception;
+
+    /**
+     * Löscht die Einstellung eines Empfängers; noch ausstehende Berichte werden zuvor versendet.
+     *
+     * @return true, wenn eine Einstellung gelöscht wurde
+     */
+    boolean deleteSettings(String email) throws Exception;
+
+    /**
+     * Beendet die regelmäßige Prüfung.
+     */
+    void shutdown();
+}
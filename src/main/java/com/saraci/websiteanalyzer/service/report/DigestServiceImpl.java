@@ -0,0 +1,275 @@
+package com.saraci.websiteanalyzer.service.report;
+
+import com.saraci.websiteanalyzer.model.AnalysisResult;
+import com.saraci.websiteanalyzer.model.DigestItem;
+import com.saraci.websiteanalyzer.model.DigestSettings;
+import com.saraci.websiteanalyzer.repository.DigestRepository;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Implementierung der Sammel-E-Mails.
+ *
+ * Berichte für Empfänger mit aktivierter Einstellung werden in der Tabelle digest_items vorgemerkt.
+ * Alle fünf Minuten wird geprüft, für welche Empfänger die Versandstunde des Tages erreicht ist; sie
+ * erhalten eine E-Mail mit einer Tabelle (eine Zeile pro Website mit den aktuellen Bewertungen und
+ * der Veränderung im Zeitraum) und signierten Links auf HTML- und PDF-Bericht. PDFs werden nicht
+ * angehängt, die Berichte entstehen erst beim Abruf.
+ */
+public class DigestServiceImpl implements DigestService {
+    private static final Logger logger = Logger.getLogger(DigestServiceImpl.class.getName());
+
+    private static final long CHECK_INTERVAL_MINUTES = 5;
+    private static final int SENT_ITEM_RETENTION_DAYS = 30;
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("dd.MM.yyyy HH:mm");
+
+    private final DigestRepository digestRepository;
+    private final EmailOutbox emailOutbox;
+    private final ReportLinkSigner reportLinks;
+    private final ScheduledExecutorService timer;
+
+    /**
+     * Konstruktor mit Dependency Injection. Startet die regelmäßige Prüfung der fälligen Sammel-E-Mails.
+     *
+     * @param digestRepository Repository der Einstellungen und vorgemerkten Berichte
+     * @param emailOutbox Die Ausgangswarteschlange
+     * @param reportLinks Erstellt die signierten Links auf die Berichte
+     */
+    public DigestServiceImpl(DigestRepository digestRepository, EmailOutbox emailOutbox, ReportLinkSigner reportLinks) {
+        this.digestRepository = digestRepository;
+        this.emailOutbox = emailOutbox;
+        this.reportLinks = reportLinks;
+
+        this.timer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "email-digest");
+            thread.setDaemon(true);
+            return thread;
+        });
+        timer.scheduleWithFixedDelay(this::checkDueDigests, 1, CHECK_INTERVAL_MINUTES, TimeUnit.MINUTES);
+    }
+
+    @Override
+    public List<String> collect(Long scheduleId, AnalysisResult result, List<String> recipients) throws Exception {
+        Map<String, DigestSettings> settings = digestRepository.findSettings(recipients);
+        if (settings.isEmpty()) {
+            return recipients;
+        }
+
+        List<String> immediate = new ArrayList<>();
+        List<DigestItem> items = new ArrayList<>();
+        for (String recipient : recipients) {
+            DigestSettings recipientSettings = settings.get(recipient.trim().toLowerCase(Locale.ROOT));
+            if (recipientSettings == null || !recipientSettings.isEnabled()) {
+                immediate.add(recipient);
+                continue;
+            }
+
+            DigestItem item = new DigestItem();
+            item.setRecipient(recipient);
+            item.setAnalysisId(result.getId());
+            item.setScheduleId(scheduleId);
+            item.setWebsiteUrl(result.getUrl());
+            item.setSeoScore(ReportInsights.seoScore(result));
+            item.setPerformanceScore(ReportInsights.performanceScore(result));
+            item.setSecurityScore(ReportInsights.securityScore(result));
+            item.setCreatedAt(LocalDateTime.now());
+            items.add(item);
+        }
+
+        digestRepository.saveItems(items);
+        if (!items.isEmpty()) {
+            logger.info("Bericht für " + result.getUrl() + " für " + items.size() + " Sammel-E-Mail(s) vorgemerkt");
+        }
+        return immediate;
+    }
+
+    /**
+     * Regelmäßige Prüfung im Hintergrund.
+     */
+    private void checkDueDigests() {
+        try {
+            int sent = sendDueDigests();
+            if (sent > 0) {
+                logger.info(sent + " Sammel-E-Mails eingereiht");
+            }
+            digestRepository.deleteSentItemsBefore(LocalDateTime.now().minusDays(SENT_ITEM_RETENTION_DAYS));
+        } catch (Exception e) {
+            // Der Hintergrund-Thread darf durch einen Fehler nicht beendet werden
+            logger.warning("Fehler beim Versand der Sammel-E-Mails: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public int sendDueDigests() throws Exception {
+        LocalDateTime now = LocalDateTime.now();
+        int sent = 0;
+
+        for (DigestSettings settings : digestRepository.findAllSettings()) {
+            LocalDateTime dueAt = now.toLocalDate().atTime(settings.getSendHour(), 0);
+            boolean due = settings.isEnabled() && !now.isBefore(dueAt) &&
+                    (settings.getLastSentAt() == null || settings.getLastSentAt().isBefore(dueAt));
+            if (!due) {
+                continue;
+            }
+
+            try {
+                if (sendDigest(settings.getEmail()) > 0) {
+                    sent++;
+                }
+            } catch (Exception e) {
+                logger.warning("Sammel-E-Mail an " + settings.getEmail() + " konnte nicht eingereiht werden: " + e.getMessage());
+            }
+        }
+        return sent;
+    }
+
+    @Override
+    public synchronized int sendDigest(String email) throws Exception {
+        List<DigestItem> items = digestRepository.findPendingItems(email);
+        LocalDateTime now = LocalDateTime.now();
+        if (items.isEmpty()) {
+            digestRepository.updateLastSentAt(email, now);
+            return 0;
+        }
+
+        // Eine Zeile pro Website; die Einträge sind nach Einreihung sortiert
+        Map<String, List<DigestItem>> byWebsite = new TreeMap<>();
+        for (DigestItem item : items) {
+            byWebsite.computeIfAbsent(item.getWebsiteUrl(), url -> new ArrayList<>()).add(item);
+        }
+
+        String subject = "Website-Analyse: Zusammenfassung von " + items.size() +
+                (items.size() == 1 ? " Bericht" : " Berichten") + " für " + byWebsite.size() +
+                (byWebsite.size() == 1 ? " Website" : " Websites");
+
+        emailOutbox.enqueue(Collections.singletonList(email), subject, createText(byWebsite, items),
+                createHtml(byWebsite, items), null);
+
+        List<Long> ids = new ArrayList<>();
+        for (DigestItem item : items) {
+            ids.add(item.getId());
+        }
+        digestRepository.markItemsSent(ids, now);
+        digestRepository.updateLastSentAt(email, now);
+
+        logger.info("Sammel-E-Mail an " + email + " eingereiht: " + items.size() + " Berichte, " +
+                byWebsite.size() + " Websites");
+        return items.size();
+    }
+
+    /**
+     * Textvariante: eine Zeile pro Website mit den aktuellen Bewertungen und dem Link zum Bericht.
+     */
+    private String createText(Map<String, List<DigestItem>> byWebsite, List<DigestItem> items) {
+        StringBuilder text = new StringBuilder();
+        text.append("Zusammenfassung der Analysen seit ")
+                .append(items.get(0).getCreatedAt().format(DATE_FORMAT)).append(":\n\n");
+
+        for (Map.Entry<String, List<DigestItem>> entry : byWebsite.entrySet()) {
+            DigestItem latest = entry.getValue().get(entry.getValue().size() - 1);
+            text.append(entry.getKey()).append("\n")
+                    .append("  SEO ").append(latest.getSeoScore())
+                    .append(" | Performance ").append(latest.getPerformanceScore())
+                    .append(" | Sicherheit ").append(latest.getSecurityScore())
+                    .append(" (").append(entry.getValue().size()).append(" Analysen)\n")
+                    .append("  ").append(reportUrl(latest.getAnalysisId(), ".html")).append("\n\n");
+        }
+        return text.toString();
+    }
+
+    /**
+     * HTML-Variante: Tabelle mit einer Zeile pro Website, Veränderung gegenüber der ersten Analyse
+     * im Zeitraum und Links auf HTML- und PDF-Bericht der letzten Analyse.
+     */
+    private String createHtml(Map<String, List<DigestItem>> byWebsite, List<DigestItem> items) {
+        StringBuilder html = new StringBuilder();
+        html.append("<p>Hier ist die Zusammenfassung der ").append(items.size())
+                .append(items.size() == 1 ? " Analyse" : " Analysen").append(" seit ")
+                .append(items.get(0).getCreatedAt().format(DATE_FORMAT)).append(".</p>");
+
+        html.append("<table style='width:100%;border-collapse:collapse;font-size:14px'>");
+        html.append("<tr style='background:#000000;color:#ffffff;text-align:left'>")
+                .append("<th style='padding:6px'>Website</th>")
+                .append("<th style='padding:6px'>SEO</th>")
+                .append("<th style='padding:6px'>Performance</th>")
+                .append("<th style='padding:6px'>Sicherheit</th>")
+                .append("<th style='padding:6px'>Bericht</th></tr>");
+
+        for (Map.Entry<String, List<DigestItem>> entry : byWebsite.entrySet()) {
+            List<DigestItem> websiteItems = entry.getValue();
+            DigestItem first = websiteItems.get(0);
+            DigestItem latest = websiteItems.get(websiteItems.size() - 1);
+
+            html.append("<tr style='border-bottom:1px solid #dddddd'>")
+                    .append("<td style='padding:6px'>").append(HtmlReportGeneratorImpl.escape(entry.getKey()));
+            if (websiteItems.size() > 1) {
+                html.append("<br><span style='color:#999999;font-size:12px'>").append(websiteItems.size())
+                        .append(" Analysen</span>");
+            }
+            html.append("</td>")
+                    .append(scoreCell(latest.getSeoScore(), first.getSeoScore(), websiteItems.size()))
+                    .append(scoreCell(latest.getPerformanceScore(), first.getPerformanceScore(), websiteItems.size()))
+                    .append(scoreCell(latest.getSecurityScore(), first.getSecurityScore(), websiteItems.size()))
+                    .append("<td style='padding:6px'><a href='").append(HtmlReportGeneratorImpl.escape(reportUrl(latest.getAnalysisId(), ".html")))
+                    .append("'>Ansehen</a> | <a href='").append(HtmlReportGeneratorImpl.escape(reportUrl(latest.getAnalysisId(), "")))
+                    .append("'>PDF</a></td></tr>");
+        }
+        html.append("</table>");
+        return html.toString();
+    }
+
+    /**
+     * Zelle mit der aktuellen Bewertung und, bei mehreren Analysen, der Veränderung im Zeitraum.
+     */
+    private static String scoreCell(int latest, int first, int analyses) {
+        StringBuilder cell = new StringBuilder("<td style='padding:6px'>").append(latest);
+        int change = latest - first;
+        if (analyses > 1 && change != 0) {
+            cell.append(" <span style='color:").append(change > 0 ? "#2e7d32" : "#e81818").append("'>")
+                    .append(change > 0 ? "+" : "").append(change).append("</span>");
+        }
+        return cell.append("</td>").toString();
+    }
+
+    /**
+     * Signierter Link auf den PDF-Bericht (suffix "") oder den HTML-Bericht (suffix ".html").
+     */
+    private String reportUrl(Long analysisId, String suffix) {
+        return reportLinks.signedUrl("/api/analysis/" + analysisId + "/report" + suffix);
+    }
+
+    @Override
+    public List<DigestSettings> getAllSettings() throws Exception {
+        return digestRepository.findAllSettings();
+    }
+
+    @Override
+    public void saveSettings(DigestSettings settings) throws Exception {
+        digestRepository.saveSettings(settings);
+        if (!settings.isEnabled()) {
+            sendDigest(settings.getEmail());
+        }
+    }
+
+    @Override
+    public boolean deleteSettings(String email) throws Exception {
+        sendDigest(email);
+        return digestRepository.deleteSettings(email);
+    }
+
+    @Override
+    public void shutdown() {
+        timer.shutdownNow();
+    }
+}
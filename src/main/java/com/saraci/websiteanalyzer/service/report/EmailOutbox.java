@@ -0,0 +1,70 @@
+package com.saraci.websiteanalyzer.service.report;
+
+import com.saraci.websiteanalyzer.model.EmailOutboxEntry;
+import com.saraci.websiteanalyzer.model.EmailOutboxMetrics;
+
+import java.util.List;
+
+/**
+ * Persistente Ausgangswarteschlange für E-Mails.
+ *
+ * E-Mails werden in der Datenbank eingereiht und von Hintergrund-Threads zugestellt. Aufrufer
+ * (API-Anfragen, Zeitpläne) warten damit nicht auf den SMTP-Server, und eine E-Mail geht bei
+ * Ausfall des Servers oder Neustart der Anwendung nicht verloren.
+ */
+public interface EmailOutbox {
+
+    /**
+     * Reiht eine E-Mail zur Zustellung ein. Bei mehr Empfängern, als eine Nachricht haben darf, wird
+     * pro Nachricht ein eigener Eintrag angelegt; ein Wiederholungsversuch betrifft dann nur die
+     * Empfänger der gescheiterten Nachricht.
+     *
+     * @param recipients Die E-Mail-Adressen der Empfänger
+     * @param subject Der Betreff
+     * @param text Der Nachrichtentext
+     * @param attachmentPath Pfad zu einem Anhang oder null
+     * @return Die eingereihten E-Mails, eine pro Nachricht
+     * @throws Exception Wenn die E-Mail nicht gespeichert werden kann
+     */
+    List<EmailOutboxEntry> enqueue(List<String> recipients, String subject, String text, String attachmentPath) throws Exception;
+
+    /**
+     * Reiht eine E-Mail mit eigenem HTML-Inhalt zur Zustellung ein.
+     *
+     * @param html HTML-Fragment für den Inhaltsbereich der E-Mail-Vorlage oder null
+     * @see EmailSender#sendEmail(List, String, String, String, String)
+     */
+    List<EmailOutboxEntry> enqueue(List<String> recipients, String subject, String text, String html, String attachmentPath) throws Exception;
+
+    /**
+     * Reiht eine E-Mail mit eigenem Dateinamen für den Anhang zur Zustellung ein.
+     *
+     * @param attachmentName Dateiname des Anhangs in der E-Mail oder null für den Namen der Datei
+     * @see EmailSender#sendEmail(List, String, String, String, String, String)
+     */
+    List<EmailOutboxEntry> enqueue(List<String> recipients, String subject, String text, String html, String attachmentPath,
+                                   String attachmentName) throws Exception;
+
+    /**
+     * Gibt die Größe der Warteschlange und die Zustelldauern zurück.
+     */
+    EmailOutboxMetrics getMetrics() throws Exception;
+
+    /**
+     * Gibt die zuletzt endgültig gescheiterten E-Mails zurück.
+     */
+    List<EmailOutboxEntry> getDeadLetters(int limit) throws Exception;
+
+    /**
+     * Reiht eine endgültig gescheiterte E-Mail erneut ein.
+     *
+     * @return true, wenn die E-Mail gefunden wurde
+     */
+    boolean retry(Long id) throws Exception;
+
+    /**
+     * Beendet die Zustellung. Laufende Zustellungen werden einige Sekunden abgewartet; nicht
+     * zugestellte E-Mails werden beim nächsten Start erneut versucht.
+     */
+    void shutdown();
+}
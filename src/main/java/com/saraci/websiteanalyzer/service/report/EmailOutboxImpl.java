@@ -0,0 +1,350 @@
+package com.saraci.websiteanalyzer.service.report;
+
+import com.saraci.websiteanalyzer.config.EmailConfig;
+import com.saraci.websiteanalyzer.model.EmailOutboxEntry;
+import com.saraci.websiteanalyzer.model.EmailOutboxMetrics;
+import com.saraci.websiteanalyzer.repository.EmailOutboxRepository;
+import com.saraci.websiteanalyzer.util.StatsUtil;
+
+import javax.mail.SendFailedException;
+import javax.mail.internet.AddressException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+/**
+ * Implementierung der E-Mail-Ausgangswarteschlange.
+ *
+ * Ein Verteiler-Thread übernimmt fällige E-Mails blockweise aus der Datenbank, sobald etwas eingereiht
+ * wird und zusätzlich in festen Abständen. Zugestellt wird von so vielen Threads, wie der E-Mail-Sender
+ * SMTP-Verbindungen hält; mehr E-Mails als Verbindungen sind nie gleichzeitig in Zustellung.
+ *
+ * Gescheiterte Zustellungen werden mit exponentiell wachsendem Abstand (mit Zufallsanteil) wiederholt.
+ * Nach der Höchstzahl an Versuchen, bei ungültigen Adressen oder fehlendem Anhang wird die E-Mail als
+ * endgültig gescheitert (DEAD) markiert und nur noch manuell erneut eingereiht.
+ */
+public class EmailOutboxImpl implements EmailOutbox {
+    private static final Logger logger = Logger.getLogger(EmailOutboxImpl.class.getName());
+
+    private static final long POLL_INTERVAL_SECONDS = 5;
+    private static final long PURGE_INTERVAL_MILLIS = TimeUnit.HOURS.toMillis(1);
+    private static final int LATENCY_SAMPLES = 500;
+
+    private final EmailOutboxRepository outboxRepository;
+    private final EmailSender emailSender;
+    private final int maxRecipientsPerMessage;
+    private final int maxInFlight;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long initialBackoffSeconds;
+    private final long maxBackoffSeconds;
+    private final int retentionDays;
+
+    private final ScheduledExecutorService dispatcher;
+    private final ExecutorService deliveryExecutor;
+    private final Semaphore inFlight;
+    private final AtomicBoolean pollScheduled = new AtomicBoolean();
+    private volatile long lastPurgeMillis;
+
+    // Verlauf seit dem Start
+    private final AtomicLong delivered = new AtomicLong();
+    private final AtomicLong retried = new AtomicLong();
+    private final AtomicLong dead = new AtomicLong();
+    private volatile LocalDateTime lastFailureAt;
+    private volatile String lastError;
+
+    /**
+     * Konstruktor mit Dependency Injection. Setzt beim letzten Beenden unterbrochene Zustellungen
+     * zurück und startet den Verteiler.
+     *
+     * @param outboxRepository Repository der Warteschlange
+     * @param emailSender Der E-Mail-Sender
+     * @param emailConfig Empfänger pro Nachricht, Verbindungsanzahl, Blockgröße, Versuche und Wartezeiten
+     */
+    public EmailOutboxImpl(EmailOutboxRepository outboxRepository, EmailSender emailSender, EmailConfig emailConfig) {
+        this.outboxRepository = outboxRepository;
+        this.emailSender = emailSender;
+        this.maxRecipientsPerMessage = Math.max(1, emailConfig.getMaxRecipientsPerMessage());
+        this.maxInFlight = Math.max(1, emailConfig.getPoolSize());
+        this.batchSize = Math.max(1, emailConfig.getOutboxBatchSize());
+        this.maxAttempts = Math.max(1, emailConfig.getOutboxMaxAttempts());
+        this.initialBackoffSeconds = Math.max(1, emailConfig.getOutboxInitialBackoffSeconds());
+        this.maxBackoffSeconds = Math.max(initialBackoffSeconds, emailConfig.getOutboxMaxBackoffSeconds());
+        this.retentionDays = Math.max(1, emailConfig.getOutboxRetentionDays());
+        this.inFlight = new Semaphore(maxInFlight);
+
+        try {
+            int released = outboxRepository.releaseSending();
+            if (released > 0) {
+                logger.info(released + " unterbrochene E-Mail-Zustellungen werden erneut versucht");
+            }
+        } catch (Exception e) {
+            logger.warning("Unterbrochene E-Mail-Zustellungen konnten nicht zurückgesetzt werden: " + e.getMessage());
+        }
+
+        this.dispatcher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "email-outbox");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.deliveryExecutor = Executors.newFixedThreadPool(maxInFlight, r -> {
+            Thread thread = new Thread(r, "email-delivery");
+            thread.setDaemon(true);
+            return thread;
+        });
+        dispatcher.scheduleWithFixedDelay(this::poll, 1, POLL_INTERVAL_SECONDS, TimeUnit.SECONDS);
+
+        logger.info("E-Mail-Warteschlange gestartet (" + maxInFlight + " gleichzeitige Zustellungen, max. " +
+                maxAttempts + " Versuche)");
+    }
+
+    @Override
+    public List<EmailOutboxEntry> enqueue(List<String> recipients, String subject, String text, String attachmentPath) throws Exception {
+        return enqueue(recipients, subject, text, null, attachmentPath);
+    }
+
+    @Override
+    public List<EmailOutboxEntry> enqueue(List<String> recipients, String subject, String text, String html, String attachmentPath) throws Exception {
+        return enqueue(recipients, subject, text, html, attachmentPath, null);
+    }
+
+    @Override
+    public List<EmailOutboxEntry> enqueue(List<String> recipients, String subject, String text, String html, String attachmentPath,
+                                          String attachmentName) throws Exception {
+        List<String> addresses = new ArrayList<>();
+        for (String recipient : recipients) {
+            if (recipient != null && !recipient.trim().isEmpty()) {
+                addresses.add(recipient.trim());
+            }
+        }
+        if (addresses.isEmpty()) {
+            throw new IllegalArgumentException("E-Mail-Adresse darf nicht leer sein");
+        }
+
+        // Ein Eintrag pro Nachricht, damit ein erneuter Versuch bereits zugestellte Nachrichten nicht wiederholt
+        List<EmailOutboxEntry> entries = new ArrayList<>();
+        for (int from = 0; from < addresses.size(); from += maxRecipientsPerMessage) {
+            List<String> batch = addresses.subList(from, Math.min(from + maxRecipientsPerMessage, addresses.size()));
+            EmailOutboxEntry entry = new EmailOutboxEntry(String.join(",", batch), subject, text, attachmentPath);
+            entry.setHtmlBody(html);
+            entry.setAttachmentName(attachmentName);
+            entries.add(outboxRepository.save(entry));
+        }
+        requestPoll();
+        return entries;
+    }
+
+    /**
+     * Stößt eine Abfrage der Warteschlange an; mehrere Anstöße vor der Abfrage werden zusammengefasst.
+     */
+    private void requestPoll() {
+        if (pollScheduled.compareAndSet(false, true)) {
+            try {
+                dispatcher.execute(this::poll);
+            } catch (Exception e) {
+                // Nach dem Herunterfahren; die E-Mail wird beim nächsten Start zugestellt
+                pollScheduled.set(false);
+            }
+        }
+    }
+
+    /**
+     * Übernimmt so viele fällige E-Mails, wie Zustell-Threads frei sind, und verteilt sie.
+     */
+    private void poll() {
+        pollScheduled.set(false);
+        try {
+            purgeSentIfDue();
+
+            int free = inFlight.availablePermits();
+            if (free == 0) {
+                // Eine beendete Zustellung stößt die nächste Abfrage an
+                return;
+            }
+
+            List<EmailOutboxEntry> due = outboxRepository.claimDue(LocalDateTime.now(), Math.min(free, batchSize));
+            for (EmailOutboxEntry entry : due) {
+                inFlight.acquireUninterruptibly();
+                deliveryExecutor.execute(() -> {
+                    try {
+                        deliver(entry);
+                    } finally {
+                        inFlight.release();
+                        requestPoll();
+                    }
+                });
+            }
+        } catch (Exception e) {
+            // Der Hintergrund-Thread darf durch einen Fehler nicht beendet werden
+            logger.warning("Fehler beim Abfragen der E-Mail-Warteschlange: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Stellt eine E-Mail zu und vermerkt das Ergebnis.
+     */
+    private void deliver(EmailOutboxEntry entry) {
+        int attempts = entry.getAttempts() + 1;
+        try {
+            String attachment = entry.getAttachmentPath();
+            if (attachment != null && !attachment.isEmpty() && !Files.isRegularFile(Paths.get(attachment))) {
+                // Ohne Anhang würde ein leerer Bericht verschickt; ein neuer Versuch ändert daran nichts
+                fail(entry, attempts, "Anhang nicht mehr vorhanden: " + attachment, true);
+                return;
+            }
+
+            emailSender.sendEmail(Arrays.asList(entry.getRecipients().split(",")), entry.getSubject(),
+                    entry.getBody(), entry.getHtmlBody(), attachment, entry.getAttachmentName());
+
+            outboxRepository.markSent(entry.getId(), attempts, LocalDateTime.now());
+            delivered.incrementAndGet();
+        } catch (Exception e) {
+            try {
+                fail(entry, attempts, e.getMessage(), isPermanent(e));
+            } catch (Exception dbError) {
+                // Die E-Mail bleibt in Zustellung und wird beim nächsten Start erneut versucht
+                logger.warning("Zustellversuch für E-Mail " + entry.getId() + " konnte nicht gespeichert werden: " +
+                        dbError.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Plant einen weiteren Versuch oder markiert die E-Mail als endgültig gescheitert.
+     */
+    private void fail(EmailOutboxEntry entry, int attempts, String error, boolean permanent) throws Exception {
+        lastFailureAt = LocalDateTime.now();
+        lastError = error;
+
+        if (permanent || attempts >= maxAttempts) {
+            outboxRepository.markFailed(entry.getId(), attempts, EmailOutboxEntry.STATUS_DEAD, null, error);
+            dead.incrementAndGet();
+            logger.severe("E-Mail " + entry.getId() + " an " + entry.getRecipients() + " endgültig gescheitert nach " +
+                    attempts + " Versuch(en): " + error);
+            return;
+        }
+
+        long delaySeconds = backoffSeconds(attempts);
+        outboxRepository.markFailed(entry.getId(), attempts, EmailOutboxEntry.STATUS_PENDING,
+                LocalDateTime.now().plusSeconds(delaySeconds), error);
+        retried.incrementAndGet();
+        logger.warning("Zustellung von E-Mail " + entry.getId() + " gescheitert (Versuch " + attempts + "/" +
+                maxAttempts + "), neuer Versuch in " + delaySeconds + " s: " + error);
+    }
+
+    /**
+     * Wartezeit nach dem n-ten Versuch: verdoppelt sich ab der Anfangswartezeit bis zur Obergrenze.
+     * Der Zufallsanteil (±20 %) verhindert, dass nach einem Serverausfall alle E-Mails gleichzeitig
+     * erneut versucht werden.
+     */
+    private long backoffSeconds(int attempts) {
+        double delay = initialBackoffSeconds * Math.pow(2, Math.min(attempts - 1, 30));
+        delay = Math.min(delay, maxBackoffSeconds);
+        return Math.max(1, Math.round(delay * ThreadLocalRandom.current().nextDouble(0.8, 1.2)));
+    }
+
+    /**
+     * Fehler, bei denen ein neuer Versuch nichts ändert: ungültige oder vom Server abgelehnte Adressen.
+     */
+    private static boolean isPermanent(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof IllegalArgumentException || cause instanceof AddressException) {
+                return true;
+            }
+            if (cause instanceof SendFailedException) {
+                SendFailedException sendFailed = (SendFailedException) cause;
+                return sendFailed.getInvalidAddresses() != null && sendFailed.getInvalidAddresses().length > 0;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Löscht höchstens einmal pro Stunde gesendete E-Mails nach Ablauf der Aufbewahrungsfrist.
+     */
+    private void purgeSentIfDue() throws Exception {
+        long now = System.currentTimeMillis();
+        if (now - lastPurgeMillis < PURGE_INTERVAL_MILLIS) {
+            return;
+        }
+        lastPurgeMillis = now;
+
+        int deleted = outboxRepository.deleteSentBefore(LocalDateTime.now().minusDays(retentionDays));
+        if (deleted > 0) {
+            logger.info(deleted + " gesendete E-Mails aus der Warteschlange gelöscht");
+        }
+    }
+
+    @Override
+    public EmailOutboxMetrics getMetrics() throws Exception {
+        EmailOutboxMetrics metrics = new EmailOutboxMetrics();
+
+        Map<String, Long> counts = outboxRepository.countByStatus();
+        metrics.setPendingCount(counts.getOrDefault(EmailOutboxEntry.STATUS_PENDING, 0L));
+        metrics.setSendingCount(counts.getOrDefault(EmailOutboxEntry.STATUS_SENDING, 0L));
+        metrics.setSentCount(counts.getOrDefault(EmailOutboxEntry.STATUS_SENT, 0L));
+        metrics.setDeadCount(counts.getOrDefault(EmailOutboxEntry.STATUS_DEAD, 0L));
+
+        LocalDateTime oldest = outboxRepository.findOldestPendingCreatedAt();
+        if (oldest != null) {
+            metrics.setOldestPendingAgeMs(Math.max(0, Duration.between(oldest, LocalDateTime.now()).toMillis()));
+        }
+
+        List<Long> latencies = outboxRepository.findRecentDeliveryLatencies(LATENCY_SAMPLES);
+        metrics.setLatencySamples(latencies.size());
+        metrics.setDeliveryLatencyP50Ms(StatsUtil.percentile(latencies, 50));
+        metrics.setDeliveryLatencyP95Ms(StatsUtil.percentile(latencies, 95));
+
+        metrics.setMaxInFlight(maxInFlight);
+        metrics.setInFlight(maxInFlight - inFlight.availablePermits());
+        metrics.setDeliveredSinceStart(delivered.get());
+        metrics.setRetriedSinceStart(retried.get());
+        metrics.setDeadSinceStart(dead.get());
+        metrics.setLastFailureAt(lastFailureAt);
+        metrics.setLastError(lastError);
+        return metrics;
+    }
+
+    @Override
+    public List<EmailOutboxEntry> getDeadLetters(int limit) throws Exception {
+        return outboxRepository.findByStatus(EmailOutboxEntry.STATUS_DEAD, limit);
+    }
+
+    @Override
+    public boolean retry(Long id) throws Exception {
+        boolean requeued = outboxRepository.requeue(id);
+        if (requeued) {
+            logger.info("E-Mail " + id + " erneut eingereiht");
+            requestPoll();
+        }
+        return requeued;
+    }
+
+    @Override
+    public void shutdown() {
+        dispatcher.shutdownNow();
+        deliveryExecutor.shutdown();
+        try {
+            if (!deliveryExecutor.awaitTermination(10, TimeUnit.SECONDS)) {
+                deliveryExecutor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            deliveryExecutor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
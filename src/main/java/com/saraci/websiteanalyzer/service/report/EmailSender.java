@@ -1,5 +1,40 @@
 package com.saraci.websiteanalyzer.service.report;
 
+import java.util.List;
+
 public interface EmailSender {
     void sendEmail(String to, String subject, String text, String attachmentPath) throws Exception;
-}
\ No newline at end of file
+
+    /**
+     * Sendet dieselbe Nachricht an mehrere Empfänger. Die Empfänger werden, soweit konfiguriert,
+     * in einer gemeinsamen Nachricht (Bcc) zusammengefasst.
+     *
+     * @param recipients Die E-Mail-Adressen der Empfänger
+     * @param subject Der Betreff
+     * @param text Der Nachrichtentext
+     * @param attachmentPath Pfad zu einem Anhang oder null
+     * @throws Exception Wenn beim Versand ein Fehler auftritt
+     */
+    void sendEmail(List<String> recipients, String subject, String text, String attachmentPath) throws Exception;
+
+    /**
+     * Wie {@link #sendEmail(List, String, String, String)}, jedoch mit eigenem HTML-Inhalt
+     * (z. B. Tabellen). Der Text bleibt der Inhalt der Textvariante.
+     *
+     * @param html HTML-Fragment für den Inhaltsbereich der Vorlage oder null für den Text
+     */
+    void sendEmail(List<String> recipients, String subject, String text, String html, String attachmentPath) throws Exception;
+
+    /**
+     * Wie {@link #sendEmail(List, String, String, String, String)}, jedoch mit eigenem Dateinamen für den Anhang.
+     *
+     * @param attachmentName Dateiname des Anhangs in der E-Mail oder null für den Namen der Datei
+     */
+    void sendEmail(List<String> recipients, String subject, String text, String html, String attachmentPath,
+                   String attachmentName) throws Exception;
+
+    /**
+     * Schließt offene SMTP-Verbindungen.
+     */
+    void shutdown();
+}
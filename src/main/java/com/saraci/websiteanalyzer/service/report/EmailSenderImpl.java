@@ -11,97 +11,106 @@ import javax.mail.internet.MimeBodyPart;
 import javax.mail.internet.MimeMessage;
 import javax.mail.internet.MimeMultipart;
 import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.Properties;
 import java.util.logging.Logger;
 
 /**
  * Implementierung des E-Mail-Senders mit JavaMail.
+ *
+ * Session und SMTP-Verbindungen werden einmal erstellt und für alle Nachrichten wiederverwendet
+ * ({@link SmtpTransportPool}). Mehrere Empfänger derselben Nachricht erhalten sie gemeinsam als Bcc,
+ * bis zur konfigurierten Höchstzahl pro Nachricht; die Empfänger sehen einander dabei nicht.
  */
 public class EmailSenderImpl implements EmailSender {
     private static final Logger logger = Logger.getLogger(EmailSenderImpl.class.getName());
 
+    private static final int TIMEOUT_MILLIS = 30_000;
+
     private final EmailConfig emailConfig;
+    private final Session session;
+    private final SmtpTransportPool transportPool;
 
     /**
      * Konstruktor mit Dependency Injection für die E-Mail-Konfiguration.
      */
     public EmailSenderImpl(EmailConfig emailConfig) {
         this.emailConfig = emailConfig;
+
+        // E-Mail-Eigenschaften konfigurieren
+        Properties props = new Properties();
+        props.put("mail.smtp.auth", "true");
+        props.put("mail.smtp.starttls.enable", "true");
+        props.put("mail.smtp.host", emailConfig.getHost());
+        props.put("mail.smtp.port", String.valueOf(emailConfig.getPort()));
+        props.put("mail.smtp.ssl.trust", emailConfig.getHost());
+        props.put("mail.smtp.ssl.protocols", "TLSv1.2");
+
+        // Ohne Timeouts blockiert ein hängender Server die Verbindung des Pools unbegrenzt
+        props.put("mail.smtp.connectiontimeout", String.valueOf(TIMEOUT_MILLIS));
+        props.put("mail.smtp.timeout", String.valueOf(TIMEOUT_MILLIS));
+        props.put("mail.smtp.writetimeout", String.valueOf(TIMEOUT_MILLIS));
+
+        // Der SMTP-Dialog wird nur bei Bedarf protokolliert (enthält u. a. die Anmeldung)
+        props.put("mail.debug", String.valueOf(emailConfig.isDebug()));
+
+        // Session erstellen mit Authentifizierung
+        this.session = Session.getInstance(props, new Authenticator() {
+            protected PasswordAuthentication getPasswordAuthentication() {
+                return new PasswordAuthentication(emailConfig.getUsername(), emailConfig.getPassword());
+            }
+        });
+        this.transportPool = new SmtpTransportPool(session, emailConfig.getPoolSize(),
+                emailConfig.getMaxIdleSeconds() * 1000L);
+
+        logger.info("JavaMail-Session erstellt mit Benutzername: " + emailConfig.getUsername() +
+                " (" + Math.max(1, emailConfig.getPoolSize()) + " Verbindungen)");
     }
 
     @Override
     public void sendEmail(String to, String subject, String text, String attachmentPath) throws Exception {
-        logger.info("Sende E-Mail an: " + to + ", Betreff: " + subject);
-
         // Validiere E-Mail-Adresse
         if (to == null || to.trim().isEmpty()) {
             throw new IllegalArgumentException("E-Mail-Adresse darf nicht leer sein");
         }
+        sendEmail(Collections.singletonList(to), subject, text, attachmentPath);
+    }
 
-        try {
-            // E-Mail-Eigenschaften konfigurieren
-            Properties props = new Properties();
-            props.put("mail.smtp.auth", "true");
-            props.put("mail.smtp.starttls.enable", "true");
-            props.put("mail.smtp.host", emailConfig.getHost());
-            props.put("mail.smtp.port", emailConfig.getPort());
-
-            // Gmail-spezifische Einstellungen
-            props.put("mail.smtp.ssl.trust", "smtp.gmail.com");
-            props.put("mail.smtp.ssl.protocols", "TLSv1.2");
-
-            // Debug-Modus aktivieren
-            props.put("mail.debug", "true");
-
-            // Session erstellen mit Authentifizierung
-            Session session = Session.getInstance(props, new Authenticator() {
-                protected PasswordAuthentication getPasswordAuthentication() {
-                    return new PasswordAuthentication(emailConfig.getUsername(), emailConfig.getPassword());
-                }
-            });
-
-            // Debug-Ausgaben der Session
-            logger.info("JavaMail-Session erstellt mit Benutzername: " + emailConfig.getUsername());
-
-            // E-Mail-Nachricht erstellen
-            Message message = new MimeMessage(session);
-            message.setFrom(new InternetAddress(emailConfig.getUsername()));
-            message.setRecipients(Message.RecipientType.TO, InternetAddress.parse(to));
-            message.setSubject(subject);
-
-            // Multipart-Nachricht erstellen (Text + Anhang)
-            Multipart multipart = new MimeMultipart();
-
-            // Text-Teil hinzufügen
-            BodyPart messageBodyPart = new MimeBodyPart();
-            messageBodyPart.setText(createEmailText(text));
-            multipart.addBodyPart(messageBodyPart);
-
-            // HTML-Teil hinzufügen
-            messageBodyPart = new MimeBodyPart();
-            messageBodyPart.setContent(createEmailHtml(text), "text/html");
-            multipart.addBodyPart(messageBodyPart);
-
-            // Anhang hinzufügen, falls vorhanden
-            if (attachmentPath != null && !attachmentPath.isEmpty()) {
-                File attachmentFile = new File(attachmentPath);
-                if (attachmentFile.exists()) {
-                    messageBodyPart = new MimeBodyPart();
-                    DataSource source = new FileDataSource(attachmentFile);
-                    messageBodyPart.setDataHandler(new DataHandler(source));
-                    messageBodyPart.setFileName(attachmentFile.getName());
-                    multipart.addBodyPart(messageBodyPart);
-                    logger.info("Anhang hinzugefügt: " + attachmentPath);
-                } else {
-                    logger.warning("Anhang-Datei existiert nicht: " + attachmentPath);
-                }
+    @Override
+    public void sendEmail(List<String> recipients, String subject, String text, String attachmentPath) throws Exception {
+        sendEmail(recipients, subject, text, null, attachmentPath);
+    }
+
+    @Override
+    public void sendEmail(List<String> recipients, String subject, String text, String html, String attachmentPath) throws Exception {
+        sendEmail(recipients, subject, text, html, attachmentPath, null);
+    }
+
+    @Override
+    public void sendEmail(List<String> recipients, String subject, String text, String html, String attachmentPath,
+                          String attachmentName) throws Exception {
+        List<InternetAddress> addresses = new ArrayList<>();
+        for (String recipient : recipients) {
+            if (recipient != null && !recipient.trim().isEmpty()) {
+                addresses.addAll(Arrays.asList(InternetAddress.parse(recipient.trim())));
             }
+        }
+        if (addresses.isEmpty()) {
+            throw new IllegalArgumentException("E-Mail-Adresse darf nicht leer sein");
+        }
 
-            // Setze die Teile in die Nachricht
-            message.setContent(multipart);
+        logger.info("Sende E-Mail an " + addresses.size() + " Empfänger, Betreff: " + subject);
 
-            // E-Mail senden
-            Transport.send(message);
+        try {
+            int batchSize = Math.max(1, emailConfig.getMaxRecipientsPerMessage());
+            for (int from = 0; from < addresses.size(); from += batchSize) {
+                List<InternetAddress> batch = addresses.subList(from, Math.min(from + batchSize, addresses.size()));
+                Message message = createMessage(batch, subject, text, html, attachmentPath, attachmentName);
+                transportPool.send(message, batch.toArray(new Address[0]));
+            }
 
             logger.info("E-Mail erfolgreich gesendet");
         } catch (MessagingException e) {
@@ -116,6 +125,61 @@ public class EmailSenderImpl implements EmailSender {
         }
     }
 
+    @Override
+    public void shutdown() {
+        transportPool.close();
+    }
+
+    /**
+     * Erstellt die Nachricht (Text, HTML und optional Anhang). Ein einzelner Empfänger steht im
+     * An-Feld, mehrere erhalten die Nachricht als Bcc an den Absender.
+     */
+    private Message createMessage(List<InternetAddress> recipients, String subject, String text, String html,
+                                  String attachmentPath, String attachmentName) throws MessagingException {
+        Message message = new MimeMessage(session);
+        InternetAddress sender = new InternetAddress(emailConfig.getUsername());
+        message.setFrom(sender);
+        if (recipients.size() == 1) {
+            message.setRecipients(Message.RecipientType.TO, recipients.toArray(new Address[0]));
+        } else {
+            message.setRecipient(Message.RecipientType.TO, sender);
+            message.setRecipients(Message.RecipientType.BCC, recipients.toArray(new Address[0]));
+        }
+        message.setSubject(subject);
+
+        // Multipart-Nachricht erstellen (Text + Anhang)
+        Multipart multipart = new MimeMultipart();
+
+        // Text-Teil hinzufügen
+        BodyPart messageBodyPart = new MimeBodyPart();
+        messageBodyPart.setText(createEmailText(text));
+        multipart.addBodyPart(messageBodyPart);
+
+        // HTML-Teil hinzufügen
+        messageBodyPart = new MimeBodyPart();
+        messageBodyPart.setContent(createEmailHtml(text, html), "text/html; charset=utf-8");
+        multipart.addBodyPart(messageBodyPart);
+
+        // Anhang hinzufügen, falls vorhanden
+        if (attachmentPath != null && !attachmentPath.isEmpty()) {
+            File attachmentFile = new File(attachmentPath);
+            if (attachmentFile.exists()) {
+                messageBodyPart = new MimeBodyPart();
+                DataSource source = new FileDataSource(attachmentFile);
+                messageBodyPart.setDataHandler(new DataHandler(source));
+                messageBodyPart.setFileName(attachmentName != null ? attachmentName : attachmentFile.getName());
+                multipart.addBodyPart(messageBodyPart);
+                logger.info("Anhang hinzugefügt: " + attachmentPath);
+            } else {
+                logger.warning("Anhang-Datei existiert nicht: " + attachmentPath);
+            }
+        }
+
+        // Setze die Teile in die Nachricht
+        message.setContent(multipart);
+        return message;
+    }
+
     /**
      * Erstellt den Textinhalt der E-Mail.
      */
@@ -133,8 +197,10 @@ public class EmailSenderImpl implements EmailSender {
 
     /**
      * Erstellt den HTML-Inhalt der E-Mail.
+     *
+     * @param html Eigener Inhalt anstelle des Textes oder null
      */
-    private String createEmailHtml(String text) {
+    private String createEmailHtml(String text, String html) {
         StringBuilder sb = new StringBuilder();
         sb.append("<!DOCTYPE html>");
         sb.append("<html>");
@@ -156,7 +222,11 @@ public class EmailSenderImpl implements EmailSender {
         sb.append("</div>");
         sb.append("<div class='content'>");
         sb.append("<p>Hallo,</p>");
-        sb.append("<p>").append(text.replace("\n", "<br>")).append("</p>");
+        if (html != null) {
+            sb.append(html);
+        } else {
+            sb.append("<p>").append(text.replace("\n", "<br>")).append("</p>");
+        }
         sb.append("<p>Mit freundlichen Grüßen,<br>Website Analyzer - Saraci Design</p>");
         sb.append("</div>");
         sb.append("<div class='footer'>");
@@ -0,0 +1,47 @@
+package com.saraci.websiteanalyzer.service.report;
+
+/**
+ * Ein fertig erstellter HTML-Bericht. Enthält den Inhalt unkomprimiert und bereits gzip-komprimiert,
+ * damit Anfragen ohne erneutes Komprimieren beantwortet werden können.
+ */
+public class HtmlReport {
+    private final byte[] html;
+    private final byte[] gzipped;
+    private final String etag;
+    private final long createdAt;
+
+    public HtmlReport(byte[] html, byte[] gzipped, String etag, long createdAt) {
+        this.html = html;
+        this.gzipped = gzipped;
+        this.etag = etag;
+        this.createdAt = createdAt;
+    }
+
+    /**
+     * Der Bericht als UTF-8.
+     */
+    public byte[] getHtml() {
+        return html;
+    }
+
+    /**
+     * Der Bericht gzip-komprimiert.
+     */
+    public byte[] getGzipped() {
+        return gzipped;
+    }
+
+    /**
+     * ETag aus dem Hash des Inhalts (mit Anführungszeichen).
+     */
+    public String getEtag() {
+        return etag;
+    }
+
+    /**
+     * Erstellungszeitpunkt in Millisekunden (auf Sekunden gerundet, für Last-Modified).
+     */
+    public long getCreatedAt() {
+        return createdAt;
+    }
+}
@@ -0,0 +1,20 @@
+package com.saraci.websiteanalyzer.service.report;
+
+import com.saraci.websiteanalyzer.model.AnalysisResult;
+
+/**
+ * Erstellt Analyseberichte als HTML-Seite. Schnelle Alternative zum PDF-Bericht für die Ansicht
+ * im Browser; Erkenntnisse und Empfehlungen sind dieselben wie im PDF.
+ */
+public interface HtmlReportGenerator {
+
+    /**
+     * Gibt den HTML-Bericht eines Analyseergebnisses zurück. Der Bericht wird beim ersten Abruf
+     * erstellt und komprimiert und danach aus dem Speicher geliefert.
+     *
+     * @param result Das Analyseergebnis (mit ID)
+     * @return Der Bericht als UTF-8 und gzip-komprimiert
+     * @throws Exception Wenn bei der Berichtserstellung ein Fehler auftritt
+     */
+    HtmlReport generateReport(AnalysisResult result) throws Exception;
+}
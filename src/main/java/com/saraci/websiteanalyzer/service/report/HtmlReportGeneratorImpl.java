@@ -0,0 +1,328 @@
+package com.saraci.websiteanalyzer.service.report;
+
+import com.saraci.websiteanalyzer.model.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.logging.Logger;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Implementierung des HTML-Berichts.
+ *
+ * Der Bericht ist eine einzelne Seite mit eingebettetem CSS, ohne Skripte und externe Ressourcen.
+ * Er wird einmal erstellt und gzip-komprimiert; die fertigen Berichte werden nach Analyse-ID im
+ * Speicher gehalten (die am längsten nicht abgerufenen werden zuerst verdrängt). Analyseergebnisse
+ * ändern sich nach dem Speichern nicht, daher muss der Cache nicht invalidiert werden.
+ */
+public class HtmlReportGeneratorImpl implements HtmlReportGenerator {
+    private static final Logger logger = Logger.getLogger(HtmlReportGeneratorImpl.class.getName());
+
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("dd.MM.yyyy HH:mm");
+
+    // Farben wie im PDF-Bericht
+    private static final String PRIMARY_COLOR = "#e81818";
+    private static final String SUCCESS_COLOR = "#00d26a";
+    private static final String WARNING_COLOR = "#ffbb00";
+    private static final String ERROR_COLOR = "#ff3333";
+
+    private static final String STYLE =
+            "body{font-family:Helvetica,Arial,sans-serif;color:#000;max-width:860px;margin:0 auto;padding:24px;line-height:1.4}" +
+            "h1{margin:0 0 4px}h2{border-bottom:2px solid " + PRIMARY_COLOR + ";padding-bottom:4px;margin-top:36px}" +
+            ".meta{color:#646464;margin:0 0 24px}" +
+            ".scores{display:flex;gap:16px;flex-wrap:wrap}" +
+            ".score{flex:1;min-width:200px;border:1px solid #ddd;border-radius:6px;padding:12px}" +
+            ".score b{font-size:28px}.bar{background:#e6e6e6;height:10px;border-radius:5px;margin-top:8px}" +
+            ".bar span{display:block;height:10px;border-radius:5px}" +
+            "table{border-collapse:collapse;width:100%;margin:12px 0}" +
+            "td{border:1px solid #ddd;padding:6px 8px;vertical-align:top}td:first-child{width:35%;font-weight:bold}" +
+            "h3{margin:20px 0 4px}li{margin:6px 0}";
+
+    private final int maxCachedReports;
+    private final Map<Long, HtmlReport> cache;
+
+    /**
+     * Konstruktor mit Standardgröße des Caches.
+     */
+    public HtmlReportGeneratorImpl() {
+        this(200);
+    }
+
+    /**
+     * @param maxCachedReports Anzahl der Berichte, die im Speicher gehalten werden (0 = kein Cache)
+     */
+    public HtmlReportGeneratorImpl(int maxCachedReports) {
+        this.maxCachedReports = Math.max(0, maxCachedReports);
+        this.cache = new LinkedHashMap<Long, HtmlReport>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, HtmlReport> eldest) {
+                return size() > HtmlReportGeneratorImpl.this.maxCachedReports;
+            }
+        };
+    }
+
+    @Override
+    public HtmlReport generateReport(AnalysisResult result) throws Exception {
+        Long id = result.getId();
+        if (id != null) {
+            synchronized (cache) {
+                HtmlReport cached = cache.get(id);
+                if (cached != null) {
+                    return cached;
+                }
+            }
+        }
+
+        // Gleichzeitige Abrufe derselben Analyse erstellen den Bericht ggf. doppelt; das ist günstiger als eine Sperre
+        long start = System.nanoTime();
+        byte[] html = renderHtml(result).getBytes(StandardCharsets.UTF_8);
+        byte[] gzipped = gzip(html);
+        HtmlReport report = new HtmlReport(html, gzipped, etag(html), System.currentTimeMillis() / 1000 * 1000);
+        logger.info(String.format("HTML-Bericht für Analyse-ID %d erstellt: %d Bytes (gzip: %d Bytes) in %d ms",
+                id, html.length, gzipped.length, (System.nanoTime() - start) / 1_000_000));
+
+        if (id != null && maxCachedReports > 0) {
+            synchronized (cache) {
+                cache.put(id, report);
+            }
+        }
+        return report;
+    }
+
+    /**
+     * Erstellt die HTML-Seite.
+     */
+    private String renderHtml(AnalysisResult result) {
+        StringBuilder html = new StringBuilder(16 * 1024);
+        html.append("<!DOCTYPE html>\n<html lang=\"de\">\n<head>\n<meta charset=\"utf-8\">\n")
+                .append("<meta name=\"viewport\" content=\"width=device-width, initial-scale=1\">\n")
+                .append("<title>Website-Analyse-Bericht - ").append(escape(result.getUrl())).append("</title>\n")
+                .append("<style>").append(STYLE).append("</style>\n</head>\n<body>\n");
+
+        html.append("<h1>Website-Analyse-Bericht</h1>\n<p class=\"meta\">").append(escape(result.getUrl()));
+        if (result.getAnalysisDate() != null) {
+            html.append(" &middot; Analyse vom ").append(result.getAnalysisDate().format(DATE_FORMAT));
+        }
+        html.append("</p>\n");
+
+        appendSummary(html, result);
+        appendSeo(html, result.getSeoResult());
+        appendPerformance(html, result.getPerformanceResult());
+        appendSecurity(html, result.getSecurityResult());
+        appendContent(html, result.getContentResult());
+
+        html.append("<h2>Empfehlungen</h2>\n<ol>\n");
+        for (String recommendation : ReportInsights.generateRecommendations(result)) {
+            html.append("<li>").append(escape(recommendation)).append("</li>\n");
+        }
+        html.append("</ol>\n<p class=\"meta\">Website Analyzer - Saraci Design</p>\n</body>\n</html>\n");
+        return html.toString();
+    }
+
+    private void appendSummary(StringBuilder html, AnalysisResult result) {
+        html.append("<h2>Zusammenfassung</h2>\n<div class=\"scores\">\n");
+        appendScore(html, "SEO", ReportInsights.seoScore(result), SUCCESS_COLOR);
+        appendScore(html, "Performance", ReportInsights.performanceScore(result), WARNING_COLOR);
+        appendScore(html, "Sicherheit", ReportInsights.securityScore(result), ERROR_COLOR);
+        html.append("</div>\n<h3>Wichtigste Erkenntnisse</h3>\n<ul>\n");
+        for (String insight : ReportInsights.generateInsights(result)) {
+            html.append("<li>").append(escape(insight)).append("</li>\n");
+        }
+        html.append("</ul>\n");
+    }
+
+    private void appendScore(StringBuilder html, String label, int score, String color) {
+        int width = Math.max(0, Math.min(100, score));
+        html.append("<div class=\"score\">").append(escape(label)).append("<br><b>").append(score).append("</b>/100 - ")
+                .append(escape(ReportInsights.getRatingText(score)))
+                .append("<div class=\"bar\"><span style=\"width:").append(width).append("%;background:").append(color)
+                .append("\"></span></div></div>\n");
+    }
+
+    private void appendSeo(StringBuilder html, SeoResult seo) {
+        html.append("<h2>SEO-Analyse</h2>\n");
+        if (seo == null) {
+            html.append("<p>Keine SEO-Daten verfügbar</p>\n");
+            return;
+        }
+
+        appendTable(html, "Meta-Informationen", new String[][] {
+                {"Titel", seo.getTitle() != null ? seo.getTitle() : "Nicht vorhanden"},
+                {"Titellänge", seo.getTitleLength() + " Zeichen " + ReportInsights.getOptimalityText(seo.getTitleLength(), 30, 60)},
+                {"Beschreibung", seo.getDescription() != null ? seo.getDescription() : "Nicht vorhanden"},
+                {"Beschreibungslänge", seo.getDescriptionLength() + " Zeichen " + ReportInsights.getOptimalityText(seo.getDescriptionLength(), 50, 160)}
+        });
+        appendTable(html, "Überschriften", new String[][] {
+                {"H1", seo.getH1Count() + " " + ReportInsights.getOptimalityText(seo.getH1Count(), 1, 1)},
+                {"H2", String.valueOf(seo.getH2Count())},
+                {"H3", String.valueOf(seo.getH3Count())}
+        });
+        appendTable(html, "Bilder", new String[][] {
+                {"Gesamtzahl", String.valueOf(seo.getImagesTotal())},
+                {"Mit Alt-Text", seo.getImagesWithAlt() + " (" + String.format("%.1f", seo.getAltImagePercentage()) + "%)"},
+                {"Ohne Alt-Text", String.valueOf(seo.getImagesWithoutAlt())}
+        });
+        appendTable(html, "Links", new String[][] {
+                {"Interne Links", String.valueOf(seo.getInternalLinks())},
+                {"Externe Links", String.valueOf(seo.getExternalLinks())},
+                {"Gesamtzahl", String.valueOf(seo.getInternalLinks() + seo.getExternalLinks())}
+        });
+    }
+
+    private void appendPerformance(StringBuilder html, PerformanceResult perf) {
+        html.append("<h2>Performance-Analyse</h2>\n");
+        if (perf == null) {
+            html.append("<p>Keine Performance-Daten verfügbar</p>\n");
+            return;
+        }
+
+        appendTable(html, "Performance-Metriken", new String[][] {
+                {"Lighthouse Score", perf.getLighthouseScore() + " (" + ReportInsights.getRatingText(perf.getLighthouseScore()) + ")"},
+                {"Ladezeit", perf.getLoadTime() + " ms"},
+                {"First Contentful Paint", perf.getFirstContentfulPaint()},
+                {"Largest Contentful Paint", perf.getLargestContentfulPaint()},
+                {"Time to Interactive", perf.getTimeToInteractive()},
+                {"Total Blocking Time", perf.getTotalBlockingTime()},
+                {"Cumulative Layout Shift", perf.getCumulativeLayoutShift()}
+        });
+
+        String[][] phases = ReportInsights.timingPhases(perf);
+        if (phases != null) {
+            appendTable(html, "Phasen der Ladezeit", phases);
+        }
+
+        String[][] samples = ReportInsights.latencySamples(perf);
+        if (samples != null) {
+            appendTable(html, "Wiederholte Abrufe", samples);
+        }
+
+        String[][] weight = ReportInsights.pageWeight(perf);
+        if (weight != null) {
+            appendTable(html, "Seitengewicht", weight);
+        }
+        String[][] largest = ReportInsights.largestResources(perf, 5);
+        if (largest != null) {
+            appendTable(html, "Größte Ressourcen", largest);
+        }
+    }
+
+    private void appendSecurity(StringBuilder html, SecurityResult sec) {
+        html.append("<h2>Sicherheitsanalyse</h2>\n");
+        if (sec == null) {
+            html.append("<p>Keine Sicherheitsdaten verfügbar</p>\n");
+            return;
+        }
+
+        appendTable(html, "Übersicht", new String[][] {
+                {"HTTPS", sec.isHttpsEnabled() ? "Aktiviert" : "Nicht aktiviert"},
+                {"Sicherheits-Header", sec.getSecurityHeadersScore() + "%"}
+        });
+
+        String headersJson = sec.getSecurityHeaders();
+        if (headersJson != null && !headersJson.isEmpty()) {
+            String[] headers = {"Strict-Transport-Security", "Content-Security-Policy", "X-XSS-Protection",
+                    "X-Frame-Options", "X-Content-Type-Options", "Referrer-Policy"};
+            String[][] rows = new String[headers.length][];
+            for (int i = 0; i < headers.length; i++) {
+                rows[i] = new String[] {headers[i], ReportInsights.getValueFromJson(headersJson, headers[i])};
+            }
+            appendTable(html, "Implementierte Header", rows);
+        } else {
+            html.append("<h3>Implementierte Header</h3>\n<p>Keine Sicherheits-Header implementiert</p>\n");
+        }
+    }
+
+    private void appendContent(StringBuilder html, ContentResult content) {
+        html.append("<h2>Inhaltsanalyse</h2>\n");
+        if (content == null) {
+            html.append("<p>Keine Inhaltsdaten verfügbar</p>\n");
+            return;
+        }
+
+        appendTable(html, "Textstatistiken", new String[][] {
+                {"Wortanzahl", String.valueOf(content.getWordCount())},
+                {"Zeichenanzahl", String.valueOf(content.getCharacterCount())},
+                {"Durchschnittliche Wortlänge", String.format("%.1f Zeichen", content.getAverageWordLength())}
+        });
+        appendTable(html, "Strukturelemente", new String[][] {
+                {"Absätze", String.valueOf(content.getParagraphCount())},
+                {"Bilder", String.valueOf(content.getImageCount())},
+                {"Videos", String.valueOf(content.getVideoCount())},
+                {"Listen", String.valueOf(content.getListCount())},
+                {"Tabellen", String.valueOf(content.getTableCount())}
+        });
+    }
+
+    private void appendTable(StringBuilder html, String title, String[][] rows) {
+        html.append("<h3>").append(escape(title)).append("</h3>\n<table>\n");
+        for (String[] row : rows) {
+            html.append("<tr><td>").append(escape(row[0])).append("</td><td>")
+                    .append(escape(row[1] != null && !row[1].isEmpty() ? row[1] : "-")).append("</td></tr>\n");
+        }
+        html.append("</table>\n");
+    }
+
+    /**
+     * Maskiert Text für HTML-Inhalte und Attribute.
+     */
+    public static String escape(String text) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder escaped = null;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            String replacement;
+            switch (c) {
+                case '&': replacement = "&amp;"; break;
+                case '<': replacement = "&lt;"; break;
+                case '>': replacement = "&gt;"; break;
+                case '"': replacement = "&quot;"; break;
+                case '\'': replacement = "&#39;"; break;
+                default: replacement = null;
+            }
+            if (replacement != null && escaped == null) {
+                escaped = new StringBuilder(text.length() + 16).append(text, 0, i);
+            }
+            if (escaped != null) {
+                if (replacement != null) {
+                    escaped.append(replacement);
+                } else {
+                    escaped.append(c);
+                }
+            }
+        }
+        return escaped != null ? escaped.toString() : text;
+    }
+
+    /**
+     * Komprimiert mit höchster Stufe; das geschieht nur einmal pro Bericht.
+     */
+    private static byte[] gzip(byte[] data) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(data.length / 4 + 64);
+        try (GZIPOutputStream out = new GZIPOutputStream(buffer) {
+            {
+                def.setLevel(Deflater.BEST_COMPRESSION);
+            }
+        }) {
+            out.write(data);
+        }
+        return buffer.toByteArray();
+    }
+
+    private static String etag(byte[] data) throws NoSuchAlgorithmException {
+        byte[] hash = MessageDigest.getInstance("SHA-256").digest(data);
+        StringBuilder etag = new StringBuilder("\"");
+        for (int i = 0; i < 16; i++) {
+            etag.append(String.format("%02x", hash[i]));
+        }
+        return etag.append('"').toString();
+    }
+}
@@ -0,0 +1,471 @@
+package com.saraci.websiteanalyzer.service.report;
+
+import org.apache.pdfbox.cos.COSBase;
+import org.apache.pdfbox.cos.COSDictionary;
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.cos.COSStream;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.PDResources;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.common.PDStream;
+import org.apache.pdfbox.pdmodel.font.PDFont;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.font.encoding.GlyphList;
+import org.apache.pdfbox.pdmodel.font.encoding.WinAnsiEncoding;
+import org.apache.pdfbox.pdmodel.graphics.image.JPEGFactory;
+import org.apache.pdfbox.pdmodel.graphics.image.LosslessFactory;
+import org.apache.pdfbox.pdmodel.graphics.image.PDImageXObject;
+
+import javax.imageio.ImageIO;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+
+/**
+ * Cache für Bestandteile, die in jedem PDF-Bericht gleich sind.
+ *
+ * <ul>
+ *     <li>Logo: wird einmal aus dem Klassenpfad dekodiert, auf die gedruckte Größe verkleinert und
+ *     komprimiert (JPEG oder Flate, je nachdem, was kleiner ist); jedes Dokument erhält nur noch
+ *     eine Kopie der bereits kodierten Bilddaten.</li>
+ *     <li>Schriftmetriken: Zeichenbreiten der Standardschriften als Tabelle pro Schrift, für Zeichen
+ *     außerhalb von WinAnsi aus den Ersatzschriften ({@link PdfFallbackFonts}).</li>
+ *     <li>Statische Seiteninhalte: einmal gerenderte, komprimierte Content-Streams (z. B. das
+ *     Inhaltsverzeichnis), die nur noch in die Seite eingehängt werden.</li>
+ * </ul>
+ *
+ * Alle Methoden sind thread-sicher. Die zwischengespeicherten Daten werden pro Dokument kopiert,
+ * sodass sich parallel erstellte Dokumente keine COS-Objekte teilen.
+ */
+public class PdfAssetCache {
+    private static final Logger logger = Logger.getLogger(PdfAssetCache.class.getName());
+
+    public static final String LOGO_RESOURCE = "/public/images/logo2.png";
+
+    // Größte Breite, mit der das Logo in Berichten gezeichnet wird (in Punkt)
+    public static final float LOGO_MAX_WIDTH_PT = 200;
+
+    // Auflösung, auf die Bilder für die gedruckte Größe verkleinert werden
+    public static final int DEFAULT_IMAGE_DPI = 150;
+
+    // JPEG wird nur verwendet, wenn es deutlich kleiner als die verlustfreie Kodierung ist
+    private static final float JPEG_QUALITY = 0.85f;
+    private static final double JPEG_MAX_SIZE_RATIO = 0.75;
+
+    // Statische Inhalte (z. B. Inhaltsverzeichnisse) hängen von Berichtsdaten ab; die zuletzt
+    // verwendeten werden behalten
+    private static final int MAX_STATIC_CONTENTS = 64;
+
+    // Unicode-Zeichen -> WinAnsi-Code (-1, wenn nicht kodierbar)
+    private static final short[] WIN_ANSI_CODES = buildWinAnsiTable();
+
+    private final boolean enabled;
+    private final int imageDpi;
+    private final PdfFallbackFonts fallbackFonts;
+
+    private volatile boolean logoLoaded;
+    private byte[] logoBytes;
+    private CachedImage logo;
+
+    private final Map<PDFont, float[]> glyphWidths = new ConcurrentHashMap<>();
+    private final Map<String, CachedContent> staticContents = new LinkedHashMap<String, CachedContent>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CachedContent> eldest) {
+            return size() > MAX_STATIC_CONTENTS;
+        }
+    };
+
+    /**
+     * Schnittstelle zum Zeichnen eines statischen Seiteninhalts.
+     */
+    public interface ContentPainter {
+        void paint(PDPageContentStream contentStream) throws IOException;
+    }
+
+    /**
+     * Bereits kodiertes Bild (Rohdaten des Streams und dessen Parameter).
+     */
+    private static class CachedImage {
+        private final COSDictionary parameters;
+        private final byte[] encodedData;
+        private final CachedImage softMask;
+
+        CachedImage(COSDictionary parameters, byte[] encodedData, CachedImage softMask) {
+            this.parameters = parameters;
+            this.encodedData = encodedData;
+            this.softMask = softMask;
+        }
+
+        long size() {
+            return encodedData.length + (softMask != null ? softMask.size() : 0);
+        }
+    }
+
+    /**
+     * Bereits komprimierter Content-Stream mit den benötigten Ressourcen.
+     */
+    private static class CachedContent {
+        private final COSDictionary parameters;
+        private final byte[] encodedData;
+        private final COSDictionary resources;
+
+        CachedContent(COSDictionary parameters, byte[] encodedData, COSDictionary resources) {
+            this.parameters = parameters;
+            this.encodedData = encodedData;
+            this.resources = resources;
+        }
+    }
+
+    public PdfAssetCache() {
+        this(true);
+    }
+
+    /**
+     * @param enabled false deaktiviert das Zwischenspeichern und die Bildoptimierung (nur für Vergleichsmessungen)
+     */
+    public PdfAssetCache(boolean enabled) {
+        this(enabled, DEFAULT_IMAGE_DPI);
+    }
+
+    /**
+     * @param enabled false deaktiviert das Zwischenspeichern und die Bildoptimierung (nur für Vergleichsmessungen)
+     * @param imageDpi Auflösung, auf die Bilder für ihre gedruckte Größe verkleinert werden (0 = Originalgröße)
+     */
+    public PdfAssetCache(boolean enabled, int imageDpi) {
+        this(enabled, imageDpi, PdfFallbackFonts.defaults());
+    }
+
+    /**
+     * @param enabled false deaktiviert das Zwischenspeichern und die Bildoptimierung (nur für Vergleichsmessungen)
+     * @param imageDpi Auflösung, auf die Bilder für ihre gedruckte Größe verkleinert werden (0 = Originalgröße)
+     * @param fallbackFonts Schriften für Zeichen außerhalb von WinAnsi
+     */
+    public PdfAssetCache(boolean enabled, int imageDpi, PdfFallbackFonts fallbackFonts) {
+        this.enabled = enabled;
+        this.imageDpi = Math.max(0, imageDpi);
+        this.fallbackFonts = fallbackFonts;
+    }
+
+    /**
+     * Gibt die Ersatzschriften für Zeichen außerhalb von WinAnsi zurück.
+     */
+    public PdfFallbackFonts getFallbackFonts() {
+        return fallbackFonts;
+    }
+
+    /**
+     * Gibt das Logo als Bild-XObject für das angegebene Dokument zurück.
+     *
+     * @return Das Logo oder null, wenn es nicht geladen werden konnte
+     */
+    public PDImageXObject getLogo(PDDocument document) throws IOException {
+        loadLogo();
+        if (logoBytes == null) {
+            return null;
+        }
+
+        if (!enabled) {
+            return PDImageXObject.createFromByteArray(document, logoBytes, "logo");
+        }
+
+        return new PDImageXObject(new PDStream(copyStream(document, logo)), null);
+    }
+
+    /**
+     * Lädt und kodiert das Logo beim ersten Zugriff.
+     */
+    private void loadLogo() {
+        if (logoLoaded) {
+            return;
+        }
+
+        synchronized (this) {
+            if (logoLoaded) {
+                return;
+            }
+
+            try (InputStream in = PdfAssetCache.class.getResourceAsStream(LOGO_RESOURCE)) {
+                if (in == null) {
+                    logger.warning("Logo nicht im Klassenpfad gefunden: " + LOGO_RESOURCE);
+                } else {
+                    logoBytes = readAll(in);
+
+                    // Einmal dekodieren, verkleinern und komprimieren, danach nur noch die kodierten Daten verwenden
+                    try (PDDocument template = new PDDocument()) {
+                        PDImageXObject image = encodeImage(template, logoBytes, LOGO_MAX_WIDTH_PT);
+                        logo = captureImage(image.getCOSObject());
+                    }
+                    logger.info("Logo zwischengespeichert: " + logo.size() + " Bytes (kodiert, Original " +
+                            logoBytes.length + " Bytes)");
+                }
+            } catch (IOException e) {
+                logger.warning("Logo konnte nicht geladen werden: " + e.getMessage());
+                logoBytes = null;
+            }
+
+            logoLoaded = true;
+        }
+    }
+
+    /**
+     * Dekodiert ein Bild, verkleinert es auf die gedruckte Breite bei {@code imageDpi} und kodiert es
+     * verlustfrei (Flate) oder als JPEG, je nachdem, was deutlich kleiner ist. Ein Alphakanal wird
+     * als Soft-Mask übernommen.
+     */
+    private PDImageXObject encodeImage(PDDocument document, byte[] data, float maxWidthPt) throws IOException {
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(data));
+        if (image == null || imageDpi == 0) {
+            return PDImageXObject.createFromByteArray(document, data, "logo");
+        }
+
+        int maxWidthPx = Math.round(maxWidthPt * imageDpi / 72f);
+        if (image.getWidth() > maxWidthPx) {
+            image = scaleImage(image, maxWidthPx);
+        }
+
+        PDImageXObject lossless = LosslessFactory.createFromImage(document, image);
+        PDImageXObject jpeg = JPEGFactory.createFromImage(document, image, JPEG_QUALITY);
+        long losslessSize = encodedSize(lossless.getCOSObject());
+        long jpegSize = encodedSize(jpeg.getCOSObject());
+
+        logger.fine("Bild " + image.getWidth() + "x" + image.getHeight() + ": Flate " + losslessSize +
+                " Bytes, JPEG " + jpegSize + " Bytes");
+        return jpegSize < losslessSize * JPEG_MAX_SIZE_RATIO ? jpeg : lossless;
+    }
+
+    /**
+     * Verkleinert ein Bild proportional auf die angegebene Breite. Große Verkleinerungen erfolgen in
+     * Halbierungsschritten, damit feine Linien nicht verloren gehen.
+     */
+    private static BufferedImage scaleImage(BufferedImage image, int targetWidth) {
+        int type = image.getColorModel().hasAlpha() ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+        BufferedImage current = image;
+        int width = image.getWidth();
+        int height = image.getHeight();
+
+        while (width > targetWidth) {
+            width = Math.max(targetWidth, width / 2);
+            height = Math.max(1, Math.round((float) image.getHeight() * width / image.getWidth()));
+
+            BufferedImage scaled = new BufferedImage(width, height, type);
+            Graphics2D graphics = scaled.createGraphics();
+            try {
+                graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+                graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                graphics.drawImage(current, 0, 0, width, height, null);
+            } finally {
+                graphics.dispose();
+            }
+            current = scaled;
+        }
+        return current;
+    }
+
+    /**
+     * Größe der kodierten Bilddaten einschließlich Soft-Mask.
+     */
+    private static long encodedSize(COSStream stream) {
+        long size = stream.getLength();
+        COSBase softMask = stream.getDictionaryObject(COSName.SMASK);
+        if (softMask instanceof COSStream) {
+            size += ((COSStream) softMask).getLength();
+        }
+        return size;
+    }
+
+    private CachedImage captureImage(COSStream stream) throws IOException {
+        CachedImage softMask = null;
+        COSBase softMaskBase = stream.getDictionaryObject(COSName.SMASK);
+        if (softMaskBase instanceof COSStream) {
+            softMask = captureImage((COSStream) softMaskBase);
+        }
+        return new CachedImage(copyParameters(stream), readRaw(stream), softMask);
+    }
+
+    private COSStream copyStream(PDDocument document, CachedImage image) throws IOException {
+        COSStream stream = createStream(document, image.parameters, image.encodedData);
+        if (image.softMask != null) {
+            stream.setItem(COSName.SMASK, copyStream(document, image.softMask));
+        }
+        return stream;
+    }
+
+    /**
+     * Berechnet die Breite eines Textes in Punkt. Entspricht
+     * {@code font.getStringWidth(text) / 1000 * fontSize}, verwendet aber eine vorberechnete Breitentabelle.
+     */
+    public float textWidth(PDFont font, String text, float fontSize) throws IOException {
+        if (!(font instanceof PDType1Font) || (!enabled && isWinAnsi(text))) {
+            return font.getStringWidth(text) / 1000 * fontSize;
+        }
+
+        float[] widths = glyphWidths.get(font);
+        if (widths == null) {
+            widths = buildWidthTable(font);
+            glyphWidths.put(font, widths);
+        }
+
+        float width = 0;
+        for (int i = 0; i < text.length(); ) {
+            int codePoint = text.codePointAt(i);
+            i += Character.charCount(codePoint);
+
+            if (isWinAnsi(codePoint)) {
+                width += widths[WIN_ANSI_CODES[codePoint]];
+            } else if (Character.isWhitespace(codePoint) || Character.isSpaceChar(codePoint)) {
+                width += widths[WIN_ANSI_CODES[' ']];
+            } else {
+                // Zeichen außerhalb von WinAnsi: Breite aus der Ersatzschrift (wie in FallbackContentStream)
+                float fallbackWidth = Character.getType(codePoint) == Character.SURROGATE ? -1 : fallbackFonts.width(codePoint);
+                width += fallbackWidth >= 0 ? fallbackWidth : widths[WIN_ANSI_CODES['?']];
+            }
+        }
+        return width / 1000 * fontSize;
+    }
+
+    /**
+     * Gibt an, ob ein Zeichen in den Standardschriften (WinAnsi) darstellbar ist.
+     */
+    static boolean isWinAnsi(int codePoint) {
+        return codePoint < WIN_ANSI_CODES.length && WIN_ANSI_CODES[codePoint] >= 0;
+    }
+
+    /**
+     * Gibt an, ob ein Text vollständig in den Standardschriften (WinAnsi) darstellbar ist.
+     */
+    static boolean isWinAnsi(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (WIN_ANSI_CODES[text.charAt(i)] < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private float[] buildWidthTable(PDFont font) throws IOException {
+        float[] widths = new float[256];
+        for (int code = 0; code < 256; code++) {
+            widths[code] = font.getWidth(code);
+        }
+        return widths;
+    }
+
+    /**
+     * Setzt einen statischen Inhalt als Content-Stream der Seite. Beim ersten Aufruf für einen Schlüssel
+     * wird der Inhalt gezeichnet und komprimiert, danach nur noch kopiert. Weitere Inhalte (z. B. die
+     * Fußzeile) können anschließend im Append-Modus ergänzt werden.
+     *
+     * @param document Das Zieldokument
+     * @param page Die Zielseite (ohne bisherigen Inhalt)
+     * @param key Schlüssel, der den Inhalt eindeutig beschreibt
+     * @param painter Zeichnet den Inhalt, falls er noch nicht im Cache ist
+     */
+    public void applyStaticContent(PDDocument document, PDPage page, String key, ContentPainter painter) throws IOException {
+        if (!enabled) {
+            try (PDPageContentStream contentStream = new PDPageContentStream(document, page)) {
+                painter.paint(contentStream);
+            }
+            return;
+        }
+
+        CachedContent content;
+        synchronized (staticContents) {
+            content = staticContents.get(key);
+        }
+        if (content == null) {
+            content = renderStaticContent(page.getMediaBox(), painter);
+            synchronized (staticContents) {
+                staticContents.put(key, content);
+            }
+        }
+
+        COSDictionary resources = new COSDictionary();
+        for (Map.Entry<COSName, COSBase> entry : content.resources.entrySet()) {
+            // Die Unterverzeichnisse (Font, ExtGState, ...) werden kopiert, die Ressourcen selbst sind gemeinsam genutzte Standardschriften
+            COSBase value = entry.getValue();
+            resources.setItem(entry.getKey(), value instanceof COSDictionary ? new COSDictionary((COSDictionary) value) : value);
+        }
+
+        page.setResources(new PDResources(resources));
+        page.setContents(new PDStream(createStream(document, content.parameters, content.encodedData)));
+    }
+
+    private CachedContent renderStaticContent(PDRectangle mediaBox, ContentPainter painter) throws IOException {
+        try (PDDocument template = new PDDocument()) {
+            PDPage page = new PDPage(mediaBox);
+            template.addPage(page);
+
+            try (PDPageContentStream contentStream = new PDPageContentStream(template, page)) {
+                painter.paint(contentStream);
+            }
+
+            COSStream stream = (COSStream) page.getCOSObject().getDictionaryObject(COSName.CONTENTS);
+            return new CachedContent(copyParameters(stream), readRaw(stream), page.getResources().getCOSObject());
+        }
+    }
+
+    /**
+     * Legt einen Stream im Dokument an und schreibt die bereits kodierten Daten unverändert hinein.
+     */
+    private COSStream createStream(PDDocument document, COSDictionary parameters, byte[] encodedData) throws IOException {
+        COSStream stream = document.getDocument().createCOSStream();
+        for (Map.Entry<COSName, COSBase> entry : parameters.entrySet()) {
+            COSBase value = entry.getValue();
+            stream.setItem(entry.getKey(), value instanceof COSDictionary ? new COSDictionary((COSDictionary) value) : value);
+        }
+        try (OutputStream out = stream.createRawOutputStream()) {
+            out.write(encodedData);
+        }
+        return stream;
+    }
+
+    private COSDictionary copyParameters(COSStream stream) {
+        COSDictionary parameters = new COSDictionary();
+        for (Map.Entry<COSName, COSBase> entry : stream.entrySet()) {
+            if (!COSName.LENGTH.equals(entry.getKey()) && !COSName.SMASK.equals(entry.getKey())) {
+                parameters.setItem(entry.getKey(), entry.getValue());
+            }
+        }
+        return parameters;
+    }
+
+    private byte[] readRaw(COSStream stream) throws IOException {
+        try (InputStream in = stream.createRawInputStream()) {
+            return readAll(in);
+        }
+    }
+
+    private static byte[] readAll(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+        }
+        return out.toByteArray();
+    }
+
+    private static short[] buildWinAnsiTable() {
+        short[] table = new short[Character.MAX_VALUE + 1];
+        Arrays.fill(table, (short) -1);
+        for (Map.Entry<Integer, String> entry : WinAnsiEncoding.INSTANCE.getCodeToNameMap().entrySet()) {
+            String unicode = GlyphList.getAdobeGlyphList().toUnicode(entry.getValue());
+            if (unicode != null && unicode.length() == 1 && table[unicode.charAt(0)] < 0) {
+                table[unicode.charAt(0)] = entry.getKey().shortValue();
+            }
+        }
+        return table;
+    }
+}
@@ -0,0 +1,236 @@
+package com.saraci.websiteanalyzer.service.report;
+
+import org.apache.fontbox.ttf.CmapLookup;
+import org.apache.fontbox.ttf.TTFParser;
+import org.apache.fontbox.ttf.TrueTypeFont;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.font.PDFont;
+import org.apache.pdfbox.pdmodel.font.PDType0Font;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+
+/**
+ * Eingebettete TrueType-Schriften für Zeichen, die die Standardschriften der Berichte (Helvetica mit
+ * WinAnsi-Kodierung) nicht darstellen können, z. B. Kyrillisch, Griechisch, Hebräisch oder CJK.
+ *
+ * Die Schriftdateien werden einmal pro Prozess eingelesen und geparst. Ein Dokument lädt eine Schrift
+ * erst, wenn ein Zeichen sie benötigt, und bettet nur die verwendeten Glyphen ein (Subsetting).
+ * Zeichen, die keine der Schriften enthält, werden als "?" ausgegeben. Für Ersatzzeichen in
+ * Fettschrift wird die normale Schnittvariante verwendet.
+ */
+public class PdfFallbackFonts {
+    private static final Logger logger = Logger.getLogger(PdfFallbackFonts.class.getName());
+
+    /**
+     * Übliche Speicherorte frei verfügbarer Unicode-Schriften, die ohne Konfiguration verwendet werden.
+     */
+    public static final List<String> DEFAULT_FONT_FILES = Collections.unmodifiableList(Arrays.asList(
+            "/usr/share/fonts/truetype/dejavu/DejaVuSans.ttf",
+            "/usr/share/fonts/truetype/noto/NotoSans-Regular.ttf",
+            "/usr/share/fonts/truetype/liberation/LiberationSans-Regular.ttf",
+            "/usr/share/fonts/truetype/droid/DroidSansFallbackFull.ttf",
+            "/Library/Fonts/Arial Unicode.ttf",
+            "C:/Windows/Fonts/arialuni.ttf",
+            "C:/Windows/Fonts/arial.ttf"
+    ));
+
+    // Geparste Schriften nach Pfad, prozessweit geteilt. Lesende Zugriffe auf TrueTypeFont sind
+    // in FontBox synchronisiert; die Schriftdaten liegen vollständig im Speicher.
+    private static final Map<Path, TrueTypeFont> PARSED_FONTS = new ConcurrentHashMap<>();
+
+    private final List<TrueTypeFont> fonts = new ArrayList<>();
+    private final List<CmapLookup> cmaps = new ArrayList<>();
+
+    /**
+     * Lädt die angegebenen Schriftdateien in dieser Reihenfolge. Nicht vorhandene oder nicht lesbare
+     * Dateien werden übersprungen.
+     *
+     * @param fontFiles Pfade zu TrueType-Schriften (.ttf)
+     */
+    public PdfFallbackFonts(List<String> fontFiles) {
+        for (String file : fontFiles) {
+            if (file == null || file.trim().isEmpty()) {
+                continue;
+            }
+            Path path = Paths.get(file.trim()).toAbsolutePath().normalize();
+            if (!Files.isRegularFile(path)) {
+                continue;
+            }
+
+            try {
+                TrueTypeFont font = parse(path);
+                fonts.add(font);
+                cmaps.add(font.getUnicodeCmapLookup(false));
+                logger.info("Ersatzschrift geladen: " + path + " (" + font.getNumberOfGlyphs() + " Glyphen)");
+            } catch (IOException e) {
+                logger.warning("Ersatzschrift konnte nicht geladen werden: " + path + ": " + e.getMessage());
+            }
+        }
+
+        if (fonts.isEmpty()) {
+            logger.warning("Keine Ersatzschrift gefunden; Zeichen außerhalb von WinAnsi werden als '?' ausgegeben");
+        }
+    }
+
+    /**
+     * Ersatzschriften aus den üblichen Speicherorten.
+     */
+    public static PdfFallbackFonts defaults() {
+        return new PdfFallbackFonts(DEFAULT_FONT_FILES);
+    }
+
+    private static TrueTypeFont parse(Path path) throws IOException {
+        TrueTypeFont font = PARSED_FONTS.get(path);
+        if (font != null) {
+            return font;
+        }
+
+        synchronized (PARSED_FONTS) {
+            font = PARSED_FONTS.get(path);
+            if (font == null) {
+                try (InputStream in = Files.newInputStream(path)) {
+                    font = new TTFParser().parse(in);
+                }
+                // Tabellen für Breiten und Zeichenzuordnung vorab lesen
+                font.getHorizontalMetrics();
+                font.getUnicodeCmapLookup(false);
+                PARSED_FONTS.put(path, font);
+            }
+            return font;
+        }
+    }
+
+    /**
+     * Gibt an, ob mindestens eine Ersatzschrift geladen ist.
+     */
+    public boolean isAvailable() {
+        return !fonts.isEmpty();
+    }
+
+    /**
+     * Index der ersten Schrift, die das Zeichen enthält, oder -1.
+     */
+    private int findFont(int codePoint) {
+        for (int i = 0; i < cmaps.size(); i++) {
+            if (cmaps.get(i).getGlyphId(codePoint) > 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Breite eines Zeichens in Tausendstel der Schriftgröße.
+     *
+     * @return Die Breite oder -1, wenn keine Ersatzschrift das Zeichen enthält
+     */
+    float width(int codePoint) throws IOException {
+        int index = findFont(codePoint);
+        if (index < 0) {
+            return -1;
+        }
+        TrueTypeFont font = fonts.get(index);
+        int glyphId = cmaps.get(index).getGlyphId(codePoint);
+        return font.getAdvanceWidth(glyphId) * 1000f / font.getUnitsPerEm();
+    }
+
+    /**
+     * Erstellt die Ersatzschriften eines Dokuments. Das Ergebnis gehört zu genau einem Dokument und
+     * wird nur vom Thread verwendet, der dieses Dokument erstellt.
+     */
+    DocumentFonts forDocument(PDDocument document) {
+        return new DocumentFonts(document);
+    }
+
+    /**
+     * Ersatzschriften eines Dokuments; jede Schrift wird beim ersten Bedarf als Subset eingebettet.
+     */
+    class DocumentFonts {
+        private final PDDocument document;
+        private final PDFont[] loaded = new PDFont[fonts.size()];
+
+        private DocumentFonts(PDDocument document) {
+            this.document = document;
+        }
+
+        /**
+         * @return Die Schrift für das Zeichen oder null, wenn keine Ersatzschrift es enthält
+         */
+        PDFont fontFor(int codePoint) throws IOException {
+            int index = findFont(codePoint);
+            if (index < 0) {
+                return null;
+            }
+            if (loaded[index] == null) {
+                loaded[index] = PDType0Font.load(document, fonts.get(index), true);
+            }
+            return loaded[index];
+        }
+
+        /**
+         * Gibt einen Text innerhalb von beginText/endText aus. Reiner WinAnsi-Text wird unverändert in
+         * der Standardschrift ausgegeben. Andernfalls wird der Text in Abschnitte zerlegt: darstellbare
+         * Zeichen in der Standardschrift, die übrigen in der ersten Ersatzschrift, die sie enthält.
+         * Die Breiten entsprechen {@link PdfAssetCache#textWidth}.
+         */
+        void showText(PDPageContentStream contentStream, PDFont font, float fontSize, String text) throws IOException {
+            contentStream.setFont(font, fontSize);
+            if (!(font instanceof PDType1Font) || PdfAssetCache.isWinAnsi(text)) {
+                contentStream.showText(text);
+                return;
+            }
+
+            PDFont activeFont = font;
+            StringBuilder run = new StringBuilder();
+
+            for (int i = 0; i < text.length(); ) {
+                int codePoint = text.codePointAt(i);
+                i += Character.charCount(codePoint);
+
+                PDFont runFont = font;
+                String characters;
+                if (PdfAssetCache.isWinAnsi(codePoint)) {
+                    characters = new String(Character.toChars(codePoint));
+                } else if (Character.isWhitespace(codePoint) || Character.isSpaceChar(codePoint)) {
+                    characters = " ";
+                } else {
+                    PDFont fallback = Character.getType(codePoint) == Character.SURROGATE ? null : fontFor(codePoint);
+                    if (fallback != null) {
+                        runFont = fallback;
+                        characters = new String(Character.toChars(codePoint));
+                    } else {
+                        characters = "?";
+                    }
+                }
+
+                // Bei Schriftwechsel den bisherigen Abschnitt ausgeben; die Textposition läuft dabei weiter
+                if (runFont != activeFont) {
+                    if (run.length() > 0) {
+                        contentStream.showText(run.toString());
+                        run.setLength(0);
+                    }
+                    contentStream.setFont(runFont, fontSize);
+                    activeFont = runFont;
+                }
+                run.append(characters);
+            }
+
+            if (run.length() > 0) {
+                contentStream.showText(run.toString());
+            }
+        }
+    }
+}
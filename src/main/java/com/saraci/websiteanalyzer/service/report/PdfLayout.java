@@ -0,0 +1,471 @@
+package com.saraci.websiteanalyzer.service.report;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.font.PDFont;
+
+import java.awt.Color;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Einfacher Fließsatz für PDF-Berichte.
+ *
+ * Blöcke (Absätze, Aufzählungen, Tabellen, Grafiken fester Höhe) werden untereinander gesetzt;
+ * reicht der Platz auf der Seite nicht, beginnt automatisch eine neue Seite. Absätze und Tabellen
+ * werden zeilenweise umbrochen, Grafiken bleiben zusammen. Die Seitenanzahl ergibt sich damit
+ * aus dem Inhalt.
+ *
+ * Textbreiten werden pro Schrift und Schriftgröße wortweise zwischengespeichert, da dieselben Wörter
+ * in einem Bericht vielfach vorkommen. Eine Instanz gehört zu genau einem Dokument und ist nicht thread-sicher.
+ */
+class PdfLayout implements Closeable {
+
+    private static final Color TEXT_COLOR = Color.BLACK;
+    private static final Color TABLE_STRIPE_COLOR = new Color(245, 245, 245);
+    private static final float CELL_PADDING = 5;
+
+    private final PDDocument document;
+    private final PdfAssetCache assetCache;
+    private final PDRectangle pageSize;
+    private final float margin;
+    private final float bottom;
+    private final float lineHeightFactor;
+    private final PdfFallbackFonts.DocumentFonts fallbackFonts;
+
+    // Pro Schrift und Größe werden höchstens so viele Wörter zwischengespeichert, damit sehr lange
+    // Dokumente mit vielen einmaligen Wörtern (URLs, Zahlen) den Speicher nicht füllen
+    private static final int WIDTH_CACHE_LIMIT = 4096;
+
+    private final Map<PDFont, Map<Float, Map<String, Float>>> widthCache = new HashMap<>();
+
+    private PDPageContentStream contentStream;
+    private float y;
+    private PageStartListener pageStartListener;
+    private PageStartListener pageDecorator;
+
+    /**
+     * Wird beim Beginn jeder neuen Fließsatz-Seite aufgerufen (z. B. für eine Fortsetzungsüberschrift).
+     */
+    interface PageStartListener {
+        void pageStarted(PdfLayout layout) throws IOException;
+    }
+
+    /**
+     * Zeichnet einen Block fester Höhe, dessen Oberkante bei {@code top} liegt.
+     */
+    interface BlockPainter {
+        void paint(PDPageContentStream contentStream, float top) throws IOException;
+    }
+
+    /**
+     * @param document Das Zieldokument
+     * @param assetCache Cache für die Zeichenbreiten der Schriften
+     * @param pageSize Seitengröße neuer Seiten
+     * @param margin Seitenrand oben, links und rechts
+     * @param bottom Unterste Y-Position für Inhalte (darunter liegt die Fußzeile)
+     * @param lineHeightFactor Zeilenabstand als Vielfaches der Schriftgröße
+     */
+    PdfLayout(PDDocument document, PdfAssetCache assetCache, PDRectangle pageSize, float margin, float bottom, float lineHeightFactor) {
+        this.document = document;
+        this.assetCache = assetCache;
+        this.pageSize = pageSize;
+        this.margin = margin;
+        this.bottom = bottom;
+        this.lineHeightFactor = lineHeightFactor;
+        this.fallbackFonts = assetCache.getFallbackFonts().forDocument(document);
+    }
+
+    /**
+     * Legt eine leere Seite an, deren Inhalt später gesetzt wird (z. B. das Inhaltsverzeichnis).
+     */
+    PDPage reservePage() throws IOException {
+        closeContentStream();
+        PDPage page = new PDPage(pageSize);
+        document.addPage(page);
+        return page;
+    }
+
+    /**
+     * Beginnt eine neue Seite und setzt die Position an den oberen Rand.
+     */
+    void newPage() throws IOException {
+        closeContentStream();
+        PDPage page = new PDPage(pageSize);
+        document.addPage(page);
+        contentStream = new PDPageContentStream(document, page);
+        y = pageSize.getHeight() - margin;
+
+        if (pageDecorator != null) {
+            contentStream.saveGraphicsState();
+            pageDecorator.pageStarted(this);
+            contentStream.restoreGraphicsState();
+        }
+        if (pageStartListener != null) {
+            pageStartListener.pageStarted(this);
+        }
+    }
+
+    /**
+     * Setzt den Listener für neue Seiten (null entfernt ihn).
+     */
+    void setPageStartListener(PageStartListener pageStartListener) {
+        this.pageStartListener = pageStartListener;
+    }
+
+    /**
+     * Setzt einen Listener, der auf jeder neuen Seite vor dem eigentlichen Inhalt aufgerufen wird und
+     * über Abschnitte hinweg bestehen bleibt (z. B. für eine Fußzeile). Die Position wird nicht verändert.
+     */
+    void setPageDecorator(PageStartListener pageDecorator) {
+        this.pageDecorator = pageDecorator;
+    }
+
+    /**
+     * Beginnt eine neue Seite, wenn die angegebene Höhe auf der aktuellen Seite nicht mehr Platz hat.
+     */
+    void ensureSpace(float height) throws IOException {
+        if (contentStream == null || y - height < bottom) {
+            newPage();
+        }
+    }
+
+    /**
+     * Verschiebt die aktuelle Position nach unten.
+     */
+    void skip(float height) {
+        y -= height;
+    }
+
+    float getY() {
+        return y;
+    }
+
+    /**
+     * Gibt an, ob auf der aktuellen Seite noch nichts gesetzt wurde.
+     */
+    boolean isAtPageTop() {
+        return contentStream == null || y >= pageSize.getHeight() - margin;
+    }
+
+    /**
+     * Gibt die für Inhalte nutzbare Höhe einer Seite zurück.
+     */
+    float getPageContentHeight() {
+        return pageSize.getHeight() - margin - bottom;
+    }
+
+    float getContentWidth() {
+        return pageSize.getWidth() - 2 * margin;
+    }
+
+    float getLeft() {
+        return margin;
+    }
+
+    /**
+     * Gibt die Nummer der aktuellen Seite zurück (beginnend bei 1).
+     */
+    int getPageNumber() {
+        return document.getNumberOfPages();
+    }
+
+    PDPageContentStream getContentStream() {
+        return contentStream;
+    }
+
+    /**
+     * Setzt einen Block fester Höhe, der nicht auf zwei Seiten verteilt wird.
+     *
+     * @param height Höhe, um die die Position nach dem Block verschoben wird
+     * @param painter Zeichnet den Block
+     */
+    void block(float height, BlockPainter painter) throws IOException {
+        ensureSpace(height);
+        painter.paint(contentStream, y);
+        y -= height;
+    }
+
+    /**
+     * Setzt einen umbrochenen Absatz. Die Position bezeichnet die Grundlinie der ersten Zeile.
+     *
+     * @param indent Einrückung gegenüber dem linken Rand
+     * @param spacingAfter Abstand nach dem Absatz
+     */
+    void paragraph(String text, PDFont font, float fontSize, float indent, float spacingAfter) throws IOException {
+        listItem(null, null, null, text, font, fontSize, indent, spacingAfter);
+    }
+
+    /**
+     * Setzt einen Aufzählungspunkt: Markierung am linken Rand, umbrochener Text mit Einrückung.
+     * Die Markierung steht immer auf derselben Seite wie die erste Textzeile.
+     */
+    void listItem(String marker, PDFont markerFont, Color markerColor, String text, PDFont font, float fontSize,
+                  float indent, float spacingAfter) throws IOException {
+        float lineHeight = fontSize * lineHeightFactor;
+        List<String> lines = wrapText(text, font, fontSize, getContentWidth() - indent);
+
+        for (int i = 0; i < lines.size(); i++) {
+            ensureSpace(fontSize);
+            if (i == 0 && marker != null) {
+                showText(marker, markerFont, fontSize, markerColor, margin, y);
+            }
+            showText(lines.get(i), font, fontSize, TEXT_COLOR, margin + indent, y);
+            y -= lineHeight;
+        }
+        y -= spacingAfter;
+    }
+
+    /**
+     * Setzt eine zweispaltige Tabelle mit fetter Beschriftung und abwechselnd hinterlegten Zeilen.
+     * Lange Werte werden in der Zelle umbrochen statt abgeschnitten. Eine Zeile wird nur geteilt,
+     * wenn sie sehr hoch ist und nicht mehr auf die aktuelle Seite passt.
+     *
+     * @param rows Zeilen mit Beschriftung und Wert
+     * @param labelWidth Breite der ersten Spalte
+     * @param minRowHeight Mindesthöhe einer Zeile
+     */
+    void table(String[][] rows, PDFont labelFont, PDFont valueFont, float fontSize, float labelWidth, float minRowHeight) throws IOException {
+        float lineHeight = fontSize * lineHeightFactor;
+        float padding = minRowHeight - lineHeight;
+
+        for (int i = 0; i < rows.length; i++) {
+            List<String> lines = wrapCell(rows[i], valueFont, fontSize, labelWidth);
+            if (lines.isEmpty()) {
+                lines.add("");
+            }
+            float rowHeight = rowHeight(lines.size(), lineHeight, minRowHeight);
+            boolean stripe = i % 2 == 0;
+
+            ensureSpace(minRowHeight);
+            if (y - rowHeight >= bottom || rowHeight <= getPageContentHeight() / 3) {
+                ensureSpace(rowHeight);
+                drawRow(rows[i][0], lines, stripe, labelFont, valueFont, fontSize, labelWidth, minRowHeight);
+                continue;
+            }
+
+            // Sehr hohe Zeilen werden auf mehrere Seiten verteilt; die Beschriftung steht nur im ersten Teil
+            int start = 0;
+            while (start < lines.size()) {
+                ensureSpace(minRowHeight);
+                int fitting = Math.max(1, (int) ((y - bottom - padding) / lineHeight));
+                int end = Math.min(lines.size(), start + fitting);
+                drawRow(start == 0 ? rows[i][0] : "", lines.subList(start, end), stripe, labelFont, valueFont, fontSize, labelWidth, minRowHeight);
+                start = end;
+            }
+        }
+    }
+
+    private void drawRow(String label, List<String> lines, boolean stripe, PDFont labelFont, PDFont valueFont, float fontSize,
+                         float labelWidth, float minRowHeight) throws IOException {
+        float lineHeight = fontSize * lineHeightFactor;
+        float rowHeight = rowHeight(lines.size(), lineHeight, minRowHeight);
+
+        if (stripe) {
+            contentStream.setNonStrokingColor(TABLE_STRIPE_COLOR);
+            contentStream.addRect(margin, y - rowHeight, getContentWidth(), rowHeight);
+            contentStream.fill();
+        }
+
+        // Text vertikal zentriert; bei einer Zeile wie bisher knapp über der Mitte
+        float baseline = y - (rowHeight - (lines.size() - 1) * lineHeight) / 2 + fontSize / 3;
+        showText(label, labelFont, fontSize, TEXT_COLOR, margin + CELL_PADDING, baseline);
+        for (String line : lines) {
+            showText(line, valueFont, fontSize, TEXT_COLOR, margin + labelWidth + CELL_PADDING, baseline);
+            baseline -= lineHeight;
+        }
+
+        y -= rowHeight;
+    }
+
+    /**
+     * Setzt eine einzeilige Tabellenzeile mit beliebig vielen Spalten. Zu lange Zellen werden mit "..." gekürzt.
+     *
+     * @param cells Die Zellinhalte
+     * @param columnWidths Die Spaltenbreiten
+     * @param stripe true hinterlegt die Zeile grau
+     */
+    void tableRow(String[] cells, float[] columnWidths, PDFont font, float fontSize, float rowHeight, boolean stripe) throws IOException {
+        ensureSpace(rowHeight);
+
+        if (stripe) {
+            contentStream.setNonStrokingColor(TABLE_STRIPE_COLOR);
+            contentStream.addRect(margin, y - rowHeight, getContentWidth(), rowHeight);
+            contentStream.fill();
+        }
+
+        float baseline = y - rowHeight / 2 + fontSize / 3;
+        float x = margin;
+        for (int i = 0; i < cells.length; i++) {
+            String text = fitText(cells[i] != null ? cells[i] : "", font, fontSize, columnWidths[i] - 2 * CELL_PADDING);
+            showText(text, font, fontSize, TEXT_COLOR, x + CELL_PADDING, baseline);
+            x += columnWidths[i];
+        }
+
+        y -= rowHeight;
+    }
+
+    /**
+     * Kürzt einen Text so, dass er samt "..." in die angegebene Breite passt.
+     */
+    private String fitText(String text, PDFont font, float fontSize, float width) throws IOException {
+        if (textWidth(font, fontSize, text) <= width) {
+            return text;
+        }
+
+        float available = width - textWidth(font, fontSize, "...");
+        float used = 0;
+        int end = 0;
+        while (end < text.length()) {
+            // Zeichenweise nach Codepoints, damit Surrogatpaare nicht getrennt werden
+            int next = end + Character.charCount(text.codePointAt(end));
+            float characterWidth = assetCache.textWidth(font, text.substring(end, next), fontSize);
+            if (used + characterWidth > available) {
+                break;
+            }
+            used += characterWidth;
+            end = next;
+        }
+        return text.substring(0, end) + "...";
+    }
+
+    /**
+     * Berechnet die Höhe, die {@link #table} für die Zeilen benötigt.
+     */
+    float tableHeight(String[][] rows, PDFont valueFont, float fontSize, float labelWidth, float minRowHeight) throws IOException {
+        float lineHeight = fontSize * lineHeightFactor;
+        float height = 0;
+        for (String[] row : rows) {
+            height += rowHeight(Math.max(1, wrapCell(row, valueFont, fontSize, labelWidth).size()), lineHeight, minRowHeight);
+        }
+        return height;
+    }
+
+    private List<String> wrapCell(String[] row, PDFont valueFont, float fontSize, float labelWidth) throws IOException {
+        String value = row[1] != null ? row[1] : "";
+        return wrapText(value, valueFont, fontSize, getContentWidth() - labelWidth - 2 * CELL_PADDING);
+    }
+
+    private float rowHeight(int lineCount, float lineHeight, float minRowHeight) {
+        return Math.max(minRowHeight, lineCount * lineHeight + (minRowHeight - lineHeight));
+    }
+
+    /**
+     * Berechnet die Breite eines Textes in Punkt. Ergebnisse werden pro Schrift und Größe zwischengespeichert.
+     */
+    float textWidth(PDFont font, float fontSize, String text) throws IOException {
+        Map<String, Float> widths = widthCache
+                .computeIfAbsent(font, f -> new HashMap<>())
+                .computeIfAbsent(fontSize, s -> new HashMap<>());
+
+        Float width = widths.get(text);
+        if (width == null) {
+            width = assetCache.textWidth(font, text, fontSize);
+            if (widths.size() < WIDTH_CACHE_LIMIT) {
+                widths.put(text, width);
+            }
+        }
+        return width;
+    }
+
+    /**
+     * Teilt einen Text in Zeilen auf. Die Zeilenbreite wird aus den Wortbreiten aufsummiert, statt die
+     * wachsende Zeile bei jedem Wort neu zu messen. Wörter, die allein breiter als die Zeile sind, werden
+     * zeichenweise umbrochen.
+     */
+    List<String> wrapText(String text, PDFont font, float fontSize, float width) throws IOException {
+        List<String> lines = new ArrayList<>();
+        float spaceWidth = textWidth(font, fontSize, " ");
+
+        StringBuilder currentLine = new StringBuilder();
+        float currentWidth = 0;
+
+        for (String word : text.split(" ")) {
+            if (word.isEmpty()) {
+                continue;
+            }
+
+            float wordWidth = textWidth(font, fontSize, word);
+            if (currentLine.length() > 0 && currentWidth + spaceWidth + wordWidth <= width) {
+                currentLine.append(' ').append(word);
+                currentWidth += spaceWidth + wordWidth;
+                continue;
+            }
+
+            if (currentLine.length() > 0) {
+                lines.add(currentLine.toString());
+                currentLine.setLength(0);
+            }
+
+            if (wordWidth <= width) {
+                currentLine.append(word);
+                currentWidth = wordWidth;
+            } else {
+                currentWidth = breakWord(word, font, fontSize, width, lines, currentLine);
+            }
+        }
+
+        if (currentLine.length() > 0) {
+            lines.add(currentLine.toString());
+        }
+
+        return lines;
+    }
+
+    /**
+     * Bricht ein überlanges Wort (z. B. eine URL) zeichenweise um. Der Rest bleibt in {@code currentLine}.
+     *
+     * @return Die Breite des Rests
+     */
+    private float breakWord(String word, PDFont font, float fontSize, float width, List<String> lines, StringBuilder currentLine) throws IOException {
+        float currentWidth = 0;
+        for (int i = 0; i < word.length(); ) {
+            // Zeichenweise nach Codepoints, damit Surrogatpaare nicht getrennt werden
+            int next = i + Character.charCount(word.codePointAt(i));
+            String character = word.substring(i, next);
+            i = next;
+            float characterWidth = assetCache.textWidth(font, character, fontSize);
+            if (currentLine.length() > 0 && currentWidth + characterWidth > width) {
+                lines.add(currentLine.toString());
+                currentLine.setLength(0);
+                currentWidth = 0;
+            }
+            currentLine.append(character);
+            currentWidth += characterWidth;
+        }
+        return currentWidth;
+    }
+
+    /**
+     * Gibt einen Text auf der aktuellen Seite aus. Zeichen außerhalb von WinAnsi werden in einer
+     * Ersatzschrift gesetzt.
+     */
+    void showText(String text, PDFont font, float fontSize, Color color, float x, float baseline) throws IOException {
+        contentStream.setNonStrokingColor(color);
+        contentStream.beginText();
+        contentStream.newLineAtOffset(x, baseline);
+        fallbackFonts.showText(contentStream, font, fontSize, text);
+        contentStream.endText();
+    }
+
+    private void closeContentStream() throws IOException {
+        if (contentStream != null) {
+            contentStream.close();
+            contentStream = null;
+        }
+    }
+
+    /**
+     * Schließt den Content-Stream der letzten Seite.
+     */
+    @Override
+    public void close() throws IOException {
+        closeContentStream();
+    }
+}
@@ -1,7 +1,56 @@
 package com.saraci.websiteanalyzer.service.report;
 
 import com.saraci.websiteanalyzer.model.AnalysisResult;
+import com.saraci.websiteanalyzer.repository.AnalysisResultRepository;
+
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
 
 public interface PdfReportGenerator {
+
+    /**
+     * Dateiname, unter dem ein Bericht heruntergeladen oder angehängt wird. Der Speicherort der
+     * Datei (inhaltsadressiert im Berichtsspeicher) bleibt damit für Empfänger unsichtbar.
+     *
+     * @param url Die analysierte URL
+     * @param analysisId Die ID der Analyse
+     * @return Dateiname der Form website_analysis_&lt;host&gt;_&lt;id&gt;.pdf
+     */
+    static String fileName(String url, Long analysisId) {
+        return "website_analysis_" + url.replaceAll("https?://", "").replaceAll("[^a-zA-Z0-9.]", "_") +
+                "_" + analysisId + ".pdf";
+    }
     String generateReport(AnalysisResult result) throws Exception;
-}
\ No newline at end of file
+
+    /**
+     * Erstellt den Bericht im Render-Pool des Generators, ohne den Aufrufer zu blockieren.
+     *
+     * @param result Das Analyseergebnis
+     * @return Future mit dem Pfad der erzeugten PDF-Datei
+     */
+    CompletableFuture<String> generateReportAsync(AnalysisResult result);
+
+    /**
+     * Erstellt den Bericht und schreibt ihn direkt in den Ausgabestrom, ohne Datei im Reports-Verzeichnis.
+     * Blockiert, bis der Bericht vollständig geschrieben wurde. Der Ausgabestrom wird danach geschlossen.
+     *
+     * @param result Das Analyseergebnis
+     * @param out Der Zielstrom, z. B. der Ausgabestrom der HTTP-Antwort
+     * @throws Exception Wenn bei der Berichtserstellung ein Fehler auftritt
+     */
+    void writeReport(AnalysisResult result, OutputStream out) throws Exception;
+
+    /**
+     * Erstellt einen Portfolio-Bericht über die jeweils neueste Analyse aller Websites und schreibt ihn in den
+     * Ausgabestrom. Die Analysen werden zeilenweise aus dem Repository gelesen und Seiteninhalte oberhalb des
+     * Speicherlimits in eine temporäre Datei ausgelagert, sodass der Speicherbedarf nicht mit der Anzahl der
+     * Websites wächst. Blockiert, bis der Bericht vollständig geschrieben wurde.
+     *
+     * @param repository Quelle der Analyseergebnisse
+     * @param since Nur Analysen ab diesem Zeitpunkt berücksichtigen (null = alle)
+     * @param out Der Zielstrom, z. B. der Ausgabestrom der HTTP-Antwort
+     * @throws Exception Wenn bei der Berichtserstellung ein Fehler auftritt
+     */
+    void writePortfolioReport(AnalysisResultRepository repository, LocalDateTime since, OutputStream out) throws Exception;
+}
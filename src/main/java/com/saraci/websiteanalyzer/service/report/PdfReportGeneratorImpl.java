@@ -1,25 +1,40 @@
 package com.saraci.websiteanalyzer.service.report;
 
 import com.saraci.websiteanalyzer.model.*;
+import com.saraci.websiteanalyzer.repository.AnalysisResultRepository;
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.io.MemoryUsageSetting;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.pdmodel.PDPage;
 import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.PDResources;
 import org.apache.pdfbox.pdmodel.common.PDRectangle;
 import org.apache.pdfbox.pdmodel.font.PDFont;
 import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.font.encoding.GlyphList;
+import org.apache.pdfbox.pdmodel.font.encoding.WinAnsiEncoding;
+import org.apache.pdfbox.pdmodel.graphics.form.PDFormXObject;
 import org.apache.pdfbox.pdmodel.graphics.image.PDImageXObject;
 import org.apache.pdfbox.pdmodel.graphics.state.PDExtendedGraphicsState;
+import org.apache.pdfbox.util.Matrix;
 
 import java.awt.Color;
-import java.io.File;
+import java.io.FilterOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.FileAlreadyExistsException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Logger;
 
 /**
@@ -37,6 +52,29 @@ public class PdfReportGeneratorImpl implements PdfReportGenerator {
     private static final float FONT_SIZE_SMALL = 9;
     private static final float LINE_HEIGHT = 1.5f;
 
+    // Fließsatz: unterste Position für Inhalte (darunter die Fußzeile) und Höhen zusammenhängender Elemente
+    private static final float CONTENT_BOTTOM = MARGIN + 20;
+    private static final float SECTION_HEADING_HEIGHT = FONT_SIZE_SECTION * LINE_HEIGHT + 30;
+    private static final float SECTION_KEEP_WITH_NEXT = 120;
+    private static final float SECTION_SPACING = 30;
+    private static final float TABLE_ROW_HEIGHT = 30;
+
+    // Abstand der Bézier-Kontrollpunkte für einen Viertelkreis (relativ zum Radius)
+    private static final float BEZIER_CIRCLE_FACTOR = 0.5523f;
+
+    // Verlaufsdiagramme: Anzahl der Punkte (unabhängig von der Länge der Historie) und Höhe eines Diagramms
+    private static final int TREND_POINTS = 24;
+    private static final float TREND_CHART_HEIGHT = 170;
+    private static final Color GRID_COLOR = new Color(220, 220, 220);
+
+    // Portfolio-Bericht
+    private static final float PORTFOLIO_ROW_HEIGHT = 18;
+    private static final int PORTFOLIO_RECOMMENDATIONS = 3;
+    private static final DateTimeFormatter PORTFOLIO_DATE_FORMAT = DateTimeFormatter.ofPattern("dd.MM.yyyy");
+
+    // Speicher pro Dokument, ab dem PDFBox Streams in eine temporäre Datei auslagert
+    public static final long DEFAULT_MAX_MAIN_MEMORY_BYTES = 16L * 1024 * 1024;
+
     // Farben
     private static final Color PRIMARY_COLOR = new Color(232, 24, 24); // Rot (#e81818)
     private static final Color TEXT_COLOR = Color.BLACK;
@@ -46,17 +84,194 @@ public class PdfReportGeneratorImpl implements PdfReportGenerator {
     private static final Color WARNING_COLOR = new Color(255, 187, 0); // Gelb
     private static final Color ERROR_COLOR = new Color(255, 51, 51); // Rot
 
-    // Aktuelle Seite und Position
-    private int pageNumber = 1;
-    private int totalPages = 1;
-    private float yPosition;
+    // Schriften, die in den Berichten verwendet werden
+    private static final PDType1Font[] REPORT_FONTS = { PDType1Font.HELVETICA, PDType1Font.HELVETICA_BOLD };
+    private static boolean fontCachesWarm = false;
+
+    // Eigener Thread-Pool für die Berichtserstellung
+    private final ExecutorService renderExecutor;
+
+    // Logo, Schriftmetriken und statische Seiteninhalte
+    private final PdfAssetCache assetCache;
+
+    private final long maxMainMemoryBytes;
+
+    // Quelle für den Verlauf früherer Analysen (optional)
+    private final AnalysisResultRepository historyRepository;
+
+    /**
+     * Zustand eines einzelnen Berichts. Jede Erstellung bekommt einen eigenen Kontext,
+     * damit parallel erzeugte Berichte sich nicht gegenseitig beeinflussen.
+     */
+    private static class RenderContext {
+        private final float pageWidth;
+        private final float pageHeight;
+        private int totalPages;
+        private int pageNumber = 1;
+        private float yPosition;
+
+        RenderContext(PDRectangle pageSize, int totalPages) {
+            this.pageWidth = pageSize.getWidth();
+            this.pageHeight = pageSize.getHeight();
+            this.totalPages = totalPages;
+        }
+    }
+
+    /**
+     * Erstellt den Generator mit einem Render-Thread pro Prozessor.
+     */
+    public PdfReportGeneratorImpl() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
 
-    // Seitengröße
-    private float pageWidth;
-    private float pageHeight;
+    /**
+     * Erstellt den Generator mit der angegebenen Anzahl an Render-Threads.
+     *
+     * @param renderThreads Maximale Anzahl gleichzeitig erstellter Berichte
+     */
+    public PdfReportGeneratorImpl(int renderThreads) {
+        this(renderThreads, new PdfAssetCache());
+    }
+
+    /**
+     * Erstellt den Generator mit der angegebenen Anzahl an Render-Threads und einem eigenen Asset-Cache.
+     *
+     * @param renderThreads Maximale Anzahl gleichzeitig erstellter Berichte
+     * @param assetCache Cache für Logo, Schriftmetriken und statische Seiteninhalte
+     */
+    public PdfReportGeneratorImpl(int renderThreads, PdfAssetCache assetCache) {
+        this(renderThreads, assetCache, DEFAULT_MAX_MAIN_MEMORY_BYTES);
+    }
+
+    /**
+     * Erstellt den Generator mit der angegebenen Anzahl an Render-Threads, Asset-Cache und Speicherlimit.
+     *
+     * @param renderThreads Maximale Anzahl gleichzeitig erstellter Berichte
+     * @param assetCache Cache für Logo, Schriftmetriken und statische Seiteninhalte
+     * @param maxMainMemoryBytes Speicher pro Dokument, ab dem Streams in eine temporäre Datei ausgelagert werden
+     */
+    public PdfReportGeneratorImpl(int renderThreads, PdfAssetCache assetCache, long maxMainMemoryBytes) {
+        this(renderThreads, assetCache, maxMainMemoryBytes, null);
+    }
+
+    /**
+     * Erstellt den Generator mit Verlaufsdiagrammen aus den gespeicherten Analysen.
+     *
+     * @param renderThreads Maximale Anzahl gleichzeitig erstellter Berichte
+     * @param assetCache Cache für Logo, Schriftmetriken und statische Seiteninhalte
+     * @param maxMainMemoryBytes Speicher pro Dokument, ab dem Streams in eine temporäre Datei ausgelagert werden
+     * @param historyRepository Repository für den Verlauf früherer Analysen (null = ohne Verlauf)
+     */
+    public PdfReportGeneratorImpl(int renderThreads, PdfAssetCache assetCache, long maxMainMemoryBytes,
+                                  AnalysisResultRepository historyRepository) {
+        warmUpFontCaches();
+        this.assetCache = assetCache;
+        this.maxMainMemoryBytes = Math.max(1024 * 1024, maxMainMemoryBytes);
+        this.historyRepository = historyRepository;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.renderExecutor = Executors.newFixedThreadPool(Math.max(1, renderThreads), r -> {
+            Thread thread = new Thread(r, "pdf-render-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        logger.info("PDF-Generator mit " + Math.max(1, renderThreads) + " Render-Threads initialisiert");
+    }
 
     @Override
     public String generateReport(AnalysisResult result) throws Exception {
+        try {
+            return generateReportAsync(result).get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Exception) {
+                throw (Exception) cause;
+            }
+            throw new Exception("Fehler bei der PDF-Erstellung: " + cause.getMessage(), cause);
+        }
+    }
+
+    @Override
+    public CompletableFuture<String> generateReportAsync(AnalysisResult result) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return renderReport(result);
+            } catch (Exception e) {
+                throw new CompletionException(e);
+            }
+        }, renderExecutor);
+    }
+
+    @Override
+    public void writeReport(AnalysisResult result, OutputStream out) throws Exception {
+        runInRenderPool(() -> {
+            streamReport(result, out);
+            return null;
+        });
+    }
+
+    @Override
+    public void writePortfolioReport(AnalysisResultRepository repository, LocalDateTime since, OutputStream out) throws Exception {
+        runInRenderPool(() -> {
+            streamPortfolioReport(repository, since, out);
+            return null;
+        });
+    }
+
+    /**
+     * Führt eine Erstellung im Render-Pool aus und wartet auf ihr Ende. Auch gestreamte Berichte laufen
+     * dort, damit die Anzahl gleichzeitiger Erstellungen begrenzt bleibt.
+     */
+    private void runInRenderPool(Callable<Void> task) throws Exception {
+        Future<?> future = renderExecutor.submit(task);
+        try {
+            future.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Exception) {
+                throw (Exception) cause;
+            }
+            throw new Exception("Fehler bei der PDF-Erstellung: " + cause.getMessage(), cause);
+        }
+    }
+
+    /**
+     * Füllt die Breiten- und Kodierungs-Caches der Standardschriften einmalig vor.
+     * PDFBox legt diese Caches in nicht synchronisierten HashMaps an; sind sie vollständig
+     * gefüllt, wird danach nur noch gelesen und die Schriften können parallel genutzt werden.
+     */
+    private static synchronized void warmUpFontCaches() {
+        if (fontCachesWarm) {
+            return;
+        }
+
+        for (PDType1Font font : REPORT_FONTS) {
+            try {
+                for (int code = 0; code < 256; code++) {
+                    font.getWidth(code);
+                }
+                for (Map.Entry<Integer, String> entry : WinAnsiEncoding.INSTANCE.getCodeToNameMap().entrySet()) {
+                    String unicode = GlyphList.getAdobeGlyphList().toUnicode(entry.getValue());
+                    if (unicode != null && unicode.length() == 1) {
+                        try {
+                            font.encode(unicode);
+                        } catch (IllegalArgumentException e) {
+                            // Zeichen ist in der Schrift nicht vorhanden
+                        }
+                    }
+                }
+            } catch (IOException e) {
+                logger.warning("Schrift-Cache konnte nicht vorbereitet werden: " + e.getMessage());
+            }
+        }
+
+        fontCachesWarm = true;
+    }
+
+    /**
+     * Erstellt den Bericht im aufrufenden Thread (läuft im Render-Pool) und speichert ihn im Reports-Verzeichnis.
+     */
+    private String renderReport(AnalysisResult result) throws Exception {
         logger.info("Erstelle verbesserten PDF-Bericht für Analyse-ID: " + result.getId());
 
         // Stelle sicher, dass das Reports-Verzeichnis existiert
@@ -69,782 +284,1022 @@ public class PdfReportGeneratorImpl implements PdfReportGenerator {
         // Erstelle einen eindeutigen Dateinamen für den Bericht
         String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
         String websiteHost = result.getUrl().replaceAll("https?://", "").replaceAll("[^a-zA-Z0-9.]", "_");
-        String filename = "website_analysis_" + websiteHost + "_" + timestamp + ".pdf";
-        String filePath = Paths.get(reportsDir, filename).toString();
-
-        // Erstelle ein neues PDF-Dokument
-        try (PDDocument document = new PDDocument()) {
-            // Seitengröße initialisieren
-            PDPage firstPage = new PDPage(PDRectangle.A4);
-            pageWidth = firstPage.getMediaBox().getWidth();
-            pageHeight = firstPage.getMediaBox().getHeight();
-
-            // Zuerst alle Seiten erstellen, um die Gesamtanzahl zu kennen
-            List<PDPage> pages = new ArrayList<>();
+        Path reportFile = reserveReportFile(reportsDirPath, "website_analysis_" + websiteHost + "_" + timestamp);
+        String filePath = reportFile.toString();
 
-            // Titelseite
-            pages.add(firstPage);
+        try (PDDocument document = buildReport(result)) {
+            // Speichere das Dokument
+            document.save(reportFile.toFile());
 
-            // Inhaltsverzeichnis
-            pages.add(new PDPage(PDRectangle.A4));
+            logger.info("PDF-Bericht erstellt: " + filePath + " (" + describeOutput(document, Files.size(reportFile)) + ")");
+            return filePath;
+        } catch (Exception e) {
+            Files.deleteIfExists(reportFile);
+            logger.severe("Fehler bei der PDF-Erstellung: " + e.getMessage());
+            throw new Exception("Fehler bei der PDF-Erstellung: " + e.getMessage(), e);
+        }
+    }
 
-            // Übersicht
-            pages.add(new PDPage(PDRectangle.A4));
+    /**
+     * Erstellt den Bericht im aufrufenden Thread (läuft im Render-Pool) und schreibt ihn in den Ausgabestrom.
+     */
+    private void streamReport(AnalysisResult result, OutputStream out) throws Exception {
+        logger.info("Erstelle PDF-Bericht als Stream für Analyse-ID: " + result.getId());
+
+        try (PDDocument document = buildReport(result)) {
+            CountingOutputStream counter = new CountingOutputStream(out);
+            document.save(counter);
+            logger.info("PDF-Bericht für Analyse-ID " + result.getId() + " gesendet (" +
+                    describeOutput(document, counter.getCount()) + ")");
+        } catch (Exception e) {
+            logger.severe("Fehler bei der PDF-Erstellung: " + e.getMessage());
+            throw new Exception("Fehler bei der PDF-Erstellung: " + e.getMessage(), e);
+        }
+    }
 
-            // SEO-Analyse
-            pages.add(new PDPage(PDRectangle.A4));
+    /**
+     * Beschreibt Seitenzahl und Größe eines gespeicherten Berichts für das Log.
+     */
+    private static String describeOutput(PDDocument document, long bytes) {
+        return document.getNumberOfPages() + " Seiten, " + String.format("%.1f KB", bytes / 1024.0);
+    }
 
-            // Performance-Analyse
-            pages.add(new PDPage(PDRectangle.A4));
+    /**
+     * Zählt die geschriebenen Bytes, um die Größe gestreamter Berichte zu protokollieren.
+     */
+    private static class CountingOutputStream extends FilterOutputStream {
+        private long count;
 
-            // Sicherheitsanalyse
-            pages.add(new PDPage(PDRectangle.A4));
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
 
-            // Inhaltsanalyse
-            pages.add(new PDPage(PDRectangle.A4));
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
 
-            // Empfehlungen
-            pages.add(new PDPage(PDRectangle.A4));
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
 
-            // Seitenzahl aktualisieren
-            totalPages = pages.size();
+        long getCount() {
+            return count;
+        }
+    }
 
-            // Füge alle Seiten zum Dokument hinzu
-            for (PDPage page : pages) {
-                document.addPage(page);
+    /**
+     * Baut das Dokument auf. Der Aufrufer speichert und schließt es.
+     * Streams, die das Speicherlimit überschreiten, lagert PDFBox in eine temporäre Datei aus.
+     *
+     * Die Abschnitte werden im Fließsatz gesetzt, die Seitenanzahl ergibt sich aus dem Inhalt.
+     * Inhaltsverzeichnis und Fußzeilen folgen in einem zweiten Durchgang, wenn alle Seitenzahlen feststehen.
+     */
+    private PDDocument buildReport(AnalysisResult result) throws Exception {
+        PDDocument document = new PDDocument(MemoryUsageSetting.setupMixed(maxMainMemoryBytes));
+        try {
+            // Kontext für diesen Bericht (Seitengröße und Seitenzahl)
+            RenderContext ctx = new RenderContext(PDRectangle.A4, 0);
+            List<String[]> tocEntries = new ArrayList<>();
+            List<ScoreTrendPoint> trend = loadScoreTrend(result);
+            PDPage tocPage;
+
+            try (PdfLayout layout = new PdfLayout(document, assetCache, PDRectangle.A4, MARGIN, CONTENT_BOTTOM, LINE_HEIGHT)) {
+                // Titelseite
+                layout.newPage();
+                addTitlePage(ctx, document, layout, result);
+
+                // Inhaltsverzeichnis (wird nach dem Fließsatz gefüllt)
+                tocPage = layout.reservePage();
+
+                addSummarySection(layout, tocEntries, result, trend);
+                addSeoAnalysisSection(layout, tocEntries, result.getSeoResult());
+                addPerformanceAnalysisSection(layout, tocEntries, result.getPerformanceResult());
+                addSecurityAnalysisSection(layout, tocEntries, result.getSecurityResult());
+                addContentAnalysisSection(layout, tocEntries, result.getContentResult());
+                addRecommendationsSection(layout, tocEntries, result);
             }
 
-            // Füge die Inhalte hinzu
-            pageNumber = 1;
-            addTitlePage(document, result);
+            ctx.totalPages = document.getNumberOfPages();
+            addTableOfContents(ctx, document, tocPage, tocEntries);
+            addFooters(ctx, document);
 
-            pageNumber = 2;
-            addTableOfContents(document);
+            return document;
+        } catch (Exception e) {
+            document.close();
+            throw e;
+        }
+    }
 
-            pageNumber = 3;
-            addSummaryPage(document, result);
+    /**
+     * Erstellt den Portfolio-Bericht im aufrufenden Thread (läuft im Render-Pool) und schreibt ihn in den Ausgabestrom.
+     */
+    private void streamPortfolioReport(AnalysisResultRepository repository, LocalDateTime since, OutputStream out) throws Exception {
+        logger.info("Erstelle Portfolio-Bericht" + (since != null ? " für Analysen seit " + since : ""));
+        long start = System.currentTimeMillis();
+
+        try (PDDocument document = buildPortfolioReport(repository, since)) {
+            CountingOutputStream counter = new CountingOutputStream(out);
+            document.save(counter);
+            logger.info("Portfolio-Bericht erstellt: " + describeOutput(document, counter.getCount()) +
+                    " in " + (System.currentTimeMillis() - start) + " ms");
+        } catch (Exception e) {
+            logger.severe("Fehler bei der Erstellung des Portfolio-Berichts: " + e.getMessage());
+            throw new Exception("Fehler bei der Erstellung des Portfolio-Berichts: " + e.getMessage(), e);
+        }
+    }
 
-            pageNumber = 4;
-            addSeoAnalysisPage(document, result.getSeoResult());
+    /**
+     * Baut den Portfolio-Bericht auf. Das Repository wird zweimal zeilenweise gelesen: zuerst nur die Scores
+     * für die Übersichtstabelle, danach die vollständigen Ergebnisse für die Abschnitte pro Website.
+     * Es wird nie mehr als ein Analyseergebnis gleichzeitig gehalten; Seiteninhalte oberhalb des
+     * Speicherlimits lagert PDFBox in eine temporäre Datei aus.
+     */
+    private PDDocument buildPortfolioReport(AnalysisResultRepository repository, LocalDateTime since) throws Exception {
+        PDDocument document = new PDDocument(MemoryUsageSetting.setupMixed(maxMainMemoryBytes));
+        try {
+            RenderContext ctx = new RenderContext(PDRectangle.A4, 0);
+            List<String[]> tocEntries = new ArrayList<>();
+            PortfolioSummary summary = new PortfolioSummary();
+            PDPage titlePage;
+
+            // Die Gesamtseitenzahl steht erst am Ende fest. Statt jede Seite nachträglich um einen zweiten
+            // Inhaltsstrom zu ergänzen (PDFBox hält pro Strom einen Puffer im Speicher), verweisen alle
+            // Fußzeilen auf ein gemeinsames Formular, das zum Schluss gefüllt wird.
+            PDFormXObject totalPagesForm = new PDFormXObject(document);
+            totalPagesForm.setBBox(new PDRectangle(0, -FONT_SIZE_SMALL, 100, FONT_SIZE_SMALL * 3));
+            totalPagesForm.setResources(new PDResources());
+
+            try (PdfLayout layout = new PdfLayout(document, assetCache, PDRectangle.A4, MARGIN, CONTENT_BOTTOM, LINE_HEIGHT)) {
+                layout.setPageDecorator(l -> addPortfolioFooter(ctx, l.getContentStream(), l.getPageNumber(), totalPagesForm));
+
+                // Titelseite (wird gefüllt, sobald die Kennzahlen feststehen)
+                titlePage = layout.reservePage();
+
+                // Übersichtstabelle: nur Scores
+                String overviewTitle = "Übersicht aller Websites";
+                startSection(layout, tocEntries, 1, overviewTitle);
+                float width = layout.getContentWidth();
+                float[] columnWidths = { width - 240, 75, 55, 55, 55 };
+                drawPortfolioTableHeader(layout, columnWidths);
+                layout.setPageStartListener(l -> {
+                    drawSectionHeading(l, "1. " + overviewTitle + " (Fortsetzung)");
+                    drawPortfolioTableHeader(l, columnWidths);
+                });
+
+                repository.forEachLatestResult(since, false, result -> {
+                    summary.add(result);
+                    String[] cells = {
+                            result.getUrl(),
+                            result.getAnalysisDate() != null ? result.getAnalysisDate().format(PORTFOLIO_DATE_FORMAT) : "",
+                            String.valueOf(ReportInsights.seoScore(result)),
+                            String.valueOf(ReportInsights.performanceScore(result)),
+                            String.valueOf(ReportInsights.securityScore(result))
+                    };
+                    layout.tableRow(cells, columnWidths, PDType1Font.HELVETICA, FONT_SIZE_SMALL, PORTFOLIO_ROW_HEIGHT, summary.count % 2 == 1);
+                });
 
-            pageNumber = 5;
-            addPerformanceAnalysisPage(document, result.getPerformanceResult());
+                if (summary.count == 0) {
+                    layout.paragraph("Keine Analysen im gewählten Zeitraum vorhanden.", PDType1Font.HELVETICA, FONT_SIZE_TEXT, 0, 20);
+                } else {
+                    // Abschnitte pro Website: vollständige Ergebnisse
+                    startSection(layout, tocEntries, 2, "Details pro Website");
+                    int[] index = { 0 };
+                    repository.forEachLatestResult(since, true, result -> addPortfolioSite(layout, ++index[0], result));
+                }
+            }
 
-            pageNumber = 6;
-            addSecurityAnalysisPage(document, result.getSecurityResult());
+            ctx.totalPages = document.getNumberOfPages();
+            addPortfolioTitlePage(ctx, document, titlePage, since, summary, tocEntries, totalPagesForm);
 
-            pageNumber = 7;
-            addContentAnalysisPage(document, result.getContentResult());
+            try (PDPageContentStream contentStream = new PDPageContentStream(document, totalPagesForm,
+                    totalPagesForm.getContentStream().createOutputStream(COSName.FLATE_DECODE))) {
+                drawSmallText(contentStream, String.valueOf(ctx.totalPages), 0, 0);
+            }
 
-            pageNumber = 8;
-            addRecommendationsPage(document, result);
+            return document;
+        } catch (Exception e) {
+            document.close();
+            throw e;
+        }
+    }
 
-            // Speichere das Dokument
-            document.save(filePath);
+    /**
+     * Kennzahlen über alle Websites des Portfolio-Berichts.
+     */
+    private static class PortfolioSummary {
+        private int count;
+        private long seoTotal;
+        private long performanceTotal;
+        private long securityTotal;
+        // Anzahl der Websites je Bewertung (Hervorragend, Gut, Verbesserungswürdig, Kritisch) nach Durchschnittsscore
+        private final int[] ratingCounts = new int[4];
+
+        void add(AnalysisResult result) {
+            int seo = ReportInsights.seoScore(result);
+            int performance = ReportInsights.performanceScore(result);
+            int security = ReportInsights.securityScore(result);
+
+            count++;
+            seoTotal += seo;
+            performanceTotal += performance;
+            securityTotal += security;
+
+            int average = (seo + performance + security) / 3;
+            ratingCounts[average >= 90 ? 0 : average >= 70 ? 1 : average >= 50 ? 2 : 3]++;
+        }
 
-            logger.info("PDF-Bericht erstellt: " + filePath);
-            return filePath;
-        } catch (Exception e) {
-            logger.severe("Fehler bei der PDF-Erstellung: " + e.getMessage());
-            throw new Exception("Fehler bei der PDF-Erstellung: " + e.getMessage(), e);
+        int average(long total) {
+            return count > 0 ? (int) Math.round(total / (double) count) : 0;
         }
     }
 
+    private void drawPortfolioTableHeader(PdfLayout layout, float[] columnWidths) throws IOException {
+        String[] header = { "Website", "Analyse", "SEO", "Perf.", "Sicherh." };
+        layout.tableRow(header, columnWidths, PDType1Font.HELVETICA_BOLD, FONT_SIZE_SMALL, PORTFOLIO_ROW_HEIGHT, false);
+    }
+
     /**
-     * Fügt die Titelseite zum Dokument hinzu.
+     * Fügt den Abschnitt einer Website im Portfolio-Bericht hinzu: Scores, wichtigste Kennzahlen und
+     * die ersten Empfehlungen. Die ausführliche Auswertung enthält der Einzelbericht.
      */
-    private void addTitlePage(PDDocument document, AnalysisResult result) throws Exception {
-        PDPage page = document.getPage(0);
+    private void addPortfolioSite(PdfLayout layout, int index, AnalysisResult result) throws Exception {
+        float width = layout.getContentWidth();
+
+        // Überschrift, Datum und Scores zusammenhalten
+        addSubheading(layout, index + ". " + result.getUrl(), FONT_SIZE_SMALL * LINE_HEIGHT + 8 + 3 * 32);
+        if (result.getAnalysisDate() != null) {
+            layout.paragraph("Analysiert am " + result.getAnalysisDate().format(DateTimeFormatter.ofPattern("dd.MM.yyyy HH:mm")),
+                    PDType1Font.HELVETICA, FONT_SIZE_SMALL, 0, 8);
+        }
 
+        int seo = ReportInsights.seoScore(result);
+        int performance = ReportInsights.performanceScore(result);
+        int security = ReportInsights.securityScore(result);
+        layout.block(32, (contentStream, top) -> drawScoreBar(contentStream, "SEO", seo, MARGIN, top, width, 24, SUCCESS_COLOR));
+        layout.block(32, (contentStream, top) -> drawScoreBar(contentStream, "Performance", performance, MARGIN, top, width, 24, WARNING_COLOR));
+        layout.block(32, (contentStream, top) -> drawScoreBar(contentStream, "Sicherheit", security, MARGIN, top, width, 24, ERROR_COLOR));
+        layout.skip(6);
+
+        // Wichtigste Kennzahlen
+        SeoResult seoResult = result.getSeoResult();
+        PerformanceResult perfResult = result.getPerformanceResult();
+        SecurityResult secResult = result.getSecurityResult();
+        ContentResult contentResult = result.getContentResult();
+        String[][] facts = {
+                {"Ladezeit", perfResult != null ? perfResult.getLoadTime() + " ms" : "-"},
+                {"HTTPS", secResult != null ? (secResult.isHttpsEnabled() ? "Aktiviert" : "Nicht aktiviert") : "-"},
+                {"Titellänge", seoResult != null ? seoResult.getTitleLength() + " Zeichen " + ReportInsights.getOptimalityText(seoResult.getTitleLength(), 30, 60) : "-"},
+                {"Bilder ohne Alt-Text", seoResult != null ? String.valueOf(seoResult.getImagesWithoutAlt()) : "-"},
+                {"Wortanzahl", contentResult != null ? String.valueOf(contentResult.getWordCount()) : "-"}
+        };
+        layout.table(facts, PDType1Font.HELVETICA_BOLD, PDType1Font.HELVETICA, FONT_SIZE_SMALL, 150, 18);
+        layout.skip(10);
+
+        // Die ersten Empfehlungen
+        String[] recommendations = ReportInsights.generateRecommendations(result);
+        int shown = Math.min(PORTFOLIO_RECOMMENDATIONS, recommendations.length);
+        for (int i = 0; i < shown; i++) {
+            layout.listItem((i + 1) + ".", PDType1Font.HELVETICA_BOLD, PRIMARY_COLOR, recommendations[i], PDType1Font.HELVETICA, FONT_SIZE_SMALL, 15, 4);
+        }
+        if (recommendations.length > shown) {
+            layout.paragraph("Weitere " + (recommendations.length - shown) + " Empfehlungen im Einzelbericht.",
+                    PDType1Font.HELVETICA, FONT_SIZE_SMALL, 15, 4);
+        }
+        layout.skip(16);
+    }
+
+    /**
+     * Füllt die Titelseite des Portfolio-Berichts mit Durchschnittswerten, Verteilung und Inhaltsverzeichnis.
+     */
+    private void addPortfolioTitlePage(RenderContext ctx, PDDocument document, PDPage page, LocalDateTime since,
+                                       PortfolioSummary summary, List<String[]> tocEntries,
+                                       PDFormXObject totalPagesForm) throws Exception {
         try (PDPageContentStream contentStream = new PDPageContentStream(document, page)) {
-            yPosition = pageHeight - MARGIN;
+            ctx.yPosition = ctx.pageHeight - MARGIN;
 
             // Logo mittig oben
             try {
-                File logoFile = new File("src/main/resources/public/images/logo2.png");
-                if (logoFile.exists()) {
-                    PDImageXObject logo = PDImageXObject.createFromFile(logoFile.getAbsolutePath(), document);
-                    float logoWidth = 200;
+                PDImageXObject logo = assetCache.getLogo(document);
+                if (logo != null) {
+                    float logoWidth = 160;
                     float logoHeight = logoWidth * logo.getHeight() / logo.getWidth();
-                    float centerX = pageWidth / 2;
-                    contentStream.drawImage(logo, centerX - logoWidth / 2, yPosition - logoHeight, logoWidth, logoHeight);
-                    yPosition -= logoHeight + 40;
+                    contentStream.drawImage(logo, ctx.pageWidth / 2 - logoWidth / 2, ctx.yPosition - logoHeight, logoWidth, logoHeight);
+                    ctx.yPosition -= logoHeight + 30;
                 }
             } catch (Exception e) {
                 logger.warning("Logo konnte nicht geladen werden: " + e.getMessage());
-                yPosition -= 40; // Platz freilassen, falls kein Logo
+                ctx.yPosition -= 30;
             }
 
-            // Titel
-            drawCenteredText(contentStream, "Website-Analyse-Bericht", PDType1Font.HELVETICA_BOLD, FONT_SIZE_TITLE, yPosition);
-            yPosition -= FONT_SIZE_TITLE * LINE_HEIGHT;
-
-            // URL der Website
-            drawCenteredText(contentStream, result.getUrl(), PDType1Font.HELVETICA, FONT_SIZE_SUBTITLE, yPosition);
-            yPosition -= FONT_SIZE_SUBTITLE * LINE_HEIGHT * 2;
-
-            // Trennlinie
-            drawLine(contentStream, MARGIN, yPosition, pageWidth - MARGIN, yPosition, 1f, PRIMARY_COLOR);
-            yPosition -= 30;
-
-            // Scores visualisieren (als Kreisdiagramme)
-            float centerX = pageWidth / 2;
-            float circleRadius = 60;
-            float circleSpacing = 30;
-            float totalWidth = 3 * (2 * circleRadius) + 2 * circleSpacing;
-            float startX = centerX - totalWidth / 2 + circleRadius;
-
-            // SEO Score
-            int seoScore = result.getSeoResult() != null ? result.getSeoResult().getScore() : 0;
-            drawScoreCircle(contentStream, document, startX, yPosition, circleRadius, seoScore, "SEO", SUCCESS_COLOR);
-
-            // Performance Score
-            int perfScore = result.getPerformanceResult() != null ? result.getPerformanceResult().getLighthouseScore() : 0;
-            drawScoreCircle(contentStream, document, startX + 2 * circleRadius + circleSpacing, yPosition, circleRadius, perfScore, "Performance", WARNING_COLOR);
-
-            // Security Score
-            int secScore = result.getSecurityResult() != null ? result.getSecurityResult().getSecurityHeadersScore() : 0;
-            drawScoreCircle(contentStream, document, startX + 4 * circleRadius + 2 * circleSpacing, yPosition, circleRadius, secScore, "Sicherheit", ERROR_COLOR);
+            drawCenteredText(ctx, contentStream, "Portfolio-Bericht", PDType1Font.HELVETICA_BOLD, FONT_SIZE_TITLE, ctx.yPosition);
+            ctx.yPosition -= FONT_SIZE_TITLE * LINE_HEIGHT;
+
+            String scope = summary.count + (summary.count == 1 ? " Website" : " Websites") +
+                    (since != null ? ", Analysen seit " + since.format(PORTFOLIO_DATE_FORMAT) : ", jeweils neueste Analyse");
+            drawCenteredText(ctx, contentStream, scope, PDType1Font.HELVETICA, FONT_SIZE_TEXT, ctx.yPosition);
+            ctx.yPosition -= FONT_SIZE_TEXT * LINE_HEIGHT * 2;
+
+            drawLine(contentStream, MARGIN, ctx.yPosition, ctx.pageWidth - MARGIN, ctx.yPosition, 1f, PRIMARY_COLOR);
+            ctx.yPosition -= 30;
+
+            // Durchschnittliche Scores
+            drawText(contentStream, "Durchschnittliche Bewertung", PDType1Font.HELVETICA_BOLD, FONT_SIZE_TEXT, MARGIN, ctx.yPosition);
+            ctx.yPosition -= FONT_SIZE_TEXT * LINE_HEIGHT + 10;
+
+            float width = ctx.pageWidth - 2 * MARGIN;
+            drawScoreBar(contentStream, "SEO", summary.average(summary.seoTotal), MARGIN, ctx.yPosition, width, 30, SUCCESS_COLOR);
+            ctx.yPosition -= 40;
+            drawScoreBar(contentStream, "Performance", summary.average(summary.performanceTotal), MARGIN, ctx.yPosition, width, 30, WARNING_COLOR);
+            ctx.yPosition -= 40;
+            drawScoreBar(contentStream, "Sicherheit", summary.average(summary.securityTotal), MARGIN, ctx.yPosition, width, 30, ERROR_COLOR);
+            ctx.yPosition -= 60;
+
+            // Verteilung nach Durchschnittsscore
+            drawText(contentStream, "Verteilung der Websites", PDType1Font.HELVETICA_BOLD, FONT_SIZE_TEXT, MARGIN, ctx.yPosition);
+            ctx.yPosition -= FONT_SIZE_TEXT * LINE_HEIGHT + 5;
+
+            String[] ratings = { "Hervorragend (ab 90)", "Gut (70-89)", "Verbesserungswürdig (50-69)", "Kritisch (unter 50)" };
+            for (int i = 0; i < ratings.length; i++) {
+                drawText(contentStream, ratings[i], PDType1Font.HELVETICA, FONT_SIZE_TEXT, MARGIN, ctx.yPosition);
+                String value = String.valueOf(summary.ratingCounts[i]);
+                drawText(contentStream, value, PDType1Font.HELVETICA_BOLD, FONT_SIZE_TEXT,
+                        MARGIN + 250 - assetCache.textWidth(PDType1Font.HELVETICA_BOLD, value, FONT_SIZE_TEXT), ctx.yPosition);
+                ctx.yPosition -= FONT_SIZE_TEXT * LINE_HEIGHT;
+            }
+            ctx.yPosition -= 30;
 
-            yPosition -= 2 * circleRadius + 50;
+            // Inhaltsverzeichnis
+            drawText(contentStream, "Inhalt", PDType1Font.HELVETICA_BOLD, FONT_SIZE_TEXT, MARGIN, ctx.yPosition);
+            ctx.yPosition -= FONT_SIZE_TEXT * LINE_HEIGHT + 5;
+            for (String[] entry : tocEntries) {
+                drawText(contentStream, entry[0] + ". " + entry[1], PDType1Font.HELVETICA, FONT_SIZE_TEXT, MARGIN, ctx.yPosition);
+                String pageText = "Seite " + entry[2];
+                drawText(contentStream, pageText, PDType1Font.HELVETICA, FONT_SIZE_TEXT,
+                        ctx.pageWidth - MARGIN - assetCache.textWidth(PDType1Font.HELVETICA, pageText, FONT_SIZE_TEXT), ctx.yPosition);
+                ctx.yPosition -= FONT_SIZE_TEXT * LINE_HEIGHT;
+            }
 
             // Datum
             String date = "Erstellt am: " + LocalDateTime.now().format(DateTimeFormatter.ofPattern("dd.MM.yyyy HH:mm"));
-            drawCenteredText(contentStream, date, PDType1Font.HELVETICA, FONT_SIZE_TEXT, yPosition);
+            drawCenteredText(ctx, contentStream, date, PDType1Font.HELVETICA, FONT_SIZE_TEXT, MARGIN + 40);
 
-            // Fußzeile
-            addFooter(contentStream);
+            addPortfolioFooter(ctx, contentStream, 1, totalPagesForm);
         }
     }
 
     /**
-     * Fügt ein Inhaltsverzeichnis zum Dokument hinzu.
+     * Fügt die Fußzeile des Portfolio-Berichts hinzu. Die Seitenzahl steht links, damit die
+     * Gesamtseitenzahl aus dem gemeinsamen Formular direkt dahinter folgen kann.
      */
-    private void addTableOfContents(PDDocument document) throws Exception {
-        PDPage page = document.getPage(1);
+    private void addPortfolioFooter(RenderContext ctx, PDPageContentStream contentStream, int pageNumber,
+                                    PDFormXObject totalPagesForm) throws IOException {
+        drawLine(contentStream, MARGIN, MARGIN / 2 + 10, ctx.pageWidth - MARGIN, MARGIN / 2 + 10, 0.5f, TEXT_COLOR_LIGHT);
+
+        String pageText = "Seite " + pageNumber + " von ";
+        drawSmallText(contentStream, pageText, MARGIN, MARGIN / 2);
+
+        contentStream.saveGraphicsState();
+        contentStream.transform(Matrix.getTranslateInstance(
+                MARGIN + assetCache.textWidth(PDType1Font.HELVETICA, pageText, FONT_SIZE_SMALL), MARGIN / 2));
+        contentStream.drawForm(totalPagesForm);
+        contentStream.restoreGraphicsState();
+
+        String company = "Website Analyzer - Saraci Design";
+        drawSmallText(contentStream, company,
+                ctx.pageWidth - MARGIN - assetCache.textWidth(PDType1Font.HELVETICA, company, FONT_SIZE_SMALL), MARGIN / 2);
+    }
 
-        try (PDPageContentStream contentStream = new PDPageContentStream(document, page)) {
-            yPosition = pageHeight - MARGIN;
-
-            // Seitentitel
-            drawText(contentStream, "Inhaltsverzeichnis", PDType1Font.HELVETICA_BOLD, FONT_SIZE_SECTION, MARGIN, yPosition);
-            yPosition -= FONT_SIZE_SECTION * LINE_HEIGHT;
-
-            // Trennlinie
-            drawLine(contentStream, MARGIN, yPosition, pageWidth - MARGIN, yPosition, 1f, PRIMARY_COLOR);
-            yPosition -= 30;
-
-            // Einträge
-            String[][] entries = {
-                    {"1", "Zusammenfassung", "3"},
-                    {"2", "SEO-Analyse", "4"},
-                    {"3", "Performance-Analyse", "5"},
-                    {"4", "Sicherheitsanalyse", "6"},
-                    {"5", "Inhaltsanalyse", "7"},
-                    {"6", "Empfehlungen", "8"}
-            };
-
-            for (String[] entry : entries) {
-                // Kapitelnummer
-                drawText(contentStream, entry[0], PDType1Font.HELVETICA_BOLD, FONT_SIZE_TEXT, MARGIN, yPosition);
-
-                // Titel
-                drawText(contentStream, entry[1], PDType1Font.HELVETICA, FONT_SIZE_TEXT, MARGIN + 30, yPosition);
-
-                // Seitenzahl
-                float textWidth = PDType1Font.HELVETICA.getStringWidth(entry[2]) / 1000 * FONT_SIZE_TEXT;
-                drawText(contentStream, entry[2], PDType1Font.HELVETICA, FONT_SIZE_TEXT, pageWidth - MARGIN - textWidth, yPosition);
-
-                // Punktlinie
-                float lineStartX = MARGIN + 30 + PDType1Font.HELVETICA.getStringWidth(entry[1]) / 1000 * FONT_SIZE_TEXT + 10;
-                float lineEndX = pageWidth - MARGIN - textWidth - 10;
-                drawDottedLine(contentStream, lineStartX, yPosition + 2, lineEndX, yPosition + 2, 1f, TEXT_COLOR_LIGHT);
-
-                yPosition -= FONT_SIZE_TEXT * LINE_HEIGHT;
+    /**
+     * Legt die Berichtsdatei atomar an. Erzeugen mehrere Threads in derselben Sekunde einen Bericht
+     * für dieselbe Website, erhält jeder eine eigene Datei mit fortlaufendem Suffix.
+     */
+    private Path reserveReportFile(Path reportsDir, String baseName) throws IOException {
+        for (int attempt = 1; ; attempt++) {
+            String filename = attempt == 1 ? baseName + ".pdf" : baseName + "_" + attempt + ".pdf";
+            try {
+                return Files.createFile(reportsDir.resolve(filename));
+            } catch (FileAlreadyExistsException e) {
+                // Nächsten Namen versuchen
             }
-
-            // Fußzeile
-            addFooter(contentStream);
         }
     }
 
     /**
-     * Fügt eine Zusammenfassungsseite zum Dokument hinzu.
+     * Fügt die Titelseite zum Dokument hinzu.
      */
-    private void addSummaryPage(PDDocument document, AnalysisResult result) throws Exception {
-        PDPage page = document.getPage(2);
+    private void addTitlePage(RenderContext ctx, PDDocument document, PdfLayout layout, AnalysisResult result) throws Exception {
+        PDPageContentStream contentStream = layout.getContentStream();
+        ctx.yPosition = ctx.pageHeight - MARGIN;
 
-        try (PDPageContentStream contentStream = new PDPageContentStream(document, page)) {
-            yPosition = pageHeight - MARGIN;
-
-            // Seitentitel
-            drawText(contentStream, "1. Zusammenfassung", PDType1Font.HELVETICA_BOLD, FONT_SIZE_SECTION, MARGIN, yPosition);
-            yPosition -= FONT_SIZE_SECTION * LINE_HEIGHT;
-
-            // Trennlinie
-            drawLine(contentStream, MARGIN, yPosition, pageWidth - MARGIN, yPosition, 1f, PRIMARY_COLOR);
-            yPosition -= 30;
-
-            // Kurze Einleitung
-            String introText = "Diese Analyse bietet einen umfassenden Überblick über die Website " + result.getUrl() +
-                    " in den Bereichen SEO, Performance und Sicherheit. Die folgenden Ergebnisse zeigen Stärken und Verbesserungspotenziale der Website.";
-            drawMultiLineText(contentStream, introText, PDType1Font.HELVETICA, FONT_SIZE_TEXT, MARGIN, yPosition, pageWidth - 2 * MARGIN);
-            yPosition -= calculateTextHeight(introText, PDType1Font.HELVETICA, FONT_SIZE_TEXT, pageWidth - 2 * MARGIN) + 20;
-
-            // Scores-Überschrift
-            drawText(contentStream, "Gesamtbewertung", PDType1Font.HELVETICA_BOLD, FONT_SIZE_TEXT, MARGIN, yPosition);
-            yPosition -= FONT_SIZE_TEXT * LINE_HEIGHT + 10;
-
-            // Scores als Balkendiagramme
-            int seoScore = result.getSeoResult() != null ? result.getSeoResult().getScore() : 0;
-            int perfScore = result.getPerformanceResult() != null ? result.getPerformanceResult().getLighthouseScore() : 0;
-            int secScore = result.getSecurityResult() != null ? result.getSecurityResult().getSecurityHeadersScore() : 0;
-
-            // SEO Score
-            drawScoreBar(contentStream, "SEO", seoScore, MARGIN, yPosition, pageWidth - 2 * MARGIN, 30, SUCCESS_COLOR);
-            yPosition -= 40;
-
-            // Performance Score
-            drawScoreBar(contentStream, "Performance", perfScore, MARGIN, yPosition, pageWidth - 2 * MARGIN, 30, WARNING_COLOR);
-            yPosition -= 40;
-
-            // Security Score
-            drawScoreBar(contentStream, "Sicherheit", secScore, MARGIN, yPosition, pageWidth - 2 * MARGIN, 30, ERROR_COLOR);
-            yPosition -= 60;
-
-            // Wichtigste Erkenntnisse
-            drawText(contentStream, "Wichtigste Erkenntnisse", PDType1Font.HELVETICA_BOLD, FONT_SIZE_TEXT, MARGIN, yPosition);
-            yPosition -= FONT_SIZE_TEXT * LINE_HEIGHT + 10;
-
-            String[] insights = generateInsights(result);
-            for (String insight : insights) {
-                // Bullet Point
-                drawText(contentStream, "•", PDType1Font.HELVETICA_BOLD, FONT_SIZE_TEXT, MARGIN, yPosition);
-
-                // Text mit Einrückung
-                drawMultiLineText(contentStream, insight, PDType1Font.HELVETICA, FONT_SIZE_TEXT, MARGIN + 15, yPosition, pageWidth - 2 * MARGIN - 15);
-                yPosition -= calculateTextHeight(insight, PDType1Font.HELVETICA, FONT_SIZE_TEXT, pageWidth - 2 * MARGIN - 15) + 10;
+        // Logo mittig oben
+        try {
+            PDImageXObject logo = assetCache.getLogo(document);
+            if (logo != null) {
+                float logoWidth = PdfAssetCache.LOGO_MAX_WIDTH_PT;
+                float logoHeight = logoWidth * logo.getHeight() / logo.getWidth();
+                float centerX = ctx.pageWidth / 2;
+                contentStream.drawImage(logo, centerX - logoWidth / 2, ctx.yPosition - logoHeight, logoWidth, logoHeight);
+                ctx.yPosition -= logoHeight + 40;
             }
-
-            // Fußzeile
-            addFooter(contentStream);
+        } catch (Exception e) {
+            logger.warning("Logo konnte nicht geladen werden: " + e.getMessage());
+            ctx.yPosition -= 40; // Platz freilassen, falls kein Logo
         }
-    }
 
-    /**
-     * Fügt eine SEO-Analyseseite zum Dokument hinzu.
-     */
-    private void addSeoAnalysisPage(PDDocument document, SeoResult seoResult) throws Exception {
-        PDPage page = document.getPage(3);
+        // Titel
+        drawCenteredText(ctx, contentStream, "Website-Analyse-Bericht", PDType1Font.HELVETICA_BOLD, FONT_SIZE_TITLE, ctx.yPosition);
+        ctx.yPosition -= FONT_SIZE_TITLE * LINE_HEIGHT;
 
-        try (PDPageContentStream contentStream = new PDPageContentStream(document, page)) {
-            yPosition = pageHeight - MARGIN;
+        // URL der Website (internationalisierte Domains können Zeichen außerhalb von WinAnsi enthalten)
+        String url = result.getUrl();
+        float urlWidth = assetCache.textWidth(PDType1Font.HELVETICA, url, FONT_SIZE_SUBTITLE);
+        layout.showText(url, PDType1Font.HELVETICA, FONT_SIZE_SUBTITLE, TEXT_COLOR, ctx.pageWidth / 2 - urlWidth / 2, ctx.yPosition);
+        ctx.yPosition -= FONT_SIZE_SUBTITLE * LINE_HEIGHT * 2;
+
+        // Trennlinie
+        drawLine(contentStream, MARGIN, ctx.yPosition, ctx.pageWidth - MARGIN, ctx.yPosition, 1f, PRIMARY_COLOR);
+        ctx.yPosition -= 30;
 
-            // Seitentitel
-            drawText(contentStream, "2. SEO-Analyse", PDType1Font.HELVETICA_BOLD, FONT_SIZE_SECTION, MARGIN, yPosition);
-            yPosition -= FONT_SIZE_SECTION * LINE_HEIGHT;
+        // Scores visualisieren (als Kreisdiagramme)
+        float centerX = ctx.pageWidth / 2;
+        float circleRadius = 60;
+        float circleSpacing = 30;
+        float totalWidth = 3 * (2 * circleRadius) + 2 * circleSpacing;
+        float startX = centerX - totalWidth / 2 + circleRadius;
 
-            // Trennlinie
-            drawLine(contentStream, MARGIN, yPosition, pageWidth - MARGIN, yPosition, 1f, PRIMARY_COLOR);
-            yPosition -= 30;
+        // SEO Score
+        int seoScore = result.getSeoResult() != null ? result.getSeoResult().getScore() : 0;
+        drawScoreCircle(contentStream, document, startX, ctx.yPosition, circleRadius, seoScore, "SEO", SUCCESS_COLOR);
 
-            if (seoResult == null) {
-                drawText(contentStream, "Keine SEO-Daten verfügbar", PDType1Font.HELVETICA, FONT_SIZE_TEXT, MARGIN, yPosition);
-                addFooter(contentStream);
-                return;
-            }
+        // Performance Score
+        int perfScore = result.getPerformanceResult() != null ? result.getPerformanceResult().getLighthouseScore() : 0;
+        drawScoreCircle(contentStream, document, startX + 2 * circleRadius + circleSpacing, ctx.yPosition, circleRadius, perfScore, "Performance", WARNING_COLOR);
+
+        // Security Score
+        int secScore = result.getSecurityResult() != null ? result.getSecurityResult().getSecurityHeadersScore() : 0;
+        drawScoreCircle(contentStream, document, startX + 4 * circleRadius + 2 * circleSpacing, ctx.yPosition, circleRadius, secScore, "Sicherheit", ERROR_COLOR);
+
+        ctx.yPosition -= 2 * circleRadius + 50;
+
+        // Datum
+        String date = "Erstellt am: " + LocalDateTime.now().format(DateTimeFormatter.ofPattern("dd.MM.yyyy HH:mm"));
+        drawCenteredText(ctx, contentStream, date, PDType1Font.HELVETICA, FONT_SIZE_TEXT, ctx.yPosition);
+    }
 
-            // Einleitung
-            String introText = "Die SEO-Analyse untersucht verschiedene Faktoren, die die Sichtbarkeit der Website in Suchmaschinen beeinflussen. " +
-                    "Dazu gehören Meta-Informationen, Überschriften, Bilder und Links.";
-            drawMultiLineText(contentStream, introText, PDType1Font.HELVETICA, FONT_SIZE_TEXT, MARGIN, yPosition, pageWidth - 2 * MARGIN);
-            yPosition -= calculateTextHeight(introText, PDType1Font.HELVETICA, FONT_SIZE_TEXT, pageWidth - 2 * MARGIN) + 20;
-
-            // Gesamtscore als großes Element
-            drawLargeScore(contentStream, seoResult.getScore(), "SEO-Score", MARGIN, yPosition, SUCCESS_COLOR);
-            yPosition -= 100;
-
-            // Meta-Informationen
-            drawText(contentStream, "Meta-Informationen", PDType1Font.HELVETICA_BOLD, FONT_SIZE_TEXT, MARGIN, yPosition);
-            yPosition -= FONT_SIZE_TEXT * LINE_HEIGHT + 10;
-
-            // Tabelle mit Meta-Informationen
-            float[] columnWidths = { 150, pageWidth - 2 * MARGIN - 150 };
-            String[][] metaData = {
-                    {"Titel", seoResult.getTitle() != null ? seoResult.getTitle() : "Nicht vorhanden"},
-                    {"Titellänge", seoResult.getTitleLength() + " Zeichen " + getOptimalityText(seoResult.getTitleLength(), 30, 60)},
-                    {"Beschreibung", seoResult.getDescription() != null ? seoResult.getDescription() : "Nicht vorhanden"},
-                    {"Beschreibungslänge", seoResult.getDescriptionLength() + " Zeichen " + getOptimalityText(seoResult.getDescriptionLength(), 50, 160)}
-            };
-
-            yPosition = drawTable(contentStream, metaData, columnWidths, MARGIN, yPosition, 30);
-            yPosition -= 20;
-
-            // Überschriften
-            drawText(contentStream, "Überschriften", PDType1Font.HELVETICA_BOLD, FONT_SIZE_TEXT, MARGIN, yPosition);
-            yPosition -= FONT_SIZE_TEXT * LINE_HEIGHT + 10;
-
-            String[][] headingsData = {
-                    {"H1", seoResult.getH1Count() + " " + getOptimalityText(seoResult.getH1Count(), 1, 1)},
-                    {"H2", String.valueOf(seoResult.getH2Count())},
-                    {"H3", String.valueOf(seoResult.getH3Count())}
-            };
-
-            yPosition = drawTable(contentStream, headingsData, columnWidths, MARGIN, yPosition, 30);
-            yPosition -= 20;
-
-            // Bilder
-            drawText(contentStream, "Bilder", PDType1Font.HELVETICA_BOLD, FONT_SIZE_TEXT, MARGIN, yPosition);
-            yPosition -= FONT_SIZE_TEXT * LINE_HEIGHT + 10;
-
-            String[][] imagesData = {
-                    {"Gesamtzahl", String.valueOf(seoResult.getImagesTotal())},
-                    {"Mit Alt-Text", seoResult.getImagesWithAlt() + " (" + String.format("%.1f", seoResult.getAltImagePercentage()) + "%)"},
-                    {"Ohne Alt-Text", String.valueOf(seoResult.getImagesWithoutAlt())}
-            };
-
-            yPosition = drawTable(contentStream, imagesData, columnWidths, MARGIN, yPosition, 30);
-            yPosition -= 20;
-
-            // Links
-            drawText(contentStream, "Links", PDType1Font.HELVETICA_BOLD, FONT_SIZE_TEXT, MARGIN, yPosition);
-            yPosition -= FONT_SIZE_TEXT * LINE_HEIGHT + 10;
-
-            String[][] linksData = {
-                    {"Interne Links", String.valueOf(seoResult.getInternalLinks())},
-                    {"Externe Links", String.valueOf(seoResult.getExternalLinks())},
-                    {"Gesamtzahl", String.valueOf(seoResult.getInternalLinks() + seoResult.getExternalLinks())}
-            };
-
-            yPosition = drawTable(contentStream, linksData, columnWidths, MARGIN, yPosition, 30);
-
-            // Fußzeile
-            addFooter(contentStream);
+    /**
+     * Füllt die reservierte Seite mit dem Inhaltsverzeichnis.
+     */
+    private void addTableOfContents(RenderContext ctx, PDDocument document, PDPage page, List<String[]> entries) throws Exception {
+        // Der Inhalt hängt nur von den Einträgen (inkl. Seitenzahlen) ab und wird daher einmal gerendert und danach wiederverwendet
+        StringBuilder key = new StringBuilder("toc");
+        for (String[] entry : entries) {
+            key.append('|').append(String.join(";", entry));
         }
+        String[][] entryArray = entries.toArray(new String[0][]);
+        assetCache.applyStaticContent(document, page, key.toString(),
+                contentStream -> drawTableOfContents(new RenderContext(page.getMediaBox(), ctx.totalPages), contentStream, entryArray));
     }
 
     /**
-     * Fügt eine Performance-Analyseseite zum Dokument hinzu.
+     * Zeichnet Überschrift und Einträge des Inhaltsverzeichnisses.
      */
-    private void addPerformanceAnalysisPage(PDDocument document, PerformanceResult perfResult) throws Exception {
-        PDPage page = document.getPage(4);
+    private void drawTableOfContents(RenderContext ctx, PDPageContentStream contentStream, String[][] entries) throws IOException {
+        ctx.yPosition = ctx.pageHeight - MARGIN;
 
-        try (PDPageContentStream contentStream = new PDPageContentStream(document, page)) {
-            yPosition = pageHeight - MARGIN;
+        // Seitentitel
+        drawText(contentStream, "Inhaltsverzeichnis", PDType1Font.HELVETICA_BOLD, FONT_SIZE_SECTION, MARGIN, ctx.yPosition);
+        ctx.yPosition -= FONT_SIZE_SECTION * LINE_HEIGHT;
 
-            // Seitentitel
-            drawText(contentStream, "3. Performance-Analyse", PDType1Font.HELVETICA_BOLD, FONT_SIZE_SECTION, MARGIN, yPosition);
-            yPosition -= FONT_SIZE_SECTION * LINE_HEIGHT;
+        // Trennlinie
+        drawLine(contentStream, MARGIN, ctx.yPosition, ctx.pageWidth - MARGIN, ctx.yPosition, 1f, PRIMARY_COLOR);
+        ctx.yPosition -= 30;
 
-            // Trennlinie
-            drawLine(contentStream, MARGIN, yPosition, pageWidth - MARGIN, yPosition, 1f, PRIMARY_COLOR);
-            yPosition -= 30;
+        for (String[] entry : entries) {
+            // Kapitelnummer
+            drawText(contentStream, entry[0], PDType1Font.HELVETICA_BOLD, FONT_SIZE_TEXT, MARGIN, ctx.yPosition);
 
-            if (perfResult == null) {
-                drawText(contentStream, "Keine Performance-Daten verfügbar", PDType1Font.HELVETICA, FONT_SIZE_TEXT, MARGIN, yPosition);
-                addFooter(contentStream);
-                return;
-            }
+            // Titel
+            drawText(contentStream, entry[1], PDType1Font.HELVETICA, FONT_SIZE_TEXT, MARGIN + 30, ctx.yPosition);
 
-            // Einleitung
-            String introText = "Die Performance-Analyse misst die Ladezeit und andere Metriken, die die Nutzererfahrung beeinflussen. " +
-                    "Eine schnelle Website verbessert die Nutzerzufriedenheit und kann sich positiv auf das Ranking in Suchmaschinen auswirken.";
-            drawMultiLineText(contentStream, introText, PDType1Font.HELVETICA, FONT_SIZE_TEXT, MARGIN, yPosition, pageWidth - 2 * MARGIN);
-            yPosition -= calculateTextHeight(introText, PDType1Font.HELVETICA, FONT_SIZE_TEXT, pageWidth - 2 * MARGIN) + 20;
+            // Seitenzahl
+            float textWidth = assetCache.textWidth(PDType1Font.HELVETICA, entry[2], FONT_SIZE_TEXT);
+            drawText(contentStream, entry[2], PDType1Font.HELVETICA, FONT_SIZE_TEXT, ctx.pageWidth - MARGIN - textWidth, ctx.yPosition);
 
-            // Gesamtscore als großes Element
-            drawLargeScore(contentStream, perfResult.getLighthouseScore(), "Lighthouse Score", MARGIN, yPosition, WARNING_COLOR);
-            yPosition -= 100;
+            // Punktlinie
+            float lineStartX = MARGIN + 30 + assetCache.textWidth(PDType1Font.HELVETICA, entry[1], FONT_SIZE_TEXT) + 10;
+            float lineEndX = ctx.pageWidth - MARGIN - textWidth - 10;
+            drawDottedLine(contentStream, lineStartX, ctx.yPosition + 2, lineEndX, ctx.yPosition + 2, 1f, TEXT_COLOR_LIGHT);
 
-            // Ladezeit als Balken
-            drawText(contentStream, "Ladezeit", PDType1Font.HELVETICA_BOLD, FONT_SIZE_TEXT, MARGIN, yPosition);
-            yPosition -= FONT_SIZE_TEXT * LINE_HEIGHT + 10;
+            ctx.yPosition -= FONT_SIZE_TEXT * LINE_HEIGHT;
+        }
+    }
 
-            int loadTime = perfResult.getLoadTime();
-            int maxLoadTime = 5000; // 5 Sekunden als Maximum für die Visualisierung
-            float barWidth = Math.min(loadTime / (float)maxLoadTime, 1.0f) * (pageWidth - 2 * MARGIN);
+    /**
+     * Beginnt einen Abschnitt: Überschrift mit Trennlinie, Eintrag im Inhaltsverzeichnis und
+     * Fortsetzungsüberschrift auf jeder weiteren Seite des Abschnitts.
+     */
+    private void startSection(PdfLayout layout, List<String[]> tocEntries, int number, String title) throws IOException {
+        String heading = number + ". " + title;
+        layout.setPageStartListener(null);
 
-            // Hintergrund
-            contentStream.setNonStrokingColor(new Color(230, 230, 230));
-            contentStream.addRect(MARGIN, yPosition - 15, pageWidth - 2 * MARGIN, 30);
-            contentStream.fill();
+        if (!layout.isAtPageTop()) {
+            layout.skip(SECTION_SPACING);
+        }
 
-            // Bar
-            Color barColor = loadTime < 2000 ? SUCCESS_COLOR : (loadTime < 4000 ? WARNING_COLOR : ERROR_COLOR);
-            contentStream.setNonStrokingColor(barColor);
-            contentStream.addRect(MARGIN, yPosition - 15, barWidth, 30);
-            contentStream.fill();
+        // Die Überschrift nicht allein am Seitenende stehen lassen
+        layout.ensureSpace(SECTION_HEADING_HEIGHT + SECTION_KEEP_WITH_NEXT);
+        tocEntries.add(new String[] { String.valueOf(number), title, String.valueOf(layout.getPageNumber()) });
+        drawSectionHeading(layout, heading);
 
-            // Text
-            contentStream.setNonStrokingColor(Color.WHITE);
-            String loadTimeText = loadTime + " ms";
-            float textWidth = PDType1Font.HELVETICA_BOLD.getStringWidth(loadTimeText) / 1000 * FONT_SIZE_TEXT;
-            float textX = MARGIN + 10;
-            contentStream.beginText();
-            contentStream.setFont(PDType1Font.HELVETICA_BOLD, FONT_SIZE_TEXT);
-            contentStream.newLineAtOffset(textX, yPosition);
-            contentStream.showText(loadTimeText);
-            contentStream.endText();
+        layout.setPageStartListener(l -> drawSectionHeading(l, heading + " (Fortsetzung)"));
+    }
 
-            yPosition -= 45;
+    private void drawSectionHeading(PdfLayout layout, String heading) throws IOException {
+        float right = layout.getLeft() + layout.getContentWidth();
+        layout.block(SECTION_HEADING_HEIGHT, (contentStream, top) -> {
+            drawText(contentStream, heading, PDType1Font.HELVETICA_BOLD, FONT_SIZE_SECTION, MARGIN, top);
+            float lineY = top - FONT_SIZE_SECTION * LINE_HEIGHT;
+            drawLine(contentStream, MARGIN, lineY, right, lineY, 1f, PRIMARY_COLOR);
+        });
+    }
 
-            // Performance-Metriken
-            drawText(contentStream, "Performance-Metriken", PDType1Font.HELVETICA_BOLD, FONT_SIZE_TEXT, MARGIN, yPosition);
-            yPosition -= FONT_SIZE_TEXT * LINE_HEIGHT + 10;
+    /**
+     * Setzt eine Zwischenüberschrift zusammen mit mindestens {@code keepWithNext} Punkt des folgenden Inhalts.
+     * Der Text kann Nutzerdaten enthalten (z. B. die URL im Portfolio-Bericht) und wird daher mit
+     * Ersatzschriften gesetzt.
+     */
+    private void addSubheading(PdfLayout layout, String text, float keepWithNext) throws IOException {
+        float height = FONT_SIZE_TEXT * LINE_HEIGHT + 10;
+        layout.ensureSpace(height + keepWithNext);
+        layout.block(height, (contentStream, top) ->
+                layout.showText(text, PDType1Font.HELVETICA_BOLD, FONT_SIZE_TEXT, TEXT_COLOR, MARGIN, top));
+    }
+
+    /**
+     * Setzt einen Einleitungstext in normaler Schrift.
+     */
+    private void addIntro(PdfLayout layout, String text) throws IOException {
+        layout.paragraph(text, PDType1Font.HELVETICA, FONT_SIZE_TEXT, 0, 20);
+    }
+
+    /**
+     * Setzt eine Zwischenüberschrift mit einer zweispaltigen Tabelle, gefolgt von etwas Abstand.
+     * Passt die Tabelle auf eine Seite, wird sie nicht geteilt.
+     */
+    private void addTable(PdfLayout layout, String title, String[][] data, float labelWidth) throws IOException {
+        float tableHeight = layout.tableHeight(data, PDType1Font.HELVETICA, FONT_SIZE_TEXT, labelWidth, TABLE_ROW_HEIGHT);
+        float headingHeight = FONT_SIZE_TEXT * LINE_HEIGHT + 10;
+        boolean fitsOnPage = headingHeight + tableHeight <= layout.getPageContentHeight() - SECTION_HEADING_HEIGHT;
+        addSubheading(layout, title, fitsOnPage ? tableHeight : TABLE_ROW_HEIGHT);
+
+        layout.table(data, PDType1Font.HELVETICA_BOLD, PDType1Font.HELVETICA, FONT_SIZE_TEXT, labelWidth, TABLE_ROW_HEIGHT);
+        layout.skip(20);
+    }
 
-            float[] columnWidths = { 200, pageWidth - 2 * MARGIN - 200 };
-            String[][] metricsData = {
-                    {"First Contentful Paint", perfResult.getFirstContentfulPaint()},
-                    {"Largest Contentful Paint", perfResult.getLargestContentfulPaint()},
-                    {"Time to Interactive", perfResult.getTimeToInteractive()},
-                    {"Total Blocking Time", perfResult.getTotalBlockingTime()},
-                    {"Cumulative Layout Shift", perfResult.getCumulativeLayoutShift()}
-            };
+    /**
+     * Fügt den Abschnitt "Zusammenfassung" hinzu.
+     */
+    private void addSummarySection(PdfLayout layout, List<String[]> tocEntries, AnalysisResult result,
+                                   List<ScoreTrendPoint> trend) throws Exception {
+        startSection(layout, tocEntries, 1, "Zusammenfassung");
+        float width = layout.getContentWidth();
+
+        // Kurze Einleitung
+        addIntro(layout, "Diese Analyse bietet einen umfassenden Überblick über die Website " + result.getUrl() +
+                " in den Bereichen SEO, Performance und Sicherheit. Die folgenden Ergebnisse zeigen Stärken und Verbesserungspotenziale der Website.");
+
+        // Scores als Balkendiagramme
+        addSubheading(layout, "Gesamtbewertung", 3 * 40);
+
+        int seoScore = result.getSeoResult() != null ? result.getSeoResult().getScore() : 0;
+        int perfScore = result.getPerformanceResult() != null ? result.getPerformanceResult().getLighthouseScore() : 0;
+        int secScore = result.getSecurityResult() != null ? result.getSecurityResult().getSecurityHeadersScore() : 0;
+
+        layout.block(40, (contentStream, top) -> drawScoreBar(contentStream, "SEO", seoScore, MARGIN, top, width, 30, SUCCESS_COLOR));
+        layout.block(40, (contentStream, top) -> drawScoreBar(contentStream, "Performance", perfScore, MARGIN, top, width, 30, WARNING_COLOR));
+        layout.block(40, (contentStream, top) -> drawScoreBar(contentStream, "Sicherheit", secScore, MARGIN, top, width, 30, ERROR_COLOR));
+        layout.skip(20);
+
+        // Verlauf über die bisherigen Analysen
+        if (trend.size() >= 2) {
+            addTrendCharts(layout, trend);
+        }
 
-            yPosition = drawTable(contentStream, metricsData, columnWidths, MARGIN, yPosition, 30);
+        // Wichtigste Erkenntnisse
+        addSubheading(layout, "Wichtigste Erkenntnisse", FONT_SIZE_TEXT * LINE_HEIGHT);
 
-            // Fußzeile
-            addFooter(contentStream);
+        for (String insight : ReportInsights.generateInsights(result)) {
+            layout.listItem("•", PDType1Font.HELVETICA_BOLD, TEXT_COLOR, insight, PDType1Font.HELVETICA, FONT_SIZE_TEXT, 15, 10);
         }
     }
 
     /**
-     * Fügt eine Sicherheitsanalyseseite zum Dokument hinzu.
+     * Lädt den Verlauf bis einschließlich dieser Analyse. Ohne Repository oder bei Fehlern entfällt der Verlauf.
      */
-    private void addSecurityAnalysisPage(PDDocument document, SecurityResult secResult) throws Exception {
-        PDPage page = document.getPage(5);
+    private List<ScoreTrendPoint> loadScoreTrend(AnalysisResult result) {
+        if (historyRepository == null || result.getWebsiteId() == null || result.getId() == null) {
+            return Collections.emptyList();
+        }
+        try {
+            return historyRepository.findScoreTrend(result.getWebsiteId(), result.getId(), TREND_POINTS);
+        } catch (Exception e) {
+            logger.warning("Verlauf für Analyse " + result.getId() + " konnte nicht geladen werden: " + e.getMessage());
+            return Collections.emptyList();
+        }
+    }
 
-        try (PDPageContentStream contentStream = new PDPageContentStream(document, page)) {
-            yPosition = pageHeight - MARGIN;
+    /**
+     * Fügt die Verlaufsdiagramme für Scores und Ladezeit hinzu.
+     */
+    private void addTrendCharts(PdfLayout layout, List<ScoreTrendPoint> trend) throws IOException {
+        float width = layout.getContentWidth();
+        int points = trend.size();
+
+        double[] seo = new double[points];
+        double[] performance = new double[points];
+        double[] security = new double[points];
+        double[] loadTime = new double[points];
+        double maxLoadTime = 0;
+        int analyses = 0;
+        for (int i = 0; i < points; i++) {
+            ScoreTrendPoint point = trend.get(i);
+            seo[i] = valueOrNaN(point.getSeoScore());
+            performance[i] = valueOrNaN(point.getPerformanceScore());
+            security[i] = valueOrNaN(point.getSecurityScore());
+            loadTime[i] = valueOrNaN(point.getLoadTime());
+            if (!Double.isNaN(loadTime[i])) {
+                maxLoadTime = Math.max(maxLoadTime, loadTime[i]);
+            }
+            analyses += point.getAnalysisCount();
+        }
 
-            // Seitentitel
-            drawText(contentStream, "4. Sicherheitsanalyse", PDType1Font.HELVETICA_BOLD, FONT_SIZE_SECTION, MARGIN, yPosition);
-            yPosition -= FONT_SIZE_SECTION * LINE_HEIGHT;
+        String note = "Verlauf über " + analyses + " Analysen" +
+                (analyses > points ? ", je Punkt gemittelt über mehrere aufeinanderfolgende Analysen." : ".");
+        float noteHeight = FONT_SIZE_SMALL * LINE_HEIGHT + 8;
+
+        addSubheading(layout, "Entwicklung der Scores", noteHeight + TREND_CHART_HEIGHT);
+        layout.paragraph(note, PDType1Font.HELVETICA, FONT_SIZE_SMALL, 0, 8);
+        layout.block(TREND_CHART_HEIGHT, (contentStream, top) -> drawTrendChart(contentStream, trend,
+                new double[][] { seo, performance, security },
+                new Color[] { SUCCESS_COLOR, WARNING_COLOR, ERROR_COLOR },
+                new String[] { "SEO", "Performance", "Sicherheit" },
+                100, "", MARGIN, top, width, TREND_CHART_HEIGHT));
+        layout.skip(15);
+
+        if (maxLoadTime > 0) {
+            double axisMax = niceCeiling(maxLoadTime);
+            addSubheading(layout, "Entwicklung der Ladezeit", TREND_CHART_HEIGHT);
+            layout.block(TREND_CHART_HEIGHT, (contentStream, top) -> drawTrendChart(contentStream, trend,
+                    new double[][] { loadTime },
+                    new Color[] { PRIMARY_COLOR },
+                    new String[] { "Ladezeit" },
+                    axisMax, " ms", MARGIN, top, width, TREND_CHART_HEIGHT));
+            layout.skip(20);
+        }
+    }
 
-            // Trennlinie
-            drawLine(contentStream, MARGIN, yPosition, pageWidth - MARGIN, yPosition, 1f, PRIMARY_COLOR);
-            yPosition -= 30;
+    private static double valueOrNaN(Double value) {
+        return value != null ? value : Double.NaN;
+    }
 
-            if (secResult == null) {
-                drawText(contentStream, "Keine Sicherheitsdaten verfügbar", PDType1Font.HELVETICA, FONT_SIZE_TEXT, MARGIN, yPosition);
-                addFooter(contentStream);
-                return;
-            }
+    /**
+     * Rundet auf einen glatten Achsenwert auf (z. B. 823 auf 900).
+     */
+    private static double niceCeiling(double value) {
+        double step = Math.pow(10, Math.floor(Math.log10(value)));
+        return Math.ceil(value / step) * step;
+    }
 
-            // Einleitung
-            String introText = "Die Sicherheitsanalyse prüft, ob die Website grundlegende Sicherheitsmaßnahmen implementiert hat. " +
-                    "Dazu gehören HTTPS, Sicherheits-Header und Cookie-Sicherheit.";
-            drawMultiLineText(contentStream, introText, PDType1Font.HELVETICA, FONT_SIZE_TEXT, MARGIN, yPosition, pageWidth - 2 * MARGIN);
-            yPosition -= calculateTextHeight(introText, PDType1Font.HELVETICA, FONT_SIZE_TEXT, pageWidth - 2 * MARGIN) + 20;
+    /**
+     * Fügt den Abschnitt "SEO-Analyse" hinzu.
+     */
+    private void addSeoAnalysisSection(PdfLayout layout, List<String[]> tocEntries, SeoResult seoResult) throws Exception {
+        startSection(layout, tocEntries, 2, "SEO-Analyse");
 
-            // Gesamtscore als großes Element
-            drawLargeScore(contentStream, secResult.getSecurityHeadersScore(), "Sicherheits-Score", MARGIN, yPosition, ERROR_COLOR);
-            yPosition -= 100;
+        if (seoResult == null) {
+            layout.paragraph("Keine SEO-Daten verfügbar", PDType1Font.HELVETICA, FONT_SIZE_TEXT, 0, 20);
+            return;
+        }
 
-            // HTTPS-Status
-            drawText(contentStream, "HTTPS-Status", PDType1Font.HELVETICA_BOLD, FONT_SIZE_TEXT, MARGIN, yPosition);
-            yPosition -= FONT_SIZE_TEXT * LINE_HEIGHT + 10;
+        // Einleitung
+        addIntro(layout, "Die SEO-Analyse untersucht verschiedene Faktoren, die die Sichtbarkeit der Website in Suchmaschinen beeinflussen. " +
+                "Dazu gehören Meta-Informationen, Überschriften, Bilder und Links.");
+
+        // Gesamtscore als großes Element
+        layout.block(100, (contentStream, top) -> drawLargeScore(contentStream, seoResult.getScore(), "SEO-Score", MARGIN, top, SUCCESS_COLOR));
+
+        // Meta-Informationen
+        String[][] metaData = {
+                {"Titel", seoResult.getTitle() != null ? seoResult.getTitle() : "Nicht vorhanden"},
+                {"Titellänge", seoResult.getTitleLength() + " Zeichen " + ReportInsights.getOptimalityText(seoResult.getTitleLength(), 30, 60)},
+                {"Beschreibung", seoResult.getDescription() != null ? seoResult.getDescription() : "Nicht vorhanden"},
+                {"Beschreibungslänge", seoResult.getDescriptionLength() + " Zeichen " + ReportInsights.getOptimalityText(seoResult.getDescriptionLength(), 50, 160)}
+        };
+        addTable(layout, "Meta-Informationen", metaData, 150);
+
+        // Überschriften
+        String[][] headingsData = {
+                {"H1", seoResult.getH1Count() + " " + ReportInsights.getOptimalityText(seoResult.getH1Count(), 1, 1)},
+                {"H2", String.valueOf(seoResult.getH2Count())},
+                {"H3", String.valueOf(seoResult.getH3Count())}
+        };
+        addTable(layout, "Überschriften", headingsData, 150);
+
+        // Bilder
+        String[][] imagesData = {
+                {"Gesamtzahl", String.valueOf(seoResult.getImagesTotal())},
+                {"Mit Alt-Text", seoResult.getImagesWithAlt() + " (" + String.format("%.1f", seoResult.getAltImagePercentage()) + "%)"},
+                {"Ohne Alt-Text", String.valueOf(seoResult.getImagesWithoutAlt())}
+        };
+        addTable(layout, "Bilder", imagesData, 150);
+
+        // Links
+        String[][] linksData = {
+                {"Interne Links", String.valueOf(seoResult.getInternalLinks())},
+                {"Externe Links", String.valueOf(seoResult.getExternalLinks())},
+                {"Gesamtzahl", String.valueOf(seoResult.getInternalLinks() + seoResult.getExternalLinks())}
+        };
+        addTable(layout, "Links", linksData, 150);
+    }
 
-            boolean isHttps = secResult.isHttpsEnabled();
-            String httpsText = isHttps ? "Aktiviert" : "Nicht aktiviert";
-            Color httpsColor = isHttps ? SUCCESS_COLOR : ERROR_COLOR;
+    /**
+     * Fügt den Abschnitt "Performance-Analyse" hinzu.
+     */
+    private void addPerformanceAnalysisSection(PdfLayout layout, List<String[]> tocEntries, PerformanceResult perfResult) throws Exception {
+        startSection(layout, tocEntries, 3, "Performance-Analyse");
 
-            contentStream.setNonStrokingColor(httpsColor);
-            contentStream.addRect(MARGIN, yPosition - 5, 120, 30);
-            contentStream.fill();
+        if (perfResult == null) {
+            layout.paragraph("Keine Performance-Daten verfügbar", PDType1Font.HELVETICA, FONT_SIZE_TEXT, 0, 20);
+            return;
+        }
 
-            contentStream.setNonStrokingColor(Color.WHITE);
-            contentStream.beginText();
-            contentStream.setFont(PDType1Font.HELVETICA_BOLD, FONT_SIZE_TEXT);
-            contentStream.newLineAtOffset(MARGIN + 10, yPosition + 7);
-            contentStream.showText(httpsText);
-            contentStream.endText();
+        // Einleitung
+        addIntro(layout, "Die Performance-Analyse misst die Ladezeit und andere Metriken, die die Nutzererfahrung beeinflussen. " +
+                "Eine schnelle Website verbessert die Nutzerzufriedenheit und kann sich positiv auf das Ranking in Suchmaschinen auswirken.");
+
+        // Gesamtscore als großes Element
+        layout.block(100, (contentStream, top) -> drawLargeScore(contentStream, perfResult.getLighthouseScore(), "Lighthouse Score", MARGIN, top, WARNING_COLOR));
+
+        // Ladezeit als Balken (5 Sekunden als Maximum für die Visualisierung)
+        addSubheading(layout, "Ladezeit", 45);
+        int loadTime = perfResult.getLoadTime();
+        Color barColor = loadTime < 2000 ? SUCCESS_COLOR : (loadTime < 4000 ? WARNING_COLOR : ERROR_COLOR);
+        float width = layout.getContentWidth();
+        layout.block(45, (contentStream, top) ->
+                drawValueBar(contentStream, loadTime + " ms", Math.min(loadTime / 5000f, 1.0f), top, width, barColor));
+
+        // Performance-Metriken
+        String[][] metricsData = {
+                {"First Contentful Paint", perfResult.getFirstContentfulPaint()},
+                {"Largest Contentful Paint", perfResult.getLargestContentfulPaint()},
+                {"Time to Interactive", perfResult.getTimeToInteractive()},
+                {"Total Blocking Time", perfResult.getTotalBlockingTime()},
+                {"Cumulative Layout Shift", perfResult.getCumulativeLayoutShift()}
+        };
+        addTable(layout, "Performance-Metriken", metricsData, 200);
+
+        // Phasen der Ladezeit: zeigt, ob Netzwerk oder Server die Zeit verbrauchen
+        String[][] phases = ReportInsights.timingPhases(perfResult);
+        if (phases != null) {
+            addTable(layout, "Phasen der Ladezeit", phases, 200);
+        }
 
-            yPosition -= 45;
+        // Wiederholte Abrufe: Streuung der Ladezeit bei neuer und bestehender Verbindung
+        String[][] samples = ReportInsights.latencySamples(perfResult);
+        if (samples != null) {
+            addTable(layout, "Wiederholte Abrufe", samples, 200);
+        }
 
-            // Sicherheits-Header-Score
-            drawText(contentStream, "Sicherheits-Header", PDType1Font.HELVETICA_BOLD, FONT_SIZE_TEXT, MARGIN, yPosition);
-            yPosition -= FONT_SIZE_TEXT * LINE_HEIGHT + 10;
+        // Seitengewicht: eingebundene Ressourcen nach Typ und die größten einzeln
+        String[][] weight = ReportInsights.pageWeight(perfResult);
+        if (weight != null) {
+            addTable(layout, "Seitengewicht", weight, 200);
+        }
+        String[][] largest = ReportInsights.largestResources(perfResult, 5);
+        if (largest != null) {
+            addTable(layout, "Größte Ressourcen", largest, 200);
+        }
+    }
+
+    /**
+     * Fügt den Abschnitt "Sicherheitsanalyse" hinzu.
+     */
+    private void addSecurityAnalysisSection(PdfLayout layout, List<String[]> tocEntries, SecurityResult secResult) throws Exception {
+        startSection(layout, tocEntries, 4, "Sicherheitsanalyse");
 
-            float headersBarWidth = (secResult.getSecurityHeadersScore() / 100.0f) * (pageWidth - 2 * MARGIN);
+        if (secResult == null) {
+            layout.paragraph("Keine Sicherheitsdaten verfügbar", PDType1Font.HELVETICA, FONT_SIZE_TEXT, 0, 20);
+            return;
+        }
 
-            // Hintergrund
-            contentStream.setNonStrokingColor(new Color(230, 230, 230));
-            contentStream.addRect(MARGIN, yPosition - 15, pageWidth - 2 * MARGIN, 30);
-            contentStream.fill();
+        // Einleitung
+        addIntro(layout, "Die Sicherheitsanalyse prüft, ob die Website grundlegende Sicherheitsmaßnahmen implementiert hat. " +
+                "Dazu gehören HTTPS, Sicherheits-Header und Cookie-Sicherheit.");
 
-            // Bar
-            Color headersBarColor = secResult.getSecurityHeadersScore() >= 70 ? SUCCESS_COLOR :
-                    (secResult.getSecurityHeadersScore() >= 40 ? WARNING_COLOR : ERROR_COLOR);
-            contentStream.setNonStrokingColor(headersBarColor);
-            contentStream.addRect(MARGIN, yPosition - 15, headersBarWidth, 30);
+        // Gesamtscore als großes Element
+        layout.block(100, (contentStream, top) -> drawLargeScore(contentStream, secResult.getSecurityHeadersScore(), "Sicherheits-Score", MARGIN, top, ERROR_COLOR));
+
+        // HTTPS-Status
+        addSubheading(layout, "HTTPS-Status", 45);
+        boolean isHttps = secResult.isHttpsEnabled();
+        layout.block(45, (contentStream, top) -> {
+            contentStream.setNonStrokingColor(isHttps ? SUCCESS_COLOR : ERROR_COLOR);
+            contentStream.addRect(MARGIN, top - 5, 120, 30);
             contentStream.fill();
 
-            // Text
             contentStream.setNonStrokingColor(Color.WHITE);
-            String headersScoreText = secResult.getSecurityHeadersScore() + "%";
             contentStream.beginText();
             contentStream.setFont(PDType1Font.HELVETICA_BOLD, FONT_SIZE_TEXT);
-            contentStream.newLineAtOffset(MARGIN + 10, yPosition);
-            contentStream.showText(headersScoreText);
+            contentStream.newLineAtOffset(MARGIN + 10, top + 7);
+            contentStream.showText(isHttps ? "Aktiviert" : "Nicht aktiviert");
             contentStream.endText();
+        });
 
-            yPosition -= 45;
-
-            // Sicherheits-Header-Details
-            drawText(contentStream, "Implementierte Header", PDType1Font.HELVETICA_BOLD, FONT_SIZE_TEXT, MARGIN, yPosition);
-            yPosition -= FONT_SIZE_TEXT * LINE_HEIGHT + 10;
+        // Sicherheits-Header-Score
+        addSubheading(layout, "Sicherheits-Header", 45);
+        int headersScore = secResult.getSecurityHeadersScore();
+        Color headersBarColor = headersScore >= 70 ? SUCCESS_COLOR : (headersScore >= 40 ? WARNING_COLOR : ERROR_COLOR);
+        float width = layout.getContentWidth();
+        layout.block(45, (contentStream, top) ->
+                drawValueBar(contentStream, headersScore + "%", headersScore / 100.0f, top, width, headersBarColor));
 
-            try {
-                // Sicherheits-Header aus JSON parsen
-                String headersJson = secResult.getSecurityHeaders();
-                if (headersJson != null && !headersJson.isEmpty()) {
-                    // Hier würde man normalerweise einen JSON-Parser verwenden
-                    // Für dieses Beispiel nehmen wir an, dass wir manuell die wichtigsten Header extrahieren
-
-                    float[] columnWidths = { 250, pageWidth - 2 * MARGIN - 250 };
-                    String[][] headersData = {
-                            {"Strict-Transport-Security", getValueFromJson(headersJson, "Strict-Transport-Security")},
-                            {"Content-Security-Policy", getValueFromJson(headersJson, "Content-Security-Policy")},
-                            {"X-XSS-Protection", getValueFromJson(headersJson, "X-XSS-Protection")},
-                            {"X-Frame-Options", getValueFromJson(headersJson, "X-Frame-Options")},
-                            {"X-Content-Type-Options", getValueFromJson(headersJson, "X-Content-Type-Options")},
-                            {"Referrer-Policy", getValueFromJson(headersJson, "Referrer-Policy")}
-                    };
-
-                    yPosition = drawTable(contentStream, headersData, columnWidths, MARGIN, yPosition, 30);
-                } else {
-                    drawText(contentStream, "Keine Sicherheits-Header implementiert", PDType1Font.HELVETICA, FONT_SIZE_TEXT, MARGIN, yPosition);
-                    yPosition -= FONT_SIZE_TEXT * LINE_HEIGHT;
-                }
-            } catch (Exception e) {
-                drawText(contentStream, "Fehler beim Parsen der Sicherheits-Header", PDType1Font.HELVETICA, FONT_SIZE_TEXT, MARGIN, yPosition);
-                yPosition -= FONT_SIZE_TEXT * LINE_HEIGHT;
+        // Sicherheits-Header-Details
+        try {
+            // Sicherheits-Header aus JSON parsen
+            String headersJson = secResult.getSecurityHeaders();
+            if (headersJson != null && !headersJson.isEmpty()) {
+                String[][] headersData = {
+                        {"Strict-Transport-Security", ReportInsights.getValueFromJson(headersJson, "Strict-Transport-Security")},
+                        {"Content-Security-Policy", ReportInsights.getValueFromJson(headersJson, "Content-Security-Policy")},
+                        {"X-XSS-Protection", ReportInsights.getValueFromJson(headersJson, "X-XSS-Protection")},
+                        {"X-Frame-Options", ReportInsights.getValueFromJson(headersJson, "X-Frame-Options")},
+                        {"X-Content-Type-Options", ReportInsights.getValueFromJson(headersJson, "X-Content-Type-Options")},
+                        {"Referrer-Policy", ReportInsights.getValueFromJson(headersJson, "Referrer-Policy")}
+                };
+                addTable(layout, "Implementierte Header", headersData, 250);
+            } else {
+                addSubheading(layout, "Implementierte Header", FONT_SIZE_TEXT * LINE_HEIGHT);
+                layout.paragraph("Keine Sicherheits-Header implementiert", PDType1Font.HELVETICA, FONT_SIZE_TEXT, 0, 20);
             }
-
-            // Fußzeile
-            addFooter(contentStream);
+        } catch (Exception e) {
+            addSubheading(layout, "Implementierte Header", FONT_SIZE_TEXT * LINE_HEIGHT);
+            layout.paragraph("Fehler beim Parsen der Sicherheits-Header", PDType1Font.HELVETICA, FONT_SIZE_TEXT, 0, 20);
         }
     }
 
     /**
-     * Fügt eine Inhaltsanalyseseite zum Dokument hinzu.
+     * Fügt den Abschnitt "Inhaltsanalyse" hinzu.
      */
-    private void addContentAnalysisPage(PDDocument document, ContentResult contentResult) throws Exception {
-        PDPage page = document.getPage(6);
-
-        try (PDPageContentStream contentStream = new PDPageContentStream(document, page)) {
-            yPosition = pageHeight - MARGIN;
+    private void addContentAnalysisSection(PdfLayout layout, List<String[]> tocEntries, ContentResult contentResult) throws Exception {
+        startSection(layout, tocEntries, 5, "Inhaltsanalyse");
 
-            // Seitentitel
-            drawText(contentStream, "5. Inhaltsanalyse", PDType1Font.HELVETICA_BOLD, FONT_SIZE_SECTION, MARGIN, yPosition);
-            yPosition -= FONT_SIZE_SECTION * LINE_HEIGHT;
+        if (contentResult == null) {
+            layout.paragraph("Keine Inhaltsdaten verfügbar", PDType1Font.HELVETICA, FONT_SIZE_TEXT, 0, 20);
+            return;
+        }
 
-            // Trennlinie
-            drawLine(contentStream, MARGIN, yPosition, pageWidth - MARGIN, yPosition, 1f, PRIMARY_COLOR);
-            yPosition -= 30;
+        // Einleitung
+        addIntro(layout, "Die Inhaltsanalyse betrachtet den Text und die strukturellen Elemente der Website. " +
+                "Gut strukturierter und informativer Inhalt verbessert die Benutzererfahrung und kann das Ranking in Suchmaschinen positiv beeinflussen.");
+
+        // Textstatistiken
+        String[][] textData = {
+                {"Wortanzahl", String.valueOf(contentResult.getWordCount())},
+                {"Zeichenanzahl", String.valueOf(contentResult.getCharacterCount())},
+                {"Durchschnittliche Wortlänge", String.format("%.1f Zeichen", contentResult.getAverageWordLength())}
+        };
+        addTable(layout, "Textstatistiken", textData, 200);
+
+        // Strukturelemente
+        String[][] structureData = {
+                {"Absätze", String.valueOf(contentResult.getParagraphCount())},
+                {"Bilder", String.valueOf(contentResult.getImageCount())},
+                {"Videos", String.valueOf(contentResult.getVideoCount())},
+                {"Listen", String.valueOf(contentResult.getListCount())},
+                {"Tabellen", String.valueOf(contentResult.getTableCount())}
+        };
+        addTable(layout, "Strukturelemente", structureData, 200);
+
+        // Visualisierung der Strukturelemente als Balkendiagramm
+        float maxBarHeight = 120;
+        float chartHeight = maxBarHeight + 45;
+        addSubheading(layout, "Strukturelemente - Verteilung", 10 + chartHeight);
+        layout.skip(10);
+
+        int[] values = {
+                contentResult.getParagraphCount(),
+                contentResult.getImageCount(),
+                contentResult.getVideoCount(),
+                contentResult.getListCount(),
+                contentResult.getTableCount()
+        };
+        float width = layout.getContentWidth();
+        layout.block(chartHeight, (contentStream, top) -> drawStructureChart(contentStream, values, top, width, maxBarHeight));
+    }
 
-            if (contentResult == null) {
-                drawText(contentStream, "Keine Inhaltsdaten verfügbar", PDType1Font.HELVETICA, FONT_SIZE_TEXT, MARGIN, yPosition);
-                addFooter(contentStream);
-                return;
-            }
+    /**
+     * Zeichnet das Balkendiagramm der Strukturelemente.
+     */
+    private void drawStructureChart(PDPageContentStream contentStream, int[] values, float y, float width, float maxBarHeight) throws IOException {
+        // Finde den maximalen Wert für die Skalierung
+        int maxElements = 0;
+        for (int value : values) {
+            maxElements = Math.max(maxElements, value);
+        }
 
-            // Einleitung
-            String introText = "Die Inhaltsanalyse betrachtet den Text und die strukturellen Elemente der Website. " +
-                    "Gut strukturierter und informativer Inhalt verbessert die Benutzererfahrung und kann das Ranking in Suchmaschinen positiv beeinflussen.";
-            drawMultiLineText(contentStream, introText, PDType1Font.HELVETICA, FONT_SIZE_TEXT, MARGIN, yPosition, pageWidth - 2 * MARGIN);
-            yPosition -= calculateTextHeight(introText, PDType1Font.HELVETICA, FONT_SIZE_TEXT, pageWidth - 2 * MARGIN) + 20;
-
-            // Textstatistiken
-            drawText(contentStream, "Textstatistiken", PDType1Font.HELVETICA_BOLD, FONT_SIZE_TEXT, MARGIN, yPosition);
-            yPosition -= FONT_SIZE_TEXT * LINE_HEIGHT + 10;
-
-            float[] columnWidths = { 200, pageWidth - 2 * MARGIN - 200 };
-            String[][] textData = {
-                    {"Wortanzahl", String.valueOf(contentResult.getWordCount())},
-                    {"Zeichenanzahl", String.valueOf(contentResult.getCharacterCount())},
-                    {"Durchschnittliche Wortlänge", String.format("%.1f Zeichen", contentResult.getAverageWordLength())}
-            };
-
-            yPosition = drawTable(contentStream, textData, columnWidths, MARGIN, yPosition, 30);
-            yPosition -= 20;
-
-            // Strukturelemente
-            drawText(contentStream, "Strukturelemente", PDType1Font.HELVETICA_BOLD, FONT_SIZE_TEXT, MARGIN, yPosition);
-            yPosition -= FONT_SIZE_TEXT * LINE_HEIGHT + 10;
-
-            String[][] structureData = {
-                    {"Absätze", String.valueOf(contentResult.getParagraphCount())},
-                    {"Bilder", String.valueOf(contentResult.getImageCount())},
-                    {"Videos", String.valueOf(contentResult.getVideoCount())},
-                    {"Listen", String.valueOf(contentResult.getListCount())},
-                    {"Tabellen", String.valueOf(contentResult.getTableCount())}
-            };
-
-            yPosition = drawTable(contentStream, structureData, columnWidths, MARGIN, yPosition, 30);
-            yPosition -= 20;
-
-            // Visualisierung der Strukturelemente als Balkendiagramm
-            drawText(contentStream, "Strukturelemente - Verteilung", PDType1Font.HELVETICA_BOLD, FONT_SIZE_TEXT, MARGIN, yPosition);
-            yPosition -= FONT_SIZE_TEXT * LINE_HEIGHT + 20;
-
-            // Finde den maximalen Wert für die Skalierung
-            int maxElements = Math.max(
-                    contentResult.getParagraphCount(),
-                    Math.max(contentResult.getImageCount(),
-                            Math.max(contentResult.getVideoCount(),
-                                    Math.max(contentResult.getListCount(),
-                                            contentResult.getTableCount())))
-            );
-
-            // Wenn maxElements = 0 ist, setzen wir ihn auf 1, um Division durch Null zu vermeiden
-            if (maxElements == 0) maxElements = 1;
-
-            // Balkenbreite und -abstand
-            float barWidth = 70;
-            float barSpacing = 20;
-            float totalWidth = 5 * barWidth + 4 * barSpacing;
-            float startX = MARGIN + (pageWidth - 2 * MARGIN - totalWidth) / 2;
-            float maxBarHeight = 120;
-
-            // Farben für die verschiedenen Elementtypen
-            Color[] barColors = {
-                    new Color(70, 130, 180), // Absätze - Steel Blue
-                    new Color(60, 179, 113), // Bilder - Medium Sea Green
-                    new Color(255, 69, 0),   // Videos - Orange Red
-                    new Color(147, 112, 219), // Listen - Medium Purple
-                    new Color(255, 140, 0)    // Tabellen - Dark Orange
-            };
-
-            // Werte für die Balken
-            int[] values = {
-                    contentResult.getParagraphCount(),
-                    contentResult.getImageCount(),
-                    contentResult.getVideoCount(),
-                    contentResult.getListCount(),
-                    contentResult.getTableCount()
-            };
-
-            // Labels für die Balken
-            String[] labels = {"Absätze", "Bilder", "Videos", "Listen", "Tabellen"};
+        // Wenn maxElements = 0 ist, setzen wir ihn auf 1, um Division durch Null zu vermeiden
+        if (maxElements == 0) maxElements = 1;
+
+        // Balkenbreite und -abstand
+        float barWidth = 70;
+        float barSpacing = 20;
+        float totalWidth = 5 * barWidth + 4 * barSpacing;
+        float startX = MARGIN + (width - totalWidth) / 2;
+
+        // Farben für die verschiedenen Elementtypen
+        Color[] barColors = {
+                new Color(70, 130, 180), // Absätze - Steel Blue
+                new Color(60, 179, 113), // Bilder - Medium Sea Green
+                new Color(255, 69, 0),   // Videos - Orange Red
+                new Color(147, 112, 219), // Listen - Medium Purple
+                new Color(255, 140, 0)    // Tabellen - Dark Orange
+        };
+
+        // Labels für die Balken
+        String[] labels = {"Absätze", "Bilder", "Videos", "Listen", "Tabellen"};
+
+        // Balken zeichnen
+        for (int i = 0; i < 5; i++) {
+            float x = startX + i * (barWidth + barSpacing);
+            float barHeight = (values[i] / (float)maxElements) * maxBarHeight;
+            if (barHeight < 5 && values[i] > 0) barHeight = 5; // Minimale Höhe für sichtbare Balken
 
             // Balken zeichnen
-            for (int i = 0; i < 5; i++) {
-                float x = startX + i * (barWidth + barSpacing);
-                float barHeight = (values[i] / (float)maxElements) * maxBarHeight;
-                if (barHeight < 5 && values[i] > 0) barHeight = 5; // Minimale Höhe für sichtbare Balken
-
-                // Balken zeichnen
-                contentStream.setNonStrokingColor(barColors[i]);
-                contentStream.addRect(x, yPosition - barHeight, barWidth, barHeight);
-                contentStream.fill();
-
-                // Wert über dem Balken
-                contentStream.setNonStrokingColor(TEXT_COLOR);
-                String valueText = String.valueOf(values[i]);
-                float textWidth = PDType1Font.HELVETICA.getStringWidth(valueText) / 1000 * FONT_SIZE_TEXT;
-                contentStream.beginText();
-                contentStream.setFont(PDType1Font.HELVETICA, FONT_SIZE_TEXT);
-                contentStream.newLineAtOffset(x + (barWidth - textWidth) / 2, yPosition - barHeight - 15);
-                contentStream.showText(valueText);
-                contentStream.endText();
-
-                // Label unter dem Balken
-                float labelWidth = PDType1Font.HELVETICA.getStringWidth(labels[i]) / 1000 * FONT_SIZE_SMALL;
-                contentStream.beginText();
-                contentStream.setFont(PDType1Font.HELVETICA, FONT_SIZE_SMALL);
-                contentStream.newLineAtOffset(x + (barWidth - labelWidth) / 2, yPosition - maxBarHeight - 30);
-                contentStream.showText(labels[i]);
-                contentStream.endText();
-            }
+            contentStream.setNonStrokingColor(barColors[i]);
+            contentStream.addRect(x, y - barHeight, barWidth, barHeight);
+            contentStream.fill();
 
-            // Fußzeile
-            addFooter(contentStream);
+            // Wert unter dem Balkenende
+            contentStream.setNonStrokingColor(TEXT_COLOR);
+            String valueText = String.valueOf(values[i]);
+            float textWidth = assetCache.textWidth(PDType1Font.HELVETICA, valueText, FONT_SIZE_TEXT);
+            contentStream.beginText();
+            contentStream.setFont(PDType1Font.HELVETICA, FONT_SIZE_TEXT);
+            contentStream.newLineAtOffset(x + (barWidth - textWidth) / 2, y - barHeight - 15);
+            contentStream.showText(valueText);
+            contentStream.endText();
+
+            // Label unter dem Balken
+            float labelWidth = assetCache.textWidth(PDType1Font.HELVETICA, labels[i], FONT_SIZE_SMALL);
+            contentStream.beginText();
+            contentStream.setFont(PDType1Font.HELVETICA, FONT_SIZE_SMALL);
+            contentStream.newLineAtOffset(x + (barWidth - labelWidth) / 2, y - maxBarHeight - 30);
+            contentStream.showText(labels[i]);
+            contentStream.endText();
         }
     }
 
     /**
-     * Fügt eine Empfehlungsseite zum Dokument hinzu.
+     * Fügt den Abschnitt "Empfehlungen" hinzu. Lange Listen laufen auf beliebig viele Folgeseiten weiter.
      */
-    private void addRecommendationsPage(PDDocument document, AnalysisResult result) throws Exception {
-        PDPage page = document.getPage(7);
+    private void addRecommendationsSection(PdfLayout layout, List<String[]> tocEntries, AnalysisResult result) throws Exception {
+        startSection(layout, tocEntries, 6, "Empfehlungen");
 
-        try (PDPageContentStream contentStream = new PDPageContentStream(document, page)) {
-            yPosition = pageHeight - MARGIN;
-
-            // Seitentitel
-            drawText(contentStream, "6. Empfehlungen", PDType1Font.HELVETICA_BOLD, FONT_SIZE_SECTION, MARGIN, yPosition);
-            yPosition -= FONT_SIZE_SECTION * LINE_HEIGHT;
-
-            // Trennlinie
-            drawLine(contentStream, MARGIN, yPosition, pageWidth - MARGIN, yPosition, 1f, PRIMARY_COLOR);
-            yPosition -= 30;
-
-            // Einleitung
-            String introText = "Basierend auf den Ergebnissen der Analyse werden die folgenden Maßnahmen empfohlen, " +
-                    "um die Performance, SEO und Sicherheit der Website zu verbessern.";
-            drawMultiLineText(contentStream, introText, PDType1Font.HELVETICA, FONT_SIZE_TEXT, MARGIN, yPosition, pageWidth - 2 * MARGIN);
-            yPosition -= calculateTextHeight(introText, PDType1Font.HELVETICA, FONT_SIZE_TEXT, pageWidth - 2 * MARGIN) + 20;
-
-            // Empfehlungen generieren und anzeigen
-            String[] recommendations = generateRecommendations(result);
-
-            for (int i = 0; i < recommendations.length; i++) {
-                // Nummer und Empfehlung
-                contentStream.setNonStrokingColor(PRIMARY_COLOR);
-                contentStream.beginText();
-                contentStream.setFont(PDType1Font.HELVETICA_BOLD, FONT_SIZE_TEXT);
-                contentStream.newLineAtOffset(MARGIN, yPosition);
-                contentStream.showText((i + 1) + ".");
-                contentStream.endText();
-
-                // Text mit Einrückung
-                contentStream.setNonStrokingColor(TEXT_COLOR);
-                drawMultiLineText(contentStream, recommendations[i], PDType1Font.HELVETICA, FONT_SIZE_TEXT, MARGIN + 20, yPosition, pageWidth - 2 * MARGIN - 20);
-                yPosition -= calculateTextHeight(recommendations[i], PDType1Font.HELVETICA, FONT_SIZE_TEXT, pageWidth - 2 * MARGIN - 20) + 15;
-
-                // Prüfen, ob noch genug Platz auf der Seite ist
-                if (yPosition < MARGIN + 50 && i < recommendations.length - 1) {
-                    // Fußzeile hinzufügen und neue Seite erstellen
-                    addFooter(contentStream);
-                    contentStream.close();
-
-                    // Neue Seite erstellen
-                    PDPage newPage = new PDPage(PDRectangle.A4);
-                    document.addPage(newPage);
-                    pageNumber = document.getNumberOfPages();
-                    totalPages = pageNumber;
-
-                    // Neuen ContentStream für die neue Seite erstellen
-                    PDPageContentStream newContentStream = new PDPageContentStream(document, newPage);
-
-                    // Seitentitel auf der neuen Seite
-                    yPosition = pageHeight - MARGIN;
-                    drawText(newContentStream, "6. Empfehlungen (Fortsetzung)", PDType1Font.HELVETICA_BOLD, FONT_SIZE_SECTION, MARGIN, yPosition);
-                    yPosition -= FONT_SIZE_SECTION * LINE_HEIGHT;
-
-                    // Trennlinie
-                    drawLine(newContentStream, MARGIN, yPosition, pageWidth - MARGIN, yPosition, 1f, PRIMARY_COLOR);
-                    yPosition -= 30;
-
-                    // ContentStream wechseln
-                    contentStream.close();
-                    return;
-                }
-            }
+        // Einleitung
+        addIntro(layout, "Basierend auf den Ergebnissen der Analyse werden die folgenden Maßnahmen empfohlen, " +
+                "um die Performance, SEO und Sicherheit der Website zu verbessern.");
 
-            // Fußzeile
-            addFooter(contentStream);
+        // Empfehlungen generieren und anzeigen
+        String[] recommendations = ReportInsights.generateRecommendations(result);
+        for (int i = 0; i < recommendations.length; i++) {
+            layout.listItem((i + 1) + ".", PDType1Font.HELVETICA_BOLD, PRIMARY_COLOR, recommendations[i], PDType1Font.HELVETICA, FONT_SIZE_TEXT, 20, 15);
+        }
+    }
+
+    /**
+     * Ergänzt auf allen Seiten die Fußzeile. Erst jetzt steht die Gesamtseitenzahl fest.
+     */
+    private void addFooters(RenderContext ctx, PDDocument document) throws IOException {
+        // Über den Seitenbaum iterieren statt getPage(i), das den Baum bei jedem Aufruf neu durchläuft
+        ctx.pageNumber = 0;
+        for (PDPage page : document.getPages()) {
+            ctx.pageNumber++;
+            try (PDPageContentStream contentStream = new PDPageContentStream(document, page, PDPageContentStream.AppendMode.APPEND, true, true)) {
+                addFooter(ctx, contentStream);
+            }
         }
     }
 
     /**
      * Fügt eine Fußzeile zur Seite hinzu.
      */
-    private void addFooter(PDPageContentStream contentStream) throws IOException {
+    private void addFooter(RenderContext ctx, PDPageContentStream contentStream) throws IOException {
         // Trennlinie
-        drawLine(contentStream, MARGIN, MARGIN / 2 + 10, pageWidth - MARGIN, MARGIN / 2 + 10, 0.5f, TEXT_COLOR_LIGHT);
+        drawLine(contentStream, MARGIN, MARGIN / 2 + 10, ctx.pageWidth - MARGIN, MARGIN / 2 + 10, 0.5f, TEXT_COLOR_LIGHT);
 
         // Logo und Text
         contentStream.setNonStrokingColor(TEXT_COLOR_LIGHT);
@@ -857,12 +1312,12 @@ public class PdfReportGeneratorImpl implements PdfReportGenerator {
         contentStream.endText();
 
         // Rechts: Seitenzahl
-        String pageText = "Seite " + pageNumber + " von " + totalPages;
-        float textWidth = PDType1Font.HELVETICA.getStringWidth(pageText) / 1000 * FONT_SIZE_SMALL;
+        String pageText = "Seite " + ctx.pageNumber + " von " + ctx.totalPages;
+        float textWidth = assetCache.textWidth(PDType1Font.HELVETICA, pageText, FONT_SIZE_SMALL);
 
         contentStream.beginText();
         contentStream.setFont(PDType1Font.HELVETICA, FONT_SIZE_SMALL);
-        contentStream.newLineAtOffset(pageWidth - MARGIN - textWidth, MARGIN / 2);
+        contentStream.newLineAtOffset(ctx.pageWidth - MARGIN - textWidth, MARGIN / 2);
         contentStream.showText(pageText);
         contentStream.endText();
     }
@@ -887,7 +1342,7 @@ public class PdfReportGeneratorImpl implements PdfReportGenerator {
         // Score-Text
         contentStream.setNonStrokingColor(TEXT_COLOR);
         String scoreText = String.valueOf(score);
-        float scoreTextWidth = PDType1Font.HELVETICA_BOLD.getStringWidth(scoreText) / 1000 * FONT_SIZE_TITLE;
+        float scoreTextWidth = assetCache.textWidth(PDType1Font.HELVETICA_BOLD, scoreText, FONT_SIZE_TITLE);
 
         contentStream.beginText();
         contentStream.setFont(PDType1Font.HELVETICA_BOLD, FONT_SIZE_TITLE);
@@ -897,7 +1352,7 @@ public class PdfReportGeneratorImpl implements PdfReportGenerator {
 
         // Label-Text
         contentStream.setNonStrokingColor(TEXT_COLOR);
-        float labelTextWidth = PDType1Font.HELVETICA.getStringWidth(label) / 1000 * FONT_SIZE_TEXT;
+        float labelTextWidth = assetCache.textWidth(PDType1Font.HELVETICA, label, FONT_SIZE_TEXT);
 
         contentStream.beginText();
         contentStream.setFont(PDType1Font.HELVETICA, FONT_SIZE_TEXT);
@@ -907,25 +1362,19 @@ public class PdfReportGeneratorImpl implements PdfReportGenerator {
     }
 
     /**
-     * Zeichnet einen gefüllten Kreis als Ersatz für addEllipse
+     * Zeichnet einen gefüllten Kreis als Ersatz für addEllipse.
      */
     private void drawFilledCircle(PDPageContentStream contentStream, float centerX, float centerY, float radius, Color color) throws IOException {
         contentStream.setNonStrokingColor(color);
 
-        // Kreis als Pfad implementieren
-        int steps = 36;  // Anzahl der Schritte für einen glatten Kreis
-        double angleStep = Math.PI * 2 / steps;
-
-        // Zum ersten Punkt auf dem Kreis bewegen
+        // Kreis aus vier Bézierkurven (deutlich kürzer im Content-Stream als ein Polygon)
+        float k = radius * BEZIER_CIRCLE_FACTOR;
         contentStream.moveTo(centerX + radius, centerY);
-
-        // Kreis durch verbundene Linien annähern
-        for (int i = 1; i <= steps; i++) {
-            double angle = i * angleStep;
-            float x = (float) (centerX + radius * Math.cos(angle));
-            float y = (float) (centerY + radius * Math.sin(angle));
-            contentStream.lineTo(x, y);
-        }
+        contentStream.curveTo(centerX + radius, centerY + k, centerX + k, centerY + radius, centerX, centerY + radius);
+        contentStream.curveTo(centerX - k, centerY + radius, centerX - radius, centerY + k, centerX - radius, centerY);
+        contentStream.curveTo(centerX - radius, centerY - k, centerX - k, centerY - radius, centerX, centerY - radius);
+        contentStream.curveTo(centerX + k, centerY - radius, centerX + radius, centerY - k, centerX + radius, centerY);
+        contentStream.closePath();
 
         // Pfad füllen
         contentStream.fill();
@@ -976,6 +1425,94 @@ public class PdfReportGeneratorImpl implements PdfReportGenerator {
         contentStream.fill();
     }
 
+    /**
+     * Zeichnet ein Liniendiagramm mit einer oder mehreren Reihen. Die Punkte werden nach ihrem Zeitpunkt
+     * waagerecht angeordnet; fehlende Werte (NaN) unterbrechen die Linie.
+     *
+     * @param series Werte je Reihe, gleiche Länge wie {@code trend}
+     * @param maxValue Oberes Ende der Werteachse (unten ist 0)
+     * @param unit Einheit für die Achsenbeschriftung
+     */
+    private void drawTrendChart(PDPageContentStream contentStream, List<ScoreTrendPoint> trend, double[][] series,
+                                Color[] colors, String[] labels, double maxValue, String unit,
+                                float x, float top, float width, float height) throws IOException {
+        float plotLeft = x + 45;
+        float plotRight = x + width - 5;
+        float plotTop = top - 5;
+        float plotBottom = top - height + 40;
+        float plotWidth = plotRight - plotLeft;
+        float plotHeight = plotTop - plotBottom;
+
+        // Hilfslinien mit Werteachse
+        for (int i = 0; i <= 4; i++) {
+            float gridY = plotBottom + plotHeight * i / 4;
+            drawLine(contentStream, plotLeft, gridY, plotRight, gridY, 0.5f, i == 0 ? TEXT_COLOR_LIGHT : GRID_COLOR);
+            String label = Math.round(maxValue * i / 4) + unit;
+            drawSmallText(contentStream, label,
+                    plotLeft - 6 - assetCache.textWidth(PDType1Font.HELVETICA, label, FONT_SIZE_SMALL), gridY - 3);
+        }
+
+        // Waagerechte Position nach Zeitpunkt; ohne Zeitspanne gleichmäßig verteilt
+        int points = trend.size();
+        float[] xs = new float[points];
+        long first = trend.get(0).getMidpoint().toEpochSecond(ZoneOffset.UTC);
+        long span = trend.get(points - 1).getMidpoint().toEpochSecond(ZoneOffset.UTC) - first;
+        for (int i = 0; i < points; i++) {
+            float fraction = span > 0
+                    ? (trend.get(i).getMidpoint().toEpochSecond(ZoneOffset.UTC) - first) / (float) span
+                    : i / (float) Math.max(1, points - 1);
+            xs[i] = plotLeft + fraction * plotWidth;
+        }
+
+        // Datumsachse: erster und letzter Zeitpunkt
+        DateTimeFormatter dateFormat = DateTimeFormatter.ofPattern("dd.MM.yy");
+        String firstDate = trend.get(0).getPeriodStart().format(dateFormat);
+        String lastDate = trend.get(points - 1).getPeriodEnd().format(dateFormat);
+        drawSmallText(contentStream, firstDate, plotLeft, plotBottom - 14);
+        drawSmallText(contentStream, lastDate,
+                plotRight - assetCache.textWidth(PDType1Font.HELVETICA, lastDate, FONT_SIZE_SMALL), plotBottom - 14);
+
+        // Reihen als Linienzug mit Punkten
+        for (int s = 0; s < series.length; s++) {
+            double[] values = series[s];
+            contentStream.setStrokingColor(colors[s]);
+            contentStream.setLineWidth(1.5f);
+            boolean drawing = false;
+            for (int i = 0; i < points; i++) {
+                if (Double.isNaN(values[i])) {
+                    drawing = false;
+                    continue;
+                }
+                float pointY = plotBottom + (float) (Math.min(values[i], maxValue) / maxValue) * plotHeight;
+                if (drawing) {
+                    contentStream.lineTo(xs[i], pointY);
+                } else {
+                    contentStream.moveTo(xs[i], pointY);
+                    drawing = true;
+                }
+            }
+            contentStream.stroke();
+
+            for (int i = 0; i < points; i++) {
+                if (!Double.isNaN(values[i])) {
+                    float pointY = plotBottom + (float) (Math.min(values[i], maxValue) / maxValue) * plotHeight;
+                    drawFilledCircle(contentStream, xs[i], pointY, 2f, colors[s]);
+                }
+            }
+        }
+
+        // Legende
+        float legendX = plotLeft;
+        float legendY = top - height + 6;
+        for (int s = 0; s < series.length; s++) {
+            contentStream.setNonStrokingColor(colors[s]);
+            contentStream.addRect(legendX, legendY, 8, 8);
+            contentStream.fill();
+            drawSmallText(contentStream, labels[s], legendX + 12, legendY + 1);
+            legendX += 12 + assetCache.textWidth(PDType1Font.HELVETICA, labels[s], FONT_SIZE_SMALL) + 20;
+        }
+    }
+
     /**
      * Zeichnet einen Score-Balken.
      */
@@ -1003,11 +1540,36 @@ public class PdfReportGeneratorImpl implements PdfReportGenerator {
         String scoreText = score + "%";
         contentStream.beginText();
         contentStream.setFont(PDType1Font.HELVETICA_BOLD, FONT_SIZE_TEXT);
-        contentStream.newLineAtOffset(x + width - 10 - PDType1Font.HELVETICA_BOLD.getStringWidth(scoreText) / 1000 * FONT_SIZE_TEXT, y - height / 2 + FONT_SIZE_TEXT / 3);
+        contentStream.newLineAtOffset(x + width - 10 - assetCache.textWidth(PDType1Font.HELVETICA_BOLD, scoreText, FONT_SIZE_TEXT), y - height / 2 + FONT_SIZE_TEXT / 3);
         contentStream.showText(scoreText);
         contentStream.endText();
     }
 
+    /**
+     * Zeichnet einen waagerechten Wertebalken mit Beschriftung (z. B. Ladezeit).
+     *
+     * @param fraction Anteil des gefüllten Balkens zwischen 0 und 1
+     */
+    private void drawValueBar(PDPageContentStream contentStream, String text, float fraction, float y, float width, Color color) throws IOException {
+        // Hintergrund
+        contentStream.setNonStrokingColor(new Color(230, 230, 230));
+        contentStream.addRect(MARGIN, y - 15, width, 30);
+        contentStream.fill();
+
+        // Bar
+        contentStream.setNonStrokingColor(color);
+        contentStream.addRect(MARGIN, y - 15, fraction * width, 30);
+        contentStream.fill();
+
+        // Text
+        contentStream.setNonStrokingColor(Color.WHITE);
+        contentStream.beginText();
+        contentStream.setFont(PDType1Font.HELVETICA_BOLD, FONT_SIZE_TEXT);
+        contentStream.newLineAtOffset(MARGIN + 10, y);
+        contentStream.showText(text);
+        contentStream.endText();
+    }
+
     /**
      * Zeichnet einen großen Score.
      */
@@ -1032,7 +1594,7 @@ public class PdfReportGeneratorImpl implements PdfReportGenerator {
         // Score-Text
         contentStream.setNonStrokingColor(TEXT_COLOR);
         String scoreText = String.valueOf(score);
-        float scoreTextWidth = PDType1Font.HELVETICA_BOLD.getStringWidth(scoreText) / 1000 * FONT_SIZE_TITLE;
+        float scoreTextWidth = assetCache.textWidth(PDType1Font.HELVETICA_BOLD, scoreText, FONT_SIZE_TITLE);
 
         contentStream.beginText();
         contentStream.setFont(PDType1Font.HELVETICA_BOLD, FONT_SIZE_TITLE);
@@ -1049,7 +1611,7 @@ public class PdfReportGeneratorImpl implements PdfReportGenerator {
         contentStream.endText();
 
         // Bewertung
-        String ratingText = getRatingText(score);
+        String ratingText = ReportInsights.getRatingText(score);
         contentStream.setNonStrokingColor(color);
         contentStream.beginText();
         contentStream.setFont(PDType1Font.HELVETICA, FONT_SIZE_TEXT);
@@ -1058,54 +1620,6 @@ public class PdfReportGeneratorImpl implements PdfReportGenerator {
         contentStream.endText();
     }
 
-    /**
-     * Zeichnet eine Tabelle.
-     * @return Die neue Y-Position nach der Tabelle
-     */
-    private float drawTable(PDPageContentStream contentStream, String[][] data, float[] columnWidths, float x, float y, float rowHeight) throws IOException {
-        float startY = y;
-
-        for (int i = 0; i < data.length; i++) {
-            // Abwechselnde Zeilenfarben
-            if (i % 2 == 0) {
-                contentStream.setNonStrokingColor(new Color(245, 245, 245));
-                contentStream.addRect(x, startY - rowHeight, columnWidths[0] + columnWidths[1], rowHeight);
-                contentStream.fill();
-            }
-
-            // Erste Spalte (Label)
-            contentStream.setNonStrokingColor(TEXT_COLOR);
-            contentStream.beginText();
-            contentStream.setFont(PDType1Font.HELVETICA_BOLD, FONT_SIZE_TEXT);
-            contentStream.newLineAtOffset(x + 5, startY - rowHeight + rowHeight / 2 + FONT_SIZE_TEXT / 3);
-            contentStream.showText(data[i][0]);
-            contentStream.endText();
-
-            // Zweite Spalte (Wert)
-            contentStream.beginText();
-            contentStream.setFont(PDType1Font.HELVETICA, FONT_SIZE_TEXT);
-            contentStream.newLineAtOffset(x + columnWidths[0] + 5, startY - rowHeight + rowHeight / 2 + FONT_SIZE_TEXT / 3);
-
-            // Wenn der Wert zu lang ist, kürzen
-            String value = data[i][1];
-            float maxWidth = columnWidths[1] - 10;
-            float textWidth = PDType1Font.HELVETICA.getStringWidth(value) / 1000 * FONT_SIZE_TEXT;
-
-            if (textWidth > maxWidth) {
-                // Text kürzen
-                int maxChars = (int)(value.length() * maxWidth / textWidth);
-                value = value.substring(0, maxChars - 3) + "...";
-            }
-
-            contentStream.showText(value);
-            contentStream.endText();
-
-            startY -= rowHeight;
-        }
-
-        return startY;
-    }
-
     /**
      * Zeichnet einen Text.
      */
@@ -1119,78 +1633,30 @@ public class PdfReportGeneratorImpl implements PdfReportGenerator {
     }
 
     /**
-     * Zeichnet einen zentrierten Text.
+     * Zeichnet einen kleinen, grauen Text (Fußzeilen und Achsenbeschriftungen).
      */
-    private void drawCenteredText(PDPageContentStream contentStream, String text, PDType1Font font, float fontSize, float y) throws IOException {
-        float textWidth = font.getStringWidth(text) / 1000 * fontSize;
-        float centerX = pageWidth / 2 - textWidth / 2;
-
-        contentStream.setNonStrokingColor(TEXT_COLOR);
+    private void drawSmallText(PDPageContentStream contentStream, String text, float x, float y) throws IOException {
+        contentStream.setNonStrokingColor(TEXT_COLOR_LIGHT);
         contentStream.beginText();
-        contentStream.setFont(font, fontSize);
-        contentStream.newLineAtOffset(centerX, y);
+        contentStream.setFont(PDType1Font.HELVETICA, FONT_SIZE_SMALL);
+        contentStream.newLineAtOffset(x, y);
         contentStream.showText(text);
         contentStream.endText();
     }
 
     /**
-     * Zeichnet einen mehrzeiligen Text.
-     */
-    private void drawMultiLineText(PDPageContentStream contentStream, String text, PDType1Font font, float fontSize, float x, float y, float width) throws IOException {
-        contentStream.setNonStrokingColor(TEXT_COLOR);
-
-        List<String> lines = wrapText(text, font, fontSize, width);
-        float lineHeight = fontSize * LINE_HEIGHT;
-        float currentY = y;
-
-        for (String line : lines) {
-            contentStream.beginText();
-            contentStream.setFont(font, fontSize);
-            contentStream.newLineAtOffset(x, currentY);
-            contentStream.showText(line);
-            contentStream.endText();
-
-            currentY -= lineHeight;
-        }
-    }
-
-    /**
-     * Berechnet die Höhe eines mehrzeiligen Texts.
-     */
-    private float calculateTextHeight(String text, PDType1Font font, float fontSize, float width) throws IOException {
-        List<String> lines = wrapText(text, font, fontSize, width);
-        return lines.size() * fontSize * LINE_HEIGHT;
-    }
-
-    /**
-     * Teilt einen Text in Zeilen auf.
+     * Zeichnet einen zentrierten Text.
      */
-    private List<String> wrapText(String text, PDType1Font font, float fontSize, float width) throws IOException {
-        List<String> lines = new ArrayList<>();
-        String[] words = text.split(" ");
-        StringBuilder currentLine = new StringBuilder();
-
-        for (String word : words) {
-            if (currentLine.length() > 0) {
-                String lineWithWord = currentLine + " " + word;
-                float lineWidth = font.getStringWidth(lineWithWord) / 1000 * fontSize;
-
-                if (lineWidth > width) {
-                    lines.add(currentLine.toString());
-                    currentLine = new StringBuilder(word);
-                } else {
-                    currentLine.append(" ").append(word);
-                }
-            } else {
-                currentLine.append(word);
-            }
-        }
-
-        if (currentLine.length() > 0) {
-            lines.add(currentLine.toString());
-        }
+    private void drawCenteredText(RenderContext ctx, PDPageContentStream contentStream, String text, PDType1Font font, float fontSize, float y) throws IOException {
+        float textWidth = assetCache.textWidth(font, text, fontSize);
+        float centerX = ctx.pageWidth / 2 - textWidth / 2;
 
-        return lines;
+        contentStream.setNonStrokingColor(TEXT_COLOR);
+        contentStream.beginText();
+        contentStream.setFont(font, fontSize);
+        contentStream.newLineAtOffset(centerX, y);
+        contentStream.showText(text);
+        contentStream.endText();
     }
 
     /**
@@ -1211,229 +1677,11 @@ public class PdfReportGeneratorImpl implements PdfReportGenerator {
         contentStream.setStrokingColor(color);
         contentStream.setLineWidth(lineWidth);
 
-        // Berechne Länge der Linie
-        float dx = x2 - x1;
-        float dy = y2 - y1;
-        float lineLength = (float) Math.sqrt(dx * dx + dy * dy);
-
-        // Normalisiere Richtungsvektor
-        float nx = dx / lineLength;
-        float ny = dy / lineLength;
-
-        // Zeichne gepunktete Linie als kurze Segmente
-        float dotLength = 3f;
-        float gapLength = 3f;
-        float currentLength = 0f;
-
-        while (currentLength < lineLength) {
-            // Zeichne einen Punkt
-            float startX = x1 + nx * currentLength;
-            float startY = y1 + ny * currentLength;
-            float endX = x1 + nx * Math.min(currentLength + dotLength, lineLength);
-            float endY = y1 + ny * Math.min(currentLength + dotLength, lineLength);
-
-            contentStream.moveTo(startX, startY);
-            contentStream.lineTo(endX, endY);
-            contentStream.stroke();
-
-            // Zum nächsten Punkt springen
-            currentLength += dotLength + gapLength;
-        }
-    }
-    /**
-     * Gibt Erkenntnisse basierend auf den Analyseergebnissen zurück.
-     */
-    private String[] generateInsights(AnalysisResult result) {
-        List<String> insights = new ArrayList<>();
-
-        SeoResult seo = result.getSeoResult();
-        PerformanceResult perf = result.getPerformanceResult();
-        SecurityResult sec = result.getSecurityResult();
-
-        if (seo != null) {
-            if (seo.getTitleLength() < 30 || seo.getTitleLength() > 60) {
-                insights.add("Der Seitentitel hat nicht die optimale Länge (30-60 Zeichen).");
-            }
-
-            if (seo.getH1Count() != 1) {
-                insights.add("Die Seite hat " + seo.getH1Count() + " H1-Elemente (optimal: genau 1).");
-            }
-
-            if (seo.getImagesWithoutAlt() > 0) {
-                insights.add(seo.getImagesWithoutAlt() + " Bilder haben keinen Alt-Text, was für Suchmaschinen und Barrierefreiheit problematisch ist.");
-            }
-        }
-
-        if (perf != null) {
-            if (perf.getLighthouseScore() < 50) {
-                insights.add("Die Website hat erhebliche Performance-Probleme, was die Nutzererfahrung und das Suchmaschinen-Ranking negativ beeinflusst.");
-            } else if (perf.getLighthouseScore() < 80) {
-                insights.add("Die Website-Performance liegt im mittleren Bereich und könnte durch Optimierungen verbessert werden.");
-            }
-
-            if (perf.getLoadTime() > 3000) {
-                insights.add("Die Ladezeit von " + perf.getLoadTime() + "ms überschreitet die empfohlene Grenze von 3 Sekunden.");
-            }
-        }
-
-        if (sec != null) {
-            if (!sec.isHttpsEnabled()) {
-                insights.add("Die Website verwendet kein HTTPS, was ein erhebliches Sicherheitsrisiko darstellt und von Suchmaschinen negativ bewertet wird.");
-            }
-
-            if (sec.getSecurityHeadersScore() < 50) {
-                insights.add("Wichtige Sicherheits-Header fehlen, was die Website anfällig für verschiedene Angriffe macht.");
-            }
-        }
-
-        // Standard-Erkenntnis, wenn keine anderen vorhanden sind
-        if (insights.isEmpty()) {
-            insights.add("Die Website ist gut optimiert. Es wurden keine kritischen Probleme gefunden, die sofortige Aufmerksamkeit erfordern.");
-        }
-
-        return insights.toArray(new String[0]);
-    }
-
-    /**
-     * Gibt Empfehlungen basierend auf den Analyseergebnissen zurück.
-     */
-    private String[] generateRecommendations(AnalysisResult result) {
-        List<String> recommendations = new ArrayList<>();
-
-        SeoResult seo = result.getSeoResult();
-        PerformanceResult perf = result.getPerformanceResult();
-        SecurityResult sec = result.getSecurityResult();
-        ContentResult content = result.getContentResult();
-
-        // SEO-Empfehlungen
-        if (seo != null) {
-            if (seo.getTitleLength() < 30 || seo.getTitleLength() > 60) {
-                recommendations.add("Optimieren Sie den Seitentitel auf 30-60 Zeichen. Ein präziser Titel verbessert das Ranking in Suchmaschinen und erhöht die Klickrate in den Suchergebnissen.");
-            }
-
-            if (seo.getDescriptionLength() < 50 || seo.getDescriptionLength() > 160) {
-                recommendations.add("Passen Sie die Meta-Beschreibung auf 50-160 Zeichen an. Die Beschreibung sollte einen klaren Call-to-Action enthalten und den Mehrwert der Seite kommunizieren.");
-            }
-
-            if (seo.getH1Count() != 1) {
-                recommendations.add("Verwenden Sie genau eine H1-Überschrift pro Seite. Die H1-Überschrift sollte das Hauptthema der Seite klar kommunizieren und das Hauptkeyword enthalten.");
-            }
-
-            if (seo.getImagesWithoutAlt() > 0) {
-                recommendations.add("Fügen Sie Alt-Texte zu allen " + seo.getImagesWithoutAlt() + " Bildern ohne Alt-Text hinzu. Beschreibende Alt-Texte verbessern die Barrierefreiheit und helfen Suchmaschinen, den Inhalt zu verstehen.");
-            }
-
-            if (seo.getExternalLinks() < 1) {
-                recommendations.add("Fügen Sie externe Links zu relevanten, autoritativen Quellen hinzu. Externe Links zu vertrauenswürdigen Websites können das Vertrauen von Suchmaschinen in Ihre Inhalte stärken.");
-            }
-        }
-
-        // Performance-Empfehlungen
-        if (perf != null) {
-            if (perf.getLighthouseScore() < 70) {
-                recommendations.add("Verbessern Sie die Website-Performance durch Optimierung von Bildern (Komprimierung, richtige Größe), Minimierung von CSS und JavaScript, und Nutzung von Browser-Caching.");
-            }
-
-            if (perf.getLoadTime() > 3000) {
-                recommendations.add("Reduzieren Sie die Ladezeit der Seite (aktuell: " + perf.getLoadTime() + "ms) durch Entfernen unnötiger Ressourcen, Optimierung von Bildern und Verbesserung der Server-Antwortzeiten.");
-            }
-
-            if (perf.getLargestContentfulPaint() != null && perf.getLargestContentfulPaint().compareTo("2.5s") > 0) {
-                recommendations.add("Optimieren Sie das Largest Contentful Paint (aktuell: " + perf.getLargestContentfulPaint() + "). Laden Sie wichtige Inhalte priorisiert und optimieren Sie große Ressourcen wie Hero-Bilder.");
-            }
-        }
-
-        // Sicherheits-Empfehlungen
-        if (sec != null) {
-            if (!sec.isHttpsEnabled()) {
-                recommendations.add("Implementieren Sie HTTPS für Ihre Website. HTTPS verschlüsselt die Datenübertragung, schützt sensible Daten und ist ein positiver Ranking-Faktor für Suchmaschinen.");
-            }
-
-            if (sec.getSecurityHeadersScore() < 70) {
-                recommendations.add("Implementieren Sie wichtige Sicherheits-Header wie Content-Security-Policy, X-XSS-Protection und Strict-Transport-Security, um die Website gegen häufige Angriffe zu schützen.");
-            }
-
-            // Überprüfen, ob bestimmte Header fehlen
-            try {
-                String headersJson = sec.getSecurityHeaders();
-                if (headersJson != null && !headersJson.isEmpty()) {
-                    if (!headersJson.contains("Content-Security-Policy") || getValueFromJson(headersJson, "Content-Security-Policy").isEmpty()) {
-                        recommendations.add("Implementieren Sie eine Content-Security-Policy (CSP), um XSS-Angriffe zu verhindern und die Ausführung nicht autorisierter Skripte zu blockieren.");
-                    }
-                }
-            } catch (Exception e) {
-                // Fehler beim Parsen der Header ignorieren
-            }
-        }
-
-        // Inhalts-Empfehlungen
-        if (content != null) {
-            if (content.getWordCount() < 300) {
-                recommendations.add("Erweitern Sie den Textinhalt auf mindestens 300-500 Wörter. Ausführlichere Inhalte werden von Suchmaschinen besser bewertet und bieten mehr Mehrwert für die Nutzer.");
-            }
-
-            if (content.getImageCount() < 1) {
-                recommendations.add("Fügen Sie relevante Bilder oder Grafiken hinzu, um den Text aufzulockern und das Nutzererlebnis zu verbessern.");
-            }
-
-            if (content.getListCount() < 1 && content.getWordCount() > 300) {
-                recommendations.add("Strukturieren Sie längere Textabschnitte mit Listen oder Aufzählungen, um die Lesbarkeit zu verbessern und wichtige Punkte hervorzuheben.");
-            }
-        }
-
-        // Wenn keine Empfehlungen generiert wurden, Standard-Empfehlung hinzufügen
-        if (recommendations.isEmpty()) {
-            recommendations.add("Ihre Website ist bereits gut optimiert. Halten Sie die Inhalte aktuell und überwachen Sie regelmäßig die Performance und Sicherheit.");
-        }
-
-        return recommendations.toArray(new String[0]);
-    }
-
-    /**
-     * Extrahiert einen Wert aus einem JSON-String.
-     * Einfache Implementierung ohne JSON-Parser.
-     */
-    private String getValueFromJson(String json, String key) {
-        try {
-            key = "\"" + key + "\":\"";
-            int startIndex = json.indexOf(key);
-            if (startIndex == -1) return "";
-
-            startIndex += key.length();
-            int endIndex = json.indexOf("\"", startIndex);
-            if (endIndex == -1) return "";
-
-            return json.substring(startIndex, endIndex);
-        } catch (Exception e) {
-            return "";
-        }
-    }
-
-    /**
-     * Gibt einen Text basierend auf der Optimalität eines Wertes zurück.
-     */
-    private String getOptimalityText(int value, int minOptimal, int maxOptimal) {
-        if (value >= minOptimal && value <= maxOptimal) {
-            return "(optimal)";
-        } else if (value < minOptimal) {
-            return "(zu kurz)";
-        } else {
-            return "(zu lang)";
-        }
-    }
-
-    /**
-     * Gibt eine Bewertung basierend auf dem Score zurück.
-     */
-    private String getRatingText(int score) {
-        if (score >= 90) {
-            return "Hervorragend";
-        } else if (score >= 70) {
-            return "Gut";
-        } else if (score >= 50) {
-            return "Verbesserungswürdig";
-        } else {
-            return "Kritisch";
-        }
+        // Punkte über ein Strichmuster statt einzelner Segmente (3 pt Strich, 3 pt Lücke)
+        contentStream.setLineDashPattern(new float[] { 3f, 3f }, 0);
+        contentStream.moveTo(x1, y1);
+        contentStream.lineTo(x2, y2);
+        contentStream.stroke();
+        contentStream.setLineDashPattern(new float[0], 0);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,28 @@
+package com.saraci.websiteanalyzer.service.report;
+
+import com.saraci.websiteanalyzer.model.AnalysisResult;
+
+/**
+ * Liefert PDF-Berichte bei Bedarf. Erstellte Berichte werden im {@link ReportStore} abgelegt.
+ */
+public interface ReportCache {
+
+    /**
+     * Gibt den Pfad zum PDF-Bericht eines Analyseergebnisses zurück. Existiert noch kein Bericht
+     * (oder wurde er beim Aufräumen entfernt), wird er jetzt erstellt. Gleichzeitige Anfragen für
+     * dieselbe Analyse warten auf dieselbe Erstellung.
+     *
+     * @param result Das Analyseergebnis (mit ID)
+     * @return Der Pfad zur PDF-Datei
+     * @throws Exception Wenn bei der Berichtserstellung ein Fehler auftritt
+     */
+    String getReport(AnalysisResult result) throws Exception;
+
+    /**
+     * Gibt den Pfad zu einem bereits vorhandenen Bericht zurück, ohne ihn zu erstellen.
+     *
+     * @param result Das Analyseergebnis
+     * @return Der Pfad zur PDF-Datei oder null, wenn noch kein Bericht vorhanden ist
+     */
+    String findReport(AnalysisResult result);
+}
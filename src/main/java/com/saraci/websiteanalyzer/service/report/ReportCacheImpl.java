@@ -0,0 +1,120 @@
+package com.saraci.websiteanalyzer.service.report;
+
+import com.saraci.websiteanalyzer.model.AnalysisResult;
+import com.saraci.websiteanalyzer.repository.AnalysisResultRepository;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+
+/**
+ * Erstellt PDF-Berichte erst beim ersten Zugriff und legt sie im {@link ReportStore} ab.
+ *
+ * In der Datenbank wird nur der Schlüssel des Berichts gespeichert. Wurde ein Bericht beim
+ * Aufräumen des Speichers entfernt, wird er beim nächsten Zugriff einfach neu erstellt.
+ */
+public class ReportCacheImpl implements ReportCache {
+    private static final Logger logger = Logger.getLogger(ReportCacheImpl.class.getName());
+
+    private final PdfReportGenerator reportGenerator;
+    private final AnalysisResultRepository analysisResultRepository;
+    private final ReportStore reportStore;
+    private final ReportThumbnails thumbnails;
+
+    // Laufende Erstellungen pro Analyse-ID (Wert: Schlüssel im Berichtsspeicher)
+    private final Map<Long, CompletableFuture<String>> pending = new ConcurrentHashMap<>();
+
+    /**
+     * Konstruktor mit Dependency Injection.
+     *
+     * @param reportGenerator Der Generator für die PDF-Berichte
+     * @param analysisResultRepository Repository zum Speichern des Berichtsschlüssels
+     * @param reportStore Der Speicher für die erstellten Berichte
+     * @param thumbnails Erstellt nach jedem neuen Bericht dessen Vorschaubild im Hintergrund
+     */
+    public ReportCacheImpl(PdfReportGenerator reportGenerator,
+                           AnalysisResultRepository analysisResultRepository,
+                           ReportStore reportStore,
+                           ReportThumbnails thumbnails) {
+        this.reportGenerator = reportGenerator;
+        this.analysisResultRepository = analysisResultRepository;
+        this.reportStore = reportStore;
+        this.thumbnails = thumbnails;
+    }
+
+    @Override
+    public String getReport(AnalysisResult result) throws Exception {
+        // Bereits vorhandener Bericht
+        String existingPath = findReport(result);
+        if (existingPath != null) {
+            return existingPath;
+        }
+
+        CompletableFuture<String> future = new CompletableFuture<>();
+        CompletableFuture<String> running = pending.putIfAbsent(result.getId(), future);
+        if (running != null) {
+            future = running;
+        } else {
+            // Nicht über computeIfAbsent: die Erstellung kann abgeschlossen sein, bevor die Map aktualisiert ist
+            generate(result, future);
+        }
+
+        String key;
+        try {
+            key = future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            throw cause instanceof Exception ? (Exception) cause : new Exception(cause);
+        }
+
+        result.setPdfReportPath(key);
+        Path file = reportStore.resolve(key);
+        if (file == null) {
+            throw new Exception("Bericht für Analyse-ID " + result.getId() + " wurde nicht gespeichert");
+        }
+        return file.toString();
+    }
+
+    /**
+     * Erstellt den Bericht im Render-Pool, legt ihn im Berichtsspeicher ab und schließt das Future ab.
+     */
+    private void generate(AnalysisResult result, CompletableFuture<String> future) {
+        Long id = result.getId();
+        logger.info("Erstelle PDF-Bericht bei Bedarf für Analyse-ID " + id);
+        try {
+            reportGenerator.generateReportAsync(result)
+                    .thenApply(path -> {
+                        try {
+                            String key = reportStore.put(Paths.get(path));
+                            analysisResultRepository.updatePdfReportPath(id, key);
+                            thumbnails.generateAsync(key);
+                            return key;
+                        } catch (Exception e) {
+                            throw new CompletionException(e);
+                        }
+                    })
+                    .whenComplete((key, error) -> {
+                        pending.remove(id, future);
+                        if (error != null) {
+                            future.completeExceptionally(error instanceof CompletionException && error.getCause() != null
+                                    ? error.getCause() : error);
+                        } else {
+                            future.complete(key);
+                        }
+                    });
+        } catch (Exception e) {
+            pending.remove(id, future);
+            future.completeExceptionally(e);
+        }
+    }
+
+    @Override
+    public String findReport(AnalysisResult result) {
+        Path file = reportStore.resolve(result.getPdfReportPath());
+        return file != null ? file.toString() : null;
+    }
+}
@@ -0,0 +1,403 @@
+package com.saraci.websiteanalyzer.service.report;
+
+import com.saraci.websiteanalyzer.model.*;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Bewertungen, Erkenntnisse und Empfehlungen zu einem Analyseergebnis.
+ *
+ * Wird von allen Berichtsformaten (PDF und HTML) verwendet, damit die Berichte dieselben
+ * Aussagen enthalten.
+ */
+final class ReportInsights {
+
+    // Richtwerte für die Phasen der Ladezeit in Millisekunden
+    static final int SLOW_SERVER_MS = 800;
+    static final int SLOW_NETWORK_MS = 500;
+
+    // Richtwerte für die eingebundenen Ressourcen in Bytes
+    static final long HEAVY_PAGE_BYTES = 3 * 1024 * 1024;
+    static final long RENDER_BLOCKING_LIMIT_BYTES = 150 * 1024;
+
+    // Ab diesem Verhältnis von p95 zu p50 der kalten Abrufe gilt die Ladezeit als stark schwankend
+    static final double HIGH_JITTER_RATIO = 2.0;
+
+    private static final Pattern DURATION = Pattern.compile("(\\d+(?:[.,]\\d+)?)\\s*(ms|s)");
+
+    private ReportInsights() {
+    }
+
+    /**
+     * SEO-Score eines Ergebnisses (0, wenn keine SEO-Daten vorliegen).
+     */
+    static int seoScore(AnalysisResult result) {
+        return result.getSeoResult() != null ? result.getSeoResult().getScore() : 0;
+    }
+
+    /**
+     * Lighthouse-Score eines Ergebnisses (0, wenn keine Performance-Daten vorliegen).
+     */
+    static int performanceScore(AnalysisResult result) {
+        return result.getPerformanceResult() != null ? result.getPerformanceResult().getLighthouseScore() : 0;
+    }
+
+    /**
+     * Sicherheits-Score eines Ergebnisses (0, wenn keine Sicherheitsdaten vorliegen).
+     */
+    static int securityScore(AnalysisResult result) {
+        return result.getSecurityResult() != null ? result.getSecurityResult().getSecurityHeadersScore() : 0;
+    }
+
+    /**
+     * Gibt Erkenntnisse basierend auf den Analyseergebnissen zurück.
+     */
+    static String[] generateInsights(AnalysisResult result) {
+        List<String> insights = new ArrayList<>();
+
+        SeoResult seo = result.getSeoResult();
+        PerformanceResult perf = result.getPerformanceResult();
+        SecurityResult sec = result.getSecurityResult();
+
+        if (seo != null) {
+            if (seo.getTitleLength() < 30 || seo.getTitleLength() > 60) {
+                insights.add("Der Seitentitel hat nicht die optimale Länge (30-60 Zeichen).");
+            }
+
+            if (seo.getH1Count() != 1) {
+                insights.add("Die Seite hat " + seo.getH1Count() + " H1-Elemente (optimal: genau 1).");
+            }
+
+            if (seo.getImagesWithoutAlt() > 0) {
+                insights.add(seo.getImagesWithoutAlt() + " Bilder haben keinen Alt-Text, was für Suchmaschinen und Barrierefreiheit problematisch ist.");
+            }
+        }
+
+        if (perf != null) {
+            if (perf.getLighthouseScore() < 50) {
+                insights.add("Die Website hat erhebliche Performance-Probleme, was die Nutzererfahrung und das Suchmaschinen-Ranking negativ beeinflusst.");
+            } else if (perf.getLighthouseScore() < 80) {
+                insights.add("Die Website-Performance liegt im mittleren Bereich und könnte durch Optimierungen verbessert werden.");
+            }
+
+            if (perf.getLoadTime() > 3000) {
+                insights.add("Die Ladezeit von " + perf.getLoadTime() + "ms überschreitet die empfohlene Grenze von 3 Sekunden.");
+            }
+
+            if (perf.hasTimingPhases() && perf.getTimeToFirstByte() > SLOW_SERVER_MS) {
+                insights.add("Der Server benötigt " + perf.getTimeToFirstByte() + "ms bis zum ersten Byte der Antwort; die Verzögerung entsteht auf dem Server, nicht im Netzwerk.");
+            }
+            if (perf.hasTimingPhases() && perf.getNetworkTime() > SLOW_NETWORK_MS) {
+                insights.add("Der Verbindungsaufbau (DNS, TCP und TLS) dauert " + perf.getNetworkTime() + "ms; die Verzögerung entsteht im Netzwerk zwischen Besucher und Server.");
+            }
+
+            LatencySummary cold = perf.getColdLatency();
+            if (cold != null && cold.getSamples() > 1 && cold.getP95() > HIGH_JITTER_RATIO * cold.getP50()) {
+                insights.add("Die Ladezeit schwankt stark: Von " + cold.getSamples() + " Abrufen dauerte die Hälfte höchstens " + cold.getP50() + "ms, die langsamsten dauerten bis zu " + cold.getMax() + "ms. Angegeben ist der Median.");
+            }
+
+            if (perf.hasResources() && perf.getPageWeight() > HEAVY_PAGE_BYTES) {
+                insights.add("Die Seite überträgt mit " + perf.getRequestCount() + " Anfragen insgesamt " + formatBytes(perf.getPageWeight()) + ", davon " + formatBytes(perf.getTransferSizeByType(PageResource.TYPE_IMAGE)) + " Bilder und " + formatBytes(perf.getTransferSizeByType(PageResource.TYPE_SCRIPT)) + " JavaScript.");
+            }
+            if (perf.hasResources() && perf.getRenderBlockingBytes() > RENDER_BLOCKING_LIMIT_BYTES) {
+                insights.add(formatBytes(perf.getRenderBlockingBytes()) + " CSS und JavaScript müssen geladen sein, bevor der Browser die Seite erstmals darstellen kann.");
+            }
+        }
+
+        if (sec != null) {
+            if (!sec.isHttpsEnabled()) {
+                insights.add("Die Website verwendet kein HTTPS, was ein erhebliches Sicherheitsrisiko darstellt und von Suchmaschinen negativ bewertet wird.");
+            }
+
+            if (sec.getSecurityHeadersScore() < 50) {
+                insights.add("Wichtige Sicherheits-Header fehlen, was die Website anfällig für verschiedene Angriffe macht.");
+            }
+        }
+
+        // Standard-Erkenntnis, wenn keine anderen vorhanden sind
+        if (insights.isEmpty()) {
+            insights.add("Die Website ist gut optimiert. Es wurden keine kritischen Probleme gefunden, die sofortige Aufmerksamkeit erfordern.");
+        }
+
+        return insights.toArray(new String[0]);
+    }
+
+    /**
+     * Gibt Empfehlungen basierend auf den Analyseergebnissen zurück.
+     */
+    static String[] generateRecommendations(AnalysisResult result) {
+        List<String> recommendations = new ArrayList<>();
+
+        SeoResult seo = result.getSeoResult();
+        PerformanceResult perf = result.getPerformanceResult();
+        SecurityResult sec = result.getSecurityResult();
+        ContentResult content = result.getContentResult();
+
+        // SEO-Empfehlungen
+        if (seo != null) {
+            if (seo.getTitleLength() < 30 || seo.getTitleLength() > 60) {
+                recommendations.add("Optimieren Sie den Seitentitel auf 30-60 Zeichen. Ein präziser Titel verbessert das Ranking in Suchmaschinen und erhöht die Klickrate in den Suchergebnissen.");
+            }
+
+            if (seo.getDescriptionLength() < 50 || seo.getDescriptionLength() > 160) {
+                recommendations.add("Passen Sie die Meta-Beschreibung auf 50-160 Zeichen an. Die Beschreibung sollte einen klaren Call-to-Action enthalten und den Mehrwert der Seite kommunizieren.");
+            }
+
+            if (seo.getH1Count() != 1) {
+                recommendations.add("Verwenden Sie genau eine H1-Überschrift pro Seite. Die H1-Überschrift sollte das Hauptthema der Seite klar kommunizieren und das Hauptkeyword enthalten.");
+            }
+
+            if (seo.getImagesWithoutAlt() > 0) {
+                recommendations.add("Fügen Sie Alt-Texte zu allen " + seo.getImagesWithoutAlt() + " Bildern ohne Alt-Text hinzu. Beschreibende Alt-Texte verbessern die Barrierefreiheit und helfen Suchmaschinen, den Inhalt zu verstehen.");
+            }
+
+            if (seo.getExternalLinks() < 1) {
+                recommendations.add("Fügen Sie externe Links zu relevanten, autoritativen Quellen hinzu. Externe Links zu vertrauenswürdigen Websites können das Vertrauen von Suchmaschinen in Ihre Inhalte stärken.");
+            }
+        }
+
+        // Performance-Empfehlungen
+        if (perf != null) {
+            if (perf.getLighthouseScore() < 70) {
+                recommendations.add("Verbessern Sie die Website-Performance durch Optimierung von Bildern (Komprimierung, richtige Größe), Minimierung von CSS und JavaScript, und Nutzung von Browser-Caching.");
+            }
+
+            if (perf.getLoadTime() > 3000) {
+                recommendations.add("Reduzieren Sie die Ladezeit der Seite (aktuell: " + perf.getLoadTime() + "ms) durch Entfernen unnötiger Ressourcen, Optimierung von Bildern und Verbesserung der Server-Antwortzeiten.");
+            }
+
+            if (perf.hasTimingPhases() && perf.getTimeToFirstByte() > SLOW_SERVER_MS) {
+                recommendations.add("Verkürzen Sie die Server-Antwortzeit (aktuell: " + perf.getTimeToFirstByte() + "ms bis zum ersten Byte) durch serverseitiges Caching, schnellere Datenbankabfragen oder leistungsfähigeres Hosting.");
+            }
+            if (perf.hasTimingPhases() && perf.getNetworkTime() > SLOW_NETWORK_MS) {
+                recommendations.add("Beschleunigen Sie den Verbindungsaufbau (aktuell: " + perf.getNetworkTime() + "ms für DNS, TCP und TLS) mit einem schnelleren DNS-Anbieter, einem CDN oder einem Serverstandort näher an Ihren Besuchern.");
+            }
+
+            if (perf.hasResources() && perf.getRenderBlockingBytes() > RENDER_BLOCKING_LIMIT_BYTES) {
+                recommendations.add("Reduzieren Sie die render-blockierenden Ressourcen (aktuell: " + formatBytes(perf.getRenderBlockingBytes()) + "): Binden Sie Skripte mit defer oder async ein, laden Sie nur das für den ersten Bildschirm nötige CSS direkt und den Rest nachträglich.");
+            }
+            if (perf.hasResources() && perf.getUncachedCount() > 0) {
+                recommendations.add("Erlauben Sie dem Browser das Zwischenspeichern: " + perf.getUncachedCount() + " Ressourcen haben weder Cache-Control mit max-age noch einen Expires-Header und werden bei jedem Besuch erneut geladen.");
+            }
+
+            if (seconds(perf.getLargestContentfulPaint()) > 2.5) {
+                recommendations.add("Optimieren Sie das Largest Contentful Paint (aktuell: " + perf.getLargestContentfulPaint() + "). Laden Sie wichtige Inhalte priorisiert und optimieren Sie große Ressourcen wie Hero-Bilder.");
+            }
+        }
+
+        // Sicherheits-Empfehlungen
+        if (sec != null) {
+            if (!sec.isHttpsEnabled()) {
+                recommendations.add("Implementieren Sie HTTPS für Ihre Website. HTTPS verschlüsselt die Datenübertragung, schützt sensible Daten und ist ein positiver Ranking-Faktor für Suchmaschinen.");
+            }
+
+            if (sec.getSecurityHeadersScore() < 70) {
+                recommendations.add("Implementieren Sie wichtige Sicherheits-Header wie Content-Security-Policy, X-XSS-Protection und Strict-Transport-Security, um die Website gegen häufige Angriffe zu schützen.");
+            }
+
+            // Überprüfen, ob bestimmte Header fehlen
+            try {
+                String headersJson = sec.getSecurityHeaders();
+                if (headersJson != null && !headersJson.isEmpty()) {
+                    if (!headersJson.contains("Content-Security-Policy") || getValueFromJson(headersJson, "Content-Security-Policy").isEmpty()) {
+                        recommendations.add("Implementieren Sie eine Content-Security-Policy (CSP), um XSS-Angriffe zu verhindern und die Ausführung nicht autorisierter Skripte zu blockieren.");
+                    }
+                }
+            } catch (Exception e) {
+                // Fehler beim Parsen der Header ignorieren
+            }
+        }
+
+        // Inhalts-Empfehlungen
+        if (content != null) {
+            if (content.getWordCount() < 300) {
+                recommendations.add("Erweitern Sie den Textinhalt auf mindestens 300-500 Wörter. Ausführlichere Inhalte werden von Suchmaschinen besser bewertet und bieten mehr Mehrwert für die Nutzer.");
+            }
+
+            if (content.getImageCount() < 1) {
+                recommendations.add("Fügen Sie relevante Bilder oder Grafiken hinzu, um den Text aufzulockern und das Nutzererlebnis zu verbessern.");
+            }
+
+            if (content.getListCount() < 1 && content.getWordCount() > 300) {
+                recommendations.add("Strukturieren Sie längere Textabschnitte mit Listen oder Aufzählungen, um die Lesbarkeit zu verbessern und wichtige Punkte hervorzuheben.");
+            }
+        }
+
+        // Wenn keine Empfehlungen generiert wurden, Standard-Empfehlung hinzufügen
+        if (recommendations.isEmpty()) {
+            recommendations.add("Ihre Website ist bereits gut optimiert. Halten Sie die Inhalte aktuell und überwachen Sie regelmäßig die Performance und Sicherheit.");
+        }
+
+        return recommendations.toArray(new String[0]);
+    }
+
+    /**
+     * Extrahiert einen Wert aus einem JSON-String.
+     * Einfache Implementierung ohne JSON-Parser.
+     */
+    static String getValueFromJson(String json, String key) {
+        try {
+            key = "\"" + key + "\":\"";
+            int startIndex = json.indexOf(key);
+            if (startIndex == -1) return "";
+
+            startIndex += key.length();
+            int endIndex = json.indexOf("\"", startIndex);
+            if (endIndex == -1) return "";
+
+            return json.substring(startIndex, endIndex);
+        } catch (Exception e) {
+            return "";
+        }
+    }
+
+    /**
+     * Tabellenzeilen mit den Phasen der Ladezeit oder null, wenn sie nicht gemessen wurden.
+     */
+    static String[][] timingPhases(PerformanceResult perf) {
+        if (perf == null || !perf.hasTimingPhases()) {
+            return null;
+        }
+        return new String[][] {
+                {"DNS-Auflösung", perf.getDnsTime() + " ms"},
+                {"Verbindungsaufbau (TCP)", perf.getConnectTime() + " ms"},
+                {"TLS-Handshake", perf.getTlsTime() + " ms"},
+                {"Server-Antwortzeit (TTFB)", perf.getTimeToFirstByte() + " ms"},
+                {"Download", perf.getDownloadTime() + " ms"},
+                {"HTML-Verarbeitung", perf.getParseTime() + " ms"},
+                {"Weiterleitungen", String.valueOf(perf.getRedirectCount())}
+        };
+    }
+
+    /**
+     * Zeilen der Tabelle "Wiederholte Abrufe" oder null, wenn die Seite nur einmal abgerufen wurde.
+     */
+    static String[][] latencySamples(PerformanceResult perf) {
+        if (perf == null || perf.getColdLatency() == null) {
+            return null;
+        }
+        List<String[]> rows = new ArrayList<>();
+        rows.add(new String[] {"Kalt (neue Verbindung)", latencyText(perf.getColdLatency())});
+        if (perf.getWarmLatency() != null) {
+            rows.add(new String[] {"Warm (bestehende Verbindung)", latencyText(perf.getWarmLatency())});
+        }
+        return rows.toArray(new String[0][]);
+    }
+
+    private static String latencyText(LatencySummary summary) {
+        return summary.getSamples() + "x: min " + summary.getMin() + " / p50 " + summary.getP50() +
+                " / p95 " + summary.getP95() + " / max " + summary.getMax() + " ms";
+    }
+
+    /**
+     * Zeilen der Tabelle "Seitengewicht" oder null, wenn die Ressourcen nicht geladen wurden.
+     */
+    static String[][] pageWeight(PerformanceResult perf) {
+        if (perf == null || !perf.hasResources()) {
+            return null;
+        }
+        int failed = 0;
+        for (PageResource resource : perf.getResources()) {
+            if (!resource.isLoaded()) {
+                failed++;
+            }
+        }
+        return new String[][] {
+                {"Seitengewicht (übertragen)", formatBytes(perf.getPageWeight())},
+                {"Anfragen", String.valueOf(perf.getRequestCount())},
+                {"Render-blockierend", formatBytes(perf.getRenderBlockingBytes())},
+                {"CSS", formatBytes(perf.getTransferSizeByType(PageResource.TYPE_CSS))},
+                {"JavaScript", formatBytes(perf.getTransferSizeByType(PageResource.TYPE_SCRIPT))},
+                {"Bilder", formatBytes(perf.getTransferSizeByType(PageResource.TYPE_IMAGE))},
+                {"Schriften", formatBytes(perf.getTransferSizeByType(PageResource.TYPE_FONT))},
+                {"Ohne Browser-Cache", String.valueOf(perf.getUncachedCount())},
+                {"Fehlgeschlagen", String.valueOf(failed)}
+        };
+    }
+
+    /**
+     * Zeilen der Tabelle mit den größten Ressourcen (Dateiname, Typ, Größe und Ladezeit) oder null.
+     */
+    static String[][] largestResources(PerformanceResult perf, int limit) {
+        if (perf == null || !perf.hasResources() || perf.getResources().isEmpty()) {
+            return null;
+        }
+        List<PageResource> resources = new ArrayList<>(perf.getResources());
+        resources.sort(Comparator.comparingLong(PageResource::getTransferSize).reversed());
+
+        List<String[]> rows = new ArrayList<>();
+        for (PageResource resource : resources.subList(0, Math.min(limit, resources.size()))) {
+            rows.add(new String[] {fileName(resource.getUrl()), resource.getType() + ", " +
+                    (resource.isTruncated() ? "mind. " : "") + formatBytes(resource.getTransferSize()) + ", " + resource.getDuration() + " ms" +
+                    (resource.isRenderBlocking() ? ", blockierend" : "")});
+        }
+        return rows.toArray(new String[0][]);
+    }
+
+    /**
+     * Formatiert eine Byte-Anzahl als KB bzw. MB.
+     */
+    static String formatBytes(long bytes) {
+        if (bytes >= 1024 * 1024) {
+            return String.format(Locale.GERMAN, "%.1f MB", bytes / (1024.0 * 1024.0));
+        }
+        return String.format(Locale.GERMAN, "%.1f KB", bytes / 1024.0);
+    }
+
+    /**
+     * Liest eine Zeitangabe wie "2.5s", "2,5 s" oder "200 ms" in Sekunden; -1, wenn nicht lesbar.
+     */
+    static double seconds(String value) {
+        if (value == null) {
+            return -1;
+        }
+        Matcher matcher = DURATION.matcher(value);
+        if (!matcher.find()) {
+            return -1;
+        }
+        double number = Double.parseDouble(matcher.group(1).replace(',', '.'));
+        return "ms".equals(matcher.group(2)) ? number / 1000 : number;
+    }
+
+    private static String fileName(String url) {
+        String path = url.replaceAll("[?#].*$", "");
+        String name = path.substring(path.lastIndexOf('/') + 1);
+        if (name.isEmpty()) {
+            name = path;
+        }
+        return name.length() > 40 ? name.substring(0, 37) + "..." : name;
+    }
+
+    /**
+     * Gibt einen Text basierend auf der Optimalität eines Wertes zurück.
+     */
+    static String getOptimalityText(int value, int minOptimal, int maxOptimal) {
+        if (value >= minOptimal && value <= maxOptimal) {
+            return "(optimal)";
+        } else if (value < minOptimal) {
+            return "(zu kurz)";
+        } else {
+            return "(zu lang)";
+        }
+    }
+
+    /**
+     * Gibt eine Bewertung basierend auf dem Score zurück.
+     */
+    static String getRatingText(int score) {
+        if (score >= 90) {
+            return "Hervorragend";
+        } else if (score >= 70) {
+            return "Gut";
+        } else if (score >= 50) {
+            return "Verbesserungswürdig";
+        } else {
+            return "Kritisch";
+        }
+    }
+}
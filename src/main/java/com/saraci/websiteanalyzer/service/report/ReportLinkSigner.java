@@ -0,0 +1,110 @@
+package com.saraci.websiteanalyzer.service.report;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Base64;
+
+/**
+ * Erstellt und prüft signierte, ablaufende Links auf Berichte.
+ *
+ * Ein Link besteht aus dem Pfad der Berichtsroute und den Parametern {@code expires} (Ablaufzeit in
+ * Sekunden seit 1970) und {@code sig} (HMAC-SHA256 über Pfad und Ablaufzeit, Base64url). Ohne den
+ * geheimen Schlüssel lässt sich weder die Ablaufzeit verlängern noch der Link auf einen anderen
+ * Bericht umschreiben.
+ *
+ * Die Berichtsrouten beantworten auch Aufrufe ohne Signatur (Dashboard). Der Ablauf betrifft daher
+ * nur den signierten Link selbst und ist keine Zugriffsbeschränkung.
+ *
+ * Die Klasse ist zustandslos und thread-sicher.
+ */
+public class ReportLinkSigner {
+    private static final String ALGORITHM = "HmacSHA256";
+
+    /**
+     * Ergebnis der Prüfung eines Links.
+     */
+    public enum Verification {
+        VALID,
+        EXPIRED,
+        INVALID
+    }
+
+    private final String baseUrl;
+    private final SecretKeySpec key;
+    private final long ttlSeconds;
+
+    /**
+     * Konstruktor.
+     *
+     * @param baseUrl Öffentliche Basis-URL der Anwendung (z. B. https://analyzer.example.com)
+     * @param secret Geheimer Schlüssel für die Signatur
+     * @param ttlSeconds Gültigkeitsdauer neuer Links in Sekunden
+     */
+    public ReportLinkSigner(String baseUrl, byte[] secret, long ttlSeconds) {
+        if (secret == null || secret.length == 0) {
+            throw new IllegalArgumentException("Der Schlüssel für Berichtslinks darf nicht leer sein");
+        }
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.key = new SecretKeySpec(secret, ALGORITHM);
+        this.ttlSeconds = ttlSeconds;
+    }
+
+    /**
+     * Gibt die vollständige, signierte URL für einen Pfad der Anwendung zurück.
+     *
+     * @param path Pfad der Route, z. B. /api/analysis/42/report
+     */
+    public String signedUrl(String path) {
+        long expires = System.currentTimeMillis() / 1000 + ttlSeconds;
+        return baseUrl + path + "?expires=" + expires + "&sig=" + signature(path, expires);
+    }
+
+    /**
+     * Prüft die Parameter eines signierten Links.
+     *
+     * @param path Pfad der aufgerufenen Route
+     * @param expires Wert des Parameters expires
+     * @param sig Wert des Parameters sig
+     */
+    public Verification verify(String path, String expires, String sig) {
+        if (expires == null || sig == null) {
+            return Verification.INVALID;
+        }
+
+        long expiresAt;
+        try {
+            expiresAt = Long.parseLong(expires);
+        } catch (NumberFormatException e) {
+            return Verification.INVALID;
+        }
+
+        // Zeitkonstanter Vergleich, damit die Signatur nicht zeichenweise erraten werden kann
+        byte[] expected = signature(path, expiresAt).getBytes(StandardCharsets.US_ASCII);
+        if (!MessageDigest.isEqual(expected, sig.getBytes(StandardCharsets.US_ASCII))) {
+            return Verification.INVALID;
+        }
+        return System.currentTimeMillis() / 1000 > expiresAt ? Verification.EXPIRED : Verification.VALID;
+    }
+
+    /**
+     * Gibt die Gültigkeitsdauer neuer Links in Tagen zurück (aufgerundet).
+     */
+    public long getTtlDays() {
+        return (ttlSeconds + 86399) / 86400;
+    }
+
+    private String signature(String path, long expires) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            byte[] digest = mac.doFinal((path + "\n" + expires).getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (GeneralSecurityException e) {
+            // HmacSHA256 ist in jeder Java-Laufzeit vorhanden
+            throw new IllegalStateException("HMAC-Signatur konnte nicht berechnet werden", e);
+        }
+    }
+}
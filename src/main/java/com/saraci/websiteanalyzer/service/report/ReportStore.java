@@ -0,0 +1,44 @@
+package com.saraci.websiteanalyzer.service.report;
+
+import com.saraci.websiteanalyzer.model.ReportStoreStats;
+
+import java.nio.file.Path;
+
+/**
+ * Inhaltsadressierter Speicher für PDF-Berichte.
+ *
+ * Berichte werden unter einem Schlüssel abgelegt, der aus dem SHA-256-Hash ihres Inhalts besteht
+ * (z. B. {@code sha256:3fa1...}). Dieser Schlüssel wird statt eines Dateipfads in der Datenbank gespeichert.
+ */
+public interface ReportStore {
+
+    /**
+     * Übernimmt eine fertige Berichtsdatei in den Speicher. Die Quelldatei wird verschoben bzw.
+     * gelöscht, falls ein Bericht mit identischem Inhalt bereits vorhanden ist.
+     *
+     * @param file Die fertige Berichtsdatei
+     * @return Der Schlüssel des Berichts
+     * @throws Exception Wenn die Datei nicht gelesen oder verschoben werden kann
+     */
+    String put(Path file) throws Exception;
+
+    /**
+     * Gibt die Datei zu einem Schlüssel zurück und markiert sie als verwendet.
+     * Schlüssel älterer Versionen (einfache Dateipfade) werden ebenfalls aufgelöst.
+     *
+     * @param key Der Schlüssel
+     * @return Die Datei oder null, wenn sie nicht (mehr) existiert
+     */
+    Path resolve(String key);
+
+    /**
+     * Führt einen Aufräumlauf aus: nicht mehr referenzierte Berichte löschen, Alters- und
+     * Größengrenzen durchsetzen und alte Berichte aus dem Reports-Verzeichnis übernehmen.
+     */
+    void collectGarbage();
+
+    /**
+     * Gibt den aktuellen Bestand und die Kennzahlen des letzten Aufräumlaufs zurück.
+     */
+    ReportStoreStats getStats();
+}
@@ -0,0 +1,417 @@
+package com.saraci.websiteanalyzer.service.report;
+
+import com.saraci.websiteanalyzer.model.ReportStoreStats;
+import com.saraci.websiteanalyzer.repository.AnalysisResultRepository;
+import com.saraci.websiteanalyzer.repository.EmailOutboxRepository;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+/**
+ * Berichtsspeicher im Dateisystem mit Hash-Namen und zweistufigen Unterverzeichnissen
+ * ({@code reports/store/3f/a1/3fa1....pdf}). Jedes Verzeichnis enthält damit nur einen kleinen
+ * Teil der Berichte, unabhängig davon, wie viele insgesamt gespeichert sind.
+ *
+ * Ein Aufräumlauf im Hintergrund gleicht den Bestand mit den Referenzen in {@code analysis_results} ab:
+ * <ul>
+ *     <li>nicht mehr referenzierte Berichte werden nach einer Schonfrist gelöscht</li>
+ *     <li>Berichte über der Altersgrenze werden gelöscht und ihre Referenzen entfernt (sie entstehen bei Bedarf neu)</li>
+ *     <li>danach werden die am längsten nicht verwendeten Berichte gelöscht, bis Größen- und Anzahlgrenze eingehalten sind</li>
+ *     <li>alte Berichte direkt im Reports-Verzeichnis werden übernommen (referenziert) oder gelöscht</li>
+ * </ul>
+ * Anhänge noch nicht zugestellter E-Mails in {@code email_outbox} werden dabei weder gelöscht noch
+ * verschoben, sonst würde die E-Mail ohne Anhang als gescheitert markiert.
+ */
+public class ReportStoreImpl implements ReportStore {
+    private static final Logger logger = Logger.getLogger(ReportStoreImpl.class.getName());
+
+    public static final String KEY_PREFIX = "sha256:";
+
+    // Neue, noch nicht in der Datenbank eingetragene Berichte dürfen nicht gelöscht werden
+    private static final long GRACE_PERIOD_MILLIS = TimeUnit.MINUTES.toMillis(10);
+
+    private final AnalysisResultRepository analysisResultRepository;
+    private final EmailOutboxRepository emailOutboxRepository;
+    private final Path reportsDir;
+    private final Path storeDir;
+    private final long maxBytes;
+    private final int maxFiles;
+    private final int maxAgeDays;
+
+    private final ScheduledExecutorService gcExecutor;
+    private final AtomicBoolean gcRunning = new AtomicBoolean();
+
+    // Letzter Zugriff pro Hash (für die LRU-Reihenfolge beim Durchsetzen der Größengrenze)
+    private final Map<String, Long> lastAccess = new ConcurrentHashMap<>();
+
+    private final AtomicLong blobCount = new AtomicLong();
+    private final AtomicLong totalBytes = new AtomicLong();
+
+    // Kennzahlen des letzten Aufräumlaufs, geschützt durch "this"
+    private LocalDateTime lastGcAt;
+    private long lastGcDurationMs;
+    private int lastGcDeleted;
+    private long lastGcFreedBytes;
+    private int lastGcMigrated;
+    private int lastGcClearedReferences;
+
+    /**
+     * Konstruktor mit Dependency Injection. Plant den Aufräumlauf im angegebenen Intervall.
+     *
+     * @param analysisResultRepository Repository mit den Berichtsreferenzen
+     * @param emailOutboxRepository Repository der E-Mail-Warteschlange (Anhänge wartender E-Mails)
+     * @param reportsDir Das Reports-Verzeichnis (der Speicher liegt im Unterverzeichnis "store")
+     * @param maxBytes Maximale Gesamtgröße der Berichte in Bytes
+     * @param maxFiles Maximale Anzahl an Berichten
+     * @param maxAgeDays Maximales Alter eines Berichts in Tagen (0 = unbegrenzt)
+     * @param gcIntervalMinutes Intervall des Aufräumlaufs in Minuten
+     */
+    public ReportStoreImpl(AnalysisResultRepository analysisResultRepository,
+                           EmailOutboxRepository emailOutboxRepository,
+                           Path reportsDir,
+                           long maxBytes,
+                           int maxFiles,
+                           int maxAgeDays,
+                           int gcIntervalMinutes) {
+        this.analysisResultRepository = analysisResultRepository;
+        this.emailOutboxRepository = emailOutboxRepository;
+        this.reportsDir = reportsDir.toAbsolutePath().normalize();
+        this.storeDir = this.reportsDir.resolve("store");
+        this.maxBytes = Math.max(1, maxBytes);
+        this.maxFiles = Math.max(1, maxFiles);
+        this.maxAgeDays = Math.max(0, maxAgeDays);
+
+        try {
+            Files.createDirectories(storeDir);
+        } catch (IOException e) {
+            logger.warning("Berichtsspeicher konnte nicht angelegt werden: " + e.getMessage());
+        }
+
+        this.gcExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "report-store-gc");
+            thread.setDaemon(true);
+            return thread;
+        });
+        int interval = Math.max(1, gcIntervalMinutes);
+        gcExecutor.scheduleWithFixedDelay(this::collectGarbage, 1, interval, TimeUnit.MINUTES);
+
+        logger.info("Berichtsspeicher initialisiert: " + storeDir + " (max. " + this.maxBytes / (1024 * 1024) + " MB, " +
+                this.maxFiles + " Dateien, " + this.maxAgeDays + " Tage)");
+    }
+
+    @Override
+    public String put(Path file) throws Exception {
+        return moveIntoStore(file, sha256(file));
+    }
+
+    /**
+     * Verschiebt eine Datei unter dem angegebenen Hash in den Speicher.
+     */
+    private String moveIntoStore(Path file, String hash) throws IOException {
+        Path target = blobPath(hash);
+        Files.createDirectories(target.getParent());
+
+        long size = Files.size(file);
+        if (Files.exists(target)) {
+            // Gleicher Inhalt ist bereits gespeichert; Zeitstempel erneuern, damit die Schonfrist wieder gilt
+            Files.delete(file);
+            Files.setLastModifiedTime(target, FileTime.fromMillis(System.currentTimeMillis()));
+        } else {
+            try {
+                Files.move(file, target, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(file, target);
+            } catch (FileAlreadyExistsException e) {
+                Files.delete(file);
+            }
+            blobCount.incrementAndGet();
+            totalBytes.addAndGet(size);
+        }
+
+        lastAccess.put(hash, System.currentTimeMillis());
+
+        if (totalBytes.get() > maxBytes || blobCount.get() > maxFiles) {
+            gcExecutor.execute(this::collectGarbage);
+        }
+        return KEY_PREFIX + hash;
+    }
+
+    @Override
+    public Path resolve(String key) {
+        if (key == null || key.isEmpty()) {
+            return null;
+        }
+
+        if (!key.startsWith(KEY_PREFIX)) {
+            // Referenz aus älteren Versionen: einfacher Dateipfad
+            Path legacy = Path.of(key);
+            return Files.isRegularFile(legacy) ? legacy : null;
+        }
+
+        String hash = key.substring(KEY_PREFIX.length());
+        if (!hash.matches("[0-9a-f]{64}")) {
+            return null;
+        }
+
+        Path blob = blobPath(hash);
+        if (!Files.isRegularFile(blob)) {
+            return null;
+        }
+        lastAccess.put(hash, System.currentTimeMillis());
+        return blob;
+    }
+
+    @Override
+    public void collectGarbage() {
+        if (!gcRunning.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            runGarbageCollection();
+        } catch (Exception e) {
+            // Der Hintergrund-Thread darf durch einen Fehler nicht beendet werden
+            logger.warning("Fehler beim Aufräumen des Berichtsspeichers: " + e.getMessage());
+        } finally {
+            gcRunning.set(false);
+        }
+    }
+
+    /**
+     * Ein gespeicherter Bericht, wie er beim Aufräumen gefunden wurde.
+     */
+    private static class Blob {
+        private final String hash;
+        private final Path path;
+        private final long size;
+        private final long modified;
+        private final long lastUsed;
+
+        Blob(String hash, Path path, long size, long modified, long lastUsed) {
+            this.hash = hash;
+            this.path = path;
+            this.size = size;
+            this.modified = modified;
+            this.lastUsed = lastUsed;
+        }
+    }
+
+    private void runGarbageCollection() throws Exception {
+        long start = System.nanoTime();
+        long now = System.currentTimeMillis();
+        Set<String> referenced = analysisResultRepository.findReferencedPdfReportPaths();
+        Set<Path> attachments = new HashSet<>();
+        for (String attachment : emailOutboxRepository.findPendingAttachmentPaths()) {
+            attachments.add(Path.of(attachment).toAbsolutePath().normalize());
+        }
+
+        int deleted = 0;
+        long freedBytes = 0;
+        int migrated = 0;
+        int clearedReferences = 0;
+
+        // 1. Alte Berichte direkt im Reports-Verzeichnis übernehmen oder löschen
+        Map<Path, String> legacyReferences = new HashMap<>();
+        for (String reference : referenced) {
+            if (!reference.startsWith(KEY_PREFIX)) {
+                legacyReferences.put(Path.of(reference).toAbsolutePath().normalize(), reference);
+            }
+        }
+
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(reportsDir, "*.pdf")) {
+            for (Path file : stream) {
+                if (!Files.isRegularFile(file) || attachments.contains(file.toAbsolutePath().normalize())) {
+                    // Anhang einer wartenden E-Mail: erst nach dem Versand übernehmen oder löschen
+                    continue;
+                }
+
+                String reference = legacyReferences.get(file.toAbsolutePath().normalize());
+                if (reference != null) {
+                    // Erst die Referenz umstellen, dann verschieben: schlägt das Verschieben fehl,
+                    // fehlt der Bericht nur und wird beim nächsten Abruf neu erstellt
+                    String hash = sha256(file);
+                    String key = KEY_PREFIX + hash;
+                    analysisResultRepository.replacePdfReportPath(reference, key);
+                    moveIntoStore(file, hash);
+                    referenced.remove(reference);
+                    referenced.add(key);
+                    migrated++;
+                } else if (now - Files.getLastModifiedTime(file).toMillis() > GRACE_PERIOD_MILLIS) {
+                    long size = Files.size(file);
+                    if (Files.deleteIfExists(file)) {
+                        deleted++;
+                        freedBytes += size;
+                    }
+                }
+            }
+        }
+
+        // 2. Speicher durchgehen: nicht referenzierte und zu alte Berichte löschen
+        long maxAgeMillis = TimeUnit.DAYS.toMillis(maxAgeDays);
+        List<Blob> kept = new ArrayList<>();
+        for (Blob blob : listBlobs()) {
+            String key = KEY_PREFIX + blob.hash;
+            long age = now - blob.modified;
+
+            if (attachments.contains(blob.path.toAbsolutePath().normalize())) {
+                // Zählt zur Größengrenze, wird aber erst nach dem Versand gelöscht
+                kept.add(blob);
+                continue;
+            }
+            if (!referenced.contains(key)) {
+                if (age > GRACE_PERIOD_MILLIS && deleteBlob(blob)) {
+                    deleted++;
+                    freedBytes += blob.size;
+                    continue;
+                }
+            } else if (maxAgeDays > 0 && age > maxAgeMillis) {
+                if (deleteBlob(blob)) {
+                    clearedReferences += analysisResultRepository.replacePdfReportPath(key, null);
+                    deleted++;
+                    freedBytes += blob.size;
+                    continue;
+                }
+            }
+            kept.add(blob);
+        }
+
+        // 3. Größen- und Anzahlgrenze: am längsten nicht verwendete Berichte zuerst löschen
+        long keptBytes = 0;
+        for (Blob blob : kept) {
+            keptBytes += blob.size;
+        }
+        kept.sort(Comparator.comparingLong(blob -> blob.lastUsed));
+
+        int index = 0;
+        int keptCount = kept.size();
+        while ((keptBytes > maxBytes || keptCount > maxFiles) && index < kept.size()) {
+            Blob blob = kept.get(index++);
+            if (!attachments.contains(blob.path.toAbsolutePath().normalize()) && deleteBlob(blob)) {
+                clearedReferences += analysisResultRepository.replacePdfReportPath(KEY_PREFIX + blob.hash, null);
+                deleted++;
+                freedBytes += blob.size;
+                keptBytes -= blob.size;
+                keptCount--;
+            }
+        }
+
+        blobCount.set(keptCount);
+        totalBytes.set(keptBytes);
+
+        long durationMs = (System.nanoTime() - start) / 1_000_000;
+        synchronized (this) {
+            lastGcAt = LocalDateTime.now();
+            lastGcDurationMs = durationMs;
+            lastGcDeleted = deleted;
+            lastGcFreedBytes = freedBytes;
+            lastGcMigrated = migrated;
+            lastGcClearedReferences = clearedReferences;
+        }
+
+        logger.info("Berichtsspeicher aufgeräumt in " + durationMs + " ms: " + deleted + " gelöscht (" +
+                freedBytes / 1024 + " KB), " + migrated + " übernommen, " + clearedReferences +
+                " Referenzen entfernt, Bestand " + keptCount + " Berichte / " + keptBytes / 1024 + " KB");
+    }
+
+    /**
+     * Listet alle Berichte im Speicher auf.
+     */
+    private List<Blob> listBlobs() throws IOException {
+        List<Blob> blobs = new ArrayList<>();
+        try (Stream<Path> files = Files.walk(storeDir, 3)) {
+            files.filter(path -> path.getFileName().toString().endsWith(".pdf")).forEach(path -> {
+                try {
+                    String name = path.getFileName().toString();
+                    String hash = name.substring(0, name.length() - ".pdf".length());
+                    long modified = Files.getLastModifiedTime(path).toMillis();
+                    long lastUsed = Math.max(modified, lastAccess.getOrDefault(hash, 0L));
+                    blobs.add(new Blob(hash, path, Files.size(path), modified, lastUsed));
+                } catch (IOException e) {
+                    // Datei wurde zwischenzeitlich gelöscht
+                }
+            });
+        }
+        return blobs;
+    }
+
+    private boolean deleteBlob(Blob blob) {
+        try {
+            lastAccess.remove(blob.hash);
+            return Files.deleteIfExists(blob.path);
+        } catch (IOException e) {
+            logger.warning("Bericht konnte nicht gelöscht werden: " + blob.path + ", " + e.getMessage());
+            return false;
+        }
+    }
+
+    private Path blobPath(String hash) {
+        return storeDir.resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4)).resolve(hash + ".pdf");
+    }
+
+    private static String sha256(Path file) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 nicht verfügbar", e);
+        }
+
+        byte[] buffer = new byte[64 * 1024];
+        try (InputStream in = Files.newInputStream(file)) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+
+        StringBuilder hex = new StringBuilder();
+        for (byte b : digest.digest()) {
+            hex.append(String.format("%02x", b));
+        }
+        return hex.toString();
+    }
+
+    @Override
+    public ReportStoreStats getStats() {
+        ReportStoreStats stats = new ReportStoreStats();
+        stats.setBlobCount(blobCount.get());
+        stats.setTotalBytes(totalBytes.get());
+        stats.setMaxBytes(maxBytes);
+        stats.setMaxFiles(maxFiles);
+        stats.setMaxAgeDays(maxAgeDays);
+        synchronized (this) {
+            stats.setLastGcAt(lastGcAt);
+            stats.setLastGcDurationMs(lastGcDurationMs);
+            stats.setLastGcDeleted(lastGcDeleted);
+            stats.setLastGcFreedBytes(lastGcFreedBytes);
+            stats.setLastGcMigrated(lastGcMigrated);
+            stats.setLastGcClearedReferences(lastGcClearedReferences);
+        }
+        return stats;
+    }
+}
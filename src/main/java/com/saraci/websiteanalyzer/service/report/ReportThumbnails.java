@@ -0,0 +1,29 @@
+package com.saraci.websiteanalyzer.service.report;
+
+/**
+ * Vorschaubilder der ersten Seite von PDF-Berichten für das Dashboard.
+ *
+ * Vorschaubilder werden wie die Berichte über den Schlüssel im {@link ReportStore} adressiert
+ * ({@code sha256:<hash>}); ein Vorschaubild ändert sich daher nie und darf vom Browser dauerhaft
+ * zwischengespeichert werden.
+ */
+public interface ReportThumbnails {
+
+    /**
+     * Erstellt das Vorschaubild eines Berichts im Hintergrund, sofern es noch nicht vorliegt.
+     * Kehrt sofort zurück.
+     *
+     * @param reportKey Der Schlüssel des Berichts im Berichtsspeicher
+     */
+    void generateAsync(String reportKey);
+
+    /**
+     * Gibt das Vorschaubild eines Berichts als PNG zurück. Liegt es noch nicht vor, wird es jetzt
+     * erstellt (bzw. auf die laufende Erstellung gewartet).
+     *
+     * @param reportKey Der Schlüssel des Berichts im Berichtsspeicher
+     * @return Das PNG oder null, wenn der Bericht nicht (mehr) vorhanden ist
+     * @throws Exception Wenn der Bericht nicht gerendert werden kann
+     */
+    byte[] getThumbnail(String reportKey) throws Exception;
+}
@@ -0,0 +1,186 @@
+package com.saraci.websiteanalyzer.service.report;
+
+import org.apache.pdfbox.io.MemoryUsageSetting;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.rendering.ImageType;
+import org.apache.pdfbox.rendering.PDFRenderer;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.logging.Logger;
+
+/**
+ * Rendert die erste Seite eines Berichts mit PDFBox als PNG.
+ *
+ * Gerendert wird in einem eigenen Hintergrund-Thread, damit weder die Berichtserstellung noch
+ * Anfragen den Render-Pool der PDF-Berichte blockieren. Gleichzeitige Anfragen für denselben
+ * Bericht warten auf dieselbe Erstellung. Die fertigen Bilder liegen nach Hash im Speicher; wird die
+ * Größengrenze überschritten, werden die am längsten nicht abgerufenen Bilder verdrängt und bei
+ * Bedarf neu gerendert.
+ */
+public class ReportThumbnailsImpl implements ReportThumbnails {
+    private static final Logger logger = Logger.getLogger(ReportThumbnailsImpl.class.getName());
+
+    // Beim Rendern einer Seite genügt wenig Hauptspeicher; größere Berichte werden ausgelagert
+    private static final long RENDER_MAX_MEMORY_BYTES = 4L * 1024 * 1024;
+
+    private final ReportStore reportStore;
+    private final int widthPx;
+    private final long maxBytes;
+
+    private final ExecutorService renderExecutor;
+
+    // Laufende Erstellungen pro Hash
+    private final Map<String, CompletableFuture<byte[]>> pending = new ConcurrentHashMap<>();
+
+    // Fertige Vorschaubilder pro Hash in LRU-Reihenfolge, geschützt durch "cache"
+    private final LinkedHashMap<String, byte[]> cache = new LinkedHashMap<>(16, 0.75f, true);
+    private long cachedBytes;
+
+    /**
+     * Konstruktor mit Dependency Injection.
+     *
+     * @param reportStore Der Speicher mit den PDF-Berichten
+     * @param widthPx Breite der Vorschaubilder in Pixeln
+     * @param maxBytes Maximale Gesamtgröße der zwischengespeicherten Vorschaubilder in Bytes
+     */
+    public ReportThumbnailsImpl(ReportStore reportStore, int widthPx, long maxBytes) {
+        this.reportStore = reportStore;
+        this.widthPx = Math.max(16, widthPx);
+        this.maxBytes = Math.max(0, maxBytes);
+        this.renderExecutor = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "report-thumbnails");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public void generateAsync(String reportKey) {
+        String hash = hashOf(reportKey);
+        if (hash == null || getCached(hash) != null) {
+            return;
+        }
+        render(hash).exceptionally(e -> {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            logger.warning("Vorschaubild für " + reportKey + " konnte nicht erstellt werden: " + cause.getMessage());
+            return null;
+        });
+    }
+
+    @Override
+    public byte[] getThumbnail(String reportKey) throws Exception {
+        String hash = hashOf(reportKey);
+        if (hash == null) {
+            return null;
+        }
+
+        byte[] cached = getCached(hash);
+        if (cached != null) {
+            return cached;
+        }
+
+        try {
+            return render(hash).join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            throw cause instanceof Exception ? (Exception) cause : new Exception(cause);
+        }
+    }
+
+    /**
+     * Startet die Erstellung bzw. gibt die bereits laufende zurück.
+     */
+    private CompletableFuture<byte[]> render(String hash) {
+        CompletableFuture<byte[]> future = new CompletableFuture<>();
+        CompletableFuture<byte[]> running = pending.putIfAbsent(hash, future);
+        if (running != null) {
+            return running;
+        }
+
+        // Nicht über computeIfAbsent: die Erstellung kann abgeschlossen sein, bevor die Map aktualisiert ist
+        renderExecutor.execute(() -> {
+            try {
+                byte[] cached = getCached(hash);
+                byte[] png = cached != null ? cached : renderAndCache(hash);
+                pending.remove(hash, future);
+                future.complete(png);
+            } catch (Throwable e) {
+                pending.remove(hash, future);
+                future.completeExceptionally(e);
+            }
+        });
+        return future;
+    }
+
+    private byte[] renderAndCache(String hash) throws IOException {
+        Path file = reportStore.resolve(ReportStoreImpl.KEY_PREFIX + hash);
+        if (file == null) {
+            return null;
+        }
+
+        long start = System.nanoTime();
+        byte[] png;
+        try (PDDocument document = PDDocument.load(file.toFile(), MemoryUsageSetting.setupMixed(RENDER_MAX_MEMORY_BYTES))) {
+            if (document.getNumberOfPages() == 0) {
+                return null;
+            }
+            float scale = widthPx / document.getPage(0).getMediaBox().getWidth();
+            BufferedImage image = new PDFRenderer(document).renderImage(0, scale, ImageType.RGB);
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            ImageIO.write(image, "png", out);
+            png = out.toByteArray();
+        }
+
+        logger.info(String.format("Vorschaubild erstellt: %s (%d Bytes, %d ms)",
+                hash, png.length, (System.nanoTime() - start) / 1_000_000));
+        putCached(hash, png);
+        return png;
+    }
+
+    private byte[] getCached(String hash) {
+        synchronized (cache) {
+            return cache.get(hash);
+        }
+    }
+
+    private void putCached(String hash, byte[] png) {
+        if (png.length > maxBytes) {
+            return;
+        }
+        synchronized (cache) {
+            byte[] previous = cache.put(hash, png);
+            cachedBytes += png.length - (previous != null ? previous.length : 0);
+
+            // Die am längsten nicht abgerufenen Bilder verdrängen
+            Iterator<byte[]> iterator = cache.values().iterator();
+            while (cachedBytes > maxBytes && iterator.hasNext()) {
+                cachedBytes -= iterator.next().length;
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Hash aus einem Schlüssel des Berichtsspeichers; null für ungültige Schlüssel und Dateipfade älterer Versionen.
+     */
+    private static String hashOf(String reportKey) {
+        if (reportKey == null || !reportKey.startsWith(ReportStoreImpl.KEY_PREFIX)) {
+            return null;
+        }
+        String hash = reportKey.substring(ReportStoreImpl.KEY_PREFIX.length());
+        return hash.matches("[0-9a-f]{64}") ? hash : null;
+    }
+}
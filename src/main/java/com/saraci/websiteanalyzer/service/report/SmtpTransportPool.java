@@ -0,0 +1,149 @@
+package com.saraci.websiteanalyzer.service.report;
+
+import javax.mail.Address;
+import javax.mail.Message;
+import javax.mail.MessagingException;
+import javax.mail.SendFailedException;
+import javax.mail.Session;
+import javax.mail.Transport;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Hält eine feste Anzahl an SMTP-Verbindungen offen und verwendet sie für aufeinanderfolgende
+ * Nachrichten wieder. Verbindungsaufbau, TLS-Handshake und Anmeldung fallen damit nur beim ersten
+ * Versand und nach Verbindungsabbrüchen an.
+ *
+ * Verbindungen werden erst bei Bedarf aufgebaut. Eine Verbindung, die länger als die Leerlaufzeit
+ * nicht benutzt wurde, wird vor dem Versand neu aufgebaut, da Server solche Verbindungen meist
+ * schließen. Bricht der Versand mit einem Verbindungsfehler ab, wird einmal mit neuer Verbindung
+ * wiederholt; abgelehnte Empfänger ({@link SendFailedException}) werden nicht wiederholt.
+ */
+class SmtpTransportPool {
+    private static final Logger logger = Logger.getLogger(SmtpTransportPool.class.getName());
+
+    private final Session session;
+    private final long maxIdleMillis;
+    private final BlockingQueue<PooledTransport> idle;
+
+    private volatile boolean closed;
+
+    /**
+     * Eine Verbindung mit dem Zeitpunkt ihrer letzten Verwendung.
+     */
+    private static class PooledTransport {
+        Transport transport;
+        long lastUsed;
+    }
+
+    /**
+     * @param session Die JavaMail-Session mit Host, Port und Anmeldedaten
+     * @param size Anzahl der Verbindungen (gleichzeitige Sendevorgänge)
+     * @param maxIdleMillis Leerlaufzeit, nach der eine Verbindung neu aufgebaut wird
+     */
+    SmtpTransportPool(Session session, int size, long maxIdleMillis) {
+        this.session = session;
+        this.maxIdleMillis = maxIdleMillis;
+        int poolSize = Math.max(1, size);
+        this.idle = new ArrayBlockingQueue<>(poolSize);
+        for (int i = 0; i < poolSize; i++) {
+            idle.add(new PooledTransport());
+        }
+    }
+
+    /**
+     * Sendet eine Nachricht über eine Verbindung des Pools. Blockiert, solange alle Verbindungen belegt sind.
+     *
+     * @param message Die fertige Nachricht
+     * @param recipients Die Empfänger (An, Cc und Bcc)
+     * @throws MessagingException Wenn die Nachricht auch nach neuem Verbindungsaufbau nicht gesendet werden kann
+     */
+    void send(Message message, Address[] recipients) throws MessagingException, InterruptedException {
+        if (closed) {
+            throw new MessagingException("SMTP-Verbindungspool ist geschlossen");
+        }
+
+        PooledTransport pooled = idle.take();
+        try {
+            message.saveChanges();
+            boolean fresh = ensureConnected(pooled);
+            try {
+                pooled.transport.sendMessage(message, recipients);
+            } catch (SendFailedException e) {
+                throw e;
+            } catch (MessagingException | IllegalStateException e) {
+                if (fresh) {
+                    throw e;
+                }
+                // Der Server hat die Verbindung vermutlich geschlossen: einmal mit neuer Verbindung wiederholen
+                logger.info("SMTP-Verbindung unterbrochen, baue sie neu auf: " + e.getMessage());
+                closeQuietly(pooled);
+                ensureConnected(pooled);
+                pooled.transport.sendMessage(message, recipients);
+            }
+            pooled.lastUsed = System.currentTimeMillis();
+        } catch (MessagingException | RuntimeException e) {
+            // Nach abgelehnten Empfängern bleibt die Verbindung nutzbar, sonst ist ihr Zustand unklar
+            if (!(e instanceof SendFailedException)) {
+                closeQuietly(pooled);
+            }
+            throw e;
+        } finally {
+            idle.add(pooled);
+        }
+    }
+
+    /**
+     * Baut die Verbindung auf, falls sie fehlt oder zu lange unbenutzt war.
+     *
+     * @return true, wenn die Verbindung neu aufgebaut wurde
+     */
+    private boolean ensureConnected(PooledTransport pooled) throws MessagingException {
+        if (pooled.transport != null && System.currentTimeMillis() - pooled.lastUsed > maxIdleMillis) {
+            closeQuietly(pooled);
+        }
+        if (pooled.transport != null) {
+            return false;
+        }
+
+        Transport transport = session.getTransport("smtp");
+        transport.connect();
+        pooled.transport = transport;
+        pooled.lastUsed = System.currentTimeMillis();
+        return true;
+    }
+
+    private void closeQuietly(PooledTransport pooled) {
+        if (pooled.transport == null) {
+            return;
+        }
+        try {
+            pooled.transport.close();
+        } catch (MessagingException e) {
+            // Die Verbindung ist ohnehin unbrauchbar
+        }
+        pooled.transport = null;
+    }
+
+    /**
+     * Schließt alle Verbindungen. Laufende Sendevorgänge werden bis zu einigen Sekunden abgewartet.
+     */
+    void close() {
+        closed = true;
+        int remaining = idle.remainingCapacity() + idle.size();
+        for (int i = 0; i < remaining; i++) {
+            try {
+                PooledTransport pooled = idle.poll(5, TimeUnit.SECONDS);
+                if (pooled == null) {
+                    break;
+                }
+                closeQuietly(pooled);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+    }
+}
@@ -0,0 +1,245 @@
+package com.saraci.websiteanalyzer.service.scheduler;
+
+import com.saraci.websiteanalyzer.config.SchedulerConfig;
+import com.saraci.websiteanalyzer.model.SchedulerPoolMetrics;
+import com.saraci.websiteanalyzer.util.StatsUtil;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+/**
+ * Ausführungspool für geplante Analysen, der seine Größe selbst regelt (AIMD).
+ *
+ * In jedem Regelintervall werden die gemessenen Abrufzeiten, die CPU-Last und die Länge der
+ * Warteschlange ausgewertet:
+ * <ul>
+ *     <li>p95-Latenz über dem Zielwert oder CPU-Last über dem Grenzwert: multiplikative Verringerung</li>
+ *     <li>sonst, wenn Aufträge warten und alle Threads belegt sind: additive Erhöhung um einen Thread</li>
+ *     <li>sonst: Größe beibehalten</li>
+ * </ul>
+ * Die Größe bleibt dabei immer innerhalb der konfigurierten Grenzen.
+ */
+public class AdaptiveExecutionPool {
+    private static final Logger logger = Logger.getLogger(AdaptiveExecutionPool.class.getName());
+
+    private static final int MAX_RECENT_DECISIONS = 20;
+    private static final DateTimeFormatter DECISION_TIME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final SchedulerConfig config;
+    private final ThreadPoolExecutor executor;
+    private final ScheduledFuture<?> controlTask;
+    private final OperatingSystemMXBean osBean = ManagementFactory.getOperatingSystemMXBean();
+
+    private final AtomicLong submittedTasks = new AtomicLong();
+    private List<Long> latencyWindow = new ArrayList<>();
+
+    // Regelzustand, geschützt durch "this"
+    private int currentLimit;
+    private long lastLatencyP95Ms;
+    private int lastLatencySamples;
+    private double lastCpuLoad;
+    private String lastDecision = SchedulerPoolMetrics.DECISION_HOLD;
+    private String lastDecisionReason = "Start";
+    private LocalDateTime lastAdjustedAt;
+    private long increaseCount;
+    private long decreaseCount;
+    private final LinkedList<String> recentDecisions = new LinkedList<>();
+
+    /**
+     * Erstellt den Pool und plant die Regelung auf dem übergebenen Timer.
+     *
+     * @param config Die Konfiguration mit Grenzen und Schwellwerten
+     * @param timer Der Timer, auf dem die Regelung periodisch läuft
+     */
+    public AdaptiveExecutionPool(SchedulerConfig config, ScheduledExecutorService timer) {
+        this.config = config;
+        this.currentLimit = config.getInitialThreads();
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                currentLimit, currentLimit,
+                60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(),
+                r -> new Thread(r, "scheduler-worker-" + threadNumber.incrementAndGet())
+        );
+
+        this.controlTask = timer.scheduleWithFixedDelay(
+                this::adjust, config.getAdjustIntervalSeconds(), config.getAdjustIntervalSeconds(), TimeUnit.SECONDS
+        );
+
+        logger.info("Adaptiver Ausführungspool gestartet: " + config);
+    }
+
+    /**
+     * Reiht einen Auftrag in den Pool ein.
+     */
+    public Future<?> submit(Runnable task) {
+        submittedTasks.incrementAndGet();
+        return executor.submit(task);
+    }
+
+    /**
+     * Meldet eine beobachtete Abrufdauer für die nächste Regelentscheidung.
+     */
+    public void recordLatency(long latencyMs) {
+        synchronized (this) {
+            latencyWindow.add(latencyMs);
+        }
+    }
+
+    /**
+     * Führt einen Regelschritt aus. Wird periodisch vom Timer aufgerufen.
+     */
+    void adjust() {
+        try {
+            List<Long> samples;
+            synchronized (this) {
+                samples = latencyWindow;
+                latencyWindow = new ArrayList<>();
+            }
+
+            long p95 = StatsUtil.percentile(samples, 95);
+            double cpuLoad = readCpuLoad();
+            int queueDepth = executor.getQueue().size();
+            int active = executor.getActiveCount();
+
+            synchronized (this) {
+                int oldLimit = currentLimit;
+                int newLimit = oldLimit;
+                String decision = SchedulerPoolMetrics.DECISION_HOLD;
+                String reason;
+
+                if (!samples.isEmpty() && p95 > config.getLatencyTargetMs()) {
+                    newLimit = decreased(oldLimit);
+                    reason = "p95-Latenz " + p95 + " ms über Zielwert " + config.getLatencyTargetMs() + " ms";
+                } else if (cpuLoad > config.getCpuLoadLimit()) {
+                    newLimit = decreased(oldLimit);
+                    reason = String.format("CPU-Last %.2f über Grenzwert %.2f", cpuLoad, config.getCpuLoadLimit());
+                } else if (queueDepth > 0 && active >= oldLimit) {
+                    newLimit = Math.min(config.getMaxThreads(), oldLimit + 1);
+                    reason = queueDepth + " Aufträge in der Warteschlange";
+                } else {
+                    reason = "Keine Überlast, keine Warteschlange";
+                }
+
+                if (newLimit > oldLimit) {
+                    decision = SchedulerPoolMetrics.DECISION_INCREASE;
+                    increaseCount++;
+                } else if (newLimit < oldLimit) {
+                    decision = SchedulerPoolMetrics.DECISION_DECREASE;
+                    decreaseCount++;
+                }
+
+                if (newLimit != oldLimit) {
+                    resize(newLimit);
+                    currentLimit = newLimit;
+                    logger.info("Ausführungspool angepasst: " + oldLimit + " -> " + newLimit + " (" + reason + ")");
+
+                    recentDecisions.addFirst(LocalDateTime.now().format(DECISION_TIME_FORMAT) + " " + decision +
+                            " " + oldLimit + " -> " + newLimit + ": " + reason);
+                    if (recentDecisions.size() > MAX_RECENT_DECISIONS) {
+                        recentDecisions.removeLast();
+                    }
+                }
+
+                lastLatencyP95Ms = p95;
+                lastLatencySamples = samples.size();
+                lastCpuLoad = cpuLoad;
+                lastDecision = decision;
+                lastDecisionReason = reason;
+                lastAdjustedAt = LocalDateTime.now();
+            }
+        } catch (Exception e) {
+            // Der Timer darf durch einen Fehler in der Regelung nicht beendet werden
+            logger.warning("Fehler bei der Anpassung des Ausführungspools: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Berechnet die verringerte Poolgröße (mindestens ein Thread weniger, nie unter dem Minimum).
+     */
+    private int decreased(int limit) {
+        int target = (int) Math.floor(limit * config.getDecreaseFactor());
+        if (target >= limit) {
+            target = limit - 1;
+        }
+        return Math.max(config.getMinThreads(), target);
+    }
+
+    /**
+     * Ändert die Poolgröße. Die Reihenfolge verhindert, dass core zwischenzeitlich größer als max ist.
+     */
+    private void resize(int newLimit) {
+        if (newLimit > executor.getMaximumPoolSize()) {
+            executor.setMaximumPoolSize(newLimit);
+            executor.setCorePoolSize(newLimit);
+        } else {
+            executor.setCorePoolSize(newLimit);
+            executor.setMaximumPoolSize(newLimit);
+        }
+    }
+
+    /**
+     * Liest die aktuelle CPU-Last zwischen 0 und 1. Ist keine Messung möglich, wird 0 zurückgegeben.
+     */
+    private double readCpuLoad() {
+        if (osBean instanceof com.sun.management.OperatingSystemMXBean) {
+            double load = ((com.sun.management.OperatingSystemMXBean) osBean).getCpuLoad();
+            if (load >= 0) {
+                return load;
+            }
+        }
+
+        // Fallback: Load-Average pro Prozessor (nicht auf allen Plattformen verfügbar)
+        double loadAverage = osBean.getSystemLoadAverage();
+        if (loadAverage >= 0) {
+            return loadAverage / osBean.getAvailableProcessors();
+        }
+        return 0;
+    }
+
+    /**
+     * Gibt eine Momentaufnahme der Kennzahlen des Pools zurück.
+     */
+    public synchronized SchedulerPoolMetrics getMetrics() {
+        SchedulerPoolMetrics metrics = new SchedulerPoolMetrics();
+        metrics.setMinThreads(config.getMinThreads());
+        metrics.setMaxThreads(config.getMaxThreads());
+        metrics.setCurrentLimit(currentLimit);
+        metrics.setActiveThreads(executor.getActiveCount());
+        metrics.setPoolSize(executor.getPoolSize());
+        metrics.setQueueDepth(executor.getQueue().size());
+        metrics.setSubmittedTasks(submittedTasks.get());
+        metrics.setCompletedTasks(executor.getCompletedTaskCount());
+        metrics.setLatencyP95Ms(lastLatencyP95Ms);
+        metrics.setLatencySamples(lastLatencySamples);
+        metrics.setCpuLoad(lastCpuLoad);
+        metrics.setLastDecision(lastDecision);
+        metrics.setLastDecisionReason(lastDecisionReason);
+        metrics.setLastAdjustedAt(lastAdjustedAt);
+        metrics.setIncreaseCount(increaseCount);
+        metrics.setDecreaseCount(decreaseCount);
+        metrics.setRecentDecisions(new ArrayList<>(recentDecisions));
+        return metrics;
+    }
+
+    /**
+     * Fährt den Pool herunter und wartet auf laufende Analysen.
+     */
+    public void shutdown(long timeout, TimeUnit unit) throws InterruptedException {
+        controlTask.cancel(false);
+        executor.shutdown();
+        if (!executor.awaitTermination(timeout, unit)) {
+            executor.shutdownNow();
+        }
+    }
+}
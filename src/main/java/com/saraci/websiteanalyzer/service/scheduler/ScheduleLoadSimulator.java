@@ -0,0 +1,352 @@
+package com.saraci.websiteanalyzer.service.scheduler;
+
+import com.saraci.websiteanalyzer.config.DatabaseConfig;
+import com.saraci.websiteanalyzer.model.AnalysisSchedule;
+import com.saraci.websiteanalyzer.model.ScheduleLoadForecast;
+import com.saraci.websiteanalyzer.model.ScheduleRunStats;
+import com.saraci.websiteanalyzer.model.Website;
+import com.saraci.websiteanalyzer.repository.ScheduleRepository;
+import com.saraci.websiteanalyzer.repository.ScheduleRunRepository;
+import com.saraci.websiteanalyzer.repository.WebsiteRepository;
+import com.saraci.websiteanalyzer.repository.impl.ScheduleRepositoryImpl;
+import com.saraci.websiteanalyzer.repository.impl.ScheduleRunRepositoryImpl;
+import com.saraci.websiteanalyzer.repository.impl.WebsiteRepositoryImpl;
+import com.saraci.websiteanalyzer.util.JsonUtil;
+
+import java.net.URI;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.logging.Logger;
+
+/**
+ * Simuliert die Last, die die aktiven Zeitpläne über einen Zeithorizont erzeugen (Dry-Run).
+ *
+ * Nach der ersten Ausführung folgen die Ausführungen wie im {@link SchedulerServiceImpl} im festen Intervall
+ * des Cron-Ausdrucks. Für die erste Ausführung gibt es drei Annahmen ({@code FIRST_RUN_*}): Der laufende
+ * Prozess führt einen Zeitplan zum gespeicherten nächsten Lauf aus. Nach einem Neustart plant der Scheduler
+ * dagegen alle Zeitpläne ab dem Startzeitpunkt neu, ohne den gespeicherten nächsten Lauf zu beachten:
+ * mit ENABLE_SCHEDULER_STARTUP sofort, sonst nach einem Intervall. Die Spitzen können sich dabei deutlich
+ * unterscheiden; die gewählte Annahme steht in der Prognose.
+ * Die Dauer einer Ausführung wird aus den gemessenen Durchschnittswerten der Zeitplan-Historie
+ * abgeleitet; fehlt die Historie, werden konservative Standardwerte angenommen.
+ *
+ * Kann als Admin-Endpunkt oder offline über {@link #main(String[])} gegen eine SQLite-Datei laufen.
+ */
+public class ScheduleLoadSimulator {
+    private static final Logger logger = Logger.getLogger(ScheduleLoadSimulator.class.getName());
+
+    // Maximaler Horizont (90 Tage), damit die Minutenauflösung im Speicher überschaubar bleibt
+    public static final int MAX_HORIZON_HOURS = 24 * 90;
+
+    // Annahmen für die erste Ausführung eines Zeitplans
+    public static final String FIRST_RUN_STORED = "stored";                       // laufender Prozess
+    public static final String FIRST_RUN_RESTART = "restart";                     // Neustart, erste Ausführung nach einem Intervall
+    public static final String FIRST_RUN_RESTART_IMMEDIATE = "restart-immediate"; // Neustart mit sofortiger Ausführung
+
+    private static final DateTimeFormatter HOUR_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:00");
+
+    // Standardwerte je Phase in Millisekunden, falls noch keine Ausführungen protokolliert wurden
+    private static final Map<String, Long> DEFAULT_STAGE_MS = new LinkedHashMap<>();
+
+    static {
+        DEFAULT_STAGE_MS.put("fetch", 1500L);
+        DEFAULT_STAGE_MS.put("analyze", 6000L);
+        DEFAULT_STAGE_MS.put("persist", 100L);
+        DEFAULT_STAGE_MS.put("pdf", 1500L);
+        DEFAULT_STAGE_MS.put("email", 2000L);
+    }
+
+    private final ScheduleRepository scheduleRepository;
+    private final WebsiteRepository websiteRepository;
+    private final ScheduleRunRepository scheduleRunRepository;
+
+    /**
+     * Konstruktor mit Dependency Injection.
+     */
+    public ScheduleLoadSimulator(ScheduleRepository scheduleRepository,
+                                 WebsiteRepository websiteRepository,
+                                 ScheduleRunRepository scheduleRunRepository) {
+        this.scheduleRepository = scheduleRepository;
+        this.websiteRepository = websiteRepository;
+        this.scheduleRunRepository = scheduleRunRepository;
+    }
+
+    /**
+     * Erstellt eine Lastprognose für die aktiven Zeitpläne im laufenden Prozess
+     * (erste Ausführung zum gespeicherten nächsten Lauf).
+     *
+     * @param start Beginn des Horizonts
+     * @param horizonHours Länge des Horizonts in Stunden
+     * @return Die Prognose
+     * @throws Exception Bei Datenbankfehlern
+     */
+    public ScheduleLoadForecast simulate(LocalDateTime start, int horizonHours) throws Exception {
+        return simulate(start, horizonHours, FIRST_RUN_STORED);
+    }
+
+    /**
+     * Erstellt eine Lastprognose für die aktiven Zeitpläne.
+     *
+     * @param start Beginn des Horizonts (bei einem Neustart der Startzeitpunkt)
+     * @param horizonHours Länge des Horizonts in Stunden
+     * @param firstRun Annahme für die erste Ausführung, eine der {@code FIRST_RUN_*}-Konstanten
+     * @return Die Prognose
+     * @throws IllegalArgumentException Bei unbekannter Annahme
+     * @throws Exception Bei Datenbankfehlern
+     */
+    public ScheduleLoadForecast simulate(LocalDateTime start, int horizonHours, String firstRun) throws Exception {
+        if (!FIRST_RUN_STORED.equals(firstRun) && !FIRST_RUN_RESTART.equals(firstRun) &&
+                !FIRST_RUN_RESTART_IMMEDIATE.equals(firstRun)) {
+            throw new IllegalArgumentException("Unbekannte Annahme für die erste Ausführung: " + firstRun);
+        }
+        int hours = Math.min(Math.max(horizonHours, 1), MAX_HORIZON_HOURS);
+        LocalDateTime horizonStart = start.truncatedTo(ChronoUnit.MINUTES);
+        LocalDateTime horizonEnd = horizonStart.plusHours(hours);
+        int horizonMinutes = hours * 60;
+
+        List<AnalysisSchedule> schedules = scheduleRepository.findAllActive();
+
+        // Website-ID -> Host
+        Map<Long, String> hosts = new HashMap<>();
+        for (Website website : websiteRepository.findAll()) {
+            hosts.put(website.getId(), extractHost(website.getUrl()));
+        }
+
+        // Gemessene Phasendauern (Durchschnitt über die Flotte)
+        ScheduleRunStats fleetStats = scheduleRunRepository.getFleetStats(30);
+        boolean measured = fleetStats.getRunCount() > 0;
+        Map<String, Long> stageMs = new LinkedHashMap<>(measured ? fleetStats.getStageAverageMs() : DEFAULT_STAGE_MS);
+
+        // Die Analyse enthält den Abruf bereits, daher zählt "fetch" nicht extra zur Laufzeit
+        long runMs = stageMs.getOrDefault("analyze", 0L) + stageMs.getOrDefault("persist", 0L)
+                + stageMs.getOrDefault("pdf", 0L) + stageMs.getOrDefault("email", 0L);
+        int runMinutes = (int) Math.max(1, (runMs + 59_999) / 60_000);
+
+        int[] startsPerMinute = new int[horizonMinutes];
+        Map<String, List<Integer>> startsPerHost = new TreeMap<>();
+        int totalRuns = 0;
+        int emailCount = 0;
+        int runsWithEmail = 0;
+
+        for (AnalysisSchedule schedule : schedules) {
+            long intervalSeconds = SchedulerServiceImpl.getIntervalFromCronExpression(schedule.getCronExpression());
+            int recipients = countRecipients(schedule.getRecipients());
+            String host = hosts.getOrDefault(schedule.getWebsiteId(), "website-" + schedule.getWebsiteId());
+
+            LocalDateTime fireTime = firstFireTime(schedule, horizonStart, intervalSeconds, firstRun);
+            while (fireTime.isBefore(horizonEnd)) {
+                int minute = (int) ChronoUnit.MINUTES.between(horizonStart, fireTime);
+                startsPerMinute[minute]++;
+                startsPerHost.computeIfAbsent(host, h -> new ArrayList<>()).add(minute);
+
+                totalRuns++;
+                emailCount += recipients;
+                if (recipients > 0) {
+                    runsWithEmail++;
+                }
+
+                fireTime = fireTime.plusSeconds(intervalSeconds);
+            }
+        }
+
+        ScheduleLoadForecast forecast = new ScheduleLoadForecast();
+        forecast.setHorizonStart(horizonStart);
+        forecast.setHorizonHours(hours);
+        forecast.setActiveSchedules(schedules.size());
+        forecast.setTotalRuns(totalRuns);
+        forecast.setAverageRunsPerHour(totalRuns / (double) hours);
+        forecast.setMeasuredDurations(measured);
+        forecast.setFirstRunAssumption(firstRun);
+        forecast.setAssumedStageMs(stageMs);
+        forecast.setAssumedRunMs(runMs);
+
+        // Ausführungen pro Stunde und Spitzenstunde
+        int peakHourRuns = 0;
+        int peakHour = 0;
+        for (int hour = 0; hour < hours; hour++) {
+            int runs = 0;
+            for (int minute = hour * 60; minute < (hour + 1) * 60; minute++) {
+                runs += startsPerMinute[minute];
+            }
+            forecast.getRunsPerHour().put(horizonStart.plusHours(hour).format(HOUR_FORMAT), runs);
+            if (runs > peakHourRuns) {
+                peakHourRuns = runs;
+                peakHour = hour;
+            }
+        }
+        forecast.setPeakRunsPerHour(peakHourRuns);
+        forecast.setPeakHourStart(horizonStart.plusHours(peakHour));
+
+        // Gleichzeitig laufende Ausführungen je Minute (gleitendes Fenster über die Laufzeit)
+        int running = 0;
+        int peakConcurrency = 0;
+        int peakMinute = 0;
+        for (int minute = 0; minute < horizonMinutes; minute++) {
+            running += startsPerMinute[minute];
+            if (minute - runMinutes >= 0) {
+                running -= startsPerMinute[minute - runMinutes];
+            }
+            if (running > peakConcurrency) {
+                peakConcurrency = running;
+                peakMinute = minute;
+            }
+        }
+        forecast.setPeakConcurrency(peakConcurrency);
+        forecast.setPeakConcurrencyMinute(horizonStart.plusMinutes(peakMinute));
+
+        // Ausführungen und Spitzen-Gleichzeitigkeit pro Host
+        for (Map.Entry<String, List<Integer>> entry : startsPerHost.entrySet()) {
+            List<Integer> starts = entry.getValue();
+            Collections.sort(starts);
+            forecast.getRunsPerHost().put(entry.getKey(), starts.size());
+            forecast.getPeakConcurrencyPerHost().put(entry.getKey(), peakOverlap(starts, runMinutes));
+        }
+
+        // Volumen für PDF und E-Mail
+        forecast.setEstimatedPdfCount(totalRuns);
+        forecast.setEstimatedEmailCount(emailCount);
+        forecast.setEstimatedPdfRenderSeconds(totalRuns * stageMs.getOrDefault("pdf", 0L) / 1000);
+        forecast.setEstimatedEmailSeconds(runsWithEmail * stageMs.getOrDefault("email", 0L) / 1000);
+        forecast.setEstimatedBusySeconds(totalRuns * runMs / 1000);
+
+        logger.info("Lastprognose erstellt: " + forecast);
+        return forecast;
+    }
+
+    /**
+     * Bestimmt die erste Ausführung innerhalb des Horizonts. Nach einem Neustart entspricht sie der
+     * Verzögerung in {@link SchedulerServiceImpl#scheduleAll}; im laufenden Prozess dem gespeicherten
+     * nächsten Lauf, ohne gültigen nächsten Lauf erst nach einem Intervall.
+     */
+    private LocalDateTime firstFireTime(AnalysisSchedule schedule, LocalDateTime horizonStart, long intervalSeconds,
+                                        String firstRun) {
+        if (FIRST_RUN_RESTART_IMMEDIATE.equals(firstRun)) {
+            return horizonStart;
+        }
+        if (FIRST_RUN_RESTART.equals(firstRun)) {
+            return horizonStart.plusSeconds(intervalSeconds);
+        }
+        LocalDateTime nextRun = schedule.getNextRun();
+        if (nextRun == null || nextRun.isBefore(horizonStart)) {
+            return horizonStart.plusSeconds(intervalSeconds);
+        }
+        return nextRun.truncatedTo(ChronoUnit.MINUTES);
+    }
+
+    /**
+     * Berechnet die maximale Anzahl überlappender Ausführungen bei gegebenen Startminuten.
+     */
+    private int peakOverlap(List<Integer> sortedStarts, int runMinutes) {
+        int peak = 0;
+        int windowStart = 0;
+        for (int i = 0; i < sortedStarts.size(); i++) {
+            while (sortedStarts.get(i) - sortedStarts.get(windowStart) >= runMinutes) {
+                windowStart++;
+            }
+            peak = Math.max(peak, i - windowStart + 1);
+        }
+        return peak;
+    }
+
+    private int countRecipients(String recipients) {
+        if (recipients == null || recipients.trim().isEmpty()) {
+            return 0;
+        }
+        int count = 0;
+        for (String recipient : recipients.split(",")) {
+            if (!recipient.trim().isEmpty()) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private String extractHost(String url) {
+        try {
+            String host = URI.create(url).getHost();
+            return host != null ? host : url;
+        } catch (Exception e) {
+            return url;
+        }
+    }
+
+    /**
+     * Kommandozeilen-Einstieg für die Offline-Prognose.
+     * Aufruf: {@code java -cp website-analyzer.jar com.saraci.websiteanalyzer.service.scheduler.ScheduleLoadSimulator
+     * [--db=data/website_analyzer.db] [--hours=168] [--first-run=stored|restart|restart-immediate] [--json]}
+     * Die Datenbank wird nur lesend geöffnet und weder angelegt noch migriert.
+     */
+    public static void main(String[] args) {
+        String dbFile = "data/website_analyzer.db";
+        int hours = 168;
+        String firstRun = FIRST_RUN_STORED;
+        boolean json = false;
+
+        for (String arg : args) {
+            if (arg.startsWith("--db=")) {
+                dbFile = arg.substring("--db=".length());
+            } else if (arg.startsWith("--hours=")) {
+                hours = Integer.parseInt(arg.substring("--hours=".length()));
+            } else if (arg.startsWith("--first-run=")) {
+                firstRun = arg.substring("--first-run=".length());
+            } else if (arg.equals("--json")) {
+                json = true;
+            }
+        }
+
+        try {
+            DatabaseConfig.openReadOnly(dbFile);
+
+            ScheduleLoadSimulator simulator = new ScheduleLoadSimulator(
+                    new ScheduleRepositoryImpl(),
+                    new WebsiteRepositoryImpl(),
+                    new ScheduleRunRepositoryImpl()
+            );
+            ScheduleLoadForecast forecast = simulator.simulate(LocalDateTime.now(), hours, firstRun);
+
+            if (json) {
+                System.out.println(JsonUtil.toJson(forecast));
+            } else {
+                printSummary(forecast);
+            }
+        } catch (Exception e) {
+            System.err.println("Fehler bei der Lastprognose: " + e.getMessage());
+            e.printStackTrace();
+        } finally {
+            DatabaseConfig.closeConnection();
+        }
+    }
+
+    private static void printSummary(ScheduleLoadForecast forecast) {
+        System.out.println("Lastprognose ab " + forecast.getHorizonStart() + " für " + forecast.getHorizonHours() + " Stunden");
+        System.out.println("Aktive Zeitpläne:          " + forecast.getActiveSchedules());
+        System.out.println("Erste Ausführung:          " + describeFirstRun(forecast.getFirstRunAssumption()));
+        System.out.println("Ausführungen gesamt:       " + forecast.getTotalRuns());
+        System.out.printf("Ausführungen pro Stunde:   %.2f (Spitze: %d ab %s)%n",
+                forecast.getAverageRunsPerHour(), forecast.getPeakRunsPerHour(), forecast.getPeakHourStart());
+        System.out.println("Max. gleichzeitig:         " + forecast.getPeakConcurrency() + " (Minute " + forecast.getPeakConcurrencyMinute() + ")");
+        System.out.println("PDF-Berichte:              " + forecast.getEstimatedPdfCount() + " (~" + forecast.getEstimatedPdfRenderSeconds() + " s Rendering)");
+        System.out.println("E-Mails:                   " + forecast.getEstimatedEmailCount() + " (~" + forecast.getEstimatedEmailSeconds() + " s Versand)");
+        System.out.println("Angenommene Laufzeit:      " + forecast.getAssumedRunMs() + " ms pro Ausführung" +
+                (forecast.isMeasuredDurations() ? " (gemessen)" : " (Standardwerte)"));
+        System.out.println("Phasen (ms):               " + forecast.getAssumedStageMs());
+        System.out.println();
+        System.out.println("Host                                     Ausführungen  max. gleichzeitig");
+        for (Map.Entry<String, Integer> entry : forecast.getRunsPerHost().entrySet()) {
+            System.out.printf("%-40s %12d  %17d%n", entry.getKey(), entry.getValue(),
+                    forecast.getPeakConcurrencyPerHost().get(entry.getKey()));
+        }
+    }
+
+    private static String describeFirstRun(String firstRun) {
+        if (FIRST_RUN_RESTART_IMMEDIATE.equals(firstRun)) {
+            return "Neustart, alle Zeitpläne sofort (ENABLE_SCHEDULER_STARTUP=true)";
+        }
+        if (FIRST_RUN_RESTART.equals(firstRun)) {
+            return "Neustart, nach einem Intervall ab Start";
+        }
+        return "gespeicherter nächster Lauf (laufender Prozess, kein Neustart)";
+    }
+}
@@ -1,6 +1,11 @@
 package com.saraci.websiteanalyzer.service.scheduler;
 
 import com.saraci.websiteanalyzer.model.AnalysisSchedule;
+import com.saraci.websiteanalyzer.model.SchedulerPoolMetrics;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 
 /**
  * Schnittstelle für den Scheduler-Service.
@@ -44,6 +49,46 @@ public interface SchedulerService {
      */
     void unscheduleAnalysis(Long scheduleId) throws Exception;
 
+    /**
+     * Plant viele Zeitpläne in einem Durchgang und speichert ihre nächsten Ausführungszeitpunkte
+     * gesammelt. Bereits geplante Zeitpläne werden dabei ersetzt.
+     *
+     * @param schedules Die zu planenden Zeitpläne
+     * @param executeImmediately true, wenn die erste Ausführung sofort erfolgen soll,
+     *                           sonst erst nach einem Intervall
+     * @throws Exception Bei Fehlern in der Planung
+     */
+    void scheduleAll(List<AnalysisSchedule> schedules, boolean executeImmediately) throws Exception;
+
+    /**
+     * Plant viele Zeitpläne in einem Durchgang, optional ohne die nächsten Ausführungszeitpunkte zu speichern.
+     * Aufrufer, die die Zeitpläne selbst speichern, setzen vorher {@link #nextRunAfter} und schreiben
+     * Einstellungen und nächsten Ausführungszeitpunkt in einer Transaktion.
+     *
+     * @param schedules Die zu planenden Zeitpläne
+     * @param executeImmediately true, wenn die erste Ausführung sofort erfolgen soll,
+     *                           sonst erst nach einem Intervall
+     * @param persistNextRun false, wenn der Aufrufer die nächsten Ausführungszeitpunkte bereits gespeichert hat
+     * @throws Exception Bei Fehlern in der Planung
+     */
+    void scheduleAll(List<AnalysisSchedule> schedules, boolean executeImmediately, boolean persistNextRun) throws Exception;
+
+    /**
+     * Berechnet den nächsten Ausführungszeitpunkt, den {@link #scheduleAll} für einen Zeitplan speichert.
+     *
+     * @param schedule Der Zeitplan
+     * @param from Zeitpunkt der Planung
+     * @return Der nächste Ausführungszeitpunkt
+     */
+    LocalDateTime nextRunAfter(AnalysisSchedule schedule, LocalDateTime from);
+
+    /**
+     * Entfernt viele Zeitpläne aus dem Scheduler.
+     *
+     * @param scheduleIds Die IDs der zu entfernenden Zeitpläne
+     */
+    void unscheduleAll(Collection<Long> scheduleIds);
+
     /**
      * Führt einen Zeitplan sofort manuell aus.
      *
@@ -52,6 +97,13 @@ public interface SchedulerService {
      */
     void executeNow(AnalysisSchedule schedule) throws Exception;
 
+    /**
+     * Gibt die aktuellen Kennzahlen und Regelentscheidungen des Ausführungspools zurück.
+     *
+     * @return Momentaufnahme des Ausführungspools
+     */
+    SchedulerPoolMetrics getPoolMetrics();
+
     /**
      * Beendet den Scheduler und gibt alle Ressourcen frei.
      */
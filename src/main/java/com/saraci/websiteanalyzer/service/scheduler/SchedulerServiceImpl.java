@@ -1,17 +1,25 @@
 package com.saraci.websiteanalyzer.service.scheduler;
 
+import com.saraci.websiteanalyzer.config.SchedulerConfig;
 import com.saraci.websiteanalyzer.model.AnalysisResult;
 import com.saraci.websiteanalyzer.model.AnalysisSchedule;
+import com.saraci.websiteanalyzer.model.ScheduleRun;
+import com.saraci.websiteanalyzer.model.SchedulerPoolMetrics;
 import com.saraci.websiteanalyzer.model.Website;
 import com.saraci.websiteanalyzer.repository.AnalysisResultRepository;
 import com.saraci.websiteanalyzer.repository.ScheduleRepository;
+import com.saraci.websiteanalyzer.repository.ScheduleRunRepository;
 import com.saraci.websiteanalyzer.repository.WebsiteRepository;
 import com.saraci.websiteanalyzer.service.WebsiteAnalyzerService;
+import com.saraci.websiteanalyzer.service.report.DigestService;
+import com.saraci.websiteanalyzer.service.report.ReportCache;
 
 import java.time.LocalDateTime;
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
@@ -21,6 +29,9 @@ import java.util.logging.Logger;
 /**
  * Implementierung des Scheduler-Services mit ScheduledExecutorService.
  * In einer echten Anwendung würde man hier eine Bibliothek wie Quartz oder cron4j verwenden.
+ *
+ * Ein einzelner Timer-Thread löst die Zeitpläne nur aus; die Analysen selbst laufen im
+ * {@link AdaptiveExecutionPool}, damit langsame Websites den Timer nicht verzögern.
  */
 public class SchedulerServiceImpl implements SchedulerService {
     private static final Logger logger = Logger.getLogger(SchedulerServiceImpl.class.getName());
@@ -29,24 +40,65 @@ public class SchedulerServiceImpl implements SchedulerService {
     private final WebsiteRepository websiteRepository;
     private final AnalysisResultRepository analysisResultRepository;
     private final ScheduleRepository scheduleRepository;
+    private final ScheduleRunRepository scheduleRunRepository;
+    private final ReportCache reportCache;
+    private final DigestService digestService;
 
-    private final ScheduledExecutorService executorService;
+    private final ScheduledExecutorService timer;
+    private final AdaptiveExecutionPool executionPool;
     private final Map<Long, ScheduledFuture<?>> scheduledTasks;
 
+    /**
+     * Konstruktor mit Dependency Injection und Standardkonfiguration des Ausführungspools.
+     */
+    public SchedulerServiceImpl(WebsiteAnalyzerService analyzerService,
+                                WebsiteRepository websiteRepository,
+                                AnalysisResultRepository analysisResultRepository,
+                                ScheduleRepository scheduleRepository,
+                                ScheduleRunRepository scheduleRunRepository,
+                                ReportCache reportCache) {
+        this(analyzerService, websiteRepository, analysisResultRepository, scheduleRepository,
+                scheduleRunRepository, reportCache, new SchedulerConfig());
+    }
+
+    /**
+     * Konstruktor mit Dependency Injection.
+     */
+    public SchedulerServiceImpl(WebsiteAnalyzerService analyzerService,
+                                WebsiteRepository websiteRepository,
+                                AnalysisResultRepository analysisResultRepository,
+                                ScheduleRepository scheduleRepository,
+                                ScheduleRunRepository scheduleRunRepository,
+                                ReportCache reportCache,
+                                SchedulerConfig schedulerConfig) {
+        this(analyzerService, websiteRepository, analysisResultRepository, scheduleRepository,
+                scheduleRunRepository, reportCache, schedulerConfig, null);
+    }
+
     /**
      * Konstruktor mit Dependency Injection.
+     *
+     * @param digestService Sammel-E-Mails oder null, wenn alle Empfänger sofort eine E-Mail erhalten
      */
     public SchedulerServiceImpl(WebsiteAnalyzerService analyzerService,
                                 WebsiteRepository websiteRepository,
                                 AnalysisResultRepository analysisResultRepository,
-                                ScheduleRepository scheduleRepository) {
+                                ScheduleRepository scheduleRepository,
+                                ScheduleRunRepository scheduleRunRepository,
+                                ReportCache reportCache,
+                                SchedulerConfig schedulerConfig,
+                                DigestService digestService) {
         this.analyzerService = analyzerService;
         this.websiteRepository = websiteRepository;
         this.analysisResultRepository = analysisResultRepository;
         this.scheduleRepository = scheduleRepository;
+        this.scheduleRunRepository = scheduleRunRepository;
+        this.reportCache = reportCache;
+        this.digestService = digestService;
 
-        this.executorService = Executors.newScheduledThreadPool(5);
-        this.scheduledTasks = new HashMap<>();
+        this.timer = Executors.newSingleThreadScheduledExecutor(r -> new Thread(r, "scheduler-timer"));
+        this.executionPool = new AdaptiveExecutionPool(schedulerConfig, timer);
+        this.scheduledTasks = new ConcurrentHashMap<>();
     }
 
     @Override
@@ -55,10 +107,8 @@ public class SchedulerServiceImpl implements SchedulerService {
         List<AnalysisSchedule> schedules = scheduleRepository.findAllActive();
         logger.info("Lade " + schedules.size() + " aktive Zeitpläne");
 
-        // Plane jeden Zeitplan mit sofortiger Ausführung
-        for (AnalysisSchedule schedule : schedules) {
-            scheduleAnalysis(schedule);
-        }
+        // Plane alle Zeitpläne mit sofortiger Ausführung
+        scheduleAll(schedules, true);
     }
 
     @Override
@@ -67,51 +117,8 @@ public class SchedulerServiceImpl implements SchedulerService {
         List<AnalysisSchedule> schedules = scheduleRepository.findAllActive();
         logger.info("Lade " + schedules.size() + " aktive Zeitpläne (ohne sofortige Ausführung)");
 
-        // Plane jeden Zeitplan mit verzögerter Ausführung
-        for (AnalysisSchedule schedule : schedules) {
-            scheduleAnalysisWithDelay(schedule);
-        }
-    }
-
-    /**
-     * Plant eine Website-Analyse mit verzögerter erster Ausführung.
-     */
-    private void scheduleAnalysisWithDelay(AnalysisSchedule schedule) throws Exception {
-        // Validiere den Zeitplan
-        if (schedule == null || schedule.getCronExpression() == null) {
-            throw new IllegalArgumentException("Ungültiger Zeitplan: Cron-Ausdruck ist erforderlich");
-        }
-
-        // Task erstellen
-        Runnable task = () -> {
-            try {
-                executeScheduledAnalysis(schedule);
-            } catch (Exception e) {
-                logger.severe("Fehler bei der geplanten Analyse: " + e.getMessage());
-            }
-        };
-
-        // Intervall basierend auf dem Cron-Ausdruck bestimmen
-        long interval = getIntervalFromCronExpression(schedule.getCronExpression());
-
-        // Task planen mit Verzögerung für die erste Ausführung
-        ScheduledFuture<?> future = executorService.scheduleAtFixedRate(
-                task, interval, interval, TimeUnit.SECONDS // Erste Ausführung nach einem Intervall
-        );
-
-        // Task in der Map speichern
-        if (scheduledTasks.containsKey(schedule.getId())) {
-            scheduledTasks.get(schedule.getId()).cancel(false);
-        }
-
-        scheduledTasks.put(schedule.getId(), future);
-        logger.info("Analyse für Website-ID " + schedule.getWebsiteId() +
-                " geplant mit Intervall " + (interval / 3600) + " Stunden, Zeitplan-ID: " + schedule.getId() +
-                " (erste Ausführung verzögert)");
-
-        // Nächsten Ausführungszeitpunkt berechnen und speichern
-        schedule.setNextRun(LocalDateTime.now().plusSeconds(interval));
-        scheduleRepository.update(schedule);
+        // Plane alle Zeitpläne mit verzögerter Ausführung
+        scheduleAll(schedules, false);
     }
 
     @Override
@@ -126,19 +133,13 @@ public class SchedulerServiceImpl implements SchedulerService {
         // Für diese einfache Implementierung verwenden wir einen festen Zeitplan (alle 24 Stunden).
 
         // Einfache Beispiel-Implementierung: Führe die Analyse alle 24 Stunden aus
-        Runnable task = () -> {
-            try {
-                executeScheduledAnalysis(schedule);
-            } catch (Exception e) {
-                logger.severe("Fehler bei der geplanten Analyse: " + e.getMessage());
-            }
-        };
+        Runnable task = () -> dispatch(schedule);
 
         // Je nach dem Cron-Ausdruck unterschiedliche Intervalle wählen
         long interval = getIntervalFromCronExpression(schedule.getCronExpression());
 
         // Task planen
-        ScheduledFuture<?> future = executorService.scheduleAtFixedRate(
+        ScheduledFuture<?> future = timer.scheduleAtFixedRate(
                 task, 0, interval, TimeUnit.SECONDS
         );
 
@@ -161,7 +162,7 @@ public class SchedulerServiceImpl implements SchedulerService {
      * Hilfsmethode, um ein Intervall aus einem Cron-Ausdruck zu berechnen.
      * In einer echten Anwendung würde man eine Bibliothek wie Quartz oder cron4j verwenden.
      */
-    private long getIntervalFromCronExpression(String cronExpression) {
+    static long getIntervalFromCronExpression(String cronExpression) {
         // Verarbeite einige Standard-Cron-Ausdrücke
         switch (cronExpression) {
             case "0 * * * *":     // Stündlich
@@ -197,12 +198,74 @@ public class SchedulerServiceImpl implements SchedulerService {
         }
     }
 
+    @Override
+    public void scheduleAll(List<AnalysisSchedule> schedules, boolean executeImmediately) throws Exception {
+        scheduleAll(schedules, executeImmediately, true);
+    }
+
+    @Override
+    public void scheduleAll(List<AnalysisSchedule> schedules, boolean executeImmediately, boolean persistNextRun) throws Exception {
+        LocalDateTime now = LocalDateTime.now();
+
+        for (AnalysisSchedule schedule : schedules) {
+            if (schedule == null || schedule.getCronExpression() == null) {
+                throw new IllegalArgumentException("Ungültiger Zeitplan: Cron-Ausdruck ist erforderlich");
+            }
+        }
+
+        // Alle Tasks in einem Durchgang beim Timer registrieren
+        for (AnalysisSchedule schedule : schedules) {
+            long interval = getIntervalFromCronExpression(schedule.getCronExpression());
+            long initialDelay = executeImmediately ? 0 : interval;
+
+            ScheduledFuture<?> future = timer.scheduleAtFixedRate(
+                    () -> dispatch(schedule), initialDelay, interval, TimeUnit.SECONDS
+            );
+
+            ScheduledFuture<?> previous = scheduledTasks.put(schedule.getId(), future);
+            if (previous != null) {
+                previous.cancel(false);
+            }
+
+            if (persistNextRun) {
+                schedule.setNextRun(nextRunAfter(schedule, now));
+            }
+        }
+
+        // Nächste Ausführungszeitpunkte gesammelt in einer Transaktion speichern
+        if (persistNextRun && !schedules.isEmpty()) {
+            scheduleRepository.updateAll(schedules);
+        }
+
+        logger.info(schedules.size() + " Zeitpläne geplant" +
+                (executeImmediately ? " (mit sofortiger Ausführung)" : " (erste Ausführung verzögert)"));
+    }
+
+    @Override
+    public LocalDateTime nextRunAfter(AnalysisSchedule schedule, LocalDateTime from) {
+        return from.plusSeconds(getIntervalFromCronExpression(schedule.getCronExpression()));
+    }
+
+    @Override
+    public void unscheduleAll(Collection<Long> scheduleIds) {
+        int removed = 0;
+        for (Long scheduleId : scheduleIds) {
+            ScheduledFuture<?> future = scheduledTasks.remove(scheduleId);
+            if (future != null) {
+                future.cancel(false);
+                removed++;
+            }
+        }
+        logger.info(removed + " Zeitpläne aus dem Scheduler entfernt");
+    }
+
     @Override
     public void executeNow(AnalysisSchedule schedule) throws Exception {
-        // Führe die Analyse sofort in einem separaten Thread aus
-        executorService.submit(() -> {
+        // Führe die Analyse sofort im Ausführungspool aus
+        LocalDateTime queuedAt = LocalDateTime.now();
+        executionPool.submit(() -> {
             try {
-                executeScheduledAnalysis(schedule);
+                executeScheduledAnalysis(schedule, queuedAt);
                 logger.info("Manuelle Ausführung des Zeitplans mit ID " + schedule.getId() + " abgeschlossen");
             } catch (Exception e) {
                 logger.severe("Fehler bei der manuellen Ausführung des Zeitplans: " + e.getMessage());
@@ -210,12 +273,42 @@ public class SchedulerServiceImpl implements SchedulerService {
         });
     }
 
+    @Override
+    public SchedulerPoolMetrics getPoolMetrics() {
+        return executionPool.getMetrics();
+    }
+
     /**
-     * Führt eine geplante Analyse aus.
+     * Reiht eine fällige Ausführung in den Ausführungspool ein. Läuft auf dem Timer-Thread
+     * und kehrt sofort zurück, damit nachfolgende Zeitpläne pünktlich ausgelöst werden.
      */
-    private void executeScheduledAnalysis(AnalysisSchedule schedule) throws Exception {
+    private void dispatch(AnalysisSchedule schedule) {
+        LocalDateTime queuedAt = LocalDateTime.now();
+        try {
+            executionPool.submit(() -> {
+                try {
+                    executeScheduledAnalysis(schedule, queuedAt);
+                } catch (Exception e) {
+                    logger.severe("Fehler bei der geplanten Analyse: " + e.getMessage());
+                }
+            });
+        } catch (Exception e) {
+            logger.severe("Geplante Analyse konnte nicht eingereiht werden: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Führt eine geplante Analyse aus und protokolliert die Ausführung in der Historie.
+     *
+     * @param schedule Der auszuführende Zeitplan
+     * @param queuedAt Der Zeitpunkt, zu dem die Ausführung eingereiht bzw. fällig wurde
+     */
+    private void executeScheduledAnalysis(AnalysisSchedule schedule, LocalDateTime queuedAt) throws Exception {
         logger.info("Führe geplante Analyse für Zeitplan-ID " + schedule.getId() + " aus");
 
+        ScheduleRun run = new ScheduleRun(schedule.getId(), schedule.getWebsiteId(), queuedAt);
+        run.setStartedAt(LocalDateTime.now());
+
         try {
             // Finde die Website
             Website website = websiteRepository.findById(schedule.getWebsiteId());
@@ -224,16 +317,21 @@ public class SchedulerServiceImpl implements SchedulerService {
                 throw new Exception("Website mit ID " + schedule.getWebsiteId() + " nicht gefunden");
             }
 
-            // Führe die Analyse durch
+            // Führe die Analyse durch (die Analyzer laden die Seite selbst)
+            long stageStart = System.nanoTime();
             AnalysisResult result = analyzerService.analyzeWebsite(website.getUrl());
+            run.setAnalyzeMs(elapsedMillis(stageStart));
             result.setWebsiteId(website.getId());
 
+            // Als Abrufdauer dient die vom Performance-Analyzer gemessene Ladezeit
+            if (result.getPerformanceResult() != null) {
+                run.setFetchMs(result.getPerformanceResult().getLoadTime());
+            }
+
             // Speichere das Ergebnis
+            stageStart = System.nanoTime();
             result = analysisResultRepository.save(result);
-
-            // Generiere einen PDF-Bericht
-            String pdfPath = analyzerService.generatePdfReport(result);
-            analysisResultRepository.updatePdfReportPath(result.getId(), pdfPath);
+            run.setAnalysisId(result.getId());
 
             // Aktualisiere das letzte Analysedatum der Website
             websiteRepository.updateLastAnalysisDate(website.getId());
@@ -243,22 +341,79 @@ public class SchedulerServiceImpl implements SchedulerService {
             long interval = getIntervalFromCronExpression(schedule.getCronExpression());
             schedule.setNextRun(LocalDateTime.now().plusSeconds(interval));
             scheduleRepository.update(schedule);
-
-            // Sende den Bericht per E-Mail, falls Empfänger definiert sind
-            if (schedule.getRecipients() != null && !schedule.getRecipients().isEmpty()) {
-                String[] recipients = schedule.getRecipients().split(",");
-                for (String recipient : recipients) {
-                    analyzerService.sendReportByEmail(pdfPath, recipient.trim(), website.getUrl());
+            run.setPersistMs(elapsedMillis(stageStart));
+
+            // Sende den Bericht per E-Mail, falls Empfänger definiert sind. Empfänger mit Sammel-E-Mail
+            // erhalten ihn erst mit der nächsten Übersicht. Nur für die übrigen wird das PDF sofort
+            // benötigt; ansonsten entsteht es erst beim ersten Abruf.
+            List<String> recipients = new ArrayList<>();
+            if (schedule.getRecipients() != null) {
+                for (String recipient : schedule.getRecipients().split(",")) {
+                    if (!recipient.trim().isEmpty()) {
+                        recipients.add(recipient.trim());
+                    }
                 }
             }
+            if (digestService != null && !recipients.isEmpty()) {
+                recipients = digestService.collect(schedule.getId(), result, recipients);
+            }
+            if (!recipients.isEmpty()) {
+                stageStart = System.nanoTime();
+                String pdfPath = reportCache.getReport(result);
+                run.setPdfMs(elapsedMillis(stageStart));
+
+                // Alle Empfänger erhalten den Bericht in einer gemeinsamen Nachricht; sie wird nur
+                // eingereiht, die Zustellung wartet nicht auf den SMTP-Server
+                stageStart = System.nanoTime();
+                analyzerService.sendReportByEmail(result.getId(), pdfPath, recipients, website.getUrl());
+                run.setEmailMs(elapsedMillis(stageStart));
+            }
 
+            run.setOutcome(ScheduleRun.OUTCOME_SUCCESS);
             logger.info("Geplante Analyse erfolgreich durchgeführt: Zeitplan-ID " + schedule.getId() +
                     ", Website: " + website.getUrl());
         } catch (Exception e) {
+            run.setOutcome(ScheduleRun.OUTCOME_FAILED);
+            run.setErrorClass(rootCause(e).getClass().getName());
             logger.severe("Fehler bei der geplanten Analyse für Zeitplan-ID " +
                     schedule.getId() + ": " + e.getMessage());
             throw e;
+        } finally {
+            run.setFinishedAt(LocalDateTime.now());
+            recordRun(run);
+
+            // Abrufdauer für die Regelung des Pools; ohne Messwert (z. B. Timeout) zählt die Gesamtdauer
+            executionPool.recordLatency(run.getFetchMs() > 0 ? run.getFetchMs() : run.getTotalMs());
+        }
+    }
+
+    /**
+     * Speichert eine Ausführung in der Historie. Fehler beim Speichern dürfen die Ausführung nicht beeinflussen.
+     */
+    private void recordRun(ScheduleRun run) {
+        try {
+            scheduleRunRepository.save(run);
+        } catch (Exception e) {
+            logger.warning("Zeitplan-Ausführung konnte nicht protokolliert werden: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Gibt die seit dem Startzeitpunkt (System.nanoTime) vergangenen Millisekunden zurück.
+     */
+    private static long elapsedMillis(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+
+    /**
+     * Liefert die ursprüngliche Ursache einer (ggf. mehrfach verpackten) Ausnahme.
+     */
+    private static Throwable rootCause(Throwable throwable) {
+        Throwable cause = throwable;
+        while (cause.getCause() != null && cause.getCause() != cause) {
+            cause = cause.getCause();
         }
+        return cause;
     }
 
     @Override
@@ -269,10 +424,11 @@ public class SchedulerServiceImpl implements SchedulerService {
                 future.cancel(true);
             }
 
-            // ExecutorService herunterfahren
-            executorService.shutdown();
-            if (!executorService.awaitTermination(30, TimeUnit.SECONDS)) {
-                executorService.shutdownNow();
+            // Timer und Ausführungspool herunterfahren
+            timer.shutdown();
+            executionPool.shutdown(30, TimeUnit.SECONDS);
+            if (!timer.awaitTermination(5, TimeUnit.SECONDS)) {
+                timer.shutdownNow();
             }
 
             logger.info("Scheduler erfolgreich heruntergefahren");
@@ -0,0 +1,173 @@
+package com.saraci.websiteanalyzer.test;
+
+import com.saraci.websiteanalyzer.config.DatabaseConfig;
+import com.saraci.websiteanalyzer.config.EmailConfig;
+import com.saraci.websiteanalyzer.model.EmailOutboxMetrics;
+import com.saraci.websiteanalyzer.repository.EmailOutboxRepository;
+import com.saraci.websiteanalyzer.repository.impl.EmailOutboxRepositoryImpl;
+import com.saraci.websiteanalyzer.service.WebsiteAnalyzerService;
+import com.saraci.websiteanalyzer.service.WebsiteAnalyzerServiceImpl;
+import com.saraci.websiteanalyzer.service.report.EmailOutbox;
+import com.saraci.websiteanalyzer.service.report.EmailOutboxImpl;
+import com.saraci.websiteanalyzer.service.report.EmailSender;
+import com.saraci.websiteanalyzer.service.report.EmailSenderImpl;
+import com.saraci.websiteanalyzer.service.report.PdfReportGeneratorImpl;
+import com.saraci.websiteanalyzer.service.report.ReportLinkSigner;
+import com.saraci.websiteanalyzer.util.StatsUtil;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Lasttest der E-Mail-Zustellung ohne Netzwerk und ohne echtes E-Mail-Konto, gegen einen lokalen
+ * {@link FakeSmtpServer}.
+ *
+ * Gemessen werden:
+ * <ul>
+ *   <li>{@link EmailSenderImpl} direkt, mit so vielen parallelen Aufrufern wie Verbindungen im Pool,</li>
+ *   <li>der Weg der Zeitpläne: {@link WebsiteAnalyzerService#sendReportByEmail(Long, String, List, String)}
+ *   reiht ein, die {@link EmailOutbox} stellt im Hintergrund zu (Latenz = Einreihen bis Zustellung),</li>
+ *   <li>derselbe Weg mit Link statt Anhang ({@code EMAIL_ATTACHMENT_MAX_KB=0}).</li>
+ * </ul>
+ * Als Anhang dient ein echter PDF-Bericht aus {@link SampleReportData}. Die Warteschlange verwendet
+ * eine temporäre SQLite-Datenbank.
+ *
+ * Aufruf: {@code EmailLoadTest [berichte=200] [empfänger=3] [verzögerung-ms=30] [verbindungen=2]}
+ */
+public class EmailLoadTest {
+    private static final int MESSAGES_PER_CONNECTION = 100;
+    private static final long TIMEOUT_MILLIS = 300_000;
+
+    public static void main(String[] args) throws Exception {
+        int reports = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+        int recipientsPerReport = args.length > 1 ? Integer.parseInt(args[1]) : 3;
+        long connectDelay = args.length > 2 ? Long.parseLong(args[2]) : 30;
+        int poolSize = args.length > 3 ? Integer.parseInt(args[3]) : 2;
+
+        List<String> recipients = new ArrayList<>();
+        for (int i = 0; i < recipientsPerReport; i++) {
+            recipients.add("empfaenger" + i + "@example.com");
+        }
+
+        String pdfPath = new PdfReportGeneratorImpl(1).generateReport(SampleReportData.analysisResult(1));
+        Path database = Files.createTempFile("email-load-test", ".db");
+        DatabaseConfig.initialize(database.toString());
+
+        System.out.println("Berichte: " + reports + ", Empfänger pro Bericht: " + recipientsPerReport +
+                ", Verbindungsaufbau: " + connectDelay + " ms, Verbindungen: " + poolSize +
+                ", Anhang: " + new File(pdfPath).length() / 1024 + " KB");
+        System.out.println("Variante                  Nachrichten  Verbindungen      MB   Dauer (ms)  Nachrichten/s  p50 (ms)  p95 (ms)");
+
+        try {
+            runDirect(reports, recipients, pdfPath, connectDelay, poolSize);
+            runOutbox("Zeitplan, Anhang", reports, recipients, pdfPath, connectDelay, poolSize, Long.MAX_VALUE);
+            runOutbox("Zeitplan, Link", reports, recipients, pdfPath, connectDelay, poolSize, 0);
+        } finally {
+            DatabaseConfig.closeConnection();
+            new File(pdfPath).delete();
+            Files.deleteIfExists(database);
+        }
+
+        System.exit(0);
+    }
+
+    /**
+     * Versand direkt über {@link EmailSenderImpl}; die Latenz ist die Dauer eines sendEmail-Aufrufs.
+     */
+    private static void runDirect(int reports, List<String> recipients, String pdfPath,
+                                  long connectDelay, int poolSize) throws Exception {
+        try (FakeSmtpServer server = new FakeSmtpServer(connectDelay, MESSAGES_PER_CONNECTION)) {
+            EmailSender sender = new EmailSenderImpl(config(server.getPort(), poolSize, Long.MAX_VALUE));
+            ExecutorService callers = Executors.newFixedThreadPool(poolSize);
+
+            long start = System.nanoTime();
+            List<Future<Long>> futures = new ArrayList<>();
+            for (int i = 0; i < reports; i++) {
+                String subject = "Website-Analysebericht " + i;
+                futures.add(callers.submit(() -> {
+                    long sendStart = System.nanoTime();
+                    sender.sendEmail(recipients, subject, "Lasttest", pdfPath);
+                    return (System.nanoTime() - sendStart) / 1_000_000;
+                }));
+            }
+
+            List<Long> latencies = new ArrayList<>();
+            for (Future<Long> future : futures) {
+                latencies.add(future.get());
+            }
+            long millis = (System.nanoTime() - start) / 1_000_000;
+
+            callers.shutdown();
+            sender.shutdown();
+            print("EmailSenderImpl direkt", server, millis, latencies);
+        }
+    }
+
+    /**
+     * Versand wie bei Zeitplänen über die Warteschlange; die Latenz reicht vom Einreihen bis zur
+     * Zustellung.
+     */
+    private static void runOutbox(String name, int reports, List<String> recipients, String pdfPath,
+                                  long connectDelay, int poolSize, long attachmentMaxBytes) throws Exception {
+        try (FakeSmtpServer server = new FakeSmtpServer(connectDelay, MESSAGES_PER_CONNECTION)) {
+            EmailConfig config = config(server.getPort(), poolSize, attachmentMaxBytes);
+            EmailOutboxRepository repository = new EmailOutboxRepositoryImpl();
+            EmailSender sender = new EmailSenderImpl(config);
+            EmailOutbox outbox = new EmailOutboxImpl(repository, sender, config);
+
+            byte[] key = new byte[32];
+            new SecureRandom().nextBytes(key);
+            WebsiteAnalyzerService service = new WebsiteAnalyzerServiceImpl(null, null, null, null, null, outbox,
+                    new ReportLinkSigner("http://localhost:8080", key, 86400), config);
+
+            long start = System.nanoTime();
+            for (int i = 0; i < reports; i++) {
+                service.sendReportByEmail((long) i, pdfPath, recipients, "https://example-" + i + ".test/");
+            }
+
+            // Warten, bis alle E-Mails zugestellt oder endgültig gescheitert sind
+            EmailOutboxMetrics metrics = outbox.getMetrics();
+            while (metrics.getDeliveredSinceStart() + metrics.getDeadSinceStart() < reports) {
+                if (System.nanoTime() - start > TIMEOUT_MILLIS * 1_000_000) {
+                    System.out.println("Zeitüberschreitung: nur " + metrics.getDeliveredSinceStart() + " von " +
+                            reports + " E-Mails zugestellt");
+                    break;
+                }
+                Thread.sleep(10);
+                metrics = outbox.getMetrics();
+            }
+            long millis = (System.nanoTime() - start) / 1_000_000;
+
+            outbox.shutdown();
+            sender.shutdown();
+            if (metrics.getDeadSinceStart() > 0) {
+                System.out.println(name + ": " + metrics.getDeadSinceStart() + " E-Mails gescheitert, zuletzt: " +
+                        metrics.getLastError());
+            }
+            print(name, server, millis, repository.findRecentDeliveryLatencies(reports));
+        }
+    }
+
+    private static EmailConfig config(int port, int poolSize, long attachmentMaxBytes) {
+        EmailConfig config = new EmailConfig("localhost", port, "lasttest@example.com", "geheim");
+        config.setPoolSize(poolSize);
+        config.setAttachmentMaxBytes(attachmentMaxBytes);
+        return config;
+    }
+
+    private static void print(String name, FakeSmtpServer server, long millis, List<Long> latencies) {
+        Collections.sort(latencies);
+        System.out.printf("%-25s %11d %13d %7.1f %12d %14.1f %9d %9d%n", name, server.getMessages(),
+                server.getConnections(), server.getBytes() / (1024.0 * 1024.0), millis,
+                server.getMessages() * 1000.0 / Math.max(1, millis),
+                StatsUtil.percentile(latencies, 50), StatsUtil.percentile(latencies, 95));
+    }
+}
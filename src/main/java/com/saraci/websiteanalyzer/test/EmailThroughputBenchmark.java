@@ -0,0 +1,125 @@
+package com.saraci.websiteanalyzer.test;
+
+import com.saraci.websiteanalyzer.config.EmailConfig;
+import com.saraci.websiteanalyzer.service.report.EmailSender;
+import com.saraci.websiteanalyzer.service.report.EmailSenderImpl;
+
+import javax.mail.Authenticator;
+import javax.mail.Message;
+import javax.mail.PasswordAuthentication;
+import javax.mail.Session;
+import javax.mail.Transport;
+import javax.mail.internet.InternetAddress;
+import javax.mail.internet.MimeMessage;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * Misst den Durchsatz des E-Mail-Versands gegen einen lokalen {@link FakeSmtpServer}.
+ *
+ * Verglichen werden:
+ * <ul>
+ *   <li>eine neue Session und Verbindung pro Nachricht (bisheriges Verhalten),</li>
+ *   <li>{@link EmailSenderImpl} mit wiederverwendeten Verbindungen, eine Nachricht pro Empfänger,</li>
+ *   <li>{@link EmailSenderImpl} mit allen Empfängern eines Berichts in einer Nachricht.</li>
+ * </ul>
+ * Der Server schließt Verbindungen nach einigen Nachrichten, sodass auch der Wiederaufbau gemessen wird.
+ *
+ * Aufruf: {@code EmailThroughputBenchmark [berichte=100] [empfänger=5] [verzögerung-ms=30]}
+ */
+public class EmailThroughputBenchmark {
+    private static final int MESSAGES_PER_CONNECTION = 100;
+
+    public static void main(String[] args) throws Exception {
+        int reports = args.length > 0 ? Integer.parseInt(args[0]) : 100;
+        int recipientsPerReport = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+        long connectDelay = args.length > 2 ? Long.parseLong(args[2]) : 30;
+
+        List<String> recipients = new ArrayList<>();
+        for (int i = 0; i < recipientsPerReport; i++) {
+            recipients.add("empfaenger" + i + "@example.com");
+        }
+
+        System.out.println("Berichte: " + reports + ", Empfänger pro Bericht: " + recipientsPerReport +
+                ", Verbindungsaufbau: " + connectDelay + " ms");
+        System.out.println("Variante                      Nachrichten   Verbindungen   Dauer (ms)   Berichte/s");
+
+        try (FakeSmtpServer server = new FakeSmtpServer(connectDelay, MESSAGES_PER_CONNECTION)) {
+            long start = System.nanoTime();
+            for (int i = 0; i < reports; i++) {
+                for (String recipient : recipients) {
+                    sendWithNewConnection(server.getPort(), recipient, i);
+                }
+            }
+            print("neue Verbindung pro Nachricht", server, start, reports);
+        }
+
+        try (FakeSmtpServer server = new FakeSmtpServer(connectDelay, MESSAGES_PER_CONNECTION)) {
+            EmailSender sender = new EmailSenderImpl(config(server.getPort(), 1));
+            long start = System.nanoTime();
+            for (int i = 0; i < reports; i++) {
+                for (String recipient : recipients) {
+                    sender.sendEmail(Collections.singletonList(recipient), subject(i), "Benchmark", null);
+                }
+            }
+            sender.shutdown();
+            print("Pool, je Empfänger", server, start, reports);
+        }
+
+        try (FakeSmtpServer server = new FakeSmtpServer(connectDelay, MESSAGES_PER_CONNECTION)) {
+            EmailSender sender = new EmailSenderImpl(config(server.getPort(), 50));
+            long start = System.nanoTime();
+            for (int i = 0; i < reports; i++) {
+                sender.sendEmail(recipients, subject(i), "Benchmark", null);
+            }
+            sender.shutdown();
+            print("Pool, gemeinsame Nachricht", server, start, reports);
+        }
+
+        System.exit(0);
+    }
+
+    private static EmailConfig config(int port, int maxRecipientsPerMessage) {
+        EmailConfig config = new EmailConfig("localhost", port, "benchmark@example.com", "geheim");
+        config.setMaxRecipientsPerMessage(maxRecipientsPerMessage);
+        return config;
+    }
+
+    private static String subject(int report) {
+        return "Website-Analysebericht " + report;
+    }
+
+    /**
+     * Versand wie vor der Wiederverwendung der Verbindungen: neue Session, Verbindungsaufbau und
+     * Anmeldung für jede einzelne Nachricht.
+     */
+    private static void sendWithNewConnection(int port, String recipient, int report) throws Exception {
+        Properties props = new Properties();
+        props.put("mail.smtp.auth", "true");
+        props.put("mail.smtp.starttls.enable", "true");
+        props.put("mail.smtp.host", "localhost");
+        props.put("mail.smtp.port", String.valueOf(port));
+        props.put("mail.debug", "false");
+
+        Session session = Session.getInstance(props, new Authenticator() {
+            protected PasswordAuthentication getPasswordAuthentication() {
+                return new PasswordAuthentication("benchmark@example.com", "geheim");
+            }
+        });
+
+        Message message = new MimeMessage(session);
+        message.setFrom(new InternetAddress("benchmark@example.com"));
+        message.setRecipients(Message.RecipientType.TO, InternetAddress.parse(recipient));
+        message.setSubject(subject(report));
+        message.setText("Benchmark");
+        Transport.send(message);
+    }
+
+    private static void print(String name, FakeSmtpServer server, long start, int reports) {
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        System.out.printf("%-29s %11d %14d %12d %12.1f%n", name, server.getMessages(), server.getConnections(),
+                millis, reports * 1000.0 / Math.max(1, millis));
+    }
+}
@@ -0,0 +1,172 @@
+package com.saraci.websiteanalyzer.test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Minimaler lokaler SMTP-Server für Tests und Benchmarks des E-Mail-Versands. Nimmt jede Anmeldung
+ * und jede Nachricht an und verwirft sie; gezählt werden Verbindungen, Nachrichten, Empfänger und
+ * die übertragene Datenmenge.
+ *
+ * Die Wartezeit beim Verbindungsaufbau steht für TLS-Handshake und Anmeldung eines echten Servers.
+ * Optional schließt der Server eine Verbindung nach einer Anzahl von Nachrichten, wie es viele
+ * Anbieter tun; damit lässt sich der Wiederaufbau von Verbindungen prüfen.
+ */
+public class FakeSmtpServer implements AutoCloseable {
+    private final ServerSocket serverSocket;
+    private final long connectDelayMillis;
+    private final int maxMessagesPerConnection;
+
+    private final AtomicInteger connections = new AtomicInteger();
+    private final AtomicInteger messages = new AtomicInteger();
+    private final AtomicInteger recipients = new AtomicInteger();
+    private final AtomicLong bytes = new AtomicLong();
+
+    private volatile boolean running = true;
+
+    /**
+     * @param connectDelayMillis Verzögerung der Begrüßung pro Verbindung
+     * @param maxMessagesPerConnection Nachrichten, nach denen der Server die Verbindung schließt (0 = unbegrenzt)
+     */
+    public FakeSmtpServer(long connectDelayMillis, int maxMessagesPerConnection) throws IOException {
+        this.serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        this.connectDelayMillis = connectDelayMillis;
+        this.maxMessagesPerConnection = maxMessagesPerConnection;
+
+        Thread acceptor = new Thread(this::acceptLoop, "fake-smtp");
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    public int getConnections() {
+        return connections.get();
+    }
+
+    public int getMessages() {
+        return messages.get();
+    }
+
+    public int getRecipients() {
+        return recipients.get();
+    }
+
+    /**
+     * Gibt die Größe aller empfangenen Nachrichten in Bytes zurück (Zeilen des DATA-Teils inkl. CRLF).
+     */
+    public long getBytes() {
+        return bytes.get();
+    }
+
+    private void acceptLoop() {
+        while (running) {
+            try {
+                Socket socket = serverSocket.accept();
+                connections.incrementAndGet();
+                Thread handler = new Thread(() -> handle(socket), "fake-smtp-session");
+                handler.setDaemon(true);
+                handler.start();
+            } catch (IOException e) {
+                if (running) {
+                    System.err.println("Fake-SMTP: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void handle(Socket socket) {
+        try (Socket s = socket;
+             BufferedReader in = new BufferedReader(new InputStreamReader(s.getInputStream(), StandardCharsets.US_ASCII));
+             OutputStream out = s.getOutputStream()) {
+            if (connectDelayMillis > 0) {
+                Thread.sleep(connectDelayMillis);
+            }
+            reply(out, "220 localhost Fake-SMTP bereit");
+
+            int messagesOnConnection = 0;
+            int authLinesExpected = 0;
+            String line;
+            while ((line = in.readLine()) != null) {
+                if (authLinesExpected > 0) {
+                    authLinesExpected--;
+                    reply(out, authLinesExpected > 0 ? "334 UGFzc3dvcmQ6" : "235 Angemeldet");
+                    continue;
+                }
+
+                String command = line.length() >= 4 ? line.substring(0, 4).toUpperCase() : line.toUpperCase();
+                switch (command) {
+                    case "EHLO":
+                        reply(out, "250-localhost\r\n250-AUTH PLAIN LOGIN\r\n250 8BITMIME");
+                        break;
+                    case "HELO":
+                        reply(out, "250 localhost");
+                        break;
+                    case "AUTH":
+                        String[] parts = line.split(" ");
+                        if (parts.length >= 2 && parts[1].equalsIgnoreCase("LOGIN")) {
+                            // Benutzername (falls nicht mitgeschickt) und Passwort abfragen
+                            authLinesExpected = parts.length >= 3 ? 1 : 2;
+                            reply(out, parts.length >= 3 ? "334 UGFzc3dvcmQ6" : "334 VXNlcm5hbWU6");
+                        } else if (parts.length >= 3) {
+                            reply(out, "235 Angemeldet");
+                        } else {
+                            authLinesExpected = 1;
+                            reply(out, "334 ");
+                        }
+                        break;
+                    case "RCPT":
+                        recipients.incrementAndGet();
+                        reply(out, "250 OK");
+                        break;
+                    case "DATA":
+                        reply(out, "354 Daten senden, Ende mit <CRLF>.<CRLF>");
+                        while ((line = in.readLine()) != null && !line.equals(".")) {
+                            // Nachrichteninhalt verwerfen, nur die Größe zählen
+                            bytes.addAndGet(line.length() + 2);
+                        }
+                        messages.incrementAndGet();
+                        messagesOnConnection++;
+                        reply(out, "250 OK");
+                        if (maxMessagesPerConnection > 0 && messagesOnConnection >= maxMessagesPerConnection) {
+                            reply(out, "421 Zu viele Nachrichten, Verbindung wird geschlossen");
+                            return;
+                        }
+                        break;
+                    case "QUIT":
+                        reply(out, "221 Tschüss");
+                        return;
+                    default:
+                        // MAIL, RSET, NOOP und alles Übrige
+                        reply(out, "250 OK");
+                }
+            }
+        } catch (SocketException e) {
+            // Verbindung vom Client geschlossen
+        } catch (IOException | InterruptedException e) {
+            System.err.println("Fake-SMTP: " + e.getMessage());
+        }
+    }
+
+    private static void reply(OutputStream out, String text) throws IOException {
+        out.write((text + "\r\n").getBytes(StandardCharsets.UTF_8));
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        running = false;
+        serverSocket.close();
+    }
+}
@@ -0,0 +1,71 @@
+package com.saraci.websiteanalyzer.test;
+
+import com.saraci.websiteanalyzer.service.report.PdfAssetCache;
+import com.saraci.websiteanalyzer.service.report.PdfReportGenerator;
+import com.saraci.websiteanalyzer.service.report.PdfReportGeneratorImpl;
+
+import java.io.File;
+
+/**
+ * Vergleicht die PDF-Erstellung ohne und mit Asset-Cache (Logo, Schriftmetriken, statische Seiten).
+ *
+ * Beide Varianten laufen mit einem Render-Thread nacheinander im selben Prozess; gemessen werden
+ * die Zeit pro Bericht, der Durchsatz und die durchschnittliche Dateigröße.
+ *
+ * Aufruf: {@code PdfAssetCacheBenchmark [berichte=200] [durchläufe=3]}
+ */
+public class PdfAssetCacheBenchmark {
+    private static final int WARMUP_REPORTS = 50;
+
+    public static void main(String[] args) throws Exception {
+        int reports = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 3;
+
+        PdfReportGenerator uncached = new PdfReportGeneratorImpl(1, new PdfAssetCache(false));
+        PdfReportGenerator cached = new PdfReportGeneratorImpl(1, new PdfAssetCache(true));
+
+        // Aufwärmen (JIT, Klassen laden, Cache füllen)
+        run(uncached, WARMUP_REPORTS);
+        run(cached, WARMUP_REPORTS);
+
+        System.out.println("Berichte pro Messung: " + reports + ", Durchläufe: " + rounds);
+        System.out.println("Variante       ms/Bericht   Berichte/s   Ø Größe (Bytes)");
+
+        // Abwechselnd messen, damit sich Schwankungen der Maschine auf beide Varianten verteilen
+        long[] uncachedTotals = new long[2];
+        long[] cachedTotals = new long[2];
+        for (int round = 0; round < rounds; round++) {
+            add(uncachedTotals, run(uncached, reports));
+            add(cachedTotals, run(cached, reports));
+        }
+
+        print("ohne Cache", uncachedTotals, reports * rounds);
+        print("mit Cache", cachedTotals, reports * rounds);
+
+        System.exit(0);
+    }
+
+    /**
+     * Erstellt die Berichte nacheinander und gibt Dauer (ns) und Gesamtgröße (Bytes) zurück.
+     */
+    private static long[] run(PdfReportGenerator generator, int reports) throws Exception {
+        long bytes = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < reports; i++) {
+            File file = new File(generator.generateReport(SampleReportData.analysisResult(i)));
+            bytes += file.length();
+            file.delete();
+        }
+        return new long[]{System.nanoTime() - start, bytes};
+    }
+
+    private static void add(long[] totals, long[] result) {
+        totals[0] += result[0];
+        totals[1] += result[1];
+    }
+
+    private static void print(String label, long[] totals, int reports) {
+        double msPerReport = totals[0] / 1_000_000.0 / reports;
+        System.out.printf("%-12s   %10.2f   %10.1f   %15d%n", label, msPerReport, 1000 / msPerReport, totals[1] / reports);
+    }
+}
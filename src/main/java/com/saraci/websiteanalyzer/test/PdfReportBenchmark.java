@@ -0,0 +1,52 @@
+package com.saraci.websiteanalyzer.test;
+
+import com.saraci.websiteanalyzer.service.report.PdfReportGenerator;
+import com.saraci.websiteanalyzer.service.report.PdfReportGeneratorImpl;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Misst den Durchsatz der PDF-Erstellung in Berichten pro Sekunde für verschiedene Größen des Render-Pools.
+ *
+ * Aufruf: {@code PdfReportBenchmark [berichte=200] [threads=1,2,4,8]}
+ */
+public class PdfReportBenchmark {
+    private static final int WARMUP_REPORTS = 30;
+
+    public static void main(String[] args) throws Exception {
+        int reports = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+        String threadList = args.length > 1 ? args[1] : "1,2,4," + Runtime.getRuntime().availableProcessors();
+
+        System.out.println("Berichte pro Messung: " + reports + ", Prozessoren: " + Runtime.getRuntime().availableProcessors());
+        System.out.println("Threads   Dauer (ms)   Berichte/s   ms/Bericht");
+
+        for (String value : threadList.split(",")) {
+            int threads = Integer.parseInt(value.trim());
+            PdfReportGenerator generator = new PdfReportGeneratorImpl(threads);
+
+            // Aufwärmen (JIT, Schriften, Klassen laden)
+            run(generator, WARMUP_REPORTS);
+
+            long start = System.nanoTime();
+            run(generator, reports);
+            long elapsedNanos = System.nanoTime() - start;
+
+            double seconds = elapsedNanos / 1_000_000_000.0;
+            System.out.printf("%7d   %10d   %10.1f   %10.1f%n",
+                    threads, elapsedNanos / 1_000_000, reports / seconds, elapsedNanos / 1_000_000.0 / reports);
+        }
+    }
+
+    private static void run(PdfReportGenerator generator, int reports) {
+        List<CompletableFuture<String>> futures = new ArrayList<>();
+        for (int i = 0; i < reports; i++) {
+            futures.add(generator.generateReportAsync(SampleReportData.analysisResult(i)));
+        }
+        for (CompletableFuture<String> future : futures) {
+            new File(future.join()).delete();
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.saraci.websiteanalyzer.test;
+
+import com.saraci.websiteanalyzer.service.report.PdfReportGenerator;
+import com.saraci.websiteanalyzer.service.report.PdfReportGeneratorImpl;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.text.PDFTextStripper;
+
+import java.io.File;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Nebenläufigkeitstest für die PDF-Erstellung.
+ *
+ * Erzeugt viele Berichte gleichzeitig (teilweise für dieselbe Website) und prüft anschließend jede Datei:
+ * eigener Dateiname, richtige URL auf der Titelseite und korrekte Seitenzahlen in jeder Fußzeile.
+ * Überschneidet sich der Zustand zweier Berichte, schlägt mindestens eine dieser Prüfungen fehl.
+ *
+ * Aufruf: {@code PdfReportStressTest [berichte=200] [threads=8]}
+ */
+public class PdfReportStressTest {
+    public static void main(String[] args) throws Exception {
+        int reports = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : 8;
+
+        PdfReportGenerator generator = new PdfReportGeneratorImpl(threads);
+
+        // Jede Website kommt viermal vor, damit gleiche Dateinamen in derselben Sekunde entstehen
+        Map<CompletableFuture<String>, String> expectedUrls = new LinkedHashMap<>();
+        for (int i = 0; i < reports; i++) {
+            int site = i / 4;
+            expectedUrls.put(generator.generateReportAsync(SampleReportData.analysisResult(site)),
+                    SampleReportData.analysisResult(site).getUrl());
+        }
+
+        List<String> failures = new ArrayList<>();
+        Set<String> paths = new HashSet<>();
+
+        for (Map.Entry<CompletableFuture<String>, String> entry : expectedUrls.entrySet()) {
+            String path;
+            try {
+                path = entry.getKey().join();
+            } catch (Exception e) {
+                failures.add("Erstellung fehlgeschlagen: " + e.getMessage());
+                continue;
+            }
+
+            if (!paths.add(path)) {
+                failures.add("Datei mehrfach vergeben: " + path);
+                continue;
+            }
+
+            try (PDDocument document = PDDocument.load(new File(path))) {
+                int pageCount = document.getNumberOfPages();
+                PDFTextStripper stripper = new PDFTextStripper();
+
+                stripper.setStartPage(1);
+                stripper.setEndPage(1);
+                if (!stripper.getText(document).contains(entry.getValue())) {
+                    failures.add(path + ": Titelseite enthält nicht " + entry.getValue());
+                }
+
+                for (int page = 1; page <= pageCount; page++) {
+                    stripper.setStartPage(page);
+                    stripper.setEndPage(page);
+                    String expectedFooter = "Seite " + page + " von " + pageCount;
+                    if (!stripper.getText(document).contains(expectedFooter)) {
+                        failures.add(path + ": Fußzeile '" + expectedFooter + "' fehlt");
+                    }
+                }
+            }
+        }
+
+        // Aufräumen
+        for (String path : paths) {
+            new File(path).delete();
+        }
+
+        System.out.println("Berichte: " + reports + ", Render-Threads: " + threads);
+        System.out.println("Eindeutige Dateien: " + paths.size());
+        if (failures.isEmpty()) {
+            System.out.println("OK - keine Überschneidungen zwischen parallel erstellten Berichten");
+        } else {
+            System.out.println(failures.size() + " Fehler:");
+            failures.stream().limit(20).forEach(f -> System.out.println("  " + f));
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.saraci.websiteanalyzer.test;
+
+import com.saraci.websiteanalyzer.model.AnalysisResult;
+import com.saraci.websiteanalyzer.model.ScoreTrendPoint;
+import com.saraci.websiteanalyzer.repository.AnalysisResultRepository;
+import com.saraci.websiteanalyzer.service.report.PdfReportGenerator;
+import com.saraci.websiteanalyzer.service.report.PdfReportGeneratorImpl;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.text.PDFTextStripper;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lasttest für den Portfolio-Bericht.
+ *
+ * Erzeugt einen Bericht über viele Websites aus einem Repository, das die Ergebnisse erst beim
+ * Durchlaufen erzeugt, und misst Dauer, Dateigröße und den höchsten beobachteten Heap-Verbrauch.
+ * Mit einem kleinen Heap (z. B. {@code -Xmx64m}) zeigt der Test, dass die Analyseergebnisse nicht im
+ * Speicher gehalten werden; es bleiben nur wenige Kilobyte Verwaltungsdaten pro Seite. Anschließend
+ * werden Seitenzahl und Fußzeilen stichprobenartig geprüft.
+ *
+ * Aufruf: {@code PortfolioReportTest [websites=1000] [datei=portfolio_test.pdf]}
+ */
+public class PortfolioReportTest {
+    public static void main(String[] args) throws Exception {
+        int websites = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        File file = new File(args.length > 1 ? args[1] : "portfolio_test.pdf");
+
+        PdfReportGenerator generator = new PdfReportGeneratorImpl(1);
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+
+        // Heap-Verbrauch im Hintergrund abtasten
+        AtomicLong peakHeap = new AtomicLong();
+        Thread sampler = new Thread(() -> {
+            while (!Thread.currentThread().isInterrupted()) {
+                peakHeap.accumulateAndGet(memory.getHeapMemoryUsage().getUsed(), Math::max);
+                try {
+                    Thread.sleep(5);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        });
+        sampler.setDaemon(true);
+        sampler.start();
+
+        long start = System.nanoTime();
+        try (OutputStream out = new BufferedOutputStream(new FileOutputStream(file))) {
+            generator.writePortfolioReport(new GeneratedResultRepository(websites), null, out);
+        }
+        long durationMs = (System.nanoTime() - start) / 1_000_000;
+        sampler.interrupt();
+
+        int failures = 0;
+        try (PDDocument document = PDDocument.load(file)) {
+            int pageCount = document.getNumberOfPages();
+            PDFTextStripper stripper = new PDFTextStripper();
+
+            stripper.setStartPage(1);
+            stripper.setEndPage(1);
+            if (!stripper.getText(document).contains(websites + " Websites")) {
+                System.out.println("Titelseite enthält nicht die Anzahl der Websites");
+                failures++;
+            }
+
+            for (int page : new int[] { 1, pageCount / 2, pageCount }) {
+                stripper.setStartPage(page);
+                stripper.setEndPage(page);
+                String expectedFooter = "Seite " + page + " von " + pageCount;
+                if (!stripper.getText(document).contains(expectedFooter)) {
+                    System.out.println("Fußzeile '" + expectedFooter + "' fehlt");
+                    failures++;
+                }
+            }
+
+            // Der Abschnitt der letzten Website kann auf der vorletzten Seite beginnen
+            stripper.setStartPage(Math.max(1, pageCount - 1));
+            stripper.setEndPage(pageCount);
+            String lastUrl = SampleReportData.analysisResult(websites - 1).getUrl();
+            if (!stripper.getText(document).contains(lastUrl)) {
+                System.out.println("Letzte Seiten enthalten nicht " + lastUrl);
+                failures++;
+            }
+
+            System.out.println("Websites: " + websites);
+            System.out.println("Seiten: " + pageCount);
+        }
+
+        System.out.printf("Dauer: %d ms%n", durationMs);
+        System.out.printf("Dateigröße: %.1f KB%n", file.length() / 1024.0);
+        System.out.printf("Höchster Heap-Verbrauch: %.1f MB (max. %.1f MB)%n",
+                peakHeap.get() / (1024.0 * 1024.0), Runtime.getRuntime().maxMemory() / (1024.0 * 1024.0));
+
+        if (failures > 0) {
+            System.exit(1);
+        }
+        System.out.println("OK");
+    }
+
+    /**
+     * Repository, das für jede Website ein Beispielergebnis erzeugt, ohne die Ergebnisse zu speichern.
+     */
+    private static class GeneratedResultRepository implements AnalysisResultRepository {
+        private final int websites;
+
+        GeneratedResultRepository(int websites) {
+            this.websites = websites;
+        }
+
+        @Override
+        public int forEachLatestResult(LocalDateTime since, boolean withDetails, AnalysisResultHandler handler) throws Exception {
+            for (int i = 0; i < websites; i++) {
+                AnalysisResult result = SampleReportData.analysisResult(i);
+                handler.handle(result);
+            }
+            return websites;
+        }
+
+        @Override
+        public AnalysisResult save(AnalysisResult result) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public AnalysisResult findById(Long id) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<AnalysisResult> findByWebsiteId(Long websiteId) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<ScoreTrendPoint> findScoreTrend(Long websiteId, Long upToAnalysisId, int maxPoints) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void updatePdfReportPath(Long id, String pdfPath) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Set<String> findReferencedPdfReportPaths() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public int replacePdfReportPath(String oldPath, String newPath) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.saraci.websiteanalyzer.test;
+
+import com.saraci.websiteanalyzer.model.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Erzeugt reproduzierbare Analyseergebnisse für Last- und Benchmark-Tests der Berichtserstellung.
+ */
+public class SampleReportData {
+
+    // Titel in verschiedenen Schriften, damit auch Zeichen außerhalb von WinAnsi (Ersatzschriften) abgedeckt sind
+    private static final String[] TITLES = {
+            "Webdesign und Entwicklung",
+            "Веб-дизайн и разработка",
+            "Σχεδιασμός ιστοσελίδων",
+            "ウェブデザインと開発",
+            "Webdesign ✓ Entwicklung \uD83D\uDE80"
+    };
+
+    private SampleReportData() {
+    }
+
+    /**
+     * Erstellt ein vollständiges Analyseergebnis. Der Index variiert URL und Werte,
+     * damit sich die Berichte unterscheiden.
+     */
+    public static AnalysisResult analysisResult(int index) {
+        String url = "https://example-" + index + ".test/";
+
+        AnalysisResult result = new AnalysisResult((long) index, url);
+        result.setId((long) index);
+        result.setAnalysisDate(LocalDateTime.now());
+
+        SeoResult seo = new SeoResult();
+        seo.setUrl(url);
+        seo.setTitle("Beispielseite " + index + " - " + TITLES[index % TITLES.length]);
+        seo.setTitleLength(seo.getTitle().length());
+        seo.setDescription("Eine Beispielbeschreibung für die Seite " + index + ", die lang genug ist, um umbrochen zu werden. "
+                + TITLES[(index + 1) % TITLES.length]);
+        seo.setDescriptionLength(seo.getDescription().length());
+        seo.setKeywords("webdesign, seo, performance");
+        seo.setH1Count(1 + index % 2);
+        seo.setH2Count(4 + index % 5);
+        seo.setH3Count(index % 7);
+        seo.setImagesTotal(20 + index % 10);
+        seo.setImagesWithAlt(15 + index % 5);
+        seo.setImagesWithoutAlt(seo.getImagesTotal() - seo.getImagesWithAlt());
+        seo.setAltImagePercentage(seo.getImagesWithAlt() * 100.0 / seo.getImagesTotal());
+        seo.setInternalLinks(30 + index % 20);
+        seo.setExternalLinks(5 + index % 5);
+        seo.setScore(50 + index % 50);
+        result.setSeoResult(seo);
+
+        PerformanceResult performance = new PerformanceResult();
+        performance.setLighthouseScore(40 + index % 60);
+        performance.setFirstContentfulPaint("1.2 s");
+        performance.setLargestContentfulPaint("2.4 s");
+        performance.setTimeToInteractive("3.1 s");
+        performance.setTotalBlockingTime("150 ms");
+        performance.setCumulativeLayoutShift("0.05");
+        performance.setLoadTime(800 + index % 2000);
+        performance.setDnsTime(5 + index % 40);
+        performance.setConnectTime(20 + index % 60);
+        performance.setTlsTime(40 + index % 80);
+        performance.setTimeToFirstByte(200 + index % 1200);
+        performance.setDownloadTime(50 + index % 300);
+        performance.setParseTime(10 + index % 30);
+        performance.setRedirectCount(index % 3);
+        // Jede fünfte Website mit stark schwankender Ladezeit
+        int slowest = performance.getLoadTime() * (index % 5 == 0 ? 3 : 1);
+        performance.setColdLatency(new LatencySummary(5, performance.getLoadTime() - 60,
+                performance.getLoadTime(), slowest + 90, slowest + 120));
+        performance.setWarmLatency(new LatencySummary(5, performance.getTimeToFirstByte() - 20,
+                performance.getTimeToFirstByte(), performance.getTimeToFirstByte() + 40, performance.getTimeToFirstByte() + 70));
+
+        String[] types = {PageResource.TYPE_CSS, PageResource.TYPE_SCRIPT, PageResource.TYPE_IMAGE, PageResource.TYPE_FONT};
+        List<PageResource> resources = new ArrayList<>();
+        long pageWeight = 40_000;
+        long renderBlockingBytes = 0;
+        for (int i = 0; i < 10 + index % 30; i++) {
+            String type = types[i % types.length];
+            PageResource resource = new PageResource("https://example-" + index + ".test/assets/datei-" + i + "." + type,
+                    type, i < 2);
+            resource.setStatusCode(200);
+            resource.setTransferSize(5_000L + (index * 7919L + i * 104_729L) % 400_000);
+            resource.setSize(resource.getTransferSize() * 3);
+            resource.setStartTime(performance.getLoadTime() + i * 15);
+            resource.setDuration(30 + (index + i) % 400);
+            resource.setCacheControl(i % 3 == 0 ? "no-cache" : "public, max-age=86400");
+            resources.add(resource);
+            pageWeight += resource.getTransferSize();
+            renderBlockingBytes += resource.isRenderBlocking() ? resource.getTransferSize() : 0;
+        }
+        performance.setResources(resources);
+        performance.setPageWeight(pageWeight);
+        performance.setRequestCount(1 + resources.size());
+        performance.setRenderBlockingBytes(renderBlockingBytes);
+        result.setPerformanceResult(performance);
+
+        SecurityResult security = new SecurityResult();
+        security.setHttpsEnabled(index % 4 != 0);
+        security.setSecurityHeadersScore((index * 17) % 101);
+        security.setCookiesSecurityScore(70);
+        security.setSecurityHeaders("{\"Strict-Transport-Security\":\"max-age=31536000\"," +
+                "\"X-Frame-Options\":\"DENY\",\"X-Content-Type-Options\":\"nosniff\"}");
+        result.setSecurityResult(security);
+
+        ContentResult content = new ContentResult();
+        content.setWordCount(500 + index * 13 % 3000);
+        content.setCharacterCount(content.getWordCount() * 6);
+        content.setAverageWordLength(5.8);
+        content.setParagraphCount(12 + index % 30);
+        content.setImageCount(seo.getImagesTotal());
+        content.setVideoCount(index % 3);
+        content.setListCount(4 + index % 6);
+        content.setTableCount(index % 2);
+        result.setContentResult(content);
+
+        return result;
+    }
+}
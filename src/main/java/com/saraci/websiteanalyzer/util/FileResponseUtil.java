@@ -0,0 +1,464 @@
+package com.saraci.websiteanalyzer.util;
+
+import org.eclipse.jetty.server.HttpOutput;
+import spark.Request;
+import spark.Response;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpServletResponse;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.concurrent.Callable;
+
+/**
+ * Hilfsklasse zum Ausliefern von Dateien über Spark.
+ *
+ * Unterstützt Content-Length, ETag, Last-Modified, bedingte Anfragen (304) und einfache
+ * Range-Anfragen (206). Die Daten werden ohne Umweg über den Heap gesendet: unter Jetty als
+ * gemappter Puffer direkt an den Socket, sonst über {@link FileChannel#transferTo}. Der
+ * Dateikanal wird in jedem Fall geschlossen, auch wenn der Client die Verbindung abbricht.
+ */
+public class FileResponseUtil {
+
+    private static final String CACHE_CONTROL = "private, max-age=3600";
+
+    // Für Inhalte, deren URL den Hash des Inhalts enthält
+    private static final String IMMUTABLE_CACHE_CONTROL = "public, max-age=31536000, immutable";
+
+    private FileResponseUtil() {
+    }
+
+    /**
+     * Byte-Bereich einer Datei (Start und Ende inklusive).
+     */
+    static class ByteRange {
+        final long start;
+        final long end;
+
+        ByteRange(long start, long end) {
+            this.start = start;
+            this.end = end;
+        }
+
+        long length() {
+            return end - start + 1;
+        }
+    }
+
+    /**
+     * Sendet eine Datei als Antwort auf die Anfrage.
+     *
+     * @param req Die Spark-Anfrage
+     * @param res Die Spark-Antwort
+     * @param file Die auszuliefernde Datei (muss existieren)
+     * @param contentType Der Content-Type der Antwort
+     * @param downloadName Dateiname für den Download (Content-Disposition)
+     * @return Leerer Body; die Antwort ist danach bereits geschrieben
+     * @throws IOException Wenn die Datei nicht gelesen oder nicht gesendet werden kann
+     */
+    public static String serveFile(Request req, Response res, Path file, String contentType, String downloadName) throws IOException {
+        long size = Files.size(file);
+        long lastModified = Files.getLastModifiedTime(file).toMillis() / 1000 * 1000;
+        String etag = "\"" + Long.toHexString(size) + "-" + Long.toHexString(lastModified) + "\"";
+
+        HttpServletResponse raw = res.raw();
+        raw.setHeader("ETag", etag);
+        raw.setHeader("Last-Modified", formatHttpDate(lastModified));
+        raw.setHeader("Accept-Ranges", "bytes");
+        raw.setHeader("Cache-Control", CACHE_CONTROL);
+
+        // Bedingte Anfrage: If-None-Match hat Vorrang vor If-Modified-Since
+        if (isNotModified(req, etag, lastModified)) {
+            raw.setStatus(304);
+            return "";
+        }
+
+        raw.setContentType(contentType);
+        raw.setHeader("Content-Disposition", "attachment; filename=\"" + downloadName + "\"");
+
+        ByteRange range = new ByteRange(0, size - 1);
+        String rangeHeader = req.headers("Range");
+        if (rangeHeader != null && size > 0 && isRangeApplicable(req.headers("If-Range"), etag, lastModified)) {
+            ByteRange requested = parseRange(rangeHeader, size);
+            if (requested == null) {
+                raw.setStatus(416);
+                raw.setHeader("Content-Range", "bytes */" + size);
+                raw.setContentLengthLong(0);
+                return "";
+            }
+            if (requested.length() < size) {
+                range = requested;
+                raw.setStatus(206);
+                raw.setHeader("Content-Range", "bytes " + range.start + "-" + range.end + "/" + size);
+            }
+        }
+
+        raw.setContentLengthLong(size == 0 ? 0 : range.length());
+        if (size == 0) {
+            return "";
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ServletOutputStream out = raw.getOutputStream();
+            if (out instanceof HttpOutput) {
+                // Jetty schreibt den gemappten Puffer direkt in den Socket
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, range.start, range.length());
+                ((HttpOutput) out).sendContent(buffer);
+            } else {
+                WritableByteChannel target = Channels.newChannel(out);
+                long position = range.start;
+                long remaining = range.length();
+                while (remaining > 0) {
+                    long written = channel.transferTo(position, remaining, target);
+                    if (written <= 0) {
+                        break;
+                    }
+                    position += written;
+                    remaining -= written;
+                }
+                out.flush();
+            }
+        }
+        return "";
+    }
+
+    /**
+     * Sendet einen im Speicher vorliegenden Inhalt, der zusätzlich bereits gzip-komprimiert vorliegt.
+     * Akzeptiert der Client gzip, wird die komprimierte Fassung unverändert gesendet; es wird also bei
+     * keiner Anfrage komprimiert. Unterstützt ETag, Last-Modified und bedingte Anfragen (304).
+     *
+     * @param req Die Spark-Anfrage
+     * @param res Die Spark-Antwort
+     * @param body Der unkomprimierte Inhalt
+     * @param gzippedBody Derselbe Inhalt gzip-komprimiert
+     * @param etag ETag des Inhalts (mit Anführungszeichen)
+     * @param lastModified Änderungszeitpunkt in Millisekunden
+     * @param contentType Der Content-Type der Antwort
+     * @return Leerer Body; die Antwort ist danach bereits geschrieben
+     * @throws IOException Wenn der Inhalt nicht gesendet werden kann
+     */
+    public static String serveCompressed(Request req, Response res, byte[] body, byte[] gzippedBody, String etag,
+                                         long lastModified, String contentType) throws IOException {
+        HttpServletResponse raw = res.raw();
+        raw.setHeader("ETag", etag);
+        raw.setHeader("Last-Modified", formatHttpDate(lastModified));
+        raw.setHeader("Cache-Control", CACHE_CONTROL);
+        raw.setHeader("Vary", "Accept-Encoding");
+
+        if (isNotModified(req, etag, lastModified)) {
+            raw.setStatus(304);
+            return "";
+        }
+
+        byte[] content = body;
+        if (acceptsGzip(req.headers("Accept-Encoding"))) {
+            content = gzippedBody;
+            raw.setHeader("Content-Encoding", "gzip");
+        }
+
+        raw.setContentType(contentType);
+        raw.setContentLength(content.length);
+
+        // Direkt in den Servlet-Strom schreiben; die Antwort ist danach abgeschlossen, Spark komprimiert nicht erneut
+        ServletOutputStream out = raw.getOutputStream();
+        out.write(content);
+        out.flush();
+        return "";
+    }
+
+    /**
+     * Sendet einen unveränderlichen Inhalt, dessen URL seinen Hash enthält, mit einem Jahr Cache-Dauer.
+     * Der Inhalt wird erst geladen, wenn der Client ihn nicht bereits hat (If-None-Match).
+     *
+     * @param req Die Spark-Anfrage
+     * @param res Die Spark-Antwort
+     * @param etag ETag des Inhalts (mit Anführungszeichen)
+     * @param contentType Der Content-Type der Antwort
+     * @param content Lädt den Inhalt; liefert null, wenn er nicht existiert
+     * @return Leerer Body, oder null, wenn der Inhalt nicht existiert (die Antwort ist dann noch nicht geschrieben)
+     * @throws Exception Wenn der Inhalt nicht geladen oder nicht gesendet werden kann
+     */
+    public static String serveImmutable(Request req, Response res, String etag, String contentType,
+                                        Callable<byte[]> content) throws Exception {
+        HttpServletResponse raw = res.raw();
+        if (matchesEtag(req.headers("If-None-Match"), etag)) {
+            raw.setHeader("ETag", etag);
+            raw.setHeader("Cache-Control", IMMUTABLE_CACHE_CONTROL);
+            raw.setStatus(304);
+            return "";
+        }
+
+        byte[] body = content.call();
+        if (body == null) {
+            return null;
+        }
+
+        raw.setHeader("ETag", etag);
+        raw.setHeader("Cache-Control", IMMUTABLE_CACHE_CONTROL);
+        raw.setContentType(contentType);
+        raw.setContentLength(body.length);
+
+        ServletOutputStream out = raw.getOutputStream();
+        out.write(body);
+        out.flush();
+        return "";
+    }
+
+    /**
+     * Erzeugt einen Inhalt, der erst beim Schreiben entsteht (z. B. einen gestreamten Bericht), und sendet ihn.
+     *
+     * Die ersten {@code bufferBytes} werden zurückgehalten. Scheitert die Erzeugung vorher, ist die Antwort
+     * noch nicht festgelegt und der Aufrufer kann einen Fehlerstatus senden; passt der ganze Inhalt in den
+     * Puffer, wird er mit Content-Length gesendet. Scheitert die Erzeugung, nachdem bereits gesendet wurde,
+     * wird die Verbindung abgebrochen, damit der Client den Download als gescheitert erkennt und keine
+     * abgeschnittene Datei erhält. Das Schließen des Stroms durch den Erzeuger wird ignoriert.
+     *
+     * @param res Die Spark-Antwort
+     * @param contentType Der Content-Type der Antwort
+     * @param downloadName Dateiname für den Download (Content-Disposition)
+     * @param bufferBytes Anzahl der Bytes, die vor dem ersten Senden gepuffert werden
+     * @param content Schreibt den Inhalt in den übergebenen Strom
+     * @return Leerer Body; die Antwort ist danach bereits geschrieben
+     * @throws Exception Wenn die Erzeugung scheitert; ist {@code res.raw().isCommitted()} dann true, wurde die
+     *                   Verbindung bereits abgebrochen und es darf nichts mehr geschrieben werden
+     */
+    public static String serveGenerated(Response res, String contentType, String downloadName, int bufferBytes,
+                                        ContentWriter content) throws Exception {
+        HttpServletResponse raw = res.raw();
+        DeferredOutputStream out = new DeferredOutputStream(raw, contentType, downloadName, bufferBytes);
+        try {
+            content.write(out);
+            out.finish();
+        } catch (Exception e) {
+            if (raw.isCommitted()) {
+                abort(raw, e);
+            }
+            throw e;
+        }
+        return "";
+    }
+
+    /**
+     * Schreibt einen Inhalt in einen Ausgabestrom.
+     */
+    @FunctionalInterface
+    public interface ContentWriter {
+        void write(OutputStream out) throws Exception;
+    }
+
+    /**
+     * Bricht die Verbindung einer bereits gesendeten Antwort ab. Unter Jetty wird der Kanal abgebrochen, sodass
+     * weder das Ende des Chunked-Bodys noch weitere Daten gesendet werden.
+     */
+    private static void abort(HttpServletResponse raw, Throwable cause) {
+        if (raw instanceof org.eclipse.jetty.server.Response) {
+            ((org.eclipse.jetty.server.Response) raw).getHttpChannel().abort(cause);
+        }
+    }
+
+    /**
+     * Puffert den Anfang des Inhalts und legt die Antwort erst fest, wenn der Puffer voll ist oder der
+     * Inhalt vollständig geschrieben wurde.
+     */
+    private static class DeferredOutputStream extends OutputStream {
+        private final HttpServletResponse raw;
+        private final String contentType;
+        private final String downloadName;
+        private final int bufferBytes;
+        private ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        private OutputStream target;
+
+        DeferredOutputStream(HttpServletResponse raw, String contentType, String downloadName, int bufferBytes) {
+            this.raw = raw;
+            this.contentType = contentType;
+            this.downloadName = downloadName;
+            this.bufferBytes = bufferBytes;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (target == null && buffer.size() + len <= bufferBytes) {
+                buffer.write(b, off, len);
+                return;
+            }
+            if (target == null) {
+                commit(-1);
+            }
+            target.write(b, off, len);
+        }
+
+        @Override
+        public void flush() {
+            // Gesendet wird erst, wenn der Puffer voll ist
+        }
+
+        @Override
+        public void close() {
+            // Erst finish() schließt die Antwort; ein Fehler danach soll die Verbindung abbrechen können
+        }
+
+        void finish() throws IOException {
+            if (target == null) {
+                commit(buffer.size());
+            }
+            target.close();
+        }
+
+        private void commit(int contentLength) throws IOException {
+            raw.setContentType(contentType);
+            raw.setHeader("Content-Disposition", "attachment; filename=\"" + downloadName + "\"");
+            if (contentLength >= 0) {
+                raw.setContentLength(contentLength);
+            }
+            target = raw.getOutputStream();
+            buffer.writeTo(target);
+            buffer = null;
+        }
+    }
+
+    /**
+     * Prüft, ob der Accept-Encoding-Header gzip zulässt (gzip ohne "q=0").
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String part : acceptEncoding.split(",")) {
+            String[] tokens = part.trim().split(";");
+            String coding = tokens[0].trim();
+            if (!coding.equalsIgnoreCase("gzip") && !coding.equals("*")) {
+                continue;
+            }
+            for (int i = 1; i < tokens.length; i++) {
+                String parameter = tokens[i].trim().replace(" ", "");
+                if (parameter.matches("q=0(\\.0*)?")) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Prüft If-None-Match bzw. If-Modified-Since.
+     */
+    private static boolean isNotModified(Request req, String etag, long lastModified) {
+        String ifNoneMatch = req.headers("If-None-Match");
+        if (ifNoneMatch != null) {
+            return matchesEtag(ifNoneMatch, etag);
+        }
+
+        Long ifModifiedSince = parseHttpDate(req.headers("If-Modified-Since"));
+        return ifModifiedSince != null && lastModified <= ifModifiedSince;
+    }
+
+    /**
+     * Prüft, ob ein If-None-Match-Header den ETag enthält.
+     */
+    private static boolean matchesEtag(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+            if (value.equals("*") || value.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Ein Range-Header gilt nur, wenn If-Range fehlt oder zur aktuellen Datei passt.
+     */
+    private static boolean isRangeApplicable(String ifRange, String etag, long lastModified) {
+        if (ifRange == null) {
+            return true;
+        }
+        if (ifRange.startsWith("\"")) {
+            return ifRange.equals(etag);
+        }
+        Long date = parseHttpDate(ifRange);
+        return date != null && date == lastModified;
+    }
+
+    /**
+     * Liest einen einzelnen Byte-Bereich ("bytes=a-b", "bytes=a-" oder "bytes=-n").
+     * Mehrere Bereiche werden nicht unterstützt; dann wird die ganze Datei gesendet.
+     *
+     * @return Der Bereich, oder null, wenn er nicht erfüllbar ist
+     */
+    static ByteRange parseRange(String header, long size) {
+        String value = header.trim();
+        if (!value.startsWith("bytes=") || value.indexOf(',') >= 0) {
+            return new ByteRange(0, size - 1);
+        }
+
+        String spec = value.substring("bytes=".length()).trim();
+        int dash = spec.indexOf('-');
+        if (dash < 0) {
+            return new ByteRange(0, size - 1);
+        }
+
+        try {
+            String startText = spec.substring(0, dash).trim();
+            String endText = spec.substring(dash + 1).trim();
+
+            if (startText.isEmpty()) {
+                // Die letzten n Bytes
+                long suffixLength = Long.parseLong(endText);
+                if (suffixLength <= 0) {
+                    return null;
+                }
+                return new ByteRange(Math.max(0, size - suffixLength), size - 1);
+            }
+
+            long start = Long.parseLong(startText);
+            long end = endText.isEmpty() ? size - 1 : Math.min(Long.parseLong(endText), size - 1);
+            if (start >= size || start > end) {
+                return null;
+            }
+            return new ByteRange(start, end);
+        } catch (NumberFormatException e) {
+            // Ungültige Angaben werden wie eine Anfrage ohne Range behandelt
+            return new ByteRange(0, size - 1);
+        }
+    }
+
+    private static String formatHttpDate(long millis) {
+        return DateTimeFormatter.RFC_1123_DATE_TIME.format(ZonedDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneOffset.UTC));
+    }
+
+    private static Long parseHttpDate(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME).toInstant().toEpochMilli();
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+}
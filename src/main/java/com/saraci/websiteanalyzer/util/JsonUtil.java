@@ -189,4 +189,17 @@ public class JsonUtil {
             return new HashMap<>();
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Parst einen JSON-String in ein Objekt der angegebenen Klasse.
+     *
+     * @throws JsonParseException Wenn der JSON-String ungültig ist
+     */
+    public static <T> T fromJson(String json, Class<T> type) {
+        if (json == null || json.isEmpty()) {
+            return null;
+        }
+
+        return gson.fromJson(json, type);
+    }
+}
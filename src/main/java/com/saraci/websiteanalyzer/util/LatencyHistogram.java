@@ -0,0 +1,150 @@
+package com.saraci.websiteanalyzer.util;
+
+/**
+ * Histogramm für Latenzen nach dem Vorbild von HdrHistogram.
+ *
+ * Die Werte werden in logarithmisch wachsende Buckets einsortiert, die jeweils linear in Unter-Buckets
+ * aufgeteilt sind. Dadurch bleibt der relative Fehler jedes Perzentils unabhängig von der Größe des
+ * Werts unter 10^-{@code significantDigits}, bei festem Speicherbedarf und ohne die einzelnen Werte zu
+ * speichern. Bei 2 signifikanten Stellen und Werten bis zu einer Minute in Mikrosekunden sind das
+ * etwa 20 KB.
+ *
+ * Die Klasse ist nicht thread-sicher.
+ */
+public class LatencyHistogram {
+    private final long highestTrackableValue;
+    private final int subBucketHalfCountMagnitude;
+    private final int subBucketHalfCount;
+    private final long subBucketMask;
+    private final int leadingZeroCountBase;
+    private final long[] counts;
+
+    private long totalCount;
+    private long sum;
+    private long minValue = Long.MAX_VALUE;
+    private long maxValue;
+
+    /**
+     * Konstruktor.
+     *
+     * @param highestTrackableValue Größter erfasster Wert; größere Werte werden auf ihn begrenzt
+     * @param significantDigits Anzahl der signifikanten Stellen (1 bis 5)
+     */
+    public LatencyHistogram(long highestTrackableValue, int significantDigits) {
+        if (highestTrackableValue < 2) {
+            throw new IllegalArgumentException("Der größte Wert muss mindestens 2 sein");
+        }
+        if (significantDigits < 1 || significantDigits > 5) {
+            throw new IllegalArgumentException("Die Anzahl der signifikanten Stellen muss zwischen 1 und 5 liegen");
+        }
+        this.highestTrackableValue = highestTrackableValue;
+
+        // Kleinste Zweierpotenz, mit der 10^digits Werte pro Größenordnung unterschieden werden
+        long largestSingleUnitResolution = 2 * (long) Math.pow(10, significantDigits);
+        int subBucketCountMagnitude = 64 - Long.numberOfLeadingZeros(largestSingleUnitResolution - 1);
+        this.subBucketHalfCountMagnitude = subBucketCountMagnitude - 1;
+        int subBucketCount = 1 << subBucketCountMagnitude;
+        this.subBucketHalfCount = subBucketCount / 2;
+        this.subBucketMask = subBucketCount - 1;
+        this.leadingZeroCountBase = 64 - subBucketHalfCountMagnitude - 1;
+
+        // Anzahl der Buckets, bis der größte Wert abgedeckt ist
+        long smallestUntrackableValue = subBucketCount;
+        int bucketCount = 1;
+        while (smallestUntrackableValue <= highestTrackableValue) {
+            if (smallestUntrackableValue > Long.MAX_VALUE / 2) {
+                bucketCount++;
+                break;
+            }
+            smallestUntrackableValue <<= 1;
+            bucketCount++;
+        }
+        this.counts = new long[(bucketCount + 1) * subBucketHalfCount];
+    }
+
+    /**
+     * Erfasst einen Wert.
+     *
+     * @param value Der Wert (nicht negativ)
+     */
+    public void recordValue(long value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Negative Werte können nicht erfasst werden: " + value);
+        }
+        long clamped = Math.min(value, highestTrackableValue);
+        counts[countsIndex(clamped)]++;
+        totalCount++;
+        sum += clamped;
+        minValue = Math.min(minValue, clamped);
+        maxValue = Math.max(maxValue, clamped);
+    }
+
+    /**
+     * Gibt den Wert zurück, unter dem (einschließlich) der angegebene Anteil der Werte liegt.
+     * Das Ergebnis ist der größte Wert des Unter-Buckets, höchstens aber der größte erfasste Wert.
+     *
+     * @param percentile Das Perzentil zwischen 0 und 100
+     * @return Der Perzentilwert oder 0, wenn keine Werte erfasst wurden
+     */
+    public long getValueAtPercentile(double percentile) {
+        if (totalCount == 0) {
+            return 0;
+        }
+        double requested = Math.min(Math.max(percentile, 0), 100);
+        long countAtPercentile = Math.max(1, (long) Math.ceil(requested / 100 * totalCount));
+
+        long cumulative = 0;
+        for (int i = 0; i < counts.length; i++) {
+            cumulative += counts[i];
+            if (cumulative >= countAtPercentile) {
+                return Math.min(highestEquivalentValue(valueFromIndex(i)), maxValue);
+            }
+        }
+        return maxValue;
+    }
+
+    public long getTotalCount() {
+        return totalCount;
+    }
+
+    /**
+     * Kleinster erfasster Wert (exakt) oder 0, wenn keine Werte erfasst wurden.
+     */
+    public long getMinValue() {
+        return totalCount == 0 ? 0 : minValue;
+    }
+
+    /**
+     * Größter erfasster Wert (exakt).
+     */
+    public long getMaxValue() {
+        return maxValue;
+    }
+
+    public double getMean() {
+        return totalCount == 0 ? 0 : (double) sum / totalCount;
+    }
+
+    private int countsIndex(long value) {
+        int bucketIndex = leadingZeroCountBase - Long.numberOfLeadingZeros(value | subBucketMask);
+        int subBucketIndex = (int) (value >>> bucketIndex);
+        int bucketBaseIndex = (bucketIndex + 1) << subBucketHalfCountMagnitude;
+        return bucketBaseIndex + subBucketIndex - subBucketHalfCount;
+    }
+
+    private long valueFromIndex(int index) {
+        int bucketIndex = (index >> subBucketHalfCountMagnitude) - 1;
+        int subBucketIndex = (index & (subBucketHalfCount - 1)) + subBucketHalfCount;
+        if (bucketIndex < 0) {
+            subBucketIndex -= subBucketHalfCount;
+            bucketIndex = 0;
+        }
+        return (long) subBucketIndex << bucketIndex;
+    }
+
+    private long highestEquivalentValue(long value) {
+        int bucketIndex = leadingZeroCountBase - Long.numberOfLeadingZeros(value | subBucketMask);
+        long lowestEquivalentValue = (value >>> bucketIndex) << bucketIndex;
+        return lowestEquivalentValue + (1L << bucketIndex) - 1;
+    }
+}
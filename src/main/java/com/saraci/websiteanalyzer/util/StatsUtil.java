@@ -0,0 +1,61 @@
+package com.saraci.websiteanalyzer.util;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Hilfsklasse für einfache statistische Kennzahlen.
+ */
+public class StatsUtil {
+
+    private StatsUtil() {
+    }
+
+    /**
+     * Berechnet ein Perzentil nach der Nearest-Rank-Methode.
+     *
+     * @param values Die Werte (müssen nicht sortiert sein)
+     * @param percentile Das Perzentil zwischen 0 und 100
+     * @return Der Perzentilwert oder 0, wenn keine Werte vorhanden sind
+     */
+    public static long percentile(List<Long> values, double percentile) {
+        if (values == null || values.isEmpty()) {
+            return 0;
+        }
+
+        long[] sorted = new long[values.size()];
+        for (int i = 0; i < sorted.length; i++) {
+            sorted[i] = values.get(i);
+        }
+        Arrays.sort(sorted);
+        return percentileOfSorted(sorted, percentile);
+    }
+
+    /**
+     * Berechnet ein Perzentil auf einem bereits sortierten Array.
+     */
+    public static long percentileOfSorted(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+
+        int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+        int index = Math.min(Math.max(rank - 1, 0), sorted.length - 1);
+        return sorted[index];
+    }
+
+    /**
+     * Berechnet den (abgerundeten) Durchschnitt.
+     */
+    public static long average(List<Long> values) {
+        if (values == null || values.isEmpty()) {
+            return 0;
+        }
+
+        long sum = 0;
+        for (Long value : values) {
+            sum += value;
+        }
+        return sum / values.size();
+    }
+}